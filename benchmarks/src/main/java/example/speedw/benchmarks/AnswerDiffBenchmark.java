@@ -0,0 +1,136 @@
+package example.speedw.benchmarks;
+
+import example.speedw.models.AnswerDiff;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks del {@link AnswerDiff} bit-paralelo.
+ * <p>
+ * Compara frases de distintas longitudes con respuestas que tienen cerca de un
+ * 3% de caracteres errados, faltantes o sobrantes. Mide el costo de una tecla
+ * (agregar y borrar una columna), de recalcular la respuesta completa y de
+ * reconstruir la alineacion. Con {@code -prof gc} se comprueba que ninguna
+ * operacion asigna memoria.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AnswerDiffBenchmark
+{
+    /**
+     * Letras de las frases sinteticas.
+     */
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz áéíóúñ";
+
+    /**
+     * Longitud de la frase.
+     */
+    @Param({"30", "1000", "5000"})
+    public int length;
+
+    /**
+     * Frase objetivo.
+     */
+    private String phrase;
+
+    /**
+     * Respuesta con errores.
+     */
+    private String answer;
+
+    /**
+     * Comparador con la frase y la respuesta ya cargadas.
+     */
+    private AnswerDiff diff;
+
+    /**
+     * Genera la frase y la respuesta y calienta los buffers del comparador.
+     */
+    @Setup
+    public void setUp()
+    {
+        SplittableRandom random = new SplittableRandom(9);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++)
+        {
+            text.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+        }
+        phrase = text.toString();
+        for (int i = 0; i < Math.max(1, length / 33); i++)
+        {
+            int at = random.nextInt(text.length());
+            switch (random.nextInt(3))
+            {
+                case 0:
+                    text.setCharAt(at, LETTERS.charAt(random.nextInt(LETTERS.length())));
+                    break;
+                case 1:
+                    text.deleteCharAt(at);
+                    break;
+                default:
+                    text.insert(at, LETTERS.charAt(random.nextInt(LETTERS.length())));
+                    break;
+            }
+        }
+        answer = text.toString();
+
+        diff = new AnswerDiff();
+        diff.compare(phrase, answer);
+    }
+
+    /**
+     * Una tecla al final de la respuesta completa y su borrado: lo que cuesta seguir la distancia en vivo.
+     *
+     * @return La distancia con la tecla agregada.
+     */
+    @Benchmark
+    public int keystroke()
+    {
+        int distance = diff.append('x');
+        diff.deleteLast();
+        return distance;
+    }
+
+    /**
+     * Recalcula la distancia de toda la respuesta, como al pegar texto.
+     *
+     * @return La distancia de edicion.
+     */
+    @Benchmark
+    public int wholeAnswer()
+    {
+        diff.setInput(answer);
+        return diff.getDistance();
+    }
+
+    /**
+     * Reconstruye la alineacion de la respuesta ya cargada, como al mostrar una respuesta incorrecta.
+     *
+     * @return El numero de operaciones.
+     */
+    @Benchmark
+    public int alignment()
+    {
+        return diff.align();
+    }
+}
@@ -0,0 +1,194 @@
+package example.speedw.benchmarks;
+
+import example.speedw.models.ClockEvent;
+import example.speedw.models.GameEngine;
+import example.speedw.models.IPhraseSource;
+import example.speedw.models.ValidationResult;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Jugador simulado que juega partidas seguidas contra un {@link GameEngine} sin interfaz.
+ * <p>
+ * Escribe cada frase tecla por tecla con una velocidad media (caracteres por
+ * minuto) y una variacion aleatoria entre teclas. Con cierta probabilidad se
+ * equivoca de tecla y la borra despues de un tiempo de reaccion, y a veces
+ * envia la respuesta antes de terminarla. Igual que el controlador, consulta el
+ * reloj del nivel en cada paso y hace la ultima validacion cuando se agota.
+ * <p>
+ * El bot duerme hasta el instante de su siguiente accion y mide con cuanto
+ * retraso despierta, que es la latencia de planificacion que reporta el
+ * {@link LoadSimulator}. El tiempo del juego puede correr mas rapido que el
+ * real con un factor de escala, para recorrer mas partidas por segundo.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class BotPlayer implements Runnable
+{
+    /**
+     * Probabilidad de enviar la respuesta antes de terminarla, por tecla.
+     */
+    private static final double EARLY_SUBMIT_RATE = 0.002;
+
+    /**
+     * Motor de la partida del bot.
+     */
+    private final GameEngine engine;
+
+    /**
+     * Generador aleatorio del bot: decide el ritmo, los errores y las semillas de las partidas.
+     */
+    private final SplittableRandom random;
+
+    /**
+     * Nanosegundos de juego entre dos teclas, en promedio.
+     */
+    private final long keyNanos;
+
+    /**
+     * Probabilidad de equivocarse en cada tecla.
+     */
+    private final double errorRate;
+
+    /**
+     * Cuantas veces mas rapido que el real corre el tiempo del juego.
+     */
+    private final double timeScale;
+
+    /**
+     * Metricas compartidas por todos los bots.
+     */
+    private final LoadSimulator.Metrics metrics;
+
+    /**
+     * Instante real en que el bot comenzo a jugar.
+     */
+    private long realStart;
+
+    /**
+     * Crea un bot.
+     *
+     * @param phrases        La fuente de frases.
+     * @param seed           La semilla del bot.
+     * @param charsPerMinute La velocidad media del bot.
+     * @param errorRate      La probabilidad de equivocarse en cada tecla.
+     * @param timeScale      Cuantas veces mas rapido que el real corre el tiempo del juego.
+     * @param metrics        Las metricas compartidas.
+     */
+    public BotPlayer(IPhraseSource phrases, long seed, double charsPerMinute, double errorRate,
+                     double timeScale, LoadSimulator.Metrics metrics)
+    {
+        this.random = new SplittableRandom(seed);
+        this.engine = new GameEngine(phrases, random.split());
+        this.keyNanos = (long) (60_000_000_000L / charsPerMinute);
+        this.errorRate = errorRate;
+        this.timeScale = timeScale;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Juega partidas hasta que el simulador se detenga.
+     */
+    @Override
+    public void run()
+    {
+        try
+        {
+            metrics.awaitStart();
+        }
+        catch (InterruptedException e)
+        {
+            return;
+        }
+        realStart = System.nanoTime();
+        long now = realStart;
+        engine.startGame(now, random.nextLong());
+        int typed = 0;
+        boolean pendingError = false;
+
+        while (metrics.isRunning())
+        {
+            if (engine.isFinished())
+            {
+                metrics.gameFinished(engine.getLevel(), engine.isWon());
+                engine.startGame(now, random.nextLong());
+                typed = 0;
+                pendingError = false;
+            }
+
+            // Siguiente tecla, o el final del nivel si llega antes.
+            long delay = pendingError ? keyNanos * 2 : keyNanos / 2 + random.nextLong(keyNanos);
+            long deadline = now + (engine.getRemainingMillis(now) + 1) * 1_000_000L;
+            long wake = Math.min(now + delay, deadline);
+            now = sleepUntil(wake);
+
+            if (engine.poll(now) == ClockEvent.EXPIRED)
+            {
+                engine.finalValidation(now);
+                typed = 0;
+                pendingError = false;
+                continue;
+            }
+            if (wake == deadline)
+            {
+                continue;
+            }
+
+            String phrase = engine.getActualPhrase();
+            if (pendingError)
+            {
+                engine.deleteChar();
+                pendingError = false;
+            }
+            else if (random.nextDouble() < errorRate)
+            {
+                engine.typeChar('#');
+                pendingError = true;
+            }
+            else if (typed >= phrase.length())
+            {
+                // La respuesta quedo completa pero el validador no la acepto.
+                engine.submit(now);
+                typed = 0;
+                metrics.unexpected();
+            }
+            else if (typed > 0 && random.nextDouble() < EARLY_SUBMIT_RATE)
+            {
+                engine.submit(now);
+                typed = 0;
+            }
+            else if (engine.typeChar(phrase.charAt(typed++)))
+            {
+                ValidationResult result = engine.submit(now);
+                typed = 0;
+                if (result == ValidationResult.INCORRECT)
+                {
+                    metrics.unexpected();
+                }
+            }
+            metrics.key();
+        }
+    }
+
+    /**
+     * Duerme hasta un instante del juego y registra con cuanto retraso desperto.
+     *
+     * @param gameNanos El instante del juego en que se quiere despertar.
+     * @return El instante del juego al despertar.
+     */
+    private long sleepUntil(long gameNanos)
+    {
+        long target = realStart + (long) ((gameNanos - realStart) / timeScale);
+        long real = System.nanoTime();
+        while (real < target && metrics.isRunning())
+        {
+            LockSupport.parkNanos(target - real);
+            real = System.nanoTime();
+        }
+        metrics.lateness(real - target);
+        return realStart + (long) ((real - realStart) * timeScale);
+    }
+}
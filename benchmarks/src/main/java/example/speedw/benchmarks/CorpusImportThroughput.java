@@ -0,0 +1,122 @@
+package example.speedw.benchmarks;
+
+import example.speedw.models.CorpusImporter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Mide el rendimiento del {@link CorpusImporter} con un texto sintetico grande.
+ * <p>
+ * Genera un texto con la forma de un libro (renglones cortados a 70
+ * caracteres, parrafos, puntuacion, cifras y frases repetidas con otras
+ * mayusculas), lo importa e informa los MB/s de la importacion y la memoria
+ * usada, que no debe crecer con el tamaño del texto sino con el de su
+ * vocabulario. Que frases se aceptan lo comprueban las pruebas del modulo principal.
+ * <p>
+ * Ejecutar con: {@code java -cp target/benchmarks.jar example.speedw.benchmarks.CorpusImportThroughput [MB] [hilos]}
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class CorpusImportThroughput
+{
+    /**
+     * Palabras del texto sintetico.
+     */
+    private static final String[] WORDS = (
+            "el la los las un una de del que en y a por con para como pero mas sin sobre entre " +
+            "casa perro gato niño niña mujer hombre ciudad camino tiempo noche dia agua fuego tierra " +
+            "corazón canción razón jardín árbol música pájaro ventana puerta libro palabra silencio " +
+            "corre salta escribe lee mira canta duerme piensa vuelve llega sale entra busca encuentra " +
+            "rápido lento grande pequeño viejo nuevo oscuro claro frío caliente azul verde rojo " +
+            "kilo whisky yate zorro xilófono jamás queso ñandú").split(" ");
+
+    /**
+     * Signos con los que terminan las frases del texto.
+     */
+    private static final String ENDINGS = ".,,,;:!?";
+
+    /**
+     * Punto de entrada de la medicion.
+     *
+     * @param args Opcionalmente, los MB del texto (por defecto 64) y los hilos.
+     * @throws IOException Si no se pueden escribir los archivos temporales.
+     */
+    public static void main(String[] args) throws IOException
+    {
+        int megabytes = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        Path dir = Files.createTempDirectory("speedw-import");
+        Path text = dir.resolve("texto.txt");
+        Path corpusFile = dir.resolve("corpus.spwc");
+        try
+        {
+            writeText(text, megabytes * 1_048_576L);
+            System.gc();
+            CorpusImporter importer = new CorpusImporter(CorpusImporter.DEFAULT_MIN_LENGTH,
+                    CorpusImporter.DEFAULT_MAX_LENGTH, CorpusImporter.DEFAULT_MAX_WORDS, false, threads);
+            CorpusImporter.Report report = importer.run(List.of(text), corpusFile);
+            Runtime runtime = Runtime.getRuntime();
+            long usedMb = (runtime.totalMemory() - runtime.freeMemory()) / 1_048_576;
+            System.out.println(report.summary());
+            System.out.printf(Locale.ROOT, "Hilos: %d, heap usado al terminar: %d MB, corpus: %.1f MB%n",
+                    threads, usedMb, Files.size(corpusFile) / 1_048_576.0);
+        }
+        finally
+        {
+            Files.deleteIfExists(text);
+            Files.deleteIfExists(corpusFile);
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    /**
+     * Escribe el texto sintetico.
+     *
+     * @param file  El archivo.
+     * @param bytes El tamaño aproximado del texto.
+     * @throws IOException Si no se puede escribir.
+     */
+    private static void writeText(Path file, long bytes) throws IOException
+    {
+        SplittableRandom random = new SplittableRandom(21);
+        long written = 0;
+        int column = 0;
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8))
+        {
+            while (written < bytes)
+            {
+                int words = 1 + random.nextInt(7);
+                for (int w = 0; w < words; w++)
+                {
+                    String word = random.nextInt(200) == 0 ? String.valueOf(random.nextInt(1000))
+                            : WORDS[random.nextInt(WORDS.length)];
+                    if (w == 0 && random.nextInt(4) == 0)
+                    {
+                        word = Character.toUpperCase(word.charAt(0)) + word.substring(1);
+                    }
+                    String separator = column + word.length() > 70 ? "\n" : " ";
+                    column = separator.equals("\n") ? 0 : column + 1;
+                    out.write(separator);
+                    out.write(word);
+                    column += word.length();
+                    written += word.length() + 1;
+                }
+                out.write(ENDINGS.charAt(random.nextInt(ENDINGS.length())));
+                if (random.nextInt(40) == 0)
+                {
+                    out.write("\n\n");
+                    column = 0;
+                }
+            }
+        }
+    }
+}
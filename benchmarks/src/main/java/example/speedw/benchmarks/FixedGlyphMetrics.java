@@ -0,0 +1,47 @@
+package example.speedw.benchmarks;
+
+import example.speedw.models.IGlyphMetrics;
+import javafx.scene.text.Font;
+
+/**
+ * Medidas de caracteres fijas para los benchmarks de dibujo: 10 px por caracter
+ * y 5 px para los angostos.
+ * <p>
+ * Medir una fuente real necesita las bibliotecas nativas de texto, que no estan
+ * sin pantalla; los renderers solo consultan las medidas al acomodar el texto.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+final class FixedGlyphMetrics implements IGlyphMetrics
+{
+    /**
+     * Fuente con la que se dibuja.
+     */
+    private final Font font = Font.font(18);
+
+    @Override
+    public Font getFont()
+    {
+        return font;
+    }
+
+    @Override
+    public double advance(char c)
+    {
+        return c == ' ' || c == 'i' || c == 'l' ? 5 : 10;
+    }
+
+    @Override
+    public double getLineHeight()
+    {
+        return 24;
+    }
+
+    @Override
+    public double getAscent()
+    {
+        return 18;
+    }
+}
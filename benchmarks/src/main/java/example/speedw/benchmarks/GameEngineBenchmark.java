@@ -0,0 +1,147 @@
+package example.speedw.benchmarks;
+
+import example.speedw.models.DefaultPhrases;
+import example.speedw.models.GameEngine;
+import example.speedw.models.IPhraseSource;
+import example.speedw.models.ValidationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks del {@link GameEngine} sin interfaz grafica.
+ * <p>
+ * Mide el rendimiento (ops/s) de la validacion, la seleccion de frases y la
+ * generacion del resumen. Ejecutar con {@code -prof gc} para obtener tambien
+ * las asignaciones por operacion.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameEngineBenchmark
+{
+    /**
+     * Motor usado por los benchmarks de validacion.
+     */
+    private GameEngine engine;
+
+    /**
+     * Motor que ya termino una partida completa, usado para generar el resumen.
+     */
+    private GameEngine finishedEngine;
+
+    /**
+     * Fuente de frases usada por el benchmark de seleccion.
+     */
+    private IPhraseSource phraseSource;
+
+    /**
+     * Generador aleatorio usado por el benchmark de seleccion.
+     */
+    private SplittableRandom random;
+
+    /**
+     * Prepara los motores antes de cada iteracion.
+     */
+    @Setup(Level.Iteration)
+    public void setUp()
+    {
+        phraseSource = new DefaultPhrases();
+        random = new SplittableRandom(42);
+        engine = new GameEngine(phraseSource, random);
+        engine.startGame(System.nanoTime());
+
+        finishedEngine = new GameEngine(phraseSource, new SplittableRandom(7));
+        finishedEngine.startGame(System.nanoTime());
+        while (finishedEngine.validate(finishedEngine.getActualPhrase(), System.nanoTime()) != ValidationResult.WON)
+        {
+            // se juega la partida completa hasta ganar
+        }
+    }
+
+    /**
+     * Valida siempre la respuesta correcta; al ganar se comienza otra partida.
+     *
+     * @return El resultado de la validacion.
+     */
+    @Benchmark
+    public ValidationResult validateCorrect()
+    {
+        if (engine.isFinished())
+        {
+            engine.startGame(System.nanoTime());
+        }
+        return engine.validate(engine.getActualPhrase(), System.nanoTime());
+    }
+
+    /**
+     * Valida una respuesta que nunca coincide con la frase actual.
+     *
+     * @return El resultado de la validacion.
+     */
+    @Benchmark
+    public ValidationResult validateIncorrect()
+    {
+        return engine.validate("incorrecta", System.nanoTime());
+    }
+
+    /**
+     * Escribe la frase actual tecla por tecla, como lo hace el jugador, y la envia.
+     *
+     * @return El resultado de la validacion.
+     */
+    @Benchmark
+    public ValidationResult typeAndSubmit()
+    {
+        if (engine.isFinished())
+        {
+            engine.startGame(System.nanoTime());
+        }
+        String phrase = engine.getActualPhrase();
+        for (int i = 0; i < phrase.length(); i++)
+        {
+            engine.typeChar(phrase.charAt(i));
+        }
+        return engine.submit(System.nanoTime());
+    }
+
+    /**
+     * Selecciona una frase de la fuente por defecto.
+     *
+     * @return La frase seleccionada.
+     */
+    @Benchmark
+    public String nextPhrase()
+    {
+        return phraseSource.nextPhrase(1, random);
+    }
+
+    /**
+     * Genera el resumen de una partida ganada (35 frases correctas).
+     *
+     * @return El resumen generado.
+     */
+    @Benchmark
+    public String generateRecord()
+    {
+        return finishedEngine.generateRecord();
+    }
+}
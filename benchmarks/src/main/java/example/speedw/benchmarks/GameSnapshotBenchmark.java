@@ -0,0 +1,162 @@
+package example.speedw.benchmarks;
+
+import example.speedw.models.DefaultPhrases;
+import example.speedw.models.GameEngine;
+import example.speedw.models.GameSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de {@link GameSnapshot}: guardar y retomar una partida en curso.
+ * <p>
+ * Mide, en el nivel 1 y en el nivel 35 con varias respuestas falladas por
+ * nivel, lo que cuesta capturar la instantanea y copiar sus bytes (lo que se
+ * hace en el hilo de JavaFX en cada cambio de nivel), retomarla en un motor
+ * desde sus bytes (lo que se hace al abrir la aplicacion) y, como referencia,
+ * escribirla y leerla del disco en el hilo de fondo. Que la partida retomada
+ * quede igual a la guardada lo verifica {@code GameSnapshotTest}.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameSnapshotBenchmark
+{
+    /**
+     * Nivel de la partida guardada.
+     */
+    @Param({"1", "35"})
+    public int level;
+
+    /**
+     * Respuestas falladas en cada nivel antes de acertar.
+     */
+    private static final int MISSES_PER_LEVEL = 5;
+
+    /**
+     * Motor con la partida en curso.
+     */
+    private GameEngine engine;
+
+    /**
+     * Motor donde se retoma la partida.
+     */
+    private GameEngine resumed;
+
+    /**
+     * Instantanea que se reutiliza en cada captura.
+     */
+    private GameSnapshot snapshot;
+
+    /**
+     * Bytes de la instantanea, como se leen del archivo.
+     */
+    private byte[] bytes;
+
+    /**
+     * Archivo temporal de la instantanea.
+     */
+    private Path file;
+
+    /**
+     * Juega la partida hasta el nivel indicado y la captura.
+     *
+     * @throws IOException Si no se puede crear el archivo.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException
+    {
+        long now = 0;
+        engine = new GameEngine(new DefaultPhrases(), new SplittableRandom(42));
+        engine.startGame(now, 42);
+        while (engine.getLevel() < level)
+        {
+            for (int i = 0; i < MISSES_PER_LEVEL; i++)
+            {
+                now += 500_000_000L;
+                engine.validate("incorrecta", now);
+            }
+            now += 2_000_000_000L;
+            engine.validate(engine.getActualPhrase(), now);
+        }
+        now += 3_000_000_000L;
+
+        snapshot = new GameSnapshot();
+        snapshot.capture(engine, now);
+        bytes = snapshot.toByteArray();
+        resumed = new GameEngine(new DefaultPhrases(), new SplittableRandom(7));
+        file = Files.createTempFile("speedw-snapshot", GameSnapshot.EXTENSION);
+    }
+
+    /**
+     * Borra el archivo temporal.
+     *
+     * @throws IOException Si no se puede borrar.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException
+    {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Captura la partida y copia sus bytes para el hilo de fondo, como en cada cambio de nivel.
+     *
+     * @return Los bytes de la instantanea.
+     */
+    @Benchmark
+    public byte[] capture()
+    {
+        snapshot.capture(engine, System.nanoTime());
+        return snapshot.toByteArray();
+    }
+
+    /**
+     * Retoma la partida desde los bytes leidos del archivo, como al abrir la aplicacion.
+     *
+     * @return El motor con la partida retomada.
+     * @throws IOException Si la instantanea no es valida.
+     */
+    @Benchmark
+    public GameEngine restore() throws IOException
+    {
+        new GameSnapshot(bytes).restore(resumed, System.nanoTime());
+        return resumed;
+    }
+
+    /**
+     * Escribe la instantanea en el disco (temporal y renombrado) y la vuelve a leer.
+     * Esta parte corre en el hilo de fondo y no detiene al juego.
+     *
+     * @return La instantanea leida.
+     */
+    @Benchmark
+    public GameSnapshot writeAndRead()
+    {
+        snapshot.writeAsync(file).join();
+        return GameSnapshot.readAsync(file).join();
+    }
+}
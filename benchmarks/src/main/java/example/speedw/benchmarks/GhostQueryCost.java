@@ -0,0 +1,177 @@
+package example.speedw.benchmarks;
+
+import example.speedw.models.ComparisonMode;
+import example.speedw.models.GhostRun;
+import example.speedw.models.PhrasePack;
+import example.speedw.models.ReplayRecorder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Mide el costo de consultar un {@link GhostRun} durante una partida maraton.
+ * <p>
+ * Graba una partida sintetica muy larga (por defecto un millon de eventos,
+ * repartidos en los 35 niveles, con borrados, respuestas erradas y pegados) y
+ * la sigue como lo haria el juego: nivel por nivel, en pulsos de tiempo
+ * aleatorio, a veces mas rapido y a veces mas lento que el fantasma. Informa
+ * el tiempo medio y maximo de cada consulta, que es lo que el fantasma agrega
+ * a un pulso, cuantas veces hubo que esperar al hilo de fondo porque aun no
+ * leia esa parte, y la memoria usada, que no debe crecer con el largo de la
+ * partida. Que las posiciones sean las correctas lo comprueban las pruebas
+ * del modulo principal.
+ * <p>
+ * Ejecutar con: {@code java -cp target/benchmarks.jar example.speedw.benchmarks.GhostQueryCost [eventos]}
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class GhostQueryCost
+{
+    /**
+     * Niveles de la partida sintetica.
+     */
+    private static final int LEVELS = 35;
+
+    /**
+     * Longitud de la frase del jugador en cada nivel.
+     */
+    private static final int PLAYER_PHRASE = 24;
+
+    /**
+     * Milisegundos maximos que se espera al hilo de fondo en una consulta.
+     */
+    private static final int MAX_WAIT_MILLIS = 2000;
+
+    /**
+     * Punto de entrada de la medicion.
+     *
+     * @param args Opcionalmente, los eventos de la partida (por defecto 1000000).
+     * @throws Exception Si no se puede escribir la repeticion o se interrumpe la espera.
+     */
+    public static void main(String[] args) throws Exception
+    {
+        int events = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        SplittableRandom random = new SplittableRandom(24);
+        long[] levelNanos = new long[LEVELS + 1];
+        byte[] replay = record(events, random, levelNanos);
+        Path file = Files.createTempFile("speedw-ghost", ReplayRecorder.EXTENSION);
+        Files.write(file, replay);
+
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+        long queries = 0;
+        long totalNanos = 0;
+        long maxNanos = 0;
+        long waits = 0;
+        try (GhostRun ghost = new GhostRun(file))
+        {
+            ghost.start();
+            for (int level = 1; level <= LEVELS + 1; level++)
+            {
+                // El jugador pasa entre el 50% y el 150% del tiempo que el fantasma paso en el nivel.
+                long ghostTime = level <= LEVELS ? levelNanos[level] : 1_000_000_000L;
+                long playerTime = ghostTime / 2 + random.nextLong(ghostTime + 1);
+                for (long t = 0; t <= playerTime; t += 1_000_000 + random.nextLong(250_000_000))
+                {
+                    long start = System.nanoTime();
+                    int position = ghost.position(level, t, PLAYER_PHRASE);
+                    long elapsed = System.nanoTime() - start;
+                    queries++;
+                    totalNanos += elapsed;
+                    maxNanos = Math.max(maxNanos, elapsed);
+                    for (int wait = 0; position < 0 && level <= LEVELS && !ghost.isEnded() && wait < MAX_WAIT_MILLIS; wait++)
+                    {
+                        // El hilo de fondo aun no escribe esta parte; en el juego el fantasma solo se veria un cuadro tarde.
+                        Thread.sleep(1);
+                        position = ghost.position(level, t, PLAYER_PHRASE);
+                        waits++;
+                    }
+                }
+            }
+            System.gc();
+        }
+        long heapAfter = runtime.totalMemory() - runtime.freeMemory();
+        Files.deleteIfExists(file);
+
+        System.out.printf(Locale.ROOT, "Repeticion: %d eventos, %.1f MB, %.1f horas de juego%n",
+                events, replay.length / 1_048_576.0, sum(levelNanos) / 3.6e12);
+        System.out.printf(Locale.ROOT, "Consultas: %d, media %.0f ns, maxima %.1f us, esperas al hilo de fondo: %d%n",
+                queries, (double) totalNanos / Math.max(1, queries), maxNanos / 1000.0, waits);
+        System.out.printf(Locale.ROOT, "Heap durante la lectura: %+.1f MB (la repeticion en memoria no cuenta)%n",
+                (heapAfter - heapBefore) / 1_048_576.0);
+    }
+
+    /**
+     * Graba una partida sintetica con los niveles marcados.
+     *
+     * @param events     Los eventos aproximados de la partida.
+     * @param random     El generador aleatorio.
+     * @param levelNanos Se llena con la duracion de cada nivel.
+     * @return Los bytes de la repeticion.
+     */
+    private static byte[] record(int events, SplittableRandom random, long[] levelNanos)
+    {
+        ReplayRecorder recorder = new ReplayRecorder();
+        long now = 0;
+        recorder.begin(7, ComparisonMode.EXACT, PhrasePack.defaultPack(), now);
+        int perLevel = Math.max(1, events / LEVELS);
+        for (int level = 1; level <= LEVELS; level++)
+        {
+            int length = 10 + random.nextInt(60);
+            long start = now;
+            recorder.level(now, level, length);
+            int typed = 0;
+            for (int i = 0; i < perLevel; i++)
+            {
+                now += 20_000_000 + random.nextLong(200_000_000);
+                int action = random.nextInt(100);
+                if (action < 70 && typed < length)
+                {
+                    recorder.append(now, 'a');
+                    typed++;
+                }
+                else if (action < 90 && typed > 0)
+                {
+                    recorder.delete(now);
+                    typed--;
+                }
+                else if (action < 95)
+                {
+                    recorder.set(now, "abc");
+                    typed = 3;
+                }
+                else
+                {
+                    recorder.submit(now);
+                    recorder.clear(now);
+                    typed = 0;
+                }
+            }
+            recorder.submit(now);
+            recorder.clear(now);
+            levelNanos[level] = now - start;
+        }
+        recorder.end(now, LEVELS, true, "");
+        return recorder.toByteArray();
+    }
+
+    /**
+     * @param values Los valores.
+     * @return Su suma.
+     */
+    private static long sum(long[] values)
+    {
+        long total = 0;
+        for (long value : values)
+        {
+            total += value;
+        }
+        return total;
+    }
+}
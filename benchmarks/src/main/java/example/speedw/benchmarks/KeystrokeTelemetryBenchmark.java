@@ -0,0 +1,119 @@
+package example.speedw.benchmarks;
+
+import example.speedw.models.DefaultPhrases;
+import example.speedw.models.GameEngine;
+import example.speedw.models.KeystrokeTelemetry;
+import example.speedw.models.TypingValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks del costo de la telemetria de teclas sobre el manejo de la entrada.
+ * <p>
+ * {@code typeOnly} procesa una tecla como lo hacia el controlador antes de la
+ * telemetria (validarla y leer el instante); {@code typeAndRecord} hace lo mismo
+ * y ademas la registra en el buffer circular y consulta las palabras por minuto,
+ * como lo hace ahora. La diferencia entre ambos es el costo de la captura.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class KeystrokeTelemetryBenchmark
+{
+    /**
+     * Motor con una partida en curso.
+     */
+    private GameEngine engine;
+
+    /**
+     * Telemetria de la sesion.
+     */
+    private KeystrokeTelemetry telemetry;
+
+    /**
+     * Posicion de la siguiente tecla dentro de la frase actual.
+     */
+    private int position;
+
+    /**
+     * Comienza una partida antes de cada iteracion.
+     */
+    @Setup(Level.Iteration)
+    public void setUp()
+    {
+        engine = new GameEngine(new DefaultPhrases(), new SplittableRandom(5));
+        long now = System.nanoTime();
+        engine.startGame(now);
+        telemetry = new KeystrokeTelemetry();
+        telemetry.reset(now);
+        position = 0;
+    }
+
+    /**
+     * Escribe la siguiente tecla de la frase actual; al completarla vuelve a empezar.
+     *
+     * @return Si la tecla completo la frase.
+     */
+    private boolean nextKey()
+    {
+        String phrase = engine.getActualPhrase();
+        boolean completed = engine.typeChar(phrase.charAt(position));
+        position++;
+        if (position == phrase.length())
+        {
+            engine.clearInput();
+            position = 0;
+        }
+        return completed;
+    }
+
+    /**
+     * Procesa una tecla sin telemetria.
+     *
+     * @return Un valor derivado de la tecla.
+     */
+    @Benchmark
+    public long typeOnly()
+    {
+        long now = System.nanoTime();
+        return nextKey() ? now : now + 1;
+    }
+
+    /**
+     * Procesa una tecla y la registra en la telemetria.
+     *
+     * @return Un valor derivado de la tecla.
+     */
+    @Benchmark
+    public long typeAndRecord()
+    {
+        long now = System.nanoTime();
+        String phrase = engine.getActualPhrase();
+        char c = phrase.charAt(position);
+        boolean completed = nextKey();
+        TypingValidator validator = engine.getValidator();
+        telemetry.record(now, c, validator.getCorrectPrefix() == validator.getTypedLength()
+                ? KeystrokeTelemetry.KIND_CORRECT : KeystrokeTelemetry.KIND_ERROR);
+        long wpm = Math.round(telemetry.getLiveWpm(now));
+        return completed ? now + wpm : now;
+    }
+}
@@ -0,0 +1,68 @@
+package example.speedw.benchmarks;
+
+import example.speedw.models.Feedback;
+import example.speedw.models.Language;
+import example.speedw.models.LanguageCatalog;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Mide la carga perezosa de idiomas de {@link LanguageCatalog}.
+ * <p>
+ * Mide cuanto cuesta crear un catalogo y listar los idiomas instalados, que es
+ * lo unico que se hace al arrancar, cuanto tarda en cargarse cada idioma la
+ * primera vez y cuanto pesa en la cache. Despues cambia de idioma con una cache
+ * en la que solo cabe un idioma e informa cuanto tarda cada cambio, que vuelve
+ * a leer el idioma. Que la cache respete su limite y conserve el idioma en uso
+ * lo comprueban las pruebas del modulo principal.
+ * <p>
+ * Ejecutar con: {@code java -cp target/benchmarks.jar example.speedw.benchmarks.LanguageLoadTimes}
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class LanguageLoadTimes
+{
+    /**
+     * Vueltas por todos los idiomas con la cache de un idioma.
+     */
+    private static final int ROUNDS = 5;
+
+    /**
+     * Punto de entrada de la medicion.
+     *
+     * @param args No se usan.
+     */
+    public static void main(String[] args)
+    {
+        long start = System.nanoTime();
+        LanguageCatalog catalog = new LanguageCatalog(Long.MAX_VALUE);
+        List<Locale> installed = catalog.available();
+        System.out.printf(Locale.ROOT, "Catalogo y lista de %d idiomas: %.2f ms, idiomas cargados: %d%n",
+                installed.size(), (System.nanoTime() - start) / 1e6, catalog.getCache().keys().size());
+
+        for (Locale locale : installed)
+        {
+            start = System.nanoTime();
+            Language language = catalog.select(locale).join();
+            System.out.printf(Locale.ROOT, "%-3s %6d frases %8.1f ms %8.1f KB  %s%n", locale.toLanguageTag(),
+                    language.getPhrases().size(), (System.nanoTime() - start) / 1e6, language.getWeight() / 1024.0,
+                    language.feedback(Feedback.CORRECT));
+        }
+
+        LanguageCatalog small = new LanguageCatalog(1);
+        start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++)
+        {
+            for (Locale locale : installed)
+            {
+                small.select(locale).join();
+            }
+        }
+        int switches = ROUNDS * installed.size();
+        System.out.printf(Locale.ROOT, "Cache de un idioma: %d cambios, %.1f ms por cambio, %d descartados%n",
+                switches, (System.nanoTime() - start) / 1e6 / switches, small.getCache().getEvictions());
+    }
+}
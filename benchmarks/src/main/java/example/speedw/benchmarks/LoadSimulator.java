@@ -0,0 +1,350 @@
+package example.speedw.benchmarks;
+
+import example.speedw.diagnostics.LatencyHistogram;
+import example.speedw.models.CorpusPhraseSource;
+import example.speedw.models.GameEngine;
+import example.speedw.models.IPhraseSource;
+import example.speedw.models.PhraseCorpus;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Simulador de carga: miles de {@link BotPlayer} jugando a la vez contra las reglas del juego.
+ * <p>
+ * Cada bot corre en su propio hilo. Si la JVM tiene hilos virtuales (Java 21 o
+ * superior) se usan esos, buscandolos por reflexion para que el modulo siga
+ * compilando con Java 17; si no, se usan hilos de plataforma con una pila
+ * reducida ({@value #PLATFORM_STACK_BYTES} bytes), que bastan para decenas de miles de bots.
+ * <p>
+ * Primero arranca todos los bots y los deja calentar; luego mide durante el
+ * tiempo indicado y reporta partidas por segundo, los percentiles del retraso
+ * con que despiertan los bots respecto del instante planificado, el heap por
+ * sesion y la actividad del recolector de basura.
+ * <p>
+ * Ejecutar con: {@code java -cp target/benchmarks.jar example.speedw.benchmarks.LoadSimulator [bots] [segundos] [escala] [--platform]}
+ * <ul>
+ *     <li>{@code bots}: partidas simultaneas (por defecto 10000).</li>
+ *     <li>{@code segundos}: duracion de la medicion (por defecto 30).</li>
+ *     <li>{@code escala}: cuantas veces mas rapido que el real corre el tiempo del juego (por defecto 1).</li>
+ *     <li>{@code --platform}: usa hilos de plataforma aunque haya hilos virtuales.</li>
+ * </ul>
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class LoadSimulator
+{
+    /**
+     * Pila reservada para cada bot cuando se usan hilos de plataforma.
+     */
+    private static final long PLATFORM_STACK_BYTES = 256 * 1024;
+
+    /**
+     * Segundos de calentamiento antes de medir.
+     */
+    private static final int WARMUP_SECONDS = 5;
+
+    /**
+     * Velocidad media de los bots, en caracteres por minuto.
+     */
+    private static final double MEAN_CPM = 250;
+
+    /**
+     * Desviacion estandar de la velocidad de los bots.
+     */
+    private static final double STDDEV_CPM = 80;
+
+    /**
+     * Metricas compartidas por todos los bots.
+     * <p>
+     * Se registran sin bloqueos ni objetos nuevos, con contadores
+     * {@link LongAdder} y un {@link LatencyHistogram}.
+     */
+    public static class Metrics
+    {
+        /**
+         * Indica si los bots deben seguir jugando.
+         */
+        private volatile boolean running = true;
+
+        /**
+         * Se abre cuando todos los bots fueron creados, para que el arranque no compita con las partidas.
+         */
+        private final CountDownLatch start = new CountDownLatch(1);
+
+        /**
+         * Partidas terminadas.
+         */
+        private final LongAdder games = new LongAdder();
+
+        /**
+         * Partidas ganadas.
+         */
+        private final LongAdder wins = new LongAdder();
+
+        /**
+         * Teclas y envios realizados.
+         */
+        private final LongAdder keys = new LongAdder();
+
+        /**
+         * Respuestas que el motor rechazo cuando el bot las creia correctas.
+         */
+        private final LongAdder unexpected = new LongAdder();
+
+        /**
+         * Partidas terminadas en cada nivel.
+         */
+        private final AtomicLongArray levels = new AtomicLongArray(GameEngine.WIN_LEVEL + 1);
+
+        /**
+         * Retraso con que despiertan los bots.
+         */
+        private final LatencyHistogram lateness = new LatencyHistogram();
+
+        /**
+         * Espera a que todos los bots esten creados.
+         *
+         * @throws InterruptedException Si se interrumpe la espera.
+         */
+        public void awaitStart() throws InterruptedException
+        {
+            start.await();
+        }
+
+        /**
+         * @return {@code true} mientras los bots deban seguir jugando.
+         */
+        public boolean isRunning()
+        {
+            return running;
+        }
+
+        /**
+         * Registra una partida terminada.
+         *
+         * @param level El nivel alcanzado.
+         * @param won   Si la partida se gano.
+         */
+        public void gameFinished(int level, boolean won)
+        {
+            games.increment();
+            if (won)
+            {
+                wins.increment();
+            }
+            levels.incrementAndGet(Math.min(level, GameEngine.WIN_LEVEL));
+        }
+
+        /**
+         * Registra una tecla o un envio.
+         */
+        public void key()
+        {
+            keys.increment();
+        }
+
+        /**
+         * Registra una respuesta rechazada inesperadamente.
+         */
+        public void unexpected()
+        {
+            unexpected.increment();
+        }
+
+        /**
+         * Registra el retraso con que desperto un bot.
+         *
+         * @param nanos El retraso.
+         */
+        public void lateness(long nanos)
+        {
+            lateness.record(nanos);
+        }
+
+        /**
+         * Vacia las metricas al terminar el calentamiento.
+         */
+        private void reset()
+        {
+            games.reset();
+            wins.reset();
+            keys.reset();
+            unexpected.reset();
+            for (int i = 0; i < levels.length(); i++)
+            {
+                levels.set(i, 0);
+            }
+            lateness.reset();
+        }
+
+        /**
+         * @return El nivel medio de las partidas terminadas.
+         */
+        private double meanLevel()
+        {
+            long count = 0;
+            long sum = 0;
+            for (int i = 0; i < levels.length(); i++)
+            {
+                count += levels.get(i);
+                sum += levels.get(i) * i;
+            }
+            return count == 0 ? 0 : (double) sum / count;
+        }
+    }
+
+    /**
+     * Punto de entrada del simulador.
+     *
+     * @param args Los argumentos descritos en la documentacion de la clase.
+     * @throws InterruptedException Si se interrumpe la espera.
+     */
+    public static void main(String[] args) throws InterruptedException
+    {
+        List<String> positional = new ArrayList<>();
+        boolean platform = false;
+        for (String arg : args)
+        {
+            if (arg.equals("--platform"))
+            {
+                platform = true;
+            }
+            else
+            {
+                positional.add(arg);
+            }
+        }
+        int bots = positional.size() > 0 ? Integer.parseInt(positional.get(0)) : 10_000;
+        int seconds = positional.size() > 1 ? Integer.parseInt(positional.get(1)) : 30;
+        double timeScale = positional.size() > 2 ? Double.parseDouble(positional.get(2)) : 1;
+
+        IPhraseSource phrases = new CorpusPhraseSource(PhraseCorpus.defaultCorpus());
+        ThreadFactory virtual = platform ? null : virtualThreadFactory();
+        String mode = virtual != null ? "hilos virtuales" : "hilos de plataforma (pila de " + PLATFORM_STACK_BYTES / 1024 + " KB)";
+        System.out.println(bots + " bots, " + mode + ", escala de tiempo x" + timeScale + ", Java "
+                + Runtime.version());
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long heapBefore = memory.getHeapMemoryUsage().getUsed();
+
+        Metrics metrics = new Metrics();
+        SplittableRandom random = new SplittableRandom(12);
+        List<Thread> threads = new ArrayList<>(bots);
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < bots; i++)
+        {
+            double cpm = Math.max(60, Math.min(700, MEAN_CPM + STDDEV_CPM * gaussian(random)));
+            double errorRate = 0.01 + random.nextDouble() * 0.07;
+            BotPlayer bot = new BotPlayer(phrases, random.nextLong(), cpm, errorRate, timeScale, metrics);
+            Thread thread = virtual != null
+                    ? virtual.newThread(bot)
+                    : new Thread(null, bot, "speedw-bot-" + i, PLATFORM_STACK_BYTES);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+        metrics.start.countDown();
+        System.out.println("Arranque: " + (System.nanoTime() - startNanos) / 1_000_000 + " ms");
+
+        Thread.sleep(WARMUP_SECONDS * 1000L);
+        System.gc();
+        long heapPerSession = (memory.getHeapMemoryUsage().getUsed() - heapBefore) / bots;
+
+        metrics.reset();
+        long gcCountBefore = gcCount();
+        long gcMillisBefore = gcMillis();
+        long measureStart = System.nanoTime();
+        Thread.sleep(seconds * 1000L);
+        double elapsed = (System.nanoTime() - measureStart) / 1e9;
+        long gcCount = gcCount() - gcCountBefore;
+        long gcMillis = gcMillis() - gcMillisBefore;
+        long games = metrics.games.sum();
+        long keys = metrics.keys.sum();
+
+        metrics.running = false;
+        for (Thread thread : threads)
+        {
+            thread.join(1000);
+        }
+
+        LatencyHistogram lateness = metrics.lateness;
+        System.out.printf("Partidas: %d en %.1f s = %.1f partidas/s (%d ganadas, nivel medio %.1f)%n",
+                games, elapsed, games / elapsed, metrics.wins.sum(), metrics.meanLevel());
+        System.out.printf("Teclas: %.0f/s, %d respuestas rechazadas inesperadamente%n",
+                keys / elapsed, metrics.unexpected.sum());
+        System.out.printf("Retraso al despertar (us): p50 %d, p90 %d, p99 %d, p99.9 %d, max %d (%d muestras)%n",
+                lateness.percentile(50) / 1000, lateness.percentile(90) / 1000, lateness.percentile(99) / 1000,
+                lateness.percentile(99.9) / 1000, lateness.max() / 1000, lateness.count());
+        System.out.printf("Heap por sesion: %.1f KB%n", heapPerSession / 1024.0);
+        System.out.printf("GC: %d colecciones (%.2f/s), %d ms (%.2f%% del tiempo)%n",
+                gcCount, gcCount / elapsed, gcMillis, gcMillis / (elapsed * 10));
+    }
+
+    /**
+     * Busca por reflexion la fabrica de hilos virtuales de Java 21.
+     *
+     * @return La fabrica, o {@code null} si esta JVM no tiene hilos virtuales.
+     */
+    private static ThreadFactory virtualThreadFactory()
+    {
+        try
+        {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, "speedw-bot-", 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        }
+        catch (ReflectiveOperationException | RuntimeException e)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * @param random El generador.
+     * @return Un valor con distribucion normal estandar (Box-Muller).
+     */
+    private static double gaussian(SplittableRandom random)
+    {
+        double u = 1.0 - random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    /**
+     * @return Las colecciones de todos los recolectores hasta ahora.
+     */
+    private static long gcCount()
+    {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+        {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    /**
+     * @return Los milisegundos de todos los recolectores hasta ahora.
+     */
+    private static long gcMillis()
+    {
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+        {
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return millis;
+    }
+}
@@ -0,0 +1,205 @@
+package example.speedw.benchmarks;
+
+import example.speedw.diagnostics.GameMetrics;
+import example.speedw.models.HotSwapPhraseSource;
+import example.speedw.models.PhraseCorpus;
+import example.speedw.models.PhraseCorpusWriter;
+import example.speedw.models.PhrasePack;
+import example.speedw.models.PhrasePackWatcher;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Mide la recarga de paquetes de frases con el juego en marcha.
+ * <p>
+ * Vigila una carpeta temporal con un {@link PhrasePackWatcher} y escribe en ella
+ * paquetes cada vez mas grandes mientras un hilo juega partidas sin parar con
+ * un {@link HotSwapPhraseSource}. Informa, por paquete, el tiempo de
+ * construccion y la latencia desde que el archivo quedo escrito hasta que el
+ * juego lo ve; la latencia incluye los {@value PhrasePackWatcher#SETTLE_MILLIS}
+ * ms de espera del vigilante. Que los paquetes incompletos no se publiquen y
+ * que una partida no mezcle paquetes lo comprueban las pruebas del modulo principal.
+ * <p>
+ * Ejecutar con: {@code java -cp target/benchmarks.jar example.speedw.benchmarks.PackReloadThroughput}
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class PackReloadThroughput
+{
+    /**
+     * Frases de los paquetes que se publican, uno por tamaño.
+     */
+    private static final int[] SIZES = {1_000, 10_000, 100_000, 1_000_000};
+
+    /**
+     * Prefijo de los archivos de paquete; le sigue la letra del paquete.
+     */
+    private static final String PACK_PREFIX = "paquete-";
+
+    /**
+     * Letras con las que se generan las frases.
+     */
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyzñáé";
+
+    /**
+     * Milisegundos maximos que se espera a que se publique un paquete.
+     */
+    private static final long TIMEOUT_MILLIS = 30_000;
+
+    /**
+     * Frases que se piden en cada partida del hilo jugador.
+     */
+    private static final int PHRASES_PER_GAME = 8;
+
+    /**
+     * Punto de entrada de la medicion.
+     *
+     * @param args No se usan.
+     * @throws Exception Si no se pueden escribir los paquetes o se interrumpe la espera.
+     */
+    public static void main(String[] args) throws Exception
+    {
+        Path dir = Files.createTempDirectory("speedw-packs");
+        AtomicBoolean playing = new AtomicBoolean(true);
+        AtomicInteger games = new AtomicInteger();
+        Thread player = new Thread(() -> play(playing, games), "jugador");
+        try (PhrasePackWatcher watcher = new PhrasePackWatcher(dir))
+        {
+            watcher.start();
+            player.start();
+            System.out.println("Paquete     Frases   Construccion   Latencia");
+            for (int i = 0; i < SIZES.length; i++)
+            {
+                char tag = (char) ('A' + i);
+                Path file = dir.resolve(PACK_PREFIX + tag + PhraseCorpus.EXTENSION);
+                writePack(file, tag, SIZES[i]);
+                long written = System.nanoTime();
+                PhrasePack pack = awaitPack(file.getFileName().toString());
+                if (pack == null)
+                {
+                    System.out.println(tag + ": no se publico a tiempo.");
+                    continue;
+                }
+                System.out.printf(Locale.ROOT, "%-9s %8d %11.1f ms %7.1f ms%n", tag, pack.size(),
+                        pack.getBuildNanos() / 1e6, (System.nanoTime() - written) / 1e6);
+            }
+        }
+        finally
+        {
+            playing.set(false);
+            player.join();
+            try (Stream<Path> files = Files.walk(dir))
+            {
+                files.sorted(Comparator.reverseOrder()).forEach(PackReloadThroughput::delete);
+            }
+        }
+
+        GameMetrics metrics = GameMetrics.shared();
+        System.out.printf(Locale.ROOT, "Recargas: %d, partidas jugadas: %d%n", metrics.getPackReloads(), games.get());
+    }
+
+    /**
+     * Juega partidas sin parar, para que las recargas compitan con el juego.
+     *
+     * @param playing Indica si hay que seguir jugando.
+     * @param games   Las partidas jugadas.
+     */
+    private static void play(AtomicBoolean playing, AtomicInteger games)
+    {
+        HotSwapPhraseSource source = new HotSwapPhraseSource();
+        SplittableRandom random = new SplittableRandom(3);
+        while (playing.get())
+        {
+            source.startGame();
+            for (int level = 1; level <= PHRASES_PER_GAME; level++)
+            {
+                String phrase = source.nextPhrase(level, random);
+                source.recordResult(phrase, random.nextBoolean());
+            }
+            games.incrementAndGet();
+        }
+    }
+
+    /**
+     * Espera a que el juego use el paquete con el nombre indicado.
+     *
+     * @param name El nombre del archivo del paquete.
+     * @return El paquete, o {@code null} si no se publico a tiempo.
+     * @throws InterruptedException Si se interrumpe la espera.
+     */
+    private static PhrasePack awaitPack(String name) throws InterruptedException
+    {
+        long deadline = System.nanoTime() + TIMEOUT_MILLIS * 1_000_000;
+        while (System.nanoTime() < deadline)
+        {
+            PhrasePack pack = PhrasePack.current();
+            if (pack.getName().equals(name))
+            {
+                return pack;
+            }
+            Thread.sleep(1);
+        }
+        return null;
+    }
+
+    /**
+     * Escribe un paquete cuyas frases empiezan todas con la letra del paquete.
+     *
+     * @param file  El archivo del paquete.
+     * @param tag   La letra del paquete.
+     * @param count Las frases del paquete.
+     * @throws IOException Si no se puede escribir.
+     */
+    private static void writePack(Path file, char tag, int count) throws IOException
+    {
+        SplittableRandom random = new SplittableRandom(count);
+        PhraseCorpusWriter writer = new PhraseCorpusWriter(file.getParent());
+        try
+        {
+            StringBuilder phrase = new StringBuilder();
+            for (int i = 0; i < count; i++)
+            {
+                phrase.setLength(0);
+                phrase.append(tag).append(i).append(' ');
+                int length = 10 + random.nextInt(30);
+                while (phrase.length() < length)
+                {
+                    phrase.append(random.nextInt(6) == 0 ? ' ' : LETTERS.charAt(random.nextInt(LETTERS.length())));
+                }
+                writer.add(phrase.toString().trim());
+            }
+            writer.write(file);
+        }
+        finally
+        {
+            writer.close();
+        }
+    }
+
+    /**
+     * Borra un archivo temporal, ignorando si ya no existe.
+     *
+     * @param file El archivo.
+     */
+    private static void delete(Path file)
+    {
+        try
+        {
+            Files.deleteIfExists(file);
+        }
+        catch (IOException e)
+        {
+            // Es un archivo temporal; el sistema lo borrara.
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package example.speedw.benchmarks;
+
+import example.speedw.models.ComparisonMode;
+import example.speedw.models.PassageValidator;
+import example.speedw.models.PhraseRenderer;
+import javafx.scene.canvas.Canvas;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencia de una tecla en el modo de pasajes, segun el largo del texto.
+ * <p>
+ * Cada operacion es lo que hace la vista con una tecla: pasarla al
+ * {@link PassageValidator}, marcar el progreso en el {@link PhraseRenderer} y
+ * dibujar el cuadro (sobre un {@link Canvas} sin mostrar, con
+ * {@link FixedGlyphMetrics}). El jugador va a la mitad del pasaje. Si la
+ * latencia es plana, las tres longitudes deben dar el mismo tiempo.
+ * <ul>
+ * <li><b>typeAtEnd:</b> escribe un caracter al final de lo escrito y lo borra en la siguiente operacion.</li>
+ * <li><b>typeInMiddle:</b> lo mismo, con el cursor 200 caracteres antes del final de lo escrito.</li>
+ * </ul>
+ * Sin pulsos de JavaFX nadie consume los comandos del lienzo, asi que cada 256
+ * operaciones se dibuja un cuadro completo, que los descarta; su costo queda
+ * repartido en el promedio.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Dprism.order=sw", "-Xmx1g"})
+@State(Scope.Thread)
+public class PassageBenchmark
+{
+    /**
+     * Letras del pasaje sintetico.
+     */
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz áéíóúñ";
+
+    /**
+     * Caracteres entre el cursor y el final de lo escrito en {@link #typeInMiddle()}.
+     */
+    private static final int MIDDLE_OFFSET = 200;
+
+    /**
+     * Longitud del pasaje.
+     */
+    @Param({"1000", "100000", "1000000"})
+    public int length;
+
+    /**
+     * Validador con la mitad del pasaje escrita.
+     */
+    private PassageValidator validator;
+
+    /**
+     * Dibujante del pasaje, con ocho renglones visibles como en la vista.
+     */
+    private PhraseRenderer renderer;
+
+    /**
+     * Caracter que se escribe en cada operacion, el que sigue en el pasaje.
+     */
+    private char next;
+
+    /**
+     * Operaciones hechas, para alternar entre escribir y borrar.
+     */
+    private long operations;
+
+    /**
+     * Genera el pasaje, escribe la mitad y lo dibuja una vez.
+     */
+    @Setup
+    public void setUp()
+    {
+        SplittableRandom random = new SplittableRandom(9);
+        StringBuilder text = new StringBuilder(length);
+        while (text.length() < length)
+        {
+            text.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+        }
+        validator = new PassageValidator();
+        validator.setTarget(text, ComparisonMode.EXACT);
+        String target = validator.getTarget();
+        for (int i = 0; i < length / 2; i++)
+        {
+            validator.type(target.charAt(i));
+        }
+        next = target.charAt(length / 2);
+        renderer = new PhraseRenderer(new Canvas(692, 24), new FixedGlyphMetrics(), 8);
+        renderer.setPhrase(target);
+        renderer.setProgress(validator.getCorrectPrefix(), validator.getTypedLength(), validator.getCaret());
+        renderer.render();
+    }
+
+    /**
+     * Una tecla al final de lo escrito, y su cuadro.
+     *
+     * @return Las celdas dibujadas.
+     */
+    @Benchmark
+    public int typeAtEnd()
+    {
+        return keystroke();
+    }
+
+    /**
+     * Una tecla 200 caracteres antes del final de lo escrito, y su cuadro.
+     *
+     * @return Las celdas dibujadas.
+     */
+    @Benchmark
+    public int typeInMiddle()
+    {
+        if (operations == 0)
+        {
+            validator.moveCaret(validator.getTypedLength() - MIDDLE_OFFSET);
+        }
+        return keystroke();
+    }
+
+    /**
+     * Escribe o borra un caracter en el cursor, alternando, y dibuja el cuadro.
+     *
+     * @return Las celdas dibujadas.
+     */
+    private int keystroke()
+    {
+        if ((operations & 1) == 0)
+        {
+            validator.type(next);
+        }
+        else
+        {
+            validator.deleteBefore();
+        }
+        if ((++operations & 255) == 0)
+        {
+            renderer.invalidate();
+        }
+        renderer.setProgress(validator.getCorrectPrefix(), validator.getTypedLength(), validator.getCaret());
+        return renderer.render();
+    }
+}
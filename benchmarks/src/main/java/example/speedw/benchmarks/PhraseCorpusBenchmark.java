@@ -0,0 +1,127 @@
+package example.speedw.benchmarks;
+
+import example.speedw.models.PhraseCorpus;
+import example.speedw.models.PhraseCorpusWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks del {@link PhraseCorpus} mapeado en memoria.
+ * <p>
+ * Genera un corpus sintetico en un archivo temporal, lo abre una vez y mide
+ * la seleccion de frases (uniforme y por longitud), que solo decodifica la
+ * frase elegida.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PhraseCorpusBenchmark
+{
+    /**
+     * Numero de frases del corpus sintetico.
+     */
+    @Param({"1000000"})
+    public int phrases;
+
+    /**
+     * Archivo temporal con el corpus.
+     */
+    private Path file;
+
+    /**
+     * Corpus abierto sobre el archivo temporal.
+     */
+    private PhraseCorpus corpus;
+
+    /**
+     * Generador aleatorio de las selecciones.
+     */
+    private SplittableRandom random;
+
+    /**
+     * Construye y abre el corpus sintetico.
+     *
+     * @throws IOException Si no se puede escribir el archivo temporal.
+     */
+    @Setup
+    public void setUp() throws IOException
+    {
+        Path dir = Files.createTempDirectory("speedw-corpus");
+        file = dir.resolve("bench.spwc");
+        PhraseCorpusWriter writer = new PhraseCorpusWriter(dir);
+        SplittableRandom generator = new SplittableRandom(3);
+        StringBuilder phrase = new StringBuilder();
+        for (int i = 0; i < phrases; i++)
+        {
+            phrase.setLength(0);
+            int length = 3 + generator.nextInt(30);
+            for (int c = 0; c < length; c++)
+            {
+                phrase.append((char) ('a' + generator.nextInt(26)));
+            }
+            writer.add(phrase.toString());
+        }
+        writer.write(file);
+        writer.close();
+
+        corpus = PhraseCorpus.open(file);
+        random = new SplittableRandom(42);
+    }
+
+    /**
+     * Borra el corpus temporal.
+     *
+     * @throws IOException Si no se puede borrar el archivo.
+     */
+    @TearDown
+    public void tearDown() throws IOException
+    {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(file.getParent());
+    }
+
+    /**
+     * Selecciona y decodifica una frase cualquiera.
+     *
+     * @return La frase seleccionada.
+     */
+    @Benchmark
+    public String randomPhrase()
+    {
+        return corpus.phraseAt(corpus.randomId(random));
+    }
+
+    /**
+     * Selecciona y decodifica una frase de 10 a 12 caracteres usando el indice por longitud.
+     *
+     * @return La frase seleccionada.
+     */
+    @Benchmark
+    public String randomPhraseWithLength()
+    {
+        return corpus.phraseAt(corpus.randomIdWithLength(10, 12, random));
+    }
+}
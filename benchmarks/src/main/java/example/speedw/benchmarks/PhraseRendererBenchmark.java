@@ -0,0 +1,138 @@
+package example.speedw.benchmarks;
+
+import example.speedw.models.PhraseRenderer;
+import javafx.scene.canvas.Canvas;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tiempo por cuadro del {@link PhraseRenderer}.
+ * <p>
+ * Dibuja sobre un {@link Canvas} real, sin mostrarlo: se mide lo que cuesta en
+ * el hilo de JavaFX producir los comandos de dibujo de un cuadro, que es lo que
+ * compite con el presupuesto de 4.1 ms a 240 Hz o 6.9 ms a 144 Hz; el raster lo
+ * hace despues el hilo de render. Las medidas de los caracteres son fijas
+ * ({@link FixedGlyphMetrics}).
+ * <ul>
+ * <li><b>keystrokeFrame:</b> un cuadro con una tecla nueva (a veces errada).</li>
+ * <li><b>fullFrame:</b> un cuadro que redibuja todos los renglones visibles, como al desplazar la vista.</li>
+ * <li><b>newPhrase:</b> acomodar una frase nueva y dibujarla completa.</li>
+ * </ul>
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dprism.order=sw")
+@State(Scope.Thread)
+public class PhraseRendererBenchmark
+{
+    /**
+     * Letras de las frases sinteticas.
+     */
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz áéíóúñ";
+
+    /**
+     * Renglones visibles, como en la vista del juego.
+     */
+    private static final int LINES = 4;
+
+    /**
+     * Longitud de la frase.
+     */
+    @Param({"60", "1000", "5000"})
+    public int length;
+
+    /**
+     * Frase sintetica.
+     */
+    private String phrase;
+
+    /**
+     * Renderer sobre el lienzo del tamaño de la vista del juego.
+     */
+    private PhraseRenderer renderer;
+
+    /**
+     * Caracteres escritos hasta el cuadro actual.
+     */
+    private int typed;
+
+    /**
+     * Genera la frase y la dibuja una vez.
+     */
+    @Setup
+    public void setUp()
+    {
+        SplittableRandom random = new SplittableRandom(5);
+        StringBuilder text = new StringBuilder();
+        while (text.length() < length)
+        {
+            text.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+        }
+        phrase = text.toString();
+        renderer = new PhraseRenderer(new Canvas(692, 24), new FixedGlyphMetrics(), LINES);
+        renderer.setPhrase(phrase);
+        renderer.render();
+        typed = 0;
+    }
+
+    /**
+     * Un cuadro con una tecla mas; uno de cada 20 caracteres queda errado hasta la tecla siguiente.
+     * Al llegar al final la frase vuelve a empezar, con un cuadro completo.
+     *
+     * @return Las celdas dibujadas.
+     */
+    @Benchmark
+    public int keystrokeFrame()
+    {
+        if (++typed > length)
+        {
+            // Sin un pulso que los consuma, los comandos del lienzo solo se descartan al borrarlo completo.
+            typed = 0;
+            renderer.invalidate();
+        }
+        renderer.setProgress(typed % 20 == 19 ? typed - 1 : typed, typed);
+        return renderer.render();
+    }
+
+    /**
+     * Un cuadro que redibuja todos los renglones visibles.
+     *
+     * @return Las celdas dibujadas.
+     */
+    @Benchmark
+    public int fullFrame()
+    {
+        renderer.invalidate();
+        return renderer.render();
+    }
+
+    /**
+     * Acomoda la frase de nuevo y la dibuja completa.
+     *
+     * @return Las celdas dibujadas.
+     */
+    @Benchmark
+    public int newPhrase()
+    {
+        renderer.setPhrase(phrase);
+        return renderer.render();
+    }
+}
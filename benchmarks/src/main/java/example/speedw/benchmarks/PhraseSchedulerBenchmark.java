@@ -0,0 +1,166 @@
+package example.speedw.benchmarks;
+
+import example.speedw.models.AdaptivePhraseScheduler;
+import example.speedw.models.FenwickSampler;
+import example.speedw.models.GameEngine;
+import example.speedw.models.PhraseCorpus;
+import example.speedw.models.PhraseCorpusWriter;
+import example.speedw.models.PhraseDifficulty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks del {@link AdaptivePhraseScheduler} sobre un corpus grande.
+ * <p>
+ * Genera un corpus sintetico con acentos y letras poco frecuentes, construye
+ * su {@link PhraseDifficulty} una vez y mide el sorteo de una frase por nivel
+ * con la respuesta del jugador (que ajusta pesos en O(log n)), y por separado
+ * el cambio de peso y el sorteo del {@link FenwickSampler}.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PhraseSchedulerBenchmark
+{
+    /**
+     * Letras del corpus sintetico, con acentos y letras poco frecuentes.
+     */
+    private static final String LETTERS = "abcdeefghiijklmnoopqrsstuvwxyzáéíóúñ";
+
+    /**
+     * Numero de frases del corpus sintetico.
+     */
+    @Param({"1000000"})
+    public int phrases;
+
+    /**
+     * Archivo temporal con el corpus.
+     */
+    private Path file;
+
+    /**
+     * Planificador sobre el corpus.
+     */
+    private AdaptivePhraseScheduler scheduler;
+
+    /**
+     * Muestreador suelto, del tamaño del corpus.
+     */
+    private FenwickSampler sampler;
+
+    /**
+     * Generador aleatorio de los sorteos.
+     */
+    private SplittableRandom random;
+
+    /**
+     * Nivel del siguiente sorteo.
+     */
+    private int level;
+
+    /**
+     * Construye el corpus sintetico y su indice de dificultad.
+     *
+     * @throws IOException Si no se puede escribir el archivo temporal.
+     */
+    @Setup
+    public void setUp() throws IOException
+    {
+        Path dir = Files.createTempDirectory("speedw-scheduler");
+        file = dir.resolve("bench.spwc");
+        PhraseCorpusWriter writer = new PhraseCorpusWriter(dir);
+        SplittableRandom generator = new SplittableRandom(3);
+        StringBuilder phrase = new StringBuilder();
+        for (int i = 0; i < phrases; i++)
+        {
+            phrase.setLength(0);
+            int length = 3 + generator.nextInt(30);
+            for (int c = 0; c < length; c++)
+            {
+                phrase.append(LETTERS.charAt(generator.nextInt(LETTERS.length())));
+            }
+            writer.add(phrase.toString());
+        }
+        writer.write(file);
+        writer.close();
+
+        long start = System.nanoTime();
+        PhraseDifficulty index = new PhraseDifficulty(PhraseCorpus.open(file));
+        System.out.printf("%nIndice de dificultad de %d frases: %.1f ms%n", index.size(),
+                (System.nanoTime() - start) / 1e6);
+        scheduler = new AdaptivePhraseScheduler(index);
+        sampler = new FenwickSampler(phrases, 1.0);
+        random = new SplittableRandom(42);
+
+        // Algunas teclas erradas para que el sorteo tambien pase por la aceptacion por caracteres.
+        scheduler.startGame();
+        for (int i = 0; i < 200; i++)
+        {
+            char c = LETTERS.charAt(i % LETTERS.length());
+            scheduler.recordKey(c, c == 'ñ' || c == 'k' || i % 17 == 0);
+        }
+    }
+
+    /**
+     * Borra el corpus temporal.
+     *
+     * @throws IOException Si no se puede borrar el archivo.
+     */
+    @TearDown
+    public void tearDown() throws IOException
+    {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(file.getParent());
+    }
+
+    /**
+     * Sortea la frase de un nivel y responde, alternando aciertos y fallos.
+     *
+     * @return La frase sorteada.
+     */
+    @Benchmark
+    public String nextPhraseAndAnswer()
+    {
+        level = level % GameEngine.WIN_LEVEL + 1;
+        String phrase = scheduler.nextPhrase(level, random);
+        scheduler.recordResult(phrase, (level & 1) == 0);
+        return phrase;
+    }
+
+    /**
+     * Cambia un peso y sortea una posicion de una banda del 20%.
+     *
+     * @return La posicion sorteada.
+     */
+    @Benchmark
+    public int updateAndSample()
+    {
+        int size = sampler.size();
+        sampler.set(random.nextInt(size), 0.1 + random.nextDouble() * 4);
+        int from = random.nextInt(size - size / 5);
+        return sampler.sample(from, from + size / 5, random);
+    }
+}
@@ -0,0 +1,448 @@
+package example.speedw.benchmarks;
+
+import example.speedw.diagnostics.LatencyHistogram;
+import example.speedw.models.DefaultPhrases;
+import example.speedw.models.ValidationResult;
+import example.speedw.net.IRaceListener;
+import example.speedw.net.RaceClient;
+import example.speedw.net.RaceProtocol;
+import example.speedw.net.RaceServer;
+import example.speedw.net.RaceStandings;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+
+/**
+ * Prueba de carga del {@link RaceServer} en una sola maquina.
+ * <p>
+ * Inicia el servidor en este proceso y abre miles de conexiones por localhost,
+ * todas atendidas por un unico hilo con un {@link Selector}, como jugadores que
+ * escriben cada frase a su ritmo y a veces se equivocan. Cada jugador que
+ * termina su partida vuelve a entrar a una sala. Reporta el tiempo de conexion,
+ * los mensajes por segundo, la latencia entre enviar una respuesta y recibir su
+ * resultado, el heap por conexion y la actividad del recolector de basura.
+ * <p>
+ * Ejecutar con: {@code java -cp target/benchmarks.jar example.speedw.benchmarks.RaceLoadTest [conexiones] [segundos] [cpm]}
+ * <p>
+ * Cada conexion usa dos descriptores de archivo en el mismo proceso, por lo que
+ * el limite del sistema ({@code ulimit -n}) debe ser mayor al doble de las conexiones.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class RaceLoadTest
+{
+    /**
+     * Jugadores por sala.
+     */
+    private static final int ROOM_SIZE = 8;
+
+    /**
+     * Probabilidad de enviar una respuesta equivocada.
+     */
+    private static final double ERROR_RATE = 0.05;
+
+    /**
+     * Un jugador simulado con su conexion.
+     */
+    private static final class Bot implements IRaceListener
+    {
+        /**
+         * Canal del jugador.
+         */
+        private final SocketChannel channel;
+
+        /**
+         * Sala a la que entra el jugador.
+         */
+        private final String room;
+
+        /**
+         * Nanosegundos por tecla.
+         */
+        private final long keyNanos;
+
+        /**
+         * Bytes recibidos que todavia no forman un mensaje completo.
+         */
+        private final ByteBuffer in = ByteBuffer.allocate(RaceProtocol.MAX_FRAME);
+
+        /**
+         * Frase actual, o {@code null} si el jugador no esta jugando.
+         */
+        private String phrase;
+
+        /**
+         * Instante de la siguiente accion, o -1 si no hay ninguna.
+         */
+        private long nextActionNanos = -1;
+
+        /**
+         * Instante en que se envio la ultima respuesta, o -1 si no se espera resultado.
+         */
+        private long sentNanos = -1;
+
+        /**
+         * Indica si la siguiente accion es volver a entrar a una sala.
+         */
+        private boolean rejoin;
+
+        /**
+         * Id del jugador en su sala.
+         */
+        private int id = -1;
+
+        private Bot(SocketChannel channel, String room, long keyNanos)
+        {
+            this.channel = channel;
+            this.room = room;
+            this.keyNanos = keyNanos;
+        }
+
+        @Override
+        public void onJoined(int playerId, int players, int capacity)
+        {
+            id = playerId;
+        }
+
+        @Override
+        public void onPhrase(int level, int levelMillis, String newPhrase)
+        {
+            phrase = newPhrase;
+            schedule(now + typingNanos(newPhrase.length()));
+        }
+
+        @Override
+        public void onResult(ValidationResult result, int level)
+        {
+            if (sentNanos >= 0)
+            {
+                ROUND_TRIP.record(now - sentNanos);
+                sentNanos = -1;
+            }
+            if (result == ValidationResult.INCORRECT)
+            {
+                schedule(now + typingNanos(phrase.length()));
+            }
+        }
+
+        @Override
+        public void onStandings(RaceStandings standings)
+        {
+            standingsReceived++;
+        }
+
+        @Override
+        public void onFinished(int playerId, int level, boolean won)
+        {
+            if (playerId == id)
+            {
+                phrase = null;
+                rejoin = true;
+                gamesFinished++;
+                schedule(now + 500_000_000L);
+            }
+        }
+
+        @Override
+        public void onError(String message)
+        {
+            System.err.println("Error del servidor: " + message);
+        }
+
+        @Override
+        public void onDisconnected(Exception cause)
+        {
+        }
+
+        /**
+         * @param chars Los caracteres a escribir.
+         * @return Los nanosegundos que tarda el jugador en escribirlos.
+         */
+        private long typingNanos(int chars)
+        {
+            return chars * keyNanos / 2 + RANDOM.nextLong(chars * keyNanos + 1);
+        }
+
+        /**
+         * Programa la siguiente accion del jugador, reemplazando la anterior.
+         *
+         * @param atNanos El instante de la accion.
+         */
+        private void schedule(long atNanos)
+        {
+            if (nextActionNanos >= 0)
+            {
+                ACTIONS.remove(this);
+            }
+            nextActionNanos = atNanos;
+            ACTIONS.add(this);
+        }
+    }
+
+    /**
+     * Acciones pendientes de los jugadores, por instante.
+     */
+    private static final PriorityQueue<Bot> ACTIONS =
+            new PriorityQueue<>(Comparator.comparingLong((Bot bot) -> bot.nextActionNanos));
+
+    /**
+     * Latencia entre enviar una respuesta y recibir su resultado.
+     */
+    private static final LatencyHistogram ROUND_TRIP = new LatencyHistogram();
+
+    /**
+     * Generador de los jugadores.
+     */
+    private static final SplittableRandom RANDOM = new SplittableRandom(13);
+
+    /**
+     * Buffer reutilizable para codificar los envios.
+     */
+    private static final ByteBuffer OUT = ByteBuffer.allocate(1024);
+
+    /**
+     * Posiciones reutilizadas por el decodificador.
+     */
+    private static final RaceStandings STANDINGS = new RaceStandings();
+
+    /**
+     * Instante del evento que se esta atendiendo.
+     */
+    private static long now;
+
+    /**
+     * Mensajes de posiciones recibidos.
+     */
+    private static long standingsReceived;
+
+    /**
+     * Partidas terminadas.
+     */
+    private static long gamesFinished;
+
+    /**
+     * Respuestas enviadas.
+     */
+    private static long submits;
+
+    /**
+     * Punto de entrada de la prueba.
+     *
+     * @param args Opcionalmente las conexiones (4000), los segundos (30) y los caracteres por minuto (300).
+     * @throws IOException Si fallo la red.
+     */
+    public static void main(String[] args) throws IOException
+    {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 4000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        double cpm = args.length > 2 ? Double.parseDouble(args[2]) : 300;
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        RaceServer server = new RaceServer(new DefaultPhrases(), ROOM_SIZE, 2000);
+        int port = server.start(new InetSocketAddress("127.0.0.1", 0));
+        System.gc();
+        long heapBefore = memory.getHeapMemoryUsage().getUsed();
+
+        Selector selector = Selector.open();
+        List<Bot> bots = new ArrayList<>(connections);
+        long connectStart = System.nanoTime();
+        for (int i = 0; i < connections; i++)
+        {
+            SocketChannel channel = SocketChannel.open(new InetSocketAddress("127.0.0.1", port));
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            channel.configureBlocking(false);
+            long keyNanos = (long) (60_000_000_000L / (cpm * (0.7 + RANDOM.nextDouble() * 0.6)));
+            Bot bot = new Bot(channel, "sala-" + i / ROOM_SIZE, keyNanos);
+            channel.register(selector, SelectionKey.OP_READ, bot);
+            bots.add(bot);
+            send(bot, null);
+        }
+        long connectMillis = (System.nanoTime() - connectStart) / 1_000_000;
+        System.out.println(connections + " conexiones en " + connectMillis + " ms; el servidor ve "
+                + server.getConnectionCount());
+
+        // Calentamiento: un par de segundos para que empiecen todas las carreras.
+        runUntil(selector, System.nanoTime() + 3_000_000_000L);
+        System.gc();
+        long heapPerConnection = (memory.getHeapMemoryUsage().getUsed() - heapBefore) / connections;
+
+        ROUND_TRIP.reset();
+        long framesInBefore = server.getFramesIn();
+        long framesOutBefore = server.getFramesOut();
+        long racesBefore = server.getRacesStarted();
+        long gamesBefore = gamesFinished;
+        long submitsBefore = submits;
+        long standingsBefore = standingsReceived;
+        long gcCountBefore = gcCount();
+        long gcMillisBefore = gcMillis();
+        long start = System.nanoTime();
+        runUntil(selector, start + seconds * 1_000_000_000L);
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Servidor: %d conexiones, %.0f mensajes recibidos/s, %.0f enviados/s, %d carreras%n",
+                server.getConnectionCount(), (server.getFramesIn() - framesInBefore) / elapsed,
+                (server.getFramesOut() - framesOutBefore) / elapsed, server.getRacesStarted() - racesBefore);
+        System.out.printf("Partidas terminadas: %d (%.1f/s), respuestas enviadas: %d, posiciones recibidas: %d%n",
+                gamesFinished - gamesBefore, (gamesFinished - gamesBefore) / elapsed, submits - submitsBefore,
+                standingsReceived - standingsBefore);
+        System.out.printf("Respuesta -> resultado (us): p50 %d, p90 %d, p99 %d, p99.9 %d, max %d (%d muestras)%n",
+                ROUND_TRIP.percentile(50) / 1000, ROUND_TRIP.percentile(90) / 1000, ROUND_TRIP.percentile(99) / 1000,
+                ROUND_TRIP.percentile(99.9) / 1000, ROUND_TRIP.max() / 1000, ROUND_TRIP.count());
+        System.out.printf("Heap por conexion (servidor y cliente juntos): %.1f KB%n", heapPerConnection / 1024.0);
+        System.out.printf("GC: %d colecciones, %d ms%n", gcCount() - gcCountBefore, gcMillis() - gcMillisBefore);
+
+        for (Bot bot : bots)
+        {
+            bot.channel.close();
+        }
+        selector.close();
+        server.close();
+    }
+
+    /**
+     * Atiende la red y las acciones de los jugadores hasta un instante.
+     *
+     * @param selector El selector de las conexiones.
+     * @param endNanos El instante en que se detiene.
+     * @throws IOException Si fallo la red.
+     */
+    private static void runUntil(Selector selector, long endNanos) throws IOException
+    {
+        while ((now = System.nanoTime()) < endNanos)
+        {
+            Bot next = ACTIONS.peek();
+            long until = next == null ? endNanos : Math.min(endNanos, next.nextActionNanos);
+            long waitMillis = (until - now) / 1_000_000L;
+            if (waitMillis > 0)
+            {
+                selector.select(RaceLoadTest::read, waitMillis);
+            }
+            else
+            {
+                selector.selectNow(RaceLoadTest::read);
+            }
+
+            now = System.nanoTime();
+            while ((next = ACTIONS.peek()) != null && next.nextActionNanos <= now)
+            {
+                ACTIONS.poll();
+                next.nextActionNanos = -1;
+                act(next);
+            }
+        }
+    }
+
+    /**
+     * Lee los mensajes de una conexion.
+     *
+     * @param key La conexion.
+     */
+    private static void read(SelectionKey key)
+    {
+        Bot bot = (Bot) key.attachment();
+        now = System.nanoTime();
+        try
+        {
+            if (bot.channel.read(bot.in) < 0)
+            {
+                throw new IOException("El servidor cerro la conexion.");
+            }
+            bot.in.flip();
+            RaceClient.decode(bot.in, STANDINGS, bot);
+            bot.in.compact();
+        }
+        catch (IOException e)
+        {
+            key.cancel();
+            System.err.println("Conexion perdida: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Realiza la accion programada de un jugador.
+     *
+     * @param bot El jugador.
+     * @throws IOException Si no se pudo enviar.
+     */
+    private static void act(Bot bot) throws IOException
+    {
+        if (bot.rejoin)
+        {
+            bot.rejoin = false;
+            send(bot, null);
+        }
+        else if (bot.phrase != null)
+        {
+            String answer = RANDOM.nextDouble() < ERROR_RATE ? bot.phrase + "x" : bot.phrase;
+            bot.sentNanos = System.nanoTime();
+            submits++;
+            send(bot, answer);
+        }
+    }
+
+    /**
+     * Envia un mensaje de un jugador.
+     *
+     * @param bot    El jugador.
+     * @param answer La respuesta a enviar, o {@code null} para entrar a su sala.
+     * @throws IOException Si no se pudo enviar.
+     */
+    private static void send(Bot bot, String answer) throws IOException
+    {
+        OUT.clear();
+        if (answer == null)
+        {
+            RaceClient.encodeHello(OUT, bot.room, "bot");
+        }
+        else
+        {
+            RaceClient.encodeSubmit(OUT, answer);
+        }
+        OUT.flip();
+        while (OUT.hasRemaining())
+        {
+            bot.channel.write(OUT);
+        }
+    }
+
+    /**
+     * @return Las colecciones de todos los recolectores hasta ahora.
+     */
+    private static long gcCount()
+    {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+        {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    /**
+     * @return Los milisegundos de todos los recolectores hasta ahora.
+     */
+    private static long gcMillis()
+    {
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+        {
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return millis;
+    }
+}
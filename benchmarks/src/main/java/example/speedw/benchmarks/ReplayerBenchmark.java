@@ -0,0 +1,150 @@
+package example.speedw.benchmarks;
+
+import example.speedw.models.AdaptivePhraseScheduler;
+import example.speedw.models.ClockEvent;
+import example.speedw.models.GameEngine;
+import example.speedw.models.IPhraseSource;
+import example.speedw.models.ReplayRecorder;
+import example.speedw.models.Replayer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de {@link Replayer}: cuanto cuesta reproducir y verificar una partida grabada.
+ * <p>
+ * Antes de medir graba partidas simuladas con un reloj virtual (teclas a ritmo
+ * variable, errores con borrado y niveles perdidos por tiempo) y en cada
+ * invocacion reproduce la siguiente. Que la reproduccion coincida con la
+ * partida grabada lo comprueban las pruebas del modulo principal.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReplayerBenchmark
+{
+    /**
+     * Numero de partidas grabadas.
+     */
+    private static final int GAMES = 200;
+
+    /**
+     * Fuente de frases con la que se graba y se reproduce.
+     */
+    private IPhraseSource phrases;
+
+    /**
+     * Las partidas grabadas.
+     */
+    private byte[][] replays;
+
+    /**
+     * Siguiente partida a reproducir.
+     */
+    private int next;
+
+    /**
+     * Graba las partidas simuladas.
+     */
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        phrases = AdaptivePhraseScheduler.forDefaultCorpus();
+        SplittableRandom bots = new SplittableRandom(11);
+        replays = new byte[GAMES][];
+        for (int game = 0; game < GAMES; game++)
+        {
+            replays[game] = play(bots.nextLong(), bots.split());
+        }
+    }
+
+    /**
+     * Reproduce y verifica la siguiente partida grabada.
+     *
+     * @return El resultado de la verificacion.
+     * @throws IOException Si la grabacion no se pudo leer.
+     */
+    @Benchmark
+    public Replayer.Verification replay() throws IOException
+    {
+        byte[] replay = replays[next];
+        next = (next + 1) % GAMES;
+        return Replayer.replay(ByteBuffer.wrap(replay), phrases);
+    }
+
+    /**
+     * Juega una partida simulada y la graba.
+     *
+     * @param seed La semilla de la partida.
+     * @param bot  El generador que decide las teclas del jugador simulado.
+     * @return La grabacion.
+     */
+    private byte[] play(long seed, SplittableRandom bot)
+    {
+        GameEngine engine = new GameEngine(phrases, new SplittableRandom(seed));
+        ReplayRecorder recorder = new ReplayRecorder();
+        long now = 1_000_000_000L;
+        engine.startGame(now, seed);
+        recorder.begin(seed, engine.getComparisonMode(), engine.getPack(), now);
+        double errorRate = 0.01 + bot.nextDouble() * 0.05;
+        long keyNanos = 80_000_000L + bot.nextLong(400_000_000L);
+
+        while (!engine.isFinished())
+        {
+            String phrase = engine.getActualPhrase();
+            int typed = 0;
+            while (!engine.isFinished())
+            {
+                now += keyNanos / 2 + bot.nextLong(keyNanos);
+                if (engine.poll(now) == ClockEvent.EXPIRED)
+                {
+                    recorder.expire(now);
+                    engine.finalValidation(now);
+                    break;
+                }
+                if (typed == phrase.length())
+                {
+                    recorder.submit(now);
+                    engine.submit(now);
+                    break;
+                }
+                if (bot.nextDouble() < errorRate)
+                {
+                    engine.typeChar('#');
+                    recorder.append(now, '#');
+                    now += keyNanos;
+                    engine.deleteChar();
+                    recorder.delete(now);
+                }
+                else
+                {
+                    char c = phrase.charAt(typed++);
+                    engine.typeChar(c);
+                    recorder.append(now, c);
+                }
+            }
+        }
+        recorder.end(now, engine.getLevel(), engine.isWon(), engine.generateRecord());
+        return recorder.toByteArray();
+    }
+}
@@ -0,0 +1,161 @@
+package example.speedw.benchmarks;
+
+import example.speedw.models.GameResult;
+import example.speedw.models.ResultsIndex;
+import example.speedw.models.ResultsLog;
+import example.speedw.models.SessionStats;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks del historial de partidas con miles y millones de partidas guardadas.
+ * <p>
+ * Escribe un historial sintetico en un archivo temporal y mide las consultas del
+ * ranking sobre sus indices, y el tiempo de volver a abrir el archivo completo
+ * (recuperacion y construccion de los indices).
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+@State(Scope.Benchmark)
+public class ResultsLogBenchmark
+{
+    /**
+     * Numero de partidas del historial.
+     */
+    @Param({"10000", "1000000"})
+    public int games;
+
+    /**
+     * Archivo temporal del historial.
+     */
+    private Path file;
+
+    /**
+     * Indices del historial ya abierto.
+     */
+    private ResultsIndex index;
+
+    /**
+     * Escribe el historial sintetico y lo vuelve a abrir.
+     *
+     * @throws IOException Si no se pudo crear el archivo temporal.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException
+    {
+        file = Files.createTempFile("speedw-results", ".log");
+        Files.delete(file);
+
+        ResultsLog log = new ResultsLog(file);
+        log.open().join();
+        SplittableRandom random = new SplittableRandom(3);
+        SessionStats stats = new SessionStats();
+        for (int game = 0; game < games; game++)
+        {
+            stats.reset(0);
+            int level = 1 + random.nextInt(36);
+            for (int i = 1; i < level; i++)
+            {
+                stats.recordCorrect("frase numero " + random.nextInt(2000), 1_000_000L, i * 3_000_000_000L);
+                stats.setLevelReached(i + 1);
+            }
+            stats.recordMiss("frase numero " + random.nextInt(2000));
+            log.append(GameResult.of(stats, level == 36, game), stats);
+
+            // Se espera al hilo de escritura para no acumular millones de partidas en la cola.
+            while (game - log.getWrittenGames() > 10_000)
+            {
+                Thread.onSpinWait();
+            }
+        }
+        log.close(60_000);
+
+        index = new ResultsLog(file).open().join();
+    }
+
+    /**
+     * Borra el archivo temporal.
+     *
+     * @throws IOException Si no se pudo borrar.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException
+    {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Consulta las diez mejores partidas.
+     *
+     * @return Las partidas.
+     */
+    @Benchmark
+    public List<GameResult> topTen()
+    {
+        return index.top(10);
+    }
+
+    /**
+     * Consulta la mejor marca personal.
+     *
+     * @return La partida.
+     */
+    @Benchmark
+    public GameResult personalBest()
+    {
+        return index.personalBest();
+    }
+
+    /**
+     * Busca las diez frases de peor precision.
+     *
+     * @return Los ids de las frases.
+     */
+    @Benchmark
+    public int[] hardestPhrases()
+    {
+        return index.hardestPhrases(10, 3);
+    }
+
+    /**
+     * Vuelve a abrir el historial completo: recorre, valida y recupera todos los
+     * registros y reconstruye los indices.
+     *
+     * @return Los indices reconstruidos.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ResultsIndex reopen()
+    {
+        ResultsLog log = new ResultsLog(file);
+        ResultsIndex reopened = log.open().join();
+        log.close(1000);
+        return reopened;
+    }
+}
@@ -0,0 +1,116 @@
+package example.speedw.benchmarks;
+
+import example.speedw.models.SessionStats;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de {@link SessionStats} con sesiones de distintos tamaños.
+ * <p>
+ * Mide el costo de registrar una respuesta correcta, de consultar los totales
+ * y de generar el resumen. Las frases se repiten para que el resumen tenga
+ * {@code entries / 4} frases distintas.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SessionStatsBenchmark
+{
+    /**
+     * Numero de respuestas correctas de la sesion.
+     */
+    @Param({"35", "1000", "100000"})
+    public int entries;
+
+    /**
+     * Frases distintas usadas para llenar la sesion.
+     */
+    private String[] phrases;
+
+    /**
+     * Sesion ya llena.
+     */
+    private SessionStats stats;
+
+    /**
+     * Posicion de la siguiente frase a registrar.
+     */
+    private int next;
+
+    /**
+     * Llena la sesion antes de cada iteracion.
+     */
+    @Setup(Level.Iteration)
+    public void setUp()
+    {
+        int distinct = Math.max(1, entries / 4);
+        phrases = new String[distinct];
+        for (int i = 0; i < distinct; i++)
+        {
+            phrases[i] = "frase de prueba numero " + i;
+        }
+
+        stats = new SessionStats();
+        stats.reset(0);
+        for (int i = 0; i < entries; i++)
+        {
+            stats.recordCorrect(phrases[i % distinct], 1_000_000L + i, (i + 1) * 1_000_000_000L);
+        }
+        next = 0;
+    }
+
+    /**
+     * Registra una respuesta correcta mas en la sesion llena.
+     *
+     * @return El numero de respuestas correctas.
+     */
+    @Benchmark
+    public int recordCorrect()
+    {
+        stats.recordCorrect(phrases[next], 1_000_000L, 1_000_000_000L * (entries + next + 1));
+        next = next + 1 == phrases.length ? 0 : next + 1;
+        return stats.getCorrectCount();
+    }
+
+    /**
+     * Consulta los totales que muestra la interfaz durante la partida.
+     *
+     * @return Un valor derivado de los totales.
+     */
+    @Benchmark
+    public double queryTotals()
+    {
+        return stats.getCharsPerMinute() + stats.getLongestLength()
+                + stats.countOf(stats.getMostFrequentId()) + stats.getLevelReached();
+    }
+
+    /**
+     * Genera el resumen de toda la sesion.
+     *
+     * @return El resumen generado.
+     */
+    @Benchmark
+    public String formatSummary()
+    {
+        return stats.formatSummary();
+    }
+}
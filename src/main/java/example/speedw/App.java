@@ -1,21 +1,43 @@
 package example.speedw;
 
 import example.speedw.controllers.GameController;
+import example.speedw.controllers.LeaderboardController;
+import example.speedw.controllers.PassageController;
+import example.speedw.controllers.RaceController;
 import example.speedw.controllers.WelcomeController;
+import example.speedw.diagnostics.GameMetrics;
+import example.speedw.models.CorpusPhraseSource;
+import example.speedw.models.GameSnapshot;
+import example.speedw.models.PhraseCorpus;
+import example.speedw.models.PhrasePackWatcher;
+import example.speedw.models.ResultsLog;
+import example.speedw.net.RaceProtocol;
+import example.speedw.net.RaceServer;
 import javafx.application.Application;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
+import javafx.application.Platform;
 import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
 import javafx.stage.Stage;
 
 import java.io.IOException;
+import java.lang.System.Logger.Level;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Clase principal de la aplicacion SpeedW.
  * <p>
  * Esta clase extiende {@link Application} y sirve como el punto de entrada para
  * la interfaz grafica de JavaFX. Se encarga de cargar la ventana de bienvenida
- * inicial y de gestionar la transicion a la ventana principal del juego.
+ * inicial y de gestionar la transicion a la ventana principal del juego, usando
+ * un {@link ViewNavigator} que reutiliza una sola ventana y las vistas ya cargadas.
  *
  * @author Santiago Duque
  * @version 1.0
@@ -23,86 +45,357 @@ import java.io.IOException;
  */
 public class App extends Application
 {
+    /**
+     * Registro de los errores y de los tiempos de arranque y navegacion.
+     */
+    private static final System.Logger LOG = System.getLogger(App.class.getName());
+
+    /**
+     * Tiempos del arranque en frio, medidos desde que se crea la aplicacion.
+     */
+    private final StartupTimings startupTimings = new StartupTimings();
+
+    /**
+     * Navegador que mantiene en cache las vistas y cambia entre ellas en la ventana principal.
+     */
+    private ViewNavigator navigator;
+
+    /**
+     * Historial de partidas, guardado en disco por un hilo de fondo.
+     */
+    private final ResultsLog results = new ResultsLog(ResultsLog.defaultPath());
+
+    /**
+     * Vigilante de la carpeta de paquetes de frases, que los publica en el juego sin reiniciarlo.
+     */
+    private final PhrasePackWatcher packWatcher = new PhrasePackWatcher(PhrasePackWatcher.defaultDirectory());
+
+    /**
+     * Archivo con la instantanea de la partida en curso, que se retoma al abrir la aplicacion.
+     */
+    private final Path snapshotFile = GameSnapshot.defaultPath();
+
+    /**
+     * Controlador del juego, o {@code null} si aun no se ha mostrado la vista del juego.
+     */
+    private GameController gameController;
+
+    /**
+     * Servidor de carreras iniciado desde esta aplicacion, o {@code null}.
+     */
+    private RaceServer raceServer;
+
     /**
      * Punto de entrada principal para la aplicacion JavaFX.
      * <p>
      * Este metodo es llamado por el runtime de JavaFX despues de que el metodo
-     * {@code launch()} es invocado. Configura y muestra la ventana principal
-     * (Stage), carga la vista de bienvenida desde {@code welcome.fxml},
-     * y establece la comunicacion con su controlador.
+     * {@code launch()} es invocado. Muestra de inmediato una pantalla de carga
+     * minima y lanza en paralelo, en hilos de fondo, la lectura de las vistas,
+     * la decodificacion de la imagen de bienvenida, la preparacion de las frases
+     * y la lectura de la partida guardada. La bienvenida se muestra en cuanto su
+     * vista esta lista y, si habia una partida sin terminar, se retoma enseguida.
      *
      * @param stage El escenario principal (ventana) proporcionado por JavaFX.
-     * @throws IOException Si ocurre un error al cargar el archivo FXML de bienvenida.
      */
     @Override
-    public void start(Stage stage) throws IOException
+    public void start(Stage stage)
     {
-        FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("views/welcome.fxml"));
-        Parent root  = fxmlLoader.load();
-        WelcomeController wcontroller = fxmlLoader.getController();
-        wcontroller.setApp(this);
-        Scene scene = new Scene(root);
-        stage.setScene(scene);
-        stage.setWidth(800);
-        stage.setHeight(600);
-        stage.show();
+        navigator = new ViewNavigator(stage);
+
+        //PANTALLA DE CARGA
+        Label loadingLabel = new Label("Cargando...");
+        loadingLabel.setTextFill(Color.WHITE);
+        StackPane splash = new StackPane(loadingLabel);
+        splash.setStyle("-fx-background-color: #0D0D0D;");
+        Scene scene = navigator.showSplash(splash);
+        GameMetrics metrics = GameMetrics.shared();
+        metrics.register();
+        scene.addPreLayoutPulseListener(metrics::beginPulse);
+        scene.addPostLayoutPulseListener(metrics::endPulse);
+        scene.addPostLayoutPulseListener(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                startupTimings.markFirstFrame();
+                scene.removePostLayoutPulseListener(this);
+            }
+        });
+
+        //PRECARGA EN PARALELO
+        StartupPreloader preloader = new StartupPreloader(startupTimings);
+        CompletableFuture<ViewNavigator.LoadedView> welcome = preloader.loadView(ViewNavigator.View.WELCOME);
+        CompletableFuture<ViewNavigator.LoadedView> game = preloader.loadView(ViewNavigator.View.GAME);
+        CompletableFuture<Image> icon = preloader.loadIcon();
+        CompletableFuture<?> phrases = preloader.loadPhrases();
+        results.open().thenRun(() -> startupTimings.recordPhase("historial", results.getLoadNanos()));
+        long snapshotStart = System.nanoTime();
+        CompletableFuture<GameSnapshot> saved = GameSnapshot.readAsync(snapshotFile);
+        saved.thenRun(() -> startupTimings.recordPhase("partida", System.nanoTime() - snapshotStart));
+        try
+        {
+            packWatcher.start();
+        }
+        catch (IOException e)
+        {
+            LOG.log(Level.WARNING, "No se puede vigilar la carpeta de paquetes " + packWatcher.getDirectory() + ".", e);
+        }
+
+        welcome.whenComplete((loaded, error) -> Platform.runLater(() -> onWelcomeLoaded(loaded, error, icon, saved)));
+        game.thenAccept(loaded -> Platform.runLater(() -> navigator.put(ViewNavigator.View.GAME, loaded)));
+        CompletableFuture.allOf(welcome, game, icon, phrases).whenComplete((ignored, error) ->
+        {
+            preloader.shutdown();
+            if (error != null)
+            {
+                LOG.log(Level.WARNING, "Fallo una tarea de precarga; se cargara al usarse.", error);
+            }
+            Platform.runLater(() -> LOG.log(Level.INFO, startupTimings.summary()));
+        });
+    }
+
+    /**
+     * Muestra la bienvenida cuando su vista termino de precargarse.
+     * <p>
+     * Si la precarga fallo, la vista se carga de la manera normal. La imagen se
+     * entrega al controlador cuando termine de decodificarse, y la partida
+     * guardada se retoma cuando termine de leerse.
+     *
+     * @param loaded La vista de bienvenida precargada, o {@code null} si fallo.
+     * @param error  El error de la precarga, o {@code null} si no hubo.
+     * @param icon   La imagen de bienvenida, que puede seguir decodificandose.
+     * @param saved  La partida guardada, que puede seguir leyendose.
+     */
+    private void onWelcomeLoaded(ViewNavigator.LoadedView loaded, Throwable error, CompletableFuture<Image> icon,
+                                 CompletableFuture<GameSnapshot> saved)
+    {
+        if (error != null)
+        {
+            LOG.log(Level.WARNING, "No se pudo precargar la ventana de bienvenida; se carga de nuevo.", error);
+        }
+        else
+        {
+            navigator.put(ViewNavigator.View.WELCOME, loaded);
+        }
+
+        WelcomeController wcontroller;
+        try
+        {
+            wcontroller = showWelcome();
+        }
+        catch (IOException e)
+        {
+            LOG.log(Level.ERROR, "No se pudo cargar la ventana de bienvenida.", e);
+            return;
+        }
+        startupTimings.markInteractive();
+        icon.thenAccept(image -> Platform.runLater(() -> wcontroller.setIcon(image)));
+        saved.whenComplete((snapshot, failure) -> Platform.runLater(() -> onSnapshotLoaded(snapshot, failure)));
+    }
+
+    /**
+     * Retoma la partida guardada al abrir la aplicacion, si la habia.
+     * <p>
+     * Si el jugador ya comenzo otra partida mientras se leia, la guardada se descarta.
+     *
+     * @param snapshot La partida guardada, o {@code null} si no habia.
+     * @param error    El error de la lectura, o {@code null} si no hubo.
+     */
+    private void onSnapshotLoaded(GameSnapshot snapshot, Throwable error)
+    {
+        if (error != null)
+        {
+            LOG.log(Level.WARNING, "No se pudo leer la partida guardada " + snapshotFile + ".", error);
+            return;
+        }
+        if (snapshot == null || gameController != null)
+        {
+            return;
+        }
+        try
+        {
+            resumeGame(snapshot);
+        }
+        catch (IOException e)
+        {
+            LOG.log(Level.ERROR, "No se pudo retomar la partida guardada.", e);
+        }
     }
 
     /**
-     * Carga y muestra la ventana del juego, cerrando la ventana actual.
+     * Guarda la partida en curso para retomarla, escribe las partidas pendientes
+     * del historial, deja de vigilar los paquetes de frases y muestra los
+     * contadores de navegacion al cerrar la aplicacion.
+     */
+    @Override
+    public void stop()
+    {
+        if (gameController != null)
+        {
+            try
+            {
+                gameController.suspend().get(2000, TimeUnit.MILLISECONDS);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+            catch (ExecutionException | TimeoutException e)
+            {
+                LOG.log(Level.WARNING, "No se pudo guardar la partida en curso al cerrar.", e);
+            }
+        }
+        results.close(2000);
+        packWatcher.close();
+        if (raceServer != null)
+        {
+            raceServer.close();
+        }
+        if (navigator != null)
+        {
+            LOG.log(Level.INFO, navigator.summary());
+        }
+    }
+
+    /**
+     * Muestra la vista del juego en la ventana principal y comienza una partida nueva,
+     * o retoma la que se suspendio al volver a la bienvenida.
      * <p>
-     * Este metodo gestiona la transicion desde la ventana de bienvenida (o cualquier otra)
-     * hacia la ventana principal del juego. Carga la vista desde {@code game.fxml},
-     * la coloca en un nuevo Stage, y cierra la ventana que se le pasa como parametro.
+     * La vista se carga desde {@code game.fxml} solo la primera vez; despues se
+     * reutiliza la misma raiz y el mismo controlador, que se reinicia en lugar de recrearse.
      *
-     * @param ActualWindow La ventana (Stage) actual que debe ser cerrada.
      * @throws IOException Si ocurre un error al cargar el archivo FXML del juego.
      */
-    public void newWindow(Stage ActualWindow) throws IOException
+    public void showGame() throws IOException
     {
-        FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("views/game.fxml"));
-        Parent root  = fxmlLoader.load();
+        gameController = (GameController) navigator.show(ViewNavigator.View.GAME);
+        gameController.setApp(this);
+        gameController.startSession();
+    }
 
-        GameController gameController = fxmlLoader.getController();
+    /**
+     * Muestra la vista del juego en la ventana principal y retoma una partida guardada.
+     * <p>
+     * El reloj del nivel sigue con los milisegundos que le quedaban al guardarla.
+     *
+     * @param snapshot La instantanea de la partida.
+     * @throws IOException Si ocurre un error al cargar el archivo FXML del juego.
+     */
+    public void resumeGame(GameSnapshot snapshot) throws IOException
+    {
+        gameController = (GameController) navigator.show(ViewNavigator.View.GAME);
         gameController.setApp(this);
-        Scene scene = new Scene(root);
-        Stage gameStage = new Stage();
-        gameStage.setScene(scene);
-        gameStage.setWidth(800);
-        gameStage.setHeight(600);
-        gameStage.show();
-        ActualWindow.close();
+        gameController.resumeSession(snapshot);
     }
 
     /**
-     * Carga y muestra la ventana de bienvenida, cerrando la ventana del juego actual.
+     * Muestra la vista de bienvenida en la ventana principal.
      * <p>
-     * Este metodo gestiona la transicion de vuelta desde la ventana del juego hacia la
-     * pantalla de bienvenida inicial. Carga la vista desde {@code welcome.fxml}
-     * y la muestra en un nuevo Stage.
+     * La vista se carga desde {@code welcome.fxml} solo la primera vez, y muestra
+     * los contadores de la cache de vistas al volver a ella.
      *
-     * @param currentGameStage La ventana del juego (Stage) que debe ser cerrada.
+     * @return El controlador de la vista de bienvenida.
      * @throws IOException Si ocurre un error al cargar el archivo FXML de bienvenida.
      */
-    public void openWelcomeWindow(Stage currentGameStage) throws IOException
+    public WelcomeController showWelcome() throws IOException
     {
-        //CARGADOR
-        FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("views/welcome.fxml"));
-        Parent root = fxmlLoader.load();
-
-        //OBTENER Y PASAR REFERENCIA
-        WelcomeController wcontroller = fxmlLoader.getController();
+        WelcomeController wcontroller = (WelcomeController) navigator.show(ViewNavigator.View.WELCOME);
         wcontroller.setApp(this);
+        wcontroller.showNavigation(navigator);
+        return wcontroller;
+    }
+
+    /**
+     * Muestra el ranking del historial en la ventana principal.
+     * <p>
+     * Si el historial todavia se esta cargando, la vista se vuelve a llenar cuando termine.
+     *
+     * @throws IOException Si ocurre un error al cargar el archivo FXML del ranking.
+     */
+    public void showLeaderboard() throws IOException
+    {
+        LeaderboardController controller = (LeaderboardController) navigator.show(ViewNavigator.View.LEADERBOARD);
+        controller.setApp(this);
+        controller.refresh(results.getIndex(), results.isLoaded());
+        if (!results.isLoaded())
+        {
+            results.open().thenRun(() -> Platform.runLater(() -> controller.refresh(results.getIndex(), true)));
+        }
+    }
 
-        //MOSTRAR
-        Scene scene = new Scene(root);
-        Stage stage = new Stage();
-        stage.setScene(scene);
-        stage.setWidth(800);
-        stage.setHeight(600);
-        stage.show();
+    /**
+     * Muestra la vista de carreras multijugador en la ventana principal.
+     *
+     * @throws IOException Si ocurre un error al cargar el archivo FXML de carreras.
+     */
+    public void showRace() throws IOException
+    {
+        RaceController controller = (RaceController) navigator.show(ViewNavigator.View.RACE);
+        controller.setApp(this);
+    }
+
+    /**
+     * Muestra la vista de pasajes largos en la ventana principal y vuelve a empezar el pasaje.
+     *
+     * @throws IOException Si ocurre un error al cargar el archivo FXML de pasajes.
+     */
+    public void showPassage() throws IOException
+    {
+        PassageController controller = (PassageController) navigator.show(ViewNavigator.View.PASSAGE);
+        controller.setApp(this);
+        controller.startSession();
+    }
 
-        //CERRAR
-        currentGameStage.close();
+    /**
+     * Inicia un servidor de carreras en esta aplicacion, si todavia no hay uno.
+     * <p>
+     * Escucha en todas las interfaces para que otros equipos de la red local
+     * puedan unirse. Se detiene al cerrar la aplicacion.
+     *
+     * @return El puerto del servidor.
+     * @throws IOException Si no se pudo abrir el puerto.
+     */
+    public int startRaceServer() throws IOException
+    {
+        if (raceServer == null)
+        {
+            RaceServer server = new RaceServer(new CorpusPhraseSource(PhraseCorpus.defaultCorpus()),
+                    RaceServer.DEFAULT_ROOM_SIZE, RaceServer.DEFAULT_LOBBY_MILLIS);
+            server.start(new InetSocketAddress(RaceProtocol.DEFAULT_PORT));
+            raceServer = server;
+        }
+        return raceServer.getPort();
+    }
+
+    /**
+     * @return El historial de partidas.
+     */
+    public ResultsLog getResults()
+    {
+        return results;
+    }
+
+    /**
+     * @return El archivo con la instantanea de la partida en curso.
+     */
+    public Path getSnapshotFile()
+    {
+        return snapshotFile;
+    }
+
+    /**
+     * @return Los tiempos del arranque en frio.
+     */
+    public StartupTimings getStartupTimings()
+    {
+        return startupTimings;
+    }
+
+    /**
+     * @return El navegador de vistas, con sus contadores de tiempo.
+     */
+    public ViewNavigator getNavigator()
+    {
+        return navigator;
     }
 }
@@ -0,0 +1,161 @@
+package example.speedw;
+
+import example.speedw.models.LanguageCatalog;
+import example.speedw.models.PhraseCorpus;
+import example.speedw.models.PhraseDifficulty;
+import javafx.scene.image.Image;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Precarga en paralelo los recursos del arranque.
+ * <p>
+ * Mientras la ventana principal muestra una pantalla de carga minima, esta
+ * clase lee los archivos FXML, decodifica la imagen de bienvenida a su tamaño
+ * de pantalla y prepara el corpus de frases en hilos de fondo, al mismo tiempo.
+ * La duracion de cada tarea queda registrada en {@link StartupTimings}.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class StartupPreloader
+{
+    /**
+     * Ancho con el que se muestra la imagen de bienvenida (igual que en {@code welcome.fxml}).
+     */
+    public static final double ICON_WIDTH = 200;
+
+    /**
+     * Alto con el que se muestra la imagen de bienvenida (igual que en {@code welcome.fxml}).
+     */
+    public static final double ICON_HEIGHT = 150;
+
+    /**
+     * Tiempos del arranque donde se registra cada tarea.
+     */
+    private final StartupTimings timings;
+
+    /**
+     * Hilos de fondo que ejecutan las tareas de precarga.
+     */
+    private final ExecutorService executor = Executors.newFixedThreadPool(3, r ->
+    {
+        Thread thread = new Thread(r, "speedw-preload");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Crea el precargador.
+     *
+     * @param timings Los tiempos del arranque donde se registra cada tarea.
+     */
+    public StartupPreloader(StartupTimings timings)
+    {
+        this.timings = timings;
+    }
+
+    /**
+     * Lee una vista en un hilo de fondo.
+     *
+     * @param view La vista a leer.
+     * @return La vista cargada, cuando termine.
+     */
+    public CompletableFuture<ViewNavigator.LoadedView> loadView(ViewNavigator.View view)
+    {
+        return CompletableFuture.supplyAsync(() ->
+        {
+            try
+            {
+                ViewNavigator.LoadedView loaded = ViewNavigator.parse(view);
+                timings.recordPhase("fxml " + view, loaded.getLoadNanos());
+                return loaded;
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Decodifica la imagen de bienvenida a su tamaño de pantalla con carga en segundo plano.
+     * <p>
+     * La imagen se pide ya escalada, por lo que nunca se decodifica a resolucion completa.
+     *
+     * @return La imagen, cuando termine de decodificarse.
+     */
+    public CompletableFuture<Image> loadIcon()
+    {
+        CompletableFuture<Image> result = new CompletableFuture<>();
+        long start = System.nanoTime();
+        URL url = App.class.getResource("images/image1.jpg");
+        Image image = new Image(url.toExternalForm(), ICON_WIDTH, ICON_HEIGHT, true, true, true);
+        image.progressProperty().addListener((obs, oldValue, progress) ->
+        {
+            if (progress.doubleValue() >= 1.0 && !result.isDone())
+            {
+                timings.recordPhase("imagen", System.nanoTime() - start);
+                if (image.isError())
+                {
+                    result.completeExceptionally(image.getException());
+                }
+                else
+                {
+                    result.complete(image);
+                }
+            }
+        });
+        image.errorProperty().addListener((obs, oldValue, error) ->
+        {
+            if (error)
+            {
+                result.completeExceptionally(image.getException());
+            }
+        });
+        if (image.getProgress() >= 1.0 && !result.isDone())
+        {
+            timings.recordPhase("imagen", System.nanoTime() - start);
+            result.complete(image);
+        }
+        return result;
+    }
+
+    /**
+     * Prepara el corpus de frases por defecto, su indice de dificultad y los
+     * mensajes del idioma por defecto en un hilo de fondo. Los demas idiomas no
+     * se leen hasta que se eligen.
+     *
+     * @return El corpus, cuando este listo.
+     */
+    public CompletableFuture<PhraseCorpus> loadPhrases()
+    {
+        return CompletableFuture.supplyAsync(() ->
+        {
+            long start = System.nanoTime();
+            PhraseCorpus corpus = PhraseCorpus.defaultCorpus();
+            timings.recordPhase("frases", System.nanoTime() - start);
+            start = System.nanoTime();
+            PhraseDifficulty.defaultIndex();
+            timings.recordPhase("dificultad", System.nanoTime() - start);
+            start = System.nanoTime();
+            LanguageCatalog.shared().current();
+            timings.recordPhase("idioma", System.nanoTime() - start);
+            return corpus;
+        }, executor);
+    }
+
+    /**
+     * Libera los hilos de fondo una vez que terminaron todas las tareas.
+     */
+    public void shutdown()
+    {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,152 @@
+package example.speedw;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tiempos del arranque de la aplicacion.
+ * <p>
+ * Registra los hitos principales del arranque en frio (inicio de la JVM, inicio
+ * de la aplicacion, primer cuadro en pantalla y momento en que la bienvenida es
+ * interactiva) y la duracion de cada tarea de precarga, para poder detectar
+ * regresiones en el tiempo de arranque.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class StartupTimings
+{
+    /**
+     * Instante de inicio de la JVM en milisegundos de epoca, o -1 si no se conoce.
+     */
+    private final long jvmStartMillis;
+
+    /**
+     * Instante en que la aplicacion comenzo su arranque.
+     */
+    private final long appStartNanos;
+
+    /**
+     * Milisegundos de epoca al iniciar la aplicacion, para relacionarlos con el inicio de la JVM.
+     */
+    private final long appStartMillis;
+
+    /**
+     * Instante del primer cuadro dibujado, o 0 si aun no ocurre.
+     */
+    private long firstFrameNanos;
+
+    /**
+     * Instante en que la bienvenida quedo interactiva, o 0 si aun no ocurre.
+     */
+    private long interactiveNanos;
+
+    /**
+     * Duracion de cada tarea de precarga, en el orden en que terminaron.
+     */
+    private final Map<String, Long> phaseNanos = new LinkedHashMap<>();
+
+    /**
+     * Comienza a medir el arranque en el instante actual.
+     */
+    public StartupTimings()
+    {
+        appStartNanos = System.nanoTime();
+        appStartMillis = System.currentTimeMillis();
+        jvmStartMillis = ProcessHandle.current().info().startInstant()
+                .map(Instant::toEpochMilli).orElse(-1L);
+    }
+
+    /**
+     * Marca el primer cuadro dibujado. Solo cuenta la primera llamada.
+     */
+    public synchronized void markFirstFrame()
+    {
+        if (firstFrameNanos == 0)
+        {
+            firstFrameNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Marca el momento en que la bienvenida quedo interactiva. Solo cuenta la primera llamada.
+     */
+    public synchronized void markInteractive()
+    {
+        if (interactiveNanos == 0)
+        {
+            interactiveNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Registra la duracion de una tarea de precarga.
+     *
+     * @param phase         El nombre de la tarea.
+     * @param durationNanos La duracion en nanosegundos.
+     */
+    public synchronized void recordPhase(String phase, long durationNanos)
+    {
+        phaseNanos.put(phase, durationNanos);
+    }
+
+    /**
+     * @return Milisegundos desde el inicio de la JVM hasta el primer cuadro, o -1 si no se conoce.
+     */
+    public synchronized long getJvmToFirstFrameMillis()
+    {
+        if (jvmStartMillis < 0 || firstFrameNanos == 0)
+        {
+            return -1;
+        }
+        return appStartMillis - jvmStartMillis + (firstFrameNanos - appStartNanos) / 1_000_000;
+    }
+
+    /**
+     * @return Milisegundos desde el inicio de la aplicacion hasta el primer cuadro, o -1 si aun no ocurre.
+     */
+    public synchronized long getAppToFirstFrameMillis()
+    {
+        return firstFrameNanos == 0 ? -1 : (firstFrameNanos - appStartNanos) / 1_000_000;
+    }
+
+    /**
+     * @return Milisegundos desde el primer cuadro hasta que la bienvenida es interactiva, o -1 si aun no ocurre.
+     */
+    public synchronized long getFirstFrameToInteractiveMillis()
+    {
+        if (firstFrameNanos == 0 || interactiveNanos == 0)
+        {
+            return -1;
+        }
+        return (interactiveNanos - firstFrameNanos) / 1_000_000;
+    }
+
+    /**
+     * @return Una copia de la duracion de cada tarea de precarga, en nanosegundos.
+     */
+    public synchronized Map<String, Long> getPhaseNanos()
+    {
+        return new LinkedHashMap<>(phaseNanos);
+    }
+
+    /**
+     * Resume los tiempos del arranque.
+     *
+     * @return Un texto con los hitos y la duracion de cada tarea.
+     */
+    public synchronized String summary()
+    {
+        StringBuilder msj = new StringBuilder("Arranque:");
+        msj.append(" jvm->primer cuadro=").append(getJvmToFirstFrameMillis()).append("ms");
+        msj.append(", app->primer cuadro=").append(getAppToFirstFrameMillis()).append("ms");
+        msj.append(", primer cuadro->interactivo=").append(getFirstFrameToInteractiveMillis()).append("ms");
+        for (Map.Entry<String, Long> entry : phaseNanos.entrySet())
+        {
+            msj.append(", ").append(entry.getKey()).append('=').append(entry.getValue() / 1_000_000).append("ms");
+        }
+        return msj.toString();
+    }
+}
@@ -0,0 +1,350 @@
+package example.speedw;
+
+import example.speedw.diagnostics.GameMetrics;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+
+import java.io.IOException;
+import java.util.EnumMap;
+
+/**
+ * Capa de navegacion entre las vistas de la aplicacion.
+ * <p>
+ * Cada archivo FXML se carga una sola vez; la raiz y el controlador resultantes
+ * se guardan en cache y, al navegar, solo se cambia la raiz de una unica
+ * {@link Scene} dentro del {@link Stage} principal. Asi ir y volver entre la
+ * bienvenida y el juego no vuelve a leer el FXML, ni a conectar el controlador
+ * por reflexion, ni a crear ventanas nuevas.
+ * <p>
+ * Tambien lleva contadores de tiempo para comparar la primera carga de cada
+ * vista con los cambios posteriores desde la cache.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class ViewNavigator
+{
+    /**
+     * Vistas de la aplicacion y el archivo FXML de cada una.
+     */
+    public enum View
+    {
+        /**
+         * Pantalla de bienvenida.
+         */
+        WELCOME("views/welcome.fxml"),
+
+        /**
+         * Pantalla principal del juego.
+         */
+        GAME("views/game.fxml"),
+
+        /**
+         * Ranking del historial de partidas.
+         */
+        LEADERBOARD("views/leaderboard.fxml"),
+
+        /**
+         * Carreras multijugador en red.
+         */
+        RACE("views/race.fxml"),
+
+        /**
+         * Pasajes largos, sin limite de tiempo.
+         */
+        PASSAGE("views/passage.fxml");
+
+        /**
+         * Ruta del archivo FXML, relativa a la clase {@link App}.
+         */
+        private final String fxml;
+
+        View(String fxml)
+        {
+            this.fxml = fxml;
+        }
+    }
+
+    /**
+     * Resultado de cargar una vista: su raiz, su controlador y cuanto tomo la carga.
+     */
+    public static class LoadedView
+    {
+        /**
+         * La raiz de la vista.
+         */
+        private final Parent root;
+
+        /**
+         * El controlador de la vista.
+         */
+        private final Object controller;
+
+        /**
+         * Nanosegundos que tomo leer el FXML y crear el controlador.
+         */
+        private final long loadNanos;
+
+        /**
+         * @param root       La raiz de la vista.
+         * @param controller El controlador de la vista.
+         * @param loadNanos  Nanosegundos que tomo la carga.
+         */
+        public LoadedView(Parent root, Object controller, long loadNanos)
+        {
+            this.root = root;
+            this.controller = controller;
+            this.loadNanos = loadNanos;
+        }
+
+        /**
+         * @return La raiz de la vista.
+         */
+        public Parent getRoot()
+        {
+            return root;
+        }
+
+        /**
+         * @return El controlador de la vista.
+         */
+        public Object getController()
+        {
+            return controller;
+        }
+
+        /**
+         * @return Nanosegundos que tomo la carga.
+         */
+        public long getLoadNanos()
+        {
+            return loadNanos;
+        }
+    }
+
+    /**
+     * La ventana principal, reutilizada por todas las vistas.
+     */
+    private final Stage stage;
+
+    /**
+     * La escena unica cuya raiz se cambia al navegar.
+     */
+    private Scene scene;
+
+    /**
+     * Raices ya cargadas de cada vista.
+     */
+    private final EnumMap<View, Parent> roots = new EnumMap<>(View.class);
+
+    /**
+     * Controladores ya creados de cada vista.
+     */
+    private final EnumMap<View, Object> controllers = new EnumMap<>(View.class);
+
+    /**
+     * Nanosegundos que tomo la primera carga (FXML y controlador) de cada vista.
+     */
+    private final long[] loadNanos = new long[View.values().length];
+
+    /**
+     * Numero de cambios de vista atendidos desde la cache.
+     */
+    private long cachedSwitches;
+
+    /**
+     * Suma de la duracion de los cambios atendidos desde la cache.
+     */
+    private long cachedSwitchNanos;
+
+    /**
+     * Duracion del ultimo cambio de vista.
+     */
+    private long lastSwitchNanos;
+
+    /**
+     * Crea el navegador sobre la ventana principal.
+     *
+     * @param stage La ventana principal proporcionada por JavaFX.
+     */
+    public ViewNavigator(Stage stage)
+    {
+        this.stage = stage;
+    }
+
+    /**
+     * Lee el archivo FXML de una vista y crea su controlador.
+     * <p>
+     * No toca la ventana ni la escena, por lo que puede llamarse desde un hilo
+     * distinto al de JavaFX (por ejemplo, durante la precarga del arranque).
+     *
+     * @param view La vista a cargar.
+     * @return La vista cargada.
+     * @throws IOException Si ocurre un error al cargar el archivo FXML.
+     */
+    public static LoadedView parse(View view) throws IOException
+    {
+        long start = System.nanoTime();
+        FXMLLoader fxmlLoader = new FXMLLoader(App.class.getResource(view.fxml));
+        Parent root = fxmlLoader.load();
+        return new LoadedView(root, fxmlLoader.getController(), System.nanoTime() - start);
+    }
+
+    /**
+     * Carga una vista si aun no esta en la cache.
+     *
+     * @param view La vista a cargar.
+     * @return El controlador de la vista.
+     * @throws IOException Si ocurre un error al cargar el archivo FXML.
+     */
+    public Object load(View view) throws IOException
+    {
+        Object controller = controllers.get(view);
+        if (controller == null)
+        {
+            LoadedView loaded = parse(view);
+            put(view, loaded);
+            controller = loaded.getController();
+        }
+        return controller;
+    }
+
+    /**
+     * Guarda en la cache una vista cargada por fuera del navegador.
+     * <p>
+     * Si la vista ya estaba en la cache (por ejemplo porque el usuario la abrio antes
+     * de que terminara la precarga), se conserva la que ya estaba.
+     *
+     * @param view   La vista.
+     * @param loaded La vista cargada.
+     */
+    public void put(View view, LoadedView loaded)
+    {
+        if (!controllers.containsKey(view))
+        {
+            roots.put(view, loaded.getRoot());
+            controllers.put(view, loaded.getController());
+            loadNanos[view.ordinal()] = loaded.getLoadNanos();
+        }
+    }
+
+    /**
+     * @param view La vista.
+     * @return {@code true} si la vista ya esta en la cache.
+     */
+    public boolean isLoaded(View view)
+    {
+        return controllers.containsKey(view);
+    }
+
+    /**
+     * Muestra una pantalla de carga minima mientras se preparan las vistas.
+     *
+     * @param splash La raiz de la pantalla de carga.
+     * @return La escena unica de la ventana principal.
+     */
+    public Scene showSplash(Parent splash)
+    {
+        showRoot(splash);
+        return scene;
+    }
+
+    /**
+     * Muestra una vista en la ventana principal, cargandola solo si no esta en la cache.
+     *
+     * @param view La vista a mostrar.
+     * @return El controlador de la vista.
+     * @throws IOException Si ocurre un error al cargar el archivo FXML.
+     */
+    public Object show(View view) throws IOException
+    {
+        long start = System.nanoTime();
+        boolean cached = controllers.containsKey(view);
+        Object controller = load(view);
+        showRoot(roots.get(view));
+
+        lastSwitchNanos = System.nanoTime() - start;
+        if (cached)
+        {
+            cachedSwitches++;
+            cachedSwitchNanos += lastSwitchNanos;
+        }
+        GameMetrics.shared().sceneSwitch(view.name(), cached, lastSwitchNanos);
+        return controller;
+    }
+
+    /**
+     * Pone una raiz en la escena unica, creando la escena la primera vez.
+     *
+     * @param root La raiz a mostrar.
+     */
+    private void showRoot(Parent root)
+    {
+        if (scene == null)
+        {
+            scene = new Scene(root);
+            stage.setScene(scene);
+            stage.setWidth(800);
+            stage.setHeight(600);
+        }
+        else if (scene.getRoot() != root)
+        {
+            scene.setRoot(root);
+        }
+        stage.show();
+    }
+
+    /**
+     * @param view La vista.
+     * @return Los nanosegundos que tomo la primera carga de la vista, o 0 si no se ha cargado.
+     */
+    public long getLoadNanos(View view)
+    {
+        return loadNanos[view.ordinal()];
+    }
+
+    /**
+     * @return La duracion promedio de los cambios de vista atendidos desde la cache.
+     */
+    public long getMeanCachedSwitchNanos()
+    {
+        return cachedSwitches == 0 ? 0 : cachedSwitchNanos / cachedSwitches;
+    }
+
+    /**
+     * @return El numero de cambios de vista atendidos desde la cache.
+     */
+    public long getCachedSwitches()
+    {
+        return cachedSwitches;
+    }
+
+    /**
+     * @return La duracion del ultimo cambio de vista.
+     */
+    public long getLastSwitchNanos()
+    {
+        return lastSwitchNanos;
+    }
+
+    /**
+     * Resume los contadores de tiempo de la navegacion.
+     *
+     * @return Un texto con la primera carga de cada vista y el promedio de los cambios desde la cache.
+     */
+    public String summary()
+    {
+        StringBuilder msj = new StringBuilder("Navegacion:");
+        for (View view : View.values())
+        {
+            msj.append(' ').append(view).append(" carga=")
+                    .append(loadNanos[view.ordinal()] / 1000).append("us");
+        }
+        msj.append(", cambios desde cache=").append(cachedSwitches)
+                .append(" promedio=").append(getMeanCachedSwitchNanos() / 1000).append("us");
+        return msj.toString();
+    }
+}
@@ -1,34 +1,57 @@
 package example.speedw.controllers;
 
 import example.speedw.App;
-import example.speedw.models.AlertBox;
+import example.speedw.models.AnswerDiff;
+import example.speedw.models.ClockEvent;
+import example.speedw.models.ComparisonMode;
 import example.speedw.models.Feedback;
+import example.speedw.models.FontGlyphMetrics;
+import example.speedw.models.GameEngine;
+import example.speedw.models.GameResult;
+import example.speedw.models.GameSession;
+import example.speedw.models.GameSnapshot;
+import example.speedw.models.Language;
+import example.speedw.models.LanguageCatalog;
+import example.speedw.models.ListAlertBox;
 import example.speedw.models.PauseGameTransition;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import example.speedw.models.PhraseRenderer;
+import example.speedw.models.ResultsIndex;
+import example.speedw.models.SessionSummary;
+import example.speedw.models.TypingValidator;
+import example.speedw.models.ValidationResult;
+import javafx.animation.AnimationTimer;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
-import javafx.scene.control.Alert;
+import javafx.scene.canvas.Canvas;
 import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextArea;
+import javafx.scene.control.TextFormatter;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
-import javafx.stage.Stage;
-import javafx.util.Duration;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextFlow;
+import javafx.util.StringConverter;
 
 import java.io.IOException;
-import java.util.Random;
+import java.lang.System.Logger.Level;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controlador para la pantalla principal del juego 'SpeedW'.
  * <p>
- * Gestiona toda la logica del juego, incluyendo el estado (niveles, tiempo),
- * la interaccion con el usuario (entrada de texto, botones) y las actualizaciones
- * de la interfaz grafica.
+ * Gestiona la interaccion con el usuario (entrada de texto, botones) y las
+ * actualizaciones de la interfaz grafica. Las reglas del juego (niveles, tiempo,
+ * handicap) viven en {@link GameEngine} y lo que rodea a cada partida (grabacion,
+ * instantaneas, fantasma, telemetria e historial) en {@link GameSession}; este
+ * controlador solo les pasa la entrada y refleja su estado.
  *
  * @author Santiago Duque
  *
@@ -38,6 +61,11 @@ import java.util.Map;
  */
 public class GameController
 {
+    /**
+     * Registro de los errores de esta clase.
+     */
+    private static final System.Logger LOG = System.getLogger(GameController.class.getName());
+
     //FXML ELEMENTOS GRAFICOS
     /**
      * Boton para regresar a la pantalla de bienvenida.
@@ -82,100 +110,164 @@ public class GameController
     @FXML
     private Label timeLabel;
 
+    /**
+     * Etiqueta que muestra las palabras por minuto de los ultimos segundos.
+     */
+    @FXML
+    private Label wpmLabel;
+
     /**
      * Boton para validar la palabra ingresada por el usuario.
      */
     @FXML
     private Button validateButton;
 
+    /**
+     * Casilla que activa el envio automatico cuando la frase se completa correctamente.
+     */
+    @FXML
+    private CheckBox autoSubmitCheck;
+
+    /**
+     * Casilla que muestra el fantasma de la mejor partida del historial.
+     */
+    @FXML
+    private CheckBox ghostCheck;
+
+    /**
+     * Selector del modo de comparacion de las respuestas; se aplica desde la siguiente partida.
+     */
+    @FXML
+    private ComboBox<ComparisonMode> modeBox;
+
+    /**
+     * Lienzo donde se dibuja la frase con el progreso de cada caracter.
+     */
+    @FXML
+    private Canvas phraseCanvas;
+
+    /**
+     * Comparacion caracter a caracter de la ultima respuesta incorrecta con la frase.
+     */
+    @FXML
+    private TextFlow diffFlow;
+
     // ATRIBUTOS O VARIABLES DEL CONTROLADOR
 
+    /**
+     * Textos de los numeros que se muestran en las etiquetas (niveles y segundos), creados una sola vez.
+     */
+    private static final String[] NUMBER_TEXT = new String[GameEngine.WIN_LEVEL + 1];
+
+    /**
+     * Fuente de la comparacion de la respuesta incorrecta y del progreso.
+     */
+    private static final Font DIFF_FONT = Font.font("Bell MT Bold", 18.0);
+
+    /**
+     * Renglones visibles de la frase en el lienzo del progreso.
+     */
+    private static final int PROGRESS_LINES = 4;
+
+    /**
+     * Colores de cada operacion de la comparacion, indexados por su valor en {@link AnswerDiff}.
+     */
+    private static final Color[] DIFF_COLORS = {
+            Color.web("#7dff9d"), Color.web("#ff4d4d"), Color.web("#ffb84d"), Color.web("#ff4d4d")
+    };
+
+    static
+    {
+        for (int i = 0; i < NUMBER_TEXT.length; i++)
+        {
+            NUMBER_TEXT[i] = String.valueOf(i);
+        }
+    }
+
     /**
      * Referencia a la clase principal de la aplicacion, usada para cambiar de ventana.
      */
     private App mainApp;
 
     /**
-     * Nivel actual del juego.
+     * Sesion con la partida en curso; sus resultados de fondo vuelven al hilo de JavaFX.
      */
-    private int level;
+    private final GameSession session = new GameSession(Platform::runLater);
 
     /**
-     * Objeto Timeline de JavaFX que gestiona el temporizador del juego.
+     * Motor de la sesion. Este controlador solo refleja su estado en la interfaz.
      */
-    private Timeline timeline;
+    private final GameEngine engine = session.getEngine();
 
     /**
-     * Segundos restantes en el nivel actual. Se inicializa en 20 y se reduce con el handicap.
+     * Distancia de edicion entre la respuesta y la frase, actualizada con cada tecla.
      */
-    private int remainingTime = 20;
+    private final AnswerDiff diff = new AnswerDiff();
 
     /**
-     * Acumulador de 'handicap' (desventaja) que reduce el tiempo disponible en niveles mas altos para aumentar la dificultad.
+     * Frase cargada en {@link #diff}, para solo volver a codificarla cuando cambia.
      */
-    private int handicapAccumulator = 0;
+    private String diffPhrase;
 
     /**
-     * La frase actual que el jugador debe escribir.
+     * Temporizador de JavaFX que consulta el reloj del motor en cada pulso de la interfaz.
+     * <p>
+     * Se crea una sola vez y corre durante toda la sesion; cambiar de nivel solo
+     * vuelve a armar el reloj del motor, sin crear objetos nuevos.
      */
-    private String actualPhrase;
+    private final AnimationTimer clockTimer = new AnimationTimer()
+    {
+        @Override
+        public void handle(long now)
+        {
+            onClockPulse(now);
+        }
+    };
 
     /**
-     * Lista que almacena todas las frases escritas correctamente durante la partida actual.
+     * Pausa unica que vuelve a mostrar la frase despues de un mensaje de feedback.
      */
-    private ArrayList<String> arrayOfCorrectPhrases = new ArrayList<>();
+    private PauseGameTransition pause;
 
     /**
-     * Almacena el resumen del último intento (generado por {@link #generateRecord}) para ser mostrado por el boton de record.
+     * Ultimo valor mostrado en la etiqueta de tiempo, para no reescribirla en cada pulso.
      */
-    private String lastAttempt;
+    private int shownSeconds = -1;
 
     /**
-     * Arreglo de strings que contiene todas las frases posibles del juego.
+     * Ultimo valor mostrado en la etiqueta de palabras por minuto.
      */
-    private final String[] arrFrases =
-            {
-                    "radiologia",
-                    "chicharra",
-                    "biologia efimera",
-                    "programacion eventos",
-                    "filologia",
-                    "intervencion",
-                    "arreglo dinamico",
-                    "exorbitante",
-                    "exhortar",
-                    "calentamiento global",
-                    "indeterminacion",
-                    "paralelepipedo",
-                    "electroencefalografista",
-                    "anticonstitucionalmente",
-                    "esternocleidomastoideo",
-                    "mantequilla",
-                    "abyecto",
-                    "posole",
-                    "mecanico",
-                    "polifomania",
-                    "promotor",
-                    "abstraccion",
-                    "yucatan",
-                    "grafito",
-                    "tren",
-                    "sol",
-                    "malo",
-                    "dinosaurio",
-                    "escribe esto",
-                    "santiago",
-                    "frase larga",
-                    "cien años de sol",
-                    "enamorado tuyo",
-                    "namaste",
-                    "spider man",
-                    "batman y superman",
-                    "el fin se acerca",
-                    "oracion",
-                    "población",
-                    "sí"
-            };
+    private int shownWpm = -1;
+
+    /**
+     * Indica que el texto del {@link TextArea} se esta limpiando desde el codigo y no por el jugador.
+     */
+    private boolean clearingInput;
+
+    /**
+     * Dibuja la frase en {@link #phraseCanvas}, en cada pulso y solo lo que cambio.
+     */
+    private PhraseRenderer phraseRenderer;
+
+    /**
+     * Frase cargada en {@link #phraseRenderer}, para solo volver a acomodarla si cambia.
+     */
+    private String shownPhrase;
+
+    /**
+     * Accion del envio automatico, creada una sola vez.
+     */
+    private final Runnable autoSubmit = this::autoSubmitPhrase;
+
+    /**
+     * Almacena el resumen del último intento, copiado de las estadisticas del motor, para ser mostrado por el boton de record.
+     */
+    private final SessionSummary lastAttempt = new SessionSummary();
+
+    /**
+     * Dialogo unico con el resumen del intento, reutilizado entre partidas.
+     */
+    private final ListAlertBox summaryBox = new ListAlertBox();
 
     /**
      * Establece la referencia a la aplicacion principal.
@@ -188,30 +280,31 @@ public class GameController
     public void setApp(App app)
     {
         this.mainApp = app;
+        session.attach(app.getResults(), app.getSnapshotFile());
     }
 
     /**
      * Metodo de inicializacion del controlador.
      * <p>
-     * Se llama automaticamente despues de que se cargan los elementos FXML.
-     * Configura el estado inicial del juego, muestra la primera frase, inicia el temporizador
-     * y añade un filtro de eventos para capturar la tecla ENTER en el TextArea.
+     * Se llama automaticamente una sola vez, despues de que se cargan los elementos FXML.
+     * Conecta el seguimiento de la entrada y añade un filtro de eventos para capturar
+     * la tecla ENTER en el TextArea. La partida comienza con {@link #startSession()}.
      */
     public void initialize()
     {
-        level = 1;
-        arrayOfCorrectPhrases.clear();
-        lastAttempt = "";
-        handicapAccumulator = 0;
-        showNewPhrase();
-        textArea.setDisable(false);
-        validateButton.setDisable(false);
-        startTimer();
-        recordButton.setDisable(true);
-        restartButton.setDisable(true);
+        pause = new PauseGameTransition(phraseLabel);
+        phraseRenderer = new PhraseRenderer(phraseCanvas, new FontGlyphMetrics(DIFF_FONT), PROGRESS_LINES);
 
         //El filtro de eventos permite evaluar o condicionar algunos procesos antes de, para lo que necesitemos.
 
+        //El formateador recibe cada cambio del texto antes de aplicarse, con su posicion exacta.
+        textArea.setTextFormatter(new TextFormatter<String>(this::trackInput));
+        diffFlow.managedProperty().bind(diffFlow.visibleProperty());
+        modeBox.getItems().setAll(ComparisonMode.values());
+        modeBox.setValue(TypingValidator.DEFAULT_MODE);
+        session.setGhostEnabled(ghostCheck.isSelected());
+        ghostCheck.selectedProperty().addListener((observable, was, selected) -> session.setGhostEnabled(selected));
+
         textArea.addEventFilter(KeyEvent.KEY_PRESSED, event -> {
             if (event.getCode() == KeyCode.ENTER) {
                 validateTextArea();
@@ -222,118 +315,346 @@ public class GameController
     }
 
     /**
-     * Inicia o reinicia el temporizador del juego.
+     * Comienza una sesion de juego nueva sobre esta vista ya cargada.
      * <p>
-     * Configura un {@link Timeline} que se ejecuta cada segundo, decrementando el tiempo
-     * restante y actualizando la etiqueta correspondiente. Si el tiempo llega a cero,
-     * detiene el temporizador y llama a {@link #finalValidation()}.
+     * La vista del juego se reutiliza entre visitas, por lo que en lugar de crear
+     * un controlador nuevo se reinicia el estado: se limpia la entrada, se olvida
+     * el ultimo intento, se comienza una partida y se arranca el reloj. Si la
+     * partida anterior se suspendio con {@link #suspend()}, se retoma en lugar
+     * de comenzar otra.
      */
-    private void startTimer()
+    public void startSession()
     {
-        if (timeline != null)
+        showModeLabels();
+        lastAttempt.reset();
+        pause.cancel();
+        clearTextArea();
+        if (session.start(System.nanoTime(), modeBox.getValue()))
         {
-            timeline.stop();
+            modeBox.setValue(engine.getComparisonMode());
         }
-        timeLabel.setText(String.valueOf(remainingTime));
+        showLevel();
+        textArea.setDisable(false);
+        validateButton.setDisable(false);
+        recordButton.setDisable(true);
+        restartButton.setDisable(true);
+        clockTimer.start();
+        textArea.requestFocus();
+    }
 
-        timeline = new Timeline(new KeyFrame(Duration.seconds(1), e ->
+    /**
+     * Muestra en {@link #modeBox} los nombres de los modos en el idioma en uso.
+     * <p>
+     * Se instala un convertidor nuevo en cada sesion para que el selector vuelva
+     * a dibujar los nombres si el jugador cambio de idioma.
+     */
+    private void showModeLabels()
+    {
+        modeBox.setConverter(new StringConverter<>()
         {
-            remainingTime--;
-            timeLabel.setText(String.valueOf(remainingTime));
+            @Override
+            public String toString(ComparisonMode mode)
+            {
+                return mode == null ? "" : mode.getLabel();
+            }
 
-            if (remainingTime <= 0)
+            @Override
+            public ComparisonMode fromString(String label)
             {
-                timeline.stop();
-                finalValidation();
+                return null;
             }
-        }));
+        });
+    }
 
-        timeline.setCycleCount(Timeline.INDEFINITE);
-        timeline.play();
+    /**
+     * Comienza una sesion retomando una partida guardada, por ejemplo al abrir la aplicacion.
+     *
+     * @param saved La instantanea de la partida.
+     */
+    public void resumeSession(GameSnapshot saved)
+    {
+        session.resumeFrom(saved);
+        startSession();
     }
 
     /**
-     * Incrementa el nivel del juego, actualiza la etiqueta de nivel y prepara la siguiente ronda.
+     * Suspende la partida en curso: detiene el reloj y guarda una instantanea con
+     * el tiempo que le queda, para retomarla en la siguiente sesion o al volver a
+     * abrir la aplicacion.
+     *
+     * @return Una tarea que termina cuando la instantanea esta escrita.
+     * @see GameSession#suspend(long)
      */
-    private void upLevel()
+    public CompletableFuture<Path> suspend()
     {
-        level++;
-        levelLabel.setText(String.valueOf(level));
-        levelRefiller();
+        long now = System.nanoTime();
+        clockTimer.stop();
+        pause.cancel();
+        return session.suspend(now);
     }
 
     /**
-     * Procesa la lista de palabras correctas y genera un string con el resumen del juego.
+     * Atiende cada pulso del temporizador.
+     * <p>
+     * Consulta el reloj del motor y actualiza la etiqueta de tiempo solo cuando cambia
+     * el segundo mostrado. Si el tiempo se agota, llama a {@link #finalValidation(long)}.
+     * Al final mueve el fantasma, si lo hay, al mismo instante del nivel y dibuja
+     * los caracteres de la frase que cambiaron desde el pulso anterior.
      *
-     * @param correctWords El ArrayList con todas las palabras que el usuario escribio correctamente.
-     * @return Un String formateado listo para mostrarse en la alerta de resumen.
+     * @param now El instante del pulso, segun {@link System#nanoTime()}.
      */
-    public String generateRecord(ArrayList<String> correctWords)
+    private void onClockPulse(long now)
     {
-        if (correctWords == null || correctWords.isEmpty())
+        ClockEvent event = session.poll(now);
+        if (event == ClockEvent.EXPIRED)
         {
-            return "No hubo palabras correctas en este intento.";
+            showRemainingTime(now);
+            finalValidation(now);
         }
+        else if (event == ClockEvent.TICK)
+        {
+            showRemainingTime(now);
+            showWpm(now);
+        }
+        phraseRenderer.setGhost(session.ghostPosition(now));
+        phraseRenderer.render();
+    }
 
-        //ESTE FRAGENTO DE CODIGO SE HA REALIZADO CON IA : GEMINI
-
-        // --- Parte 1: Contar frecuencias y encontrar la palabra mas larga ---
-        HashMap<String, Integer> wordCount = new HashMap<>();
-        int maxLength = 0;
+    /**
+     * Muestra los segundos restantes del nivel si cambiaron desde la ultima vez.
+     *
+     * @param now El instante actual.
+     */
+    private void showRemainingTime(long now)
+    {
+        int seconds = engine.getRemainingTime(now);
+        if (seconds != shownSeconds)
+        {
+            shownSeconds = seconds;
+            timeLabel.setText(numberText(seconds));
+        }
+    }
 
-        for (String word : correctWords)
+    /**
+     * Muestra las palabras por minuto en vivo si cambiaron desde la ultima vez.
+     *
+     * @param now El instante actual.
+     */
+    private void showWpm(long now)
+    {
+        int wpm = (int) Math.round(session.getLiveWpm(now));
+        if (wpm != shownWpm)
         {
-            // Actualizamos el contador de palabras
-            wordCount.put(word, wordCount.getOrDefault(word, 0) + 1);
+            shownWpm = wpm;
+            wpmLabel.setText(numberText(wpm));
+        }
+    }
 
-            // Verificamos si esta es la palabra mas larga hasta ahora
-            if (word.length() > maxLength) {
-                maxLength = word.length();
-            }
+    /**
+     * Pasa al motor cada cambio que el jugador hace en el {@link TextArea}.
+     * <p>
+     * Una tecla al final de la respuesta o un borrado del ultimo caracter se validan
+     * en O(1); cualquier otro cambio (pegar, editar en medio) vuelve a validar todo.
+     * La {@link GameSession} registra cada cambio en la telemetria con su instante.
+     *
+     * @param change El cambio que se va a aplicar al texto.
+     * @return El mismo cambio, sin modificar.
+     */
+    private TextFormatter.Change trackInput(TextFormatter.Change change)
+    {
+        if (clearingInput)
+        {
+            return change;
         }
+        long now = System.nanoTime();
+        int length = change.getControlText().length();
+        boolean completed;
+        if (change.getRangeStart() == length && change.getText().length() == 1)
+        {
+            completed = session.typeChar(now, change.getText().charAt(0));
+        }
+        else if (change.getText().isEmpty() && change.getRangeEnd() == length && change.getRangeStart() == length - 1)
+        {
+            session.deleteChar(now);
+            completed = false;
+        }
+        else
+        {
+            completed = session.setInput(now, change.getControlNewText());
+        }
+        syncDiff();
+        showProgress();
+        showWpm(now);
+        diffFlow.setVisible(false);
 
-        // --- Parte 2: Construir el String del mensaje ---
-        StringBuilder msj = new StringBuilder("Resumen de tu intento:\n\n");
+        if (completed && autoSubmitCheck.isSelected())
+        {
+            // No se puede limpiar el texto mientras se aplica este cambio.
+            Platform.runLater(autoSubmit);
+        }
+        return change;
+    }
 
-        // Agregamos cada palabra y su conteo
-        for (Map.Entry<String, Integer> entry : wordCount.entrySet()) {
-            String word = entry.getKey();
-            Integer count = entry.getValue();
+    /**
+     * Envia la respuesta que se completo con el envio automatico activado.
+     * <p>
+     * Se envia en el instante en que corre, no en el de la tecla que completo la
+     * frase: entre ambos pudo atenderse otra tecla, y la repeticion no admite
+     * eventos fuera de orden. Si el tiempo se agoto mientras tanto, la ultima
+     * validacion ya acepto la frase y la respuesta esta vacia.
+     */
+    private void autoSubmitPhrase()
+    {
+        if (engine.getValidator().isComplete())
+        {
+            long now = System.nanoTime();
+            ValidationResult result = session.submit(now, now);
+            clearTextArea();
+            showResult(result);
+        }
+    }
 
-            msj.append("- ").append(word);
-            if (count > 1) {
-                msj.append(" (x").append(count).append(")");
-            }
-            msj.append("\n");
+    /**
+     * Resalta en vivo cuanto de la frase se ha escrito bien y desde donde hay un error.
+     * <p>
+     * Solo marca en el {@link PhraseRenderer} los caracteres que cambiaron; se
+     * dibujan en el siguiente pulso, junto con cualquier otra tecla del mismo cuadro.
+     */
+    private void showProgress()
+    {
+        String phrase = engine.getActualPhrase();
+        if (phrase == null)
+        {
+            return;
+        }
+        if (phrase != shownPhrase)
+        {
+            shownPhrase = phrase;
+            phraseRenderer.setPhrase(phrase);
         }
+        TypingValidator validator = engine.getValidator();
+        phraseRenderer.setProgress(validator.getCorrectPrefix(), validator.getTypedLength());
+    }
 
-        // Agregamos la informacion de la palabra mas larga
-        msj.append("\n------------------------------\n");
-        msj.append("Ultimo nivel: " + String.valueOf(level));
-        msj.append("\nLetras de la palabra mas larga: ").append(maxLength);
-        return msj.toString();
+    /**
+     * Limpia el {@link TextArea} sin que el cambio se tome como una edicion del jugador.
+     */
+    private void clearTextArea()
+    {
+        clearingInput = true;
+        textArea.clear();
+        clearingInput = false;
+        session.clearInput(System.nanoTime());
+        resetDiff();
+        showProgress();
+    }
 
-        // TERMINA COLABORACION DE IA.
+    /**
+     * Vacia la respuesta de {@link #diff} y le carga la frase actual si cambio.
+     * <p>
+     * La frase se carga normalizada en el modo de comparacion, igual que en el
+     * {@link TypingValidator}, para que la comparacion muestre los mismos errores.
+     */
+    private void resetDiff()
+    {
+        String phrase = engine.getActualPhrase();
+        if (phrase != null && phrase != diffPhrase)
+        {
+            diffPhrase = phrase;
+            ComparisonMode mode = engine.getComparisonMode();
+            diff.setTarget(mode == ComparisonMode.EXACT ? phrase : mode.apply(phrase));
+        }
+        else
+        {
+            diff.clear();
+        }
     }
 
     /**
-     * Prepara el entorno para el siguiente nivel.
+     * Lleva a {@link #diff} la respuesta normalizada del {@link TypingValidator}.
      * <p>
-     * Muestra una nueva frase, reinicia el tiempo (aplicando el handicap si corresponde)
-     * e inicia de nuevo el temporizador.
+     * Solo se recalculan las columnas desde el primer caracter que cambio, que
+     * con una tecla al final es una sola.
      */
-    private void levelRefiller()
+    private void syncDiff()
     {
-        showNewPhrase();
-        remainingTime = 20;
+        TypingValidator validator = engine.getValidator();
+        int typed = validator.getTypedLength();
+        int common = 0;
+        int limit = Math.min(diff.getInputLength(), typed);
+        while (common < limit && diff.inputAt(common) == validator.inputAt(common))
+        {
+            common++;
+        }
+        while (diff.getInputLength() > common)
+        {
+            diff.deleteLast();
+        }
+        for (int i = common; i < typed; i++)
+        {
+            diff.append(validator.inputAt(i));
+        }
+    }
 
-        //Aca cualquier número múltiplo de 5 cae en esta condicion.
-        if (level % 5 == 0)
+    /**
+     * Muestra la respuesta comparada con la frase: en verde lo correcto, en rojo los
+     * caracteres errados, tachados los que sobran y en naranja los que faltan.
+     * <p>
+     * La distancia ya se calculo tecla por tecla; aqui solo se reconstruye la
+     * alineacion y se agrupa en un texto por tramo.
+     */
+    private void showDiff()
+    {
+        int count = diff.align();
+        diffFlow.getChildren().clear();
+        Text header = new Text(LanguageCatalog.shared().current().format("diff.header", diff.getDistance()) + "   ");
+        header.setFont(DIFF_FONT);
+        header.setFill(Color.WHITE);
+        diffFlow.getChildren().add(header);
+
+        StringBuilder run = new StringBuilder();
+        int targetIndex = 0;
+        int inputIndex = 0;
+        for (int i = 0; i < count; i++)
         {
-            handicapAccumulator = handicapAccumulator + 2;
+            byte op = diff.opAt(i);
+            if (op == AnswerDiff.MISSING)
+            {
+                run.append(diff.targetAt(targetIndex++));
+            }
+            else
+            {
+                run.append(diff.inputAt(inputIndex++));
+                if (op != AnswerDiff.EXTRA)
+                {
+                    targetIndex++;
+                }
+            }
+            if (i == count - 1 || diff.opAt(i + 1) != op)
+            {
+                Text text = new Text(run.toString());
+                text.setFont(DIFF_FONT);
+                text.setFill(DIFF_COLORS[op]);
+                text.setUnderline(op == AnswerDiff.WRONG || op == AnswerDiff.MISSING);
+                text.setStrikethrough(op == AnswerDiff.EXTRA);
+                diffFlow.getChildren().add(text);
+                run.setLength(0);
+            }
         }
-        remainingTime = remainingTime - handicapAccumulator;
-        startTimer();
+        diffFlow.setVisible(true);
+    }
+
+    /**
+     * Muestra en la interfaz el nivel y la frase actuales del motor.
+     */
+    private void showLevel()
+    {
+        levelLabel.setText(numberText(engine.getLevel()));
+        phraseLabel.setText(engine.getActualPhrase());
+        showRemainingTime(System.nanoTime());
+        resetDiff();
+        diffFlow.setVisible(false);
+        showProgress();
     }
 
     /**
@@ -345,10 +666,8 @@ public class GameController
     @FXML
     private void restartGame()
     {
-        level = 1;
-        levelLabel.setText(String.valueOf(level));
-        handicapAccumulator = 0;
-        levelRefiller();
+        session.restart(System.nanoTime(), modeBox.getValue());
+        showLevel();
         textArea.setDisable(false);
         validateButton.setDisable(false);
         restartButton.setDisable(true);
@@ -357,195 +676,201 @@ public class GameController
     /**
      * Valida la entrada del usuario en el {@link TextArea}.
      * <p>
-     * Este metodo es el núcleo de la logica de validacion. Comprueba si la entrada esta vacía,
-     * si coincide con la frase objetivo o si es incorrecta, y proporciona el feedback
-     * correspondiente al usuario. Si la palabra es correcta, avanza de nivel.
+     * La respuesta ya fue validada tecla por tecla en el {@link GameEngine}; aqui
+     * solo se confirma y se proporciona el feedback correspondiente al usuario.
      */
     @FXML
     private void validateTextArea()
     {
-        Feedback feedback = new Feedback();
-        PauseGameTransition pause = new PauseGameTransition();
-        String answer = textArea.getText();
-
-        //LOGICA CONDICIONAL:
-        if (answer.isEmpty()) //Si esta vacío
+        long now = System.nanoTime();
+        ValidationResult result = session.submit(now, now);
+        if (result == ValidationResult.INCORRECT)
         {
-            phraseLabel.setText(feedback.TypeOfFeedback(2));
-            pause.pauseTransition(phraseLabel, actualPhrase);
-            textArea.clear();
-        } else if (answer.equals(phraseLabel.getText())) //Si equivale
+            showDiff();
+        }
+        clearTextArea();
+        showResult(result);
+    }
+
+    /**
+     * Realiza una ultima validacion cuando el tiempo se agota.
+     * <p>
+     * Si la palabra escrita es correcta justo cuando el tiempo llega a 0, se considera valida
+     * y el juego continúa. Si no, el juego se da por perdido.
+     *
+     * @param now El instante en que se agoto el tiempo.
+     */
+    private void finalValidation(long now)
+    {
+        ValidationResult result = session.expire(now);
+        if (result == ValidationResult.LOST && diff.getInputLength() > 0)
         {
-            refillArrayOfWords(actualPhrase);
-            textArea.clear();
+            showDiff();
+        }
+        clearTextArea();
+        showResult(result);
+    }
 
-            //SE REVISA SI SE GANO EL JUEGO PARA NO AVANZAR A OTRO NIVEL SI ESTAS EN EL 35
-            if(!winGame())
-            {
-                upLevel();
-                phraseLabel.setText(feedback.TypeOfFeedback(3));
-                pause.pauseTransition(phraseLabel, actualPhrase);
-            }
-        } else //SI ES INCORRECTA
+    /**
+     * Refleja en la interfaz el resultado de una validacion del motor.
+     *
+     * @param result El resultado devuelto por el {@link GameEngine}.
+     */
+    private void showResult(ValidationResult result)
+    {
+        switch (result)
         {
-            phraseLabel.setText(feedback.TypeOfFeedback(1));
-            pause.pauseTransition(phraseLabel, actualPhrase);
-            textArea.clear();
+            case EMPTY:
+            case INCORRECT:
+                showFeedback(Feedback.forResult(result));
+                break;
+            case CORRECT:
+            case CORRECT_LAST_SECOND:
+                levelLabel.setText(numberText(engine.getLevel()));
+                showRemainingTime(System.nanoTime());
+                showFeedback(Feedback.forResult(result));
+                break;
+            case WON:
+                endGame(LanguageCatalog.shared().current().message("game.won"));
+                break;
+            case LOST:
+                endGame(LanguageCatalog.shared().current().message("game.lost"));
+                break;
         }
     }
 
     /**
-     * Verifica si el jugador ha alcanzado la condicion de victoria (nivel 35).
+     * Muestra un mensaje de feedback y, tras la pausa, vuelve a mostrar la frase actual.
      * <p>
-     * Si se cumple la condicion, detiene el juego, deshabilita los controles,
-     * muestra un mensaje de victoria y genera la alerta con el resumen final.
+     * La pausa se reutiliza: si habia otra en curso se reinicia con la frase nueva.
      *
-     * @return {@code true} si el jugador ha ganado, {@code false} en caso contrario.
+     * @param feedback El feedback a mostrar.
      */
-    private boolean winGame()
+    private void showFeedback(Feedback feedback)
     {
-        if (level >= 35)
+        phraseLabel.setText(feedback.getMessage());
+        pause.pauseTransition(engine.getActualPhrase());
+    }
+
+    /**
+     * Devuelve el texto de un numero pequeño (nivel o segundos) sin crear strings nuevos.
+     *
+     * @param value El numero a mostrar.
+     * @return El texto del numero.
+     */
+    private static String numberText(int value)
+    {
+        if (value >= 0 && value < NUMBER_TEXT.length)
         {
-            phraseLabel.setText("Has Ganado!");
-            timeline.stop();
-            textArea.setDisable(true);
-            validateButton.setDisable(true);
-            restartButton.setDisable(false);
-            recordButton.setDisable(false);
-
-            //El Platform runLater sirve para ejecutar algo despues de una animacion o proceso.
-            Platform.runLater(() -> {
-                lastAttempt = generateRecord(arrayOfCorrectPhrases);
-
-                AlertBox alertBox = new AlertBox();
-                alertBox.showAlertBox("INFORMACION ULTIMO INTENTO", lastAttempt, "");
-
-                arrayOfCorrectPhrases.clear();
-            });
-            return true;
+            return NUMBER_TEXT[value];
         }
-        return false;
+        return String.valueOf(value);
     }
 
     /**
-     * Gestiona el estado de 'juego perdido'.
+     * Gestiona el final de la partida, ya sea por victoria o por derrota.
      * <p>
-     * Se activa cuando el jugador no logra escribir la palabra a tiempo. Detiene el temporizador,
-     * deshabilita los controles y muestra una alerta con el resumen del intento.
-     * Usa {@link Platform#runLater} para evitar problemas de concurrencia en el hilo de JavaFX.
+     * La {@link GameSession} ya guardo la partida; aqui se deshabilitan los
+     * controles y se muestra una alerta con el resumen del intento. Usa
+     * {@link Platform#runLater} para evitar problemas de concurrencia en el hilo de JavaFX.
+     *
+     * @param message El mensaje que se muestra en lugar de la frase.
      */
-    private void lostGame()
+    private void endGame(String message)
     {
-        phraseLabel.setText("Has Perdido!");
-        timeline.stop();
+        pause.cancel();
+        phraseRenderer.setGhost(-1);
+        phraseLabel.setText(message);
         textArea.setDisable(true);
         validateButton.setDisable(true);
         recordButton.setDisable(false);
         restartButton.setDisable(false);
 
+        Language language = LanguageCatalog.shared().current();
+        lastAttempt.load(engine.getStats(), language);
+
+        //El Platform runLater sirve para ejecutar algo despues de una animacion o proceso.
         Platform.runLater(() ->
         {
-            lastAttempt = generateRecord(arrayOfCorrectPhrases);
-
-            AlertBox alertBox = new AlertBox();
-            alertBox.showAlertBox("INFORMACION ULTIMO INTENTO", lastAttempt, "");
+            summaryBox.showRows(language.message("summary.title"), lastAttempt, "");
 
-            arrayOfCorrectPhrases.clear();
+            engine.clearCorrectPhrases();
         });
     }
 
     /**
      * Manejador del evento del boton de record.
-     * Muestra una alerta con el resumen del ultimo intento guardado.
+     * Muestra una alerta con el resumen del ultimo intento guardado y del historial.
      */
     @FXML
     private void recordActionR()
     {
-        AlertBox alertBox = new AlertBox();
-        alertBox.showAlertBox("INFORMACION ULTIMO INTENTO",
-                lastAttempt, "");
+        Language language = LanguageCatalog.shared().current();
+        lastAttempt.setTrailer(historyRows(language));
+        summaryBox.showRows(language.message("summary.title"), lastAttempt, "");
     }
 
     /**
-     * Realiza una ultima validacion cuando el tiempo se agota.
+     * Resume el historial de partidas: cuantas hay, la mejor marca y las tres mejores.
      * <p>
-     * Si la palabra escrita es correcta justo cuando el tiempo llega a 0, se considera valida
-     * y el juego continúa. Si no, el juego se da por perdido.
+     * Solo consulta los indices en memoria del historial.
+     *
+     * @param language El idioma de la interfaz.
+     * @return Los renglones del resumen del historial, o una lista vacia si no esta disponible.
      */
-    private void finalValidation()
+    private List<String> historyRows(Language language)
     {
-        PauseGameTransition pause = new PauseGameTransition();
-        Feedback feedback = new Feedback();
-        String answer = textArea.getText();
-
-        if(answer.equals(phraseLabel.getText()))
+        if (mainApp == null)
         {
-            refillArrayOfWords(actualPhrase);
-            textArea.clear();
-            if(!winGame())
-            {
-                upLevel();
-                phraseLabel.setText(feedback.TypeOfFeedback(4));
-                pause.pauseTransition(phraseLabel, actualPhrase);
-            }
+            return List.of();
         }
-        else
+        ResultsIndex index = mainApp.getResults().getIndex();
+        GameResult best = index.personalBest();
+        if (best == null)
+        {
+            return List.of();
+        }
+
+        List<String> rows = new ArrayList<>();
+        rows.add("");
+        rows.add("------------------------------");
+        rows.add(language.message("history.title"));
+        rows.add(language.format("history.games", index.getGameCount()));
+        rows.add(language.format("history.best", best.describe(language)));
+        List<GameResult> top = index.top(3);
+        for (int i = 0; i < top.size(); i++)
         {
-            phraseLabel.setText("¡Se acabo el tiempo!");
-            actualPhrase = phraseLabel.getText();
-            lostGame();
+            rows.add(i + 1 + ". " + top.get(i).describe(language));
         }
+        return rows;
     }
 
     /**
      * Manejador del evento del boton 'VOLVER'.
      * <p>
-     * Detiene el temporizador, limpia los datos de la partida actual y utiliza la
-     * referencia a {@link App} para regresar a la ventana de bienvenida.
+     * Suspende la partida en curso, que se retoma al volver a jugar, detiene el
+     * temporizador y utiliza la referencia a {@link App} para regresar a la
+     * ventana de bienvenida.
      */
     @FXML
     private void backAction()
     {
-        //Detener reloj si esta alguno activo
-        if (timeline != null)
-        {
-            timeline.stop();
-        }
-        arrayOfCorrectPhrases.clear();
+        //Detener el reloj de la sesion
+        suspend();
+        clockTimer.stop();
+        session.stopGhost();
+        phraseRenderer.setGhost(-1);
 
         //PARA ABRIR DE NUEVO LA VENTANA WELCOME
         if (mainApp != null)
         {
             try
             {
-                // Obtenemos la ventana actual (la del juego)
-                Stage currentGameStage = (Stage) backButton.getScene().getWindow();
-                // Llamamos a un nuevo metodo en la clase App para volver
-                mainApp.openWelcomeWindow(currentGameStage);
+                // La vista de bienvenida ya esta en cache; solo se cambia la raiz de la escena
+                mainApp.showWelcome();
             } catch (IOException e) {
-                System.err.println("Error al volver a la ventana de bienvenida.");
-                e.printStackTrace();
+                LOG.log(Level.ERROR, "Error al volver a la ventana de bienvenida.", e);
             }
         }
     }
-
-    /**
-     * Selecciona una nueva frase aleatoria del arreglo {@link #arrFrases} y la muestra en la UI.
-     */
-    private void showNewPhrase()
-    {
-        Random rand = new Random();
-        actualPhrase = arrFrases[rand.nextInt(arrFrases.length)];
-        phraseLabel.setText(actualPhrase);
-    }
-
-    /**
-     * Añade una palabra escrita correctamente a la lista {@link #arrayOfCorrectPhrases}.
-     *
-     * @param word La palabra correcta que sera añadida al registro del juego.
-     */
-    private void refillArrayOfWords(String word)
-    {
-        arrayOfCorrectPhrases.add(word);
-    }
 }
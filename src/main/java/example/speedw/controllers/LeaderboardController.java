@@ -0,0 +1,145 @@
+package example.speedw.controllers;
+
+import example.speedw.App;
+import example.speedw.models.GameResult;
+import example.speedw.models.Language;
+import example.speedw.models.LanguageCatalog;
+import example.speedw.models.ResultsIndex;
+import javafx.fxml.FXML;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+
+import java.io.IOException;
+import java.lang.System.Logger.Level;
+import java.util.List;
+
+/**
+ * Controlador para la vista del ranking (leaderboard.fxml).
+ * <p>
+ * Muestra la mejor marca personal, las mejores partidas y las frases con peor
+ * precision del historial. Todos los datos salen de los indices en memoria de
+ * {@link ResultsIndex}, por lo que refrescar la vista no recorre el historial.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class LeaderboardController
+{
+    /**
+     * Registro de los errores de esta clase.
+     */
+    private static final System.Logger LOG = System.getLogger(LeaderboardController.class.getName());
+
+    /**
+     * Cuantas partidas se muestran en el ranking.
+     */
+    private static final int TOP_GAMES = 20;
+
+    /**
+     * Cuantas frases dificiles se muestran.
+     */
+    private static final int HARDEST_PHRASES = 10;
+
+    /**
+     * Intentos minimos para que una frase aparezca entre las dificiles.
+     */
+    private static final int MIN_ATTEMPTS = 3;
+
+    /**
+     * Etiqueta con la mejor marca personal.
+     */
+    @FXML
+    private Label bestLabel;
+
+    /**
+     * Lista con las mejores partidas.
+     */
+    @FXML
+    private ListView<String> topList;
+
+    /**
+     * Lista con las frases de peor precision.
+     */
+    @FXML
+    private ListView<String> hardList;
+
+    /**
+     * Etiqueta con el total de partidas guardadas y el tiempo de la consulta.
+     */
+    @FXML
+    private Label countLabel;
+
+    /**
+     * Referencia a la clase principal de la aplicacion, usada para volver a la bienvenida.
+     */
+    private App mainApp;
+
+    /**
+     * Establece la referencia a la aplicacion principal.
+     *
+     * @param app La instancia de la clase principal App.
+     */
+    public void setApp(App app)
+    {
+        this.mainApp = app;
+    }
+
+    /**
+     * Vuelve a llenar la vista con los datos actuales del historial.
+     *
+     * @param index Los indices del historial.
+     * @param ready {@code false} si el historial todavia se esta cargando.
+     */
+    public void refresh(ResultsIndex index, boolean ready)
+    {
+        long start = System.nanoTime();
+        Language language = LanguageCatalog.shared().current();
+        GameResult best = index.personalBest();
+        List<GameResult> top = index.top(TOP_GAMES);
+        int[] hardest = index.hardestPhrases(HARDEST_PHRASES, MIN_ATTEMPTS);
+
+        if (best == null)
+        {
+            bestLabel.setText(language.message(ready ? "history.empty" : "history.loading"));
+        }
+        else
+        {
+            bestLabel.setText(language.format("history.bestShort", best.describe(language)));
+        }
+
+        topList.getItems().clear();
+        for (int i = 0; i < top.size(); i++)
+        {
+            topList.getItems().add((i + 1) + ". " + top.get(i).describe(language));
+        }
+
+        hardList.getItems().clear();
+        for (int id : hardest)
+        {
+            hardList.getItems().add(Math.round(index.phraseAccuracy(id) * 100) + "% - " + index.phraseText(id));
+        }
+
+        long micros = (System.nanoTime() - start) / 1000;
+        countLabel.setText(language.format("history.count", index.getGameCount(), micros));
+    }
+
+    /**
+     * Manejador del evento del boton 'VOLVER'.
+     */
+    @FXML
+    private void backAction()
+    {
+        if (mainApp != null)
+        {
+            try
+            {
+                mainApp.showWelcome();
+            }
+            catch (IOException e)
+            {
+                LOG.log(Level.ERROR, "Error al volver a la ventana de bienvenida.", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,449 @@
+package example.speedw.controllers;
+
+import example.speedw.App;
+import example.speedw.diagnostics.GameMetrics;
+import example.speedw.models.ComparisonMode;
+import example.speedw.models.FontGlyphMetrics;
+import example.speedw.models.KeystrokeTelemetry;
+import example.speedw.models.PassageValidator;
+import example.speedw.models.Passages;
+import example.speedw.models.PhraseRenderer;
+import example.speedw.models.TypingValidator;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.fxml.FXML;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.control.Button;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.text.Font;
+import javafx.stage.FileChooser;
+import javafx.util.StringConverter;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.System.Logger.Level;
+
+/**
+ * Controlador para la vista de pasajes largos (passage.fxml).
+ * <p>
+ * El jugador escribe un texto de un parrafo a un capitulo entero, sin limite de
+ * tiempo. No hay {@code TextArea}: un {@code TextArea} vuelve a acomodar todo su
+ * contenido con cada cambio, y con cientos de miles de caracteres cada tecla se
+ * vuelve lenta. Aqui las teclas van directo a un {@link PassageValidator}, que
+ * guarda la respuesta en un buffer con hueco y la valida por partes, y el
+ * progreso se dibuja sobre el mismo texto con un {@link PhraseRenderer} que
+ * solo muestra los renglones alrededor del cursor. Cada tecla cuesta lo mismo
+ * sin importar el largo del texto.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class PassageController
+{
+    /**
+     * Registro de los errores de esta clase.
+     */
+    private static final System.Logger LOG = System.getLogger(PassageController.class.getName());
+
+    /**
+     * Fuente del texto del pasaje.
+     */
+    private static final Font PASSAGE_FONT = Font.font("Bell MT Bold", 18.0);
+
+    /**
+     * Renglones visibles del pasaje.
+     */
+    private static final int VISIBLE_LINES = 8;
+
+    /**
+     * Lienzo donde se dibuja el pasaje con el progreso; recibe las teclas.
+     */
+    @FXML
+    private Canvas passageCanvas;
+
+    /**
+     * Etiqueta con el porcentaje del pasaje escrito correctamente.
+     */
+    @FXML
+    private Label progressLabel;
+
+    /**
+     * Etiqueta con las palabras por minuto de los ultimos segundos.
+     */
+    @FXML
+    private Label wpmLabel;
+
+    /**
+     * Etiqueta con la precision de las teclas.
+     */
+    @FXML
+    private Label accuracyLabel;
+
+    /**
+     * Etiqueta con el tiempo transcurrido.
+     */
+    @FXML
+    private Label timeLabel;
+
+    /**
+     * Etiqueta con el estado del pasaje: su largo, si se esta cargando o el resultado.
+     */
+    @FXML
+    private Label statusLabel;
+
+    /**
+     * Boton para cargar un pasaje desde un archivo de texto.
+     */
+    @FXML
+    private Button loadButton;
+
+    /**
+     * Selector del modo de comparacion; cambiarlo reinicia el pasaje.
+     */
+    @FXML
+    private ComboBox<ComparisonMode> modeBox;
+
+    /**
+     * Referencia a la clase principal de la aplicacion, usada para volver a la bienvenida.
+     */
+    private App mainApp;
+
+    /**
+     * Validador de la respuesta, con el buffer de lo escrito.
+     */
+    private final PassageValidator validator = new PassageValidator();
+
+    /**
+     * Telemetria de las teclas, con las palabras por minuto en vivo.
+     */
+    private final KeystrokeTelemetry telemetry = new KeystrokeTelemetry();
+
+    /**
+     * Metricas de JMX y eventos de JFR de la aplicacion.
+     */
+    private final GameMetrics metrics = GameMetrics.shared();
+
+    /**
+     * Dibuja el pasaje en {@link #passageCanvas}, en cada pulso y solo lo que cambio.
+     */
+    private PhraseRenderer renderer;
+
+    /**
+     * Texto del pasaje actual, sin normalizar.
+     */
+    private String passage = Passages.defaultPassage();
+
+    /**
+     * Instante de la primera tecla, o 0 si el jugador aun no empieza.
+     */
+    private long startNanos;
+
+    /**
+     * Indica que el pasaje ya se completo.
+     */
+    private boolean finished;
+
+    /**
+     * Ultimos segundos mostrados en la etiqueta de tiempo.
+     */
+    private long shownSeconds = -1;
+
+    /**
+     * Ultimas decimas de porcentaje mostradas en la etiqueta de progreso.
+     */
+    private int shownPermille = -1;
+
+    /**
+     * Temporizador que dibuja los cambios y actualiza las etiquetas en cada pulso.
+     */
+    private final AnimationTimer pulseTimer = new AnimationTimer()
+    {
+        @Override
+        public void handle(long now)
+        {
+            onPulse(now);
+        }
+    };
+
+    /**
+     * Establece la referencia a la aplicacion principal.
+     *
+     * @param app La instancia de la clase principal App.
+     */
+    public void setApp(App app)
+    {
+        this.mainApp = app;
+    }
+
+    /**
+     * Crea el dibujante y conecta las teclas del lienzo.
+     */
+    public void initialize()
+    {
+        renderer = new PhraseRenderer(passageCanvas, new FontGlyphMetrics(PASSAGE_FONT), VISIBLE_LINES);
+        modeBox.getItems().setAll(ComparisonMode.values());
+        modeBox.setValue(TypingValidator.DEFAULT_MODE);
+
+        passageCanvas.setFocusTraversable(true);
+        passageCanvas.setOnMouseClicked(event -> passageCanvas.requestFocus());
+        passageCanvas.addEventHandler(KeyEvent.KEY_TYPED, this::onKeyTyped);
+        passageCanvas.addEventHandler(KeyEvent.KEY_PRESSED, this::onKeyPressed);
+    }
+
+    /**
+     * Vuelve a empezar el pasaje actual y arranca el temporizador.
+     */
+    public void startSession()
+    {
+        showModeLabels();
+        restart();
+        pulseTimer.start();
+    }
+
+    /**
+     * Muestra en {@link #modeBox} los nombres de los modos en el idioma en uso.
+     * <p>
+     * Se instala un convertidor nuevo en cada sesion para que el selector vuelva
+     * a dibujar los nombres si el jugador cambio de idioma.
+     */
+    private void showModeLabels()
+    {
+        modeBox.setConverter(new StringConverter<>()
+        {
+            @Override
+            public String toString(ComparisonMode mode)
+            {
+                return mode == null ? "" : mode.getLabel();
+            }
+
+            @Override
+            public ComparisonMode fromString(String label)
+            {
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Vacia la respuesta y vuelve a cargar el pasaje actual en el modo elegido.
+     * <p>
+     * Normalizar y acomodar el texto cuesta O(n) una sola vez; despues cada tecla es O(1).
+     */
+    @FXML
+    private void restart()
+    {
+        validator.setTarget(passage, modeBox.getValue());
+        renderer.setPhrase(validator.getTarget());
+        startNanos = 0;
+        finished = false;
+        shownSeconds = -1;
+        shownPermille = -1;
+        telemetry.reset(System.nanoTime());
+        statusLabel.setText(validator.getTarget().length() + " caracteres");
+        wpmLabel.setText("0");
+        accuracyLabel.setText("100%");
+        showProgress();
+        showTime(0);
+        passageCanvas.requestFocus();
+    }
+
+    /**
+     * Escribe los caracteres de una tecla en la posicion del cursor.
+     *
+     * @param event El evento de la tecla.
+     */
+    private void onKeyTyped(KeyEvent event)
+    {
+        String typed = event.getCharacter();
+        if (finished || event.isControlDown() || event.isMetaDown() || typed.isEmpty())
+        {
+            return;
+        }
+        long now = System.nanoTime();
+        for (int i = 0; i < typed.length(); i++)
+        {
+            char c = typed.charAt(i);
+            if (Character.isISOControl(c))
+            {
+                continue;
+            }
+            if (startNanos == 0)
+            {
+                startNanos = now;
+                telemetry.reset(now);
+            }
+            byte kind = validator.type(c) ? KeystrokeTelemetry.KIND_CORRECT : KeystrokeTelemetry.KIND_ERROR;
+            telemetry.record(now, c, kind);
+            metrics.keystroke(now, kind, validator.getTypedLength(), validator.getCorrectPrefix());
+        }
+        event.consume();
+        showProgress();
+        if (validator.isComplete())
+        {
+            finish(now);
+        }
+    }
+
+    /**
+     * Atiende las teclas de edicion: borrar y mover el cursor.
+     *
+     * @param event El evento de la tecla.
+     */
+    private void onKeyPressed(KeyEvent event)
+    {
+        if (finished)
+        {
+            return;
+        }
+        switch (event.getCode())
+        {
+            case BACK_SPACE:
+                if (validator.deleteBefore())
+                {
+                    long now = System.nanoTime();
+                    telemetry.record(now, (char) 0, KeystrokeTelemetry.KIND_DELETE);
+                    metrics.keystroke(now, KeystrokeTelemetry.KIND_DELETE,
+                            validator.getTypedLength(), validator.getCorrectPrefix());
+                }
+                break;
+            case LEFT:
+                validator.moveCaret(validator.getCaret() - 1);
+                break;
+            case RIGHT:
+                validator.moveCaret(validator.getCaret() + 1);
+                break;
+            case HOME:
+                validator.moveCaret(0);
+                break;
+            case END:
+                validator.moveCaret(validator.getTypedLength());
+                break;
+            default:
+                return;
+        }
+        event.consume();
+        showProgress();
+    }
+
+    /**
+     * Marca en el dibujante lo que cambio y actualiza el porcentaje si cambio la decima.
+     */
+    private void showProgress()
+    {
+        renderer.setProgress(validator.getCorrectPrefix(), validator.getTypedLength(), validator.getCaret());
+        int length = validator.getTarget().length();
+        int permille = length == 0 ? 1000 : (int) (validator.getCorrectPrefix() * 1000L / length);
+        if (permille != shownPermille)
+        {
+            shownPermille = permille;
+            progressLabel.setText(permille / 10 + "." + permille % 10 + "%");
+        }
+    }
+
+    /**
+     * Dibuja los cambios del cuadro y, cada segundo, actualiza el tiempo, la velocidad y la precision.
+     *
+     * @param now El instante del pulso.
+     */
+    private void onPulse(long now)
+    {
+        renderer.render();
+        if (startNanos != 0 && !finished)
+        {
+            showTime(now - startNanos);
+        }
+    }
+
+    /**
+     * Muestra el tiempo transcurrido, y la velocidad y la precision, si cambio el segundo.
+     *
+     * @param elapsedNanos El tiempo desde la primera tecla.
+     */
+    private void showTime(long elapsedNanos)
+    {
+        long seconds = elapsedNanos / 1_000_000_000L;
+        if (seconds == shownSeconds)
+        {
+            return;
+        }
+        shownSeconds = seconds;
+        timeLabel.setText(seconds / 60 + ":" + (seconds % 60 < 10 ? "0" : "") + seconds % 60);
+        if (startNanos != 0)
+        {
+            long now = startNanos + elapsedNanos;
+            wpmLabel.setText(String.valueOf(Math.round(telemetry.getLiveWpm(now))));
+            accuracyLabel.setText(Math.round((1 - telemetry.getErrorRate()) * 100) + "%");
+        }
+    }
+
+    /**
+     * Termina el pasaje y muestra la velocidad media y la precision.
+     *
+     * @param now El instante de la ultima tecla.
+     */
+    private void finish(long now)
+    {
+        finished = true;
+        showTime(now - startNanos);
+        long wpm = Math.round(telemetry.getSessionWpm(now));
+        statusLabel.setText("Pasaje completo! " + wpm + " PPM, "
+                + validator.getErrorKeys() + " teclas erradas de " + (validator.getCorrectKeys() + validator.getErrorKeys()));
+    }
+
+    /**
+     * Manejador del boton 'CARGAR TEXTO'.
+     * <p>
+     * Lee el archivo elegido en un hilo de fondo y, al terminar, empieza el pasaje nuevo.
+     */
+    @FXML
+    private void loadAction()
+    {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Cargar pasaje");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Texto", "*.txt"));
+        File file = chooser.showOpenDialog(passageCanvas.getScene().getWindow());
+        if (file == null)
+        {
+            return;
+        }
+        loadButton.setDisable(true);
+        statusLabel.setText("Cargando " + file.getName() + "...");
+        Passages.readAsync(file.toPath()).whenComplete((text, error) -> Platform.runLater(() ->
+        {
+            loadButton.setDisable(false);
+            if (error != null)
+            {
+                LOG.log(Level.ERROR, "No se pudo leer el pasaje " + file + ".", error);
+                statusLabel.setText("No se pudo leer " + file.getName());
+                return;
+            }
+            passage = text.isEmpty() ? Passages.defaultPassage() : text;
+            restart();
+        }));
+    }
+
+    /**
+     * Manejador del boton 'VOLVER'.
+     * <p>
+     * Detiene el temporizador y regresa a la ventana de bienvenida.
+     */
+    @FXML
+    private void backAction()
+    {
+        pulseTimer.stop();
+        if (mainApp != null)
+        {
+            try
+            {
+                mainApp.showWelcome();
+            }
+            catch (IOException e)
+            {
+                LOG.log(Level.ERROR, "Error al volver a la ventana de bienvenida.", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,458 @@
+package example.speedw.controllers;
+
+import example.speedw.App;
+import example.speedw.models.ValidationResult;
+import example.speedw.net.IRaceListener;
+import example.speedw.net.RaceClient;
+import example.speedw.net.RaceProtocol;
+import example.speedw.net.RaceStandings;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.fxml.FXML;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+
+import java.io.IOException;
+import java.lang.System.Logger.Level;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Controlador para la vista de carreras multijugador (race.fxml).
+ * <p>
+ * Se conecta a un {@link example.speedw.net.RaceServer} en la red local (o al
+ * servidor local que inicia la propia aplicacion), entra a una sala y muestra
+ * las frases, los resultados y las posiciones que envia el servidor. Las
+ * respuestas las valida el servidor; este controlador solo las envia.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class RaceController
+{
+    /**
+     * Registro de los errores de esta clase.
+     */
+    private static final System.Logger LOG = System.getLogger(RaceController.class.getName());
+
+    /**
+     * Campo con el servidor, como {@code host} o {@code host:puerto}.
+     */
+    @FXML
+    private TextField hostField;
+
+    /**
+     * Campo con el nombre de la sala.
+     */
+    @FXML
+    private TextField roomField;
+
+    /**
+     * Campo con el nombre del jugador.
+     */
+    @FXML
+    private TextField nameField;
+
+    /**
+     * Etiqueta con el nivel actual.
+     */
+    @FXML
+    private Label levelLabel;
+
+    /**
+     * Etiqueta con el tiempo restante del nivel.
+     */
+    @FXML
+    private Label timeLabel;
+
+    /**
+     * Etiqueta con la frase a escribir.
+     */
+    @FXML
+    private Label phraseLabel;
+
+    /**
+     * Campo donde el jugador escribe la respuesta.
+     */
+    @FXML
+    private TextField answerField;
+
+    /**
+     * Etiqueta con el estado de la conexion y el ultimo resultado.
+     */
+    @FXML
+    private Label statusLabel;
+
+    /**
+     * Lista con las posiciones de la sala.
+     */
+    @FXML
+    private ListView<String> standingsList;
+
+    /**
+     * Referencia a la clase principal de la aplicacion.
+     */
+    private App mainApp;
+
+    /**
+     * Conexion actual con el servidor, o {@code null}.
+     */
+    private RaceClient client;
+
+    /**
+     * Receptor de los mensajes de la conexion actual; los de conexiones anteriores se ignoran.
+     */
+    private ServerListener listener;
+
+    /**
+     * Id del jugador en su sala, o -1.
+     */
+    private volatile int playerId = -1;
+
+    /**
+     * Instante en que vence el nivel actual.
+     */
+    private long levelDeadlineNanos;
+
+    /**
+     * Ultimo valor mostrado en la etiqueta de tiempo.
+     */
+    private int shownSeconds = -1;
+
+    /**
+     * Temporizador que actualiza la etiqueta de tiempo con cada pulso.
+     */
+    private final AnimationTimer clockTimer = new AnimationTimer()
+    {
+        @Override
+        public void handle(long now)
+        {
+            int seconds = (int) Math.max(0, (levelDeadlineNanos - now + 999_999_999L) / 1_000_000_000L);
+            if (seconds != shownSeconds)
+            {
+                shownSeconds = seconds;
+                timeLabel.setText("TIEMPO: " + seconds);
+            }
+        }
+    };
+
+    /**
+     * Recibe los mensajes de una conexion y los pasa al hilo de JavaFX.
+     */
+    private class ServerListener implements IRaceListener
+    {
+        @Override
+        public void onJoined(int id, int players, int capacity)
+        {
+            Platform.runLater(() ->
+            {
+                if (listener == this)
+                {
+                    playerId = id;
+                    statusLabel.setText("Entraste como jugador " + id + " (" + players + "/" + capacity
+                            + "). Esperando que empiece la carrera...");
+                }
+            });
+        }
+
+        @Override
+        public void onPhrase(int level, int levelMillis, String phrase)
+        {
+            long deadline = System.nanoTime() + levelMillis * 1_000_000L;
+            Platform.runLater(() ->
+            {
+                if (listener == this)
+                {
+                    showPhrase(level, phrase, deadline);
+                }
+            });
+        }
+
+        @Override
+        public void onResult(ValidationResult result, int level)
+        {
+            Platform.runLater(() ->
+            {
+                if (listener == this)
+                {
+                    statusLabel.setText(describe(result));
+                }
+            });
+        }
+
+        @Override
+        public void onStandings(RaceStandings standings)
+        {
+            List<String> items = formatStandings(standings);
+            Platform.runLater(() ->
+            {
+                if (listener == this)
+                {
+                    standingsList.getItems().setAll(items);
+                }
+            });
+        }
+
+        @Override
+        public void onFinished(int id, int level, boolean won)
+        {
+            Platform.runLater(() ->
+            {
+                if (listener == this && id == playerId)
+                {
+                    endRace(won ? "GANASTE la carrera!" : "Terminaste en el nivel " + level + ".");
+                }
+            });
+        }
+
+        @Override
+        public void onError(String message)
+        {
+            Platform.runLater(() ->
+            {
+                if (listener == this)
+                {
+                    statusLabel.setText("Error del servidor: " + message);
+                }
+            });
+        }
+
+        @Override
+        public void onDisconnected(Exception cause)
+        {
+            Platform.runLater(() ->
+            {
+                if (listener == this)
+                {
+                    endRace(cause == null ? "Desconectado." : "Se perdio la conexion: " + cause.getMessage());
+                    client = null;
+                    listener = null;
+                }
+            });
+        }
+    }
+
+    /**
+     * Establece la referencia a la aplicacion principal.
+     *
+     * @param app La instancia de la clase principal App.
+     */
+    public void setApp(App app)
+    {
+        this.mainApp = app;
+    }
+
+    /**
+     * Manejador del evento del boton 'ENTRAR'.
+     * <p>
+     * Cierra la conexion anterior, si hay, se conecta al servidor indicado y pide
+     * entrar a la sala.
+     */
+    @FXML
+    private void connectAction()
+    {
+        disconnect();
+        String address = hostField.getText().trim();
+        String host = address;
+        int port = RaceProtocol.DEFAULT_PORT;
+        int colon = address.lastIndexOf(':');
+        try
+        {
+            if (colon >= 0)
+            {
+                host = address.substring(0, colon);
+                port = Integer.parseInt(address.substring(colon + 1));
+            }
+        }
+        catch (NumberFormatException e)
+        {
+            statusLabel.setText("Puerto invalido: " + address.substring(colon + 1));
+            return;
+        }
+        String name = nameField.getText().isBlank() ? "Jugador" : nameField.getText().trim();
+
+        ServerListener newListener = new ServerListener();
+        listener = newListener;
+        try
+        {
+            client = new RaceClient(host.isEmpty() ? "localhost" : host, port, newListener);
+            client.join(roomField.getText().trim(), name);
+            statusLabel.setText("Conectado a " + host + ":" + port + ".");
+        }
+        catch (IOException e)
+        {
+            LOG.log(Level.ERROR, "No se pudo conectar al servidor de carreras.", e);
+            listener = null;
+            disconnect();
+            statusLabel.setText("No se pudo conectar: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Manejador del evento del boton 'SERVIDOR LOCAL'.
+     * <p>
+     * Inicia un servidor en esta aplicacion, para jugar en la red local, y deja
+     * su direccion en el campo del servidor.
+     */
+    @FXML
+    private void serverAction()
+    {
+        if (mainApp == null)
+        {
+            return;
+        }
+        try
+        {
+            int port = mainApp.startRaceServer();
+            hostField.setText("localhost:" + port);
+            statusLabel.setText("Servidor local escuchando en el puerto " + port + ".");
+        }
+        catch (IOException e)
+        {
+            LOG.log(Level.ERROR, "No se pudo iniciar el servidor de carreras.", e);
+            statusLabel.setText("No se pudo iniciar el servidor: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Manejador de la tecla Enter en el campo de respuesta: envia la respuesta al servidor.
+     */
+    @FXML
+    private void submitAction()
+    {
+        if (client == null)
+        {
+            return;
+        }
+        try
+        {
+            client.submit(answerField.getText());
+            answerField.clear();
+        }
+        catch (IOException e)
+        {
+            statusLabel.setText("No se pudo enviar la respuesta: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Manejador del evento del boton 'VOLVER'.
+     */
+    @FXML
+    private void backAction()
+    {
+        disconnect();
+        if (mainApp != null)
+        {
+            try
+            {
+                mainApp.showWelcome();
+            }
+            catch (IOException e)
+            {
+                LOG.log(Level.ERROR, "Error al volver a la ventana de bienvenida.", e);
+            }
+        }
+    }
+
+    /**
+     * Muestra la frase de un nivel nuevo.
+     *
+     * @param level    El nivel.
+     * @param phrase   La frase.
+     * @param deadline El instante en que vence el nivel.
+     */
+    private void showPhrase(int level, String phrase, long deadline)
+    {
+        levelLabel.setText("NIVEL: " + level);
+        phraseLabel.setText(phrase);
+        levelDeadlineNanos = deadline;
+        shownSeconds = -1;
+        answerField.setDisable(false);
+        answerField.requestFocus();
+        clockTimer.start();
+    }
+
+    /**
+     * Termina la carrera en la vista.
+     *
+     * @param message El mensaje a mostrar.
+     */
+    private void endRace(String message)
+    {
+        clockTimer.stop();
+        answerField.setDisable(true);
+        statusLabel.setText(message);
+    }
+
+    /**
+     * Cierra la conexion actual, si hay.
+     */
+    private void disconnect()
+    {
+        listener = null;
+        playerId = -1;
+        clockTimer.stop();
+        answerField.setDisable(true);
+        if (client != null)
+        {
+            client.close();
+            client = null;
+        }
+    }
+
+    /**
+     * @param result El resultado de una validacion.
+     * @return El texto para el jugador.
+     */
+    private static String describe(ValidationResult result)
+    {
+        switch (result)
+        {
+            case CORRECT:
+                return "Correcto!";
+            case CORRECT_LAST_SECOND:
+                return "Correcto, justo a tiempo!";
+            case INCORRECT:
+                return "Incorrecto, intentalo de nuevo.";
+            case EMPTY:
+                return "La respuesta esta vacia.";
+            case WON:
+                return "GANASTE!";
+            default:
+                return "Se acabo el tiempo.";
+        }
+    }
+
+    /**
+     * Copia las posiciones en lineas de texto, ordenadas por nivel.
+     *
+     * @param standings Las posiciones recibidas.
+     * @return Las lineas para la lista.
+     */
+    private List<String> formatStandings(RaceStandings standings)
+    {
+        Integer[] order = new Integer[standings.getCount()];
+        for (int i = 0; i < order.length; i++)
+        {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingInt((Integer i) -> -standings.levelAt(i))
+                .thenComparingInt(standings::idAt));
+
+        List<String> items = new ArrayList<>(order.length);
+        for (int rank = 0; rank < order.length; rank++)
+        {
+            int i = order[rank];
+            String state = standings.stateAt(i) == RaceProtocol.STATE_WON ? " - gano"
+                    : standings.stateAt(i) == RaceProtocol.STATE_LOST ? " - perdio" : "";
+            items.add((rank + 1) + ". Jugador " + standings.idAt(i) + " - nivel " + standings.levelAt(i) + state
+                    + (standings.idAt(i) == playerId ? " (tu)" : ""));
+        }
+        return items;
+    }
+}
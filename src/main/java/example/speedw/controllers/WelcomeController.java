@@ -1,16 +1,24 @@
 package example.speedw.controllers;
 
 import example.speedw.App;
+import example.speedw.ViewNavigator;
 import example.speedw.models.AlertBox;
+import example.speedw.models.Language;
+import example.speedw.models.LanguageCatalog;
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
-import javafx.stage.Stage;
+import javafx.util.StringConverter;
 
 import java.io.IOException;
+import java.lang.System.Logger.Level;
+import java.util.Locale;
 import java.util.Objects;
 
 /**
@@ -26,6 +34,23 @@ import java.util.Objects;
  */
 public class WelcomeController
 {
+    /**
+     * Registro de los errores de esta clase.
+     */
+    private static final System.Logger LOG = System.getLogger(WelcomeController.class.getName());
+
+    /**
+     * Titulo de la vista.
+     */
+    @FXML
+    private Label titleLabel;
+
+    /**
+     * Selector del idioma del juego; cambiarlo traduce esta vista sin reiniciar.
+     */
+    @FXML
+    private ComboBox<Locale> languageBox;
+
     /**
      * Contenedor para mostrar la imagen o icono principal en la vista.
      */
@@ -44,52 +69,168 @@ public class WelcomeController
     @FXML
     private Button startButton;
 
+    /**
+     * Boton que muestra el ranking del historial de partidas.
+     */
+    @FXML
+    private Button leaderboardButton;
+
+    /**
+     * Boton que muestra las carreras multijugador.
+     */
+    @FXML
+    private Button raceButton;
+
+    /**
+     * Boton que muestra el modo de pasajes largos.
+     */
+    @FXML
+    private Button passageButton;
+
+    /**
+     * Contadores de la cache de vistas: cambios atendidos y su duracion.
+     */
+    @FXML
+    private Label navigationLabel;
+
     /**
      * Referencia a la clase principal de la aplicacion para permitir la comunicacion.
      */
     private App mainApp;
 
     /**
-     * Inicializa el controlador despues de que su elemento raiz ha sido procesado.
+     * Navegador cuyos contadores se muestran, o {@code null} si aun no se conoce.
+     */
+    private ViewNavigator navigator;
+
+    /**
+     * Idiomas del juego, cargados solo cuando se eligen.
+     */
+    private final LanguageCatalog languages = LanguageCatalog.shared();
+
+    /**
+     * Llena el selector de idiomas con los idiomas instalados.
      * <p>
-     * Este metodo es llamado automaticamente por el {@code FXMLLoader} y se utiliza
-     * para realizar configuraciones iniciales, como cargar la imagen principal
-     * en el {@code ImageView}.
+     * Solo se lee la lista de idiomas; los textos siguen siendo los de la vista
+     * hasta que el jugador elige otro idioma.
      */
-    @FXML
     public void initialize()
     {
-        Image image1 = new Image((getClass().getResourceAsStream("/example/speedw/images/image1.jpg")));
-        imageIcon1.setImage(image1);
+        languageBox.setConverter(new StringConverter<>()
+        {
+            @Override
+            public String toString(Locale locale)
+            {
+                String name = locale == null ? "" : locale.getDisplayLanguage(locale);
+                return name.isEmpty() ? "" : name.substring(0, 1).toUpperCase(locale) + name.substring(1);
+            }
+
+            @Override
+            public Locale fromString(String text)
+            {
+                return null;
+            }
+        });
+        languageBox.getItems().setAll(languages.available());
+        languageBox.setValue(LanguageCatalog.DEFAULT_LANGUAGE);
+        languageBox.valueProperty().addListener((observable, previous, locale) -> selectLanguage(previous, locale));
+    }
+
+    /**
+     * Carga el idioma elegido en un hilo de fondo y, al terminar, traduce la vista.
+     * <p>
+     * Si el idioma no se puede cargar, el selector vuelve al idioma anterior.
+     *
+     * @param previous El idioma que estaba elegido.
+     * @param locale   El idioma elegido.
+     */
+    private void selectLanguage(Locale previous, Locale locale)
+    {
+        if (locale == null || locale.equals(languages.current().getLocale()))
+        {
+            return;
+        }
+        languageBox.setDisable(true);
+        languages.select(locale).whenComplete((language, error) -> Platform.runLater(() ->
+        {
+            languageBox.setDisable(false);
+            if (error != null)
+            {
+                LOG.log(Level.ERROR, "No se pudo cargar el idioma " + locale.toLanguageTag() + ".", error);
+                languageBox.setValue(previous);
+                return;
+            }
+            applyLanguage(language);
+        }));
+    }
+
+    /**
+     * Cambia los textos de la vista a los de un idioma.
+     *
+     * @param language El idioma.
+     */
+    private void applyLanguage(Language language)
+    {
+        titleLabel.setText(language.message("welcome.title"));
+        instructionButton.setText(language.message("welcome.instructions"));
+        startButton.setText(language.message("welcome.start"));
+        leaderboardButton.setText(language.message("welcome.leaderboard"));
+        raceButton.setText(language.message("welcome.race"));
+        passageButton.setText(language.message("welcome.passage"));
+        showNavigation(navigator);
+    }
+
+    /**
+     * Muestra los contadores de la cache de vistas: cuantos cambios se
+     * atendieron sin volver a cargar el FXML, su duracion promedio y la del ultimo.
+     *
+     * @param navigator El navegador de vistas, o {@code null} para no mostrar nada.
+     */
+    public void showNavigation(ViewNavigator navigator)
+    {
+        this.navigator = navigator;
+        if (navigator == null)
+        {
+            return;
+        }
+        navigationLabel.setText(languages.current().format("welcome.navigation", navigator.getCachedSwitches(),
+                navigator.getMeanCachedSwitchNanos() / 1e6, navigator.getLastSwitchNanos() / 1e6));
+    }
+
+    /**
+     * Muestra la imagen principal en el {@code ImageView}.
+     * <p>
+     * La imagen ya no se decodifica aqui: la precarga del arranque la decodifica
+     * en segundo plano, a su tamaño de pantalla, y la entrega con este metodo.
+     *
+     * @param image La imagen principal ya decodificada.
+     */
+    public void setIcon(Image image)
+    {
+        imageIcon1.setImage(image);
     }
 
     /**
      * Maneja el evento de clic del boton de instrucciones.
      * <p>
-     * Muestra un cuadro de dialogo de alerta con las reglas y el objetivo del juego.
+     * Muestra un cuadro de dialogo de alerta con las reglas y el objetivo del juego, en el idioma en uso.
      */
     @FXML
     public void instButton()
     {
+        Language language = languages.current();
         AlertBox alertBox = new AlertBox();
-        alertBox.showAlertBox("INSTRUCCIONES",
-                "OBJETIVO: Escribe la frase que aparece en pantalla exactamente igual antes de que el tiempo se acabe.\n\n" +
-                        "COMO JUGAR:\n" +
-                        "- Escribe la frase en el area de texto.\n" +
-                        "- Presiona Enter o el boton Validar para verificar.\n\n"+
-                        "REGLAS:\n"+
-                        "\u2717 Si el tiempo se acaba o escribes incorrectamente, pierdes y vuelves al Nivel 1.\n" +
-                        "✅ Cada 5 niveles, el tiempo se reduce 2 segundos (desde 20s) hasta un mínimo de 6s.\n" +
-                        "\u272A ¡Ganas al superar el nivel de 6 segundos!",
-                "|S|P|E|E|D|  |W|"
+        alertBox.showAlertBox(language.message("instructions.title"),
+                language.message("instructions.body"),
+                language.message("instructions.header")
         );
     }
 
     /**
      * Maneja el evento de clic del boton para iniciar el juego.
      * <p>
-     * Invoca el metodo {@code newWindow} de la clase principal {@link App} para
-     * cerrar la ventana de bienvenida y abrir la ventana del juego.
+     * Invoca el metodo {@code showGame} de la clase principal {@link App} para
+     * cambiar de la vista de bienvenida a la vista del juego.
      *
      * @param event El evento de accion generado por el clic del boton.
      */
@@ -100,15 +241,75 @@ public class WelcomeController
         {
             try
             {
-                // Obtenemos la ventana actual desde el boton
-                Stage currentStage = (Stage) startButton.getScene().getWindow();
-                // Llamamos al metodo newWindow() de la clase App
-                mainApp.newWindow(currentStage);
+                // Llamamos al metodo showGame() de la clase App
+                mainApp.showGame();
+            }
+            catch (IOException e)
+            {
+                LOG.log(Level.ERROR, "No se pudo abrir la ventana del juego.", e);
+            }
+        }
+    }
+
+    /**
+     * Maneja el evento de clic del boton de ranking.
+     * <p>
+     * Cambia a la vista con las mejores partidas del historial.
+     */
+    @FXML
+    public void leaderboardButton()
+    {
+        if (mainApp != null)
+        {
+            try
+            {
+                mainApp.showLeaderboard();
+            }
+            catch (IOException e)
+            {
+                LOG.log(Level.ERROR, "No se pudo abrir el ranking.", e);
+            }
+        }
+    }
+
+    /**
+     * Manejador del evento del boton 'CARRERA'.
+     * <p>
+     * Cambia a la vista de carreras multijugador en red.
+     */
+    @FXML
+    public void raceButton()
+    {
+        if (mainApp != null)
+        {
+            try
+            {
+                mainApp.showRace();
+            }
+            catch (IOException e)
+            {
+                LOG.log(Level.ERROR, "No se pudo abrir la vista de carreras.", e);
+            }
+        }
+    }
+
+    /**
+     * Manejador del evento del boton 'PASAJES'.
+     * <p>
+     * Cambia a la vista de pasajes largos.
+     */
+    @FXML
+    public void passageButton()
+    {
+        if (mainApp != null)
+        {
+            try
+            {
+                mainApp.showPassage();
             }
             catch (IOException e)
             {
-                System.err.println("No se pudo abrir la ventana del juego.");
-                e.printStackTrace();
+                LOG.log(Level.ERROR, "No se pudo abrir la vista de pasajes.", e);
             }
         }
     }
@@ -118,7 +319,7 @@ public class WelcomeController
      * <p>
      * Este metodo es utilizado por la clase {@link App} para "inyectar" su propia
      * instancia en este controlador, permitiendo que el controlador pueda invocar
-     * metodos publicos de la clase principal, como {@code newWindow}.
+     * metodos publicos de la clase principal, como {@code showGame}.
      *
      * @param apl La instancia principal de la aplicacion.
      */
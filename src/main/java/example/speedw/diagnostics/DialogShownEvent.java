@@ -0,0 +1,32 @@
+package example.speedw.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento de JFR: se mostro un dialogo modal.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Name("speedw.DialogShown")
+@Label("Dialogo mostrado")
+@Category({"SpeedW", "Interfaz"})
+final class DialogShownEvent extends jdk.jfr.Event
+{
+    /**
+     * Titulo del dialogo.
+     */
+    @Label("Titulo")
+    String title;
+
+    /**
+     * Tiempo desde que se pidio mostrar el dialogo hasta que aparecio.
+     */
+    @Label("Tiempo en mostrarse")
+    @Timespan(Timespan.NANOSECONDS)
+    long showTime;
+}
@@ -0,0 +1,569 @@
+package example.speedw.diagnostics;
+
+import example.speedw.models.ClockEvent;
+import example.speedw.models.KeystrokeTelemetry;
+import example.speedw.models.ValidationResult;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.System.Logger.Level;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Punto unico de instrumentacion del juego: eventos de JFR y metricas de JMX.
+ * <p>
+ * Cada metodo de registro hace dos cosas baratas. Primero actualiza contadores
+ * ({@link LongAdder}) e histogramas ({@link LatencyHistogram}), que no crean
+ * objetos y se leen por JMX desde {@link IGameMetricsMXBean}. Despues emite el
+ * evento de JFR correspondiente solo si hay una grabacion que lo pide: cuando
+ * JFR no esta activo, {@code isEnabled()} es falso y el JIT elimina el evento
+ * completo, asi que la instrumentacion no cuesta nada fuera de un perfilado.
+ * <p>
+ * Los metodos de registro se llaman desde el hilo de JavaFX; los de lectura,
+ * desde el hilo de JMX.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class GameMetrics implements IGameMetricsMXBean
+{
+    /**
+     * Nombre con el que se registran las metricas en el servidor de MBeans de la plataforma.
+     */
+    public static final String OBJECT_NAME = "example.speedw:type=GameMetrics";
+
+    /**
+     * Registro de los errores de esta clase.
+     */
+    private static final System.Logger LOG = System.getLogger(GameMetrics.class.getName());
+
+    /**
+     * Segundos completos sobre los que se promedian las validaciones por segundo.
+     */
+    private static final int RATE_SECONDS = 10;
+
+    /**
+     * Cubetas de un segundo del contador de validaciones; potencia de dos mayor que {@link #RATE_SECONDS}.
+     */
+    private static final int RATE_BUCKETS = 16;
+
+    /**
+     * Nanosegundos por segundo.
+     */
+    private static final long SECOND_NANOS = 1_000_000_000L;
+
+    /**
+     * Instancia de la aplicacion.
+     */
+    private static final GameMetrics SHARED = new GameMetrics();
+
+    /**
+     * Frases mostradas.
+     */
+    private final LongAdder phrasesShown = new LongAdder();
+
+    /**
+     * Cambios de la respuesta.
+     */
+    private final LongAdder keystrokes = new LongAdder();
+
+    /**
+     * Respuestas validadas.
+     */
+    private final LongAdder validations = new LongAdder();
+
+    /**
+     * Respuestas validadas como correctas.
+     */
+    private final LongAdder correctValidations = new LongAdder();
+
+    /**
+     * Subidas de nivel.
+     */
+    private final LongAdder levelUps = new LongAdder();
+
+    /**
+     * Cambios de vista.
+     */
+    private final LongAdder sceneSwitches = new LongAdder();
+
+    /**
+     * Dialogos mostrados.
+     */
+    private final LongAdder dialogsShown = new LongAdder();
+
+    /**
+     * Paquetes de frases publicados.
+     */
+    private final LongAdder packReloads = new LongAdder();
+
+    /**
+     * Nanosegundos de construccion del ultimo paquete publicado.
+     */
+    private volatile long lastPackBuildNanos;
+
+    /**
+     * Nanosegundos entre el cambio en la carpeta y la publicacion del ultimo paquete.
+     */
+    private volatile long lastPackLatencyNanos;
+
+    /**
+     * Retraso de los avisos del reloj del nivel.
+     */
+    private final LatencyHistogram timerLateness = new LatencyHistogram();
+
+    /**
+     * Tiempo entre un cambio de la respuesta y el fin del layout del pulso que lo dibuja.
+     */
+    private final LatencyHistogram inputToFeedback = new LatencyHistogram();
+
+    /**
+     * Duracion del CSS y el layout de cada pulso.
+     */
+    private final LatencyHistogram pulses = new LatencyHistogram();
+
+    /**
+     * Segundo (de {@link System#nanoTime()}) al que pertenece cada cubeta de validaciones.
+     */
+    private final AtomicLongArray rateSecond = new AtomicLongArray(RATE_BUCKETS);
+
+    /**
+     * Validaciones de cada cubeta.
+     */
+    private final AtomicLongArray rateCount = new AtomicLongArray(RATE_BUCKETS);
+
+    /**
+     * Instante del primer cambio de la respuesta que todavia no se dibuja, o 0.
+     */
+    private long pendingInputNanos;
+
+    /**
+     * Instante en que empezo el layout del pulso actual, o 0.
+     */
+    private long pulseStartNanos;
+
+    /**
+     * Indica si las metricas ya estan registradas por JMX.
+     */
+    private boolean registered;
+
+    /**
+     * @return Las metricas de la aplicacion.
+     */
+    public static GameMetrics shared()
+    {
+        return SHARED;
+    }
+
+    /**
+     * Publica estas metricas en el servidor de MBeans de la plataforma, si todavia no lo estan.
+     * <p>
+     * Un fallo solo se registra: las metricas siguen funcionando aunque no se puedan consultar.
+     */
+    public synchronized void register()
+    {
+        if (registered)
+        {
+            return;
+        }
+        try
+        {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+        }
+        catch (InstanceAlreadyExistsException e)
+        {
+            // Otra instancia del juego en la misma JVM ya publico sus metricas.
+        }
+        catch (JMException e)
+        {
+            LOG.log(Level.WARNING, "No se pudieron publicar las metricas por JMX.", e);
+        }
+        registered = true;
+    }
+
+    /**
+     * Registra que se mostro una frase nueva.
+     *
+     * @param level     El nivel de la frase.
+     * @param length    La longitud de la frase.
+     * @param levelTime Los segundos del nivel.
+     */
+    public void phraseShown(int level, int length, int levelTime)
+    {
+        phrasesShown.increment();
+        PhraseShownEvent event = new PhraseShownEvent();
+        if (event.isEnabled())
+        {
+            event.level = level;
+            event.length = length;
+            event.levelTime = levelTime;
+            event.commit();
+        }
+    }
+
+    /**
+     * Registra un cambio de la respuesta y empieza a medir cuanto tarda en dibujarse.
+     *
+     * @param nowNanos      El instante del cambio.
+     * @param kind          El tipo de cambio, como {@link KeystrokeTelemetry#KIND_CORRECT}.
+     * @param typed         Los caracteres escritos despues del cambio.
+     * @param correctPrefix El prefijo correcto despues del cambio.
+     */
+    public void keystroke(long nowNanos, byte kind, int typed, int correctPrefix)
+    {
+        keystrokes.increment();
+        if (pendingInputNanos == 0)
+        {
+            pendingInputNanos = nowNanos;
+        }
+        KeystrokeEvent event = new KeystrokeEvent();
+        if (event.isEnabled())
+        {
+            event.kind = KeystrokeTelemetry.kindName(kind);
+            event.typed = typed;
+            event.correctPrefix = correctPrefix;
+            event.commit();
+        }
+    }
+
+    /**
+     * Registra una validacion.
+     *
+     * @param startNanos El instante en que empezo la validacion.
+     * @param result     El resultado.
+     * @param level      El nivel despues de la validacion.
+     */
+    public void validation(long startNanos, ValidationResult result, int level)
+    {
+        long now = System.nanoTime();
+        validations.increment();
+        if (result == ValidationResult.CORRECT || result == ValidationResult.CORRECT_LAST_SECOND
+                || result == ValidationResult.WON)
+        {
+            correctValidations.increment();
+        }
+        long second = now / SECOND_NANOS;
+        int bucket = (int) (second & (RATE_BUCKETS - 1));
+        if (rateSecond.get(bucket) != second)
+        {
+            rateCount.set(bucket, 0);
+            rateSecond.set(bucket, second);
+        }
+        rateCount.incrementAndGet(bucket);
+
+        ValidationEvent event = new ValidationEvent();
+        if (event.isEnabled())
+        {
+            event.result = result.name();
+            event.level = level;
+            event.validationTime = now - startNanos;
+            event.commit();
+        }
+    }
+
+    /**
+     * Registra una subida de nivel.
+     *
+     * @param level      El nivel alcanzado.
+     * @param levelTime  Los segundos del nivel alcanzado.
+     * @param lastSecond {@code true} si la frase se completo al agotarse el tiempo.
+     */
+    public void levelUp(int level, int levelTime, boolean lastSecond)
+    {
+        levelUps.increment();
+        LevelUpEvent event = new LevelUpEvent();
+        if (event.isEnabled())
+        {
+            event.level = level;
+            event.levelTime = levelTime;
+            event.lastSecond = lastSecond;
+            event.commit();
+        }
+    }
+
+    /**
+     * Registra un aviso del reloj del nivel.
+     *
+     * @param tick          El aviso: {@link ClockEvent#TICK} o {@link ClockEvent#EXPIRED}.
+     * @param latenessNanos El retraso del aviso.
+     */
+    public void timerTick(ClockEvent tick, long latenessNanos)
+    {
+        timerLateness.record(latenessNanos);
+        TimerTickEvent event = new TimerTickEvent();
+        if (event.isEnabled())
+        {
+            event.tick = tick.name();
+            event.lateness = latenessNanos;
+            event.commit();
+        }
+    }
+
+    /**
+     * Registra un cambio de vista.
+     *
+     * @param view        El nombre de la vista mostrada.
+     * @param cached      {@code true} si la vista ya estaba cargada.
+     * @param switchNanos Lo que tomo el cambio.
+     */
+    public void sceneSwitch(String view, boolean cached, long switchNanos)
+    {
+        sceneSwitches.increment();
+        SceneSwitchEvent event = new SceneSwitchEvent();
+        if (event.isEnabled())
+        {
+            event.view = view;
+            event.cached = cached;
+            event.switchTime = switchNanos;
+            event.commit();
+        }
+    }
+
+    /**
+     * Registra un paquete de frases publicado en el juego en marcha. Se llama desde el hilo que vigila la carpeta.
+     *
+     * @param pack         El nombre del paquete.
+     * @param phrases      Las frases del paquete.
+     * @param buildNanos   El tiempo de leerlo y construir su indice.
+     * @param latencyNanos El tiempo desde el cambio en la carpeta hasta su publicacion.
+     */
+    public void packReloaded(String pack, int phrases, long buildNanos, long latencyNanos)
+    {
+        packReloads.increment();
+        lastPackBuildNanos = buildNanos;
+        lastPackLatencyNanos = latencyNanos;
+        PackReloadEvent event = new PackReloadEvent();
+        if (event.isEnabled())
+        {
+            event.pack = pack;
+            event.phrases = phrases;
+            event.buildTime = buildNanos;
+            event.reloadLatency = latencyNanos;
+            event.commit();
+        }
+    }
+
+    /**
+     * Registra un dialogo modal en cuanto aparece en pantalla.
+     *
+     * @param title     El titulo del dialogo.
+     * @param showNanos El tiempo desde que se pidio mostrarlo hasta que aparecio.
+     */
+    public void dialogShown(String title, long showNanos)
+    {
+        dialogsShown.increment();
+        DialogShownEvent event = new DialogShownEvent();
+        if (event.isEnabled())
+        {
+            event.title = title;
+            event.showTime = showNanos;
+            event.commit();
+        }
+    }
+
+    /**
+     * Marca el inicio del CSS y el layout de un pulso; se conecta como
+     * {@code Scene.addPreLayoutPulseListener}.
+     */
+    public void beginPulse()
+    {
+        pulseStartNanos = System.nanoTime();
+    }
+
+    /**
+     * Marca el fin del layout de un pulso y, si habia un cambio de la respuesta
+     * pendiente, cuanto tardo en dibujarse; se conecta como
+     * {@code Scene.addPostLayoutPulseListener}.
+     */
+    public void endPulse()
+    {
+        long now = System.nanoTime();
+        if (pulseStartNanos != 0)
+        {
+            pulses.record(now - pulseStartNanos);
+            pulseStartNanos = 0;
+        }
+        if (pendingInputNanos != 0)
+        {
+            inputToFeedback.record(now - pendingInputNanos);
+            pendingInputNanos = 0;
+        }
+    }
+
+    /**
+     * @param nanos Una duracion en nanosegundos.
+     * @return La duracion en microsegundos.
+     */
+    private static long micros(long nanos)
+    {
+        return nanos / 1000;
+    }
+
+    @Override
+    public long getPhrasesShown()
+    {
+        return phrasesShown.sum();
+    }
+
+    @Override
+    public long getKeystrokes()
+    {
+        return keystrokes.sum();
+    }
+
+    @Override
+    public long getValidations()
+    {
+        return validations.sum();
+    }
+
+    @Override
+    public long getCorrectValidations()
+    {
+        return correctValidations.sum();
+    }
+
+    @Override
+    public double getValidationsPerSecond()
+    {
+        long current = System.nanoTime() / SECOND_NANOS;
+        long total = 0;
+        for (long second = current - RATE_SECONDS; second < current; second++)
+        {
+            int bucket = (int) (second & (RATE_BUCKETS - 1));
+            if (rateSecond.get(bucket) == second)
+            {
+                total += rateCount.get(bucket);
+            }
+        }
+        return (double) total / RATE_SECONDS;
+    }
+
+    @Override
+    public long getLevelUps()
+    {
+        return levelUps.sum();
+    }
+
+    @Override
+    public long getTimerTicks()
+    {
+        return timerLateness.count();
+    }
+
+    @Override
+    public long getTimerLatenessP99Micros()
+    {
+        return micros(timerLateness.percentile(99));
+    }
+
+    @Override
+    public long getTimerLatenessMaxMicros()
+    {
+        return micros(timerLateness.max());
+    }
+
+    @Override
+    public long getSceneSwitches()
+    {
+        return sceneSwitches.sum();
+    }
+
+    @Override
+    public long getDialogsShown()
+    {
+        return dialogsShown.sum();
+    }
+
+    @Override
+    public long getPackReloads()
+    {
+        return packReloads.sum();
+    }
+
+    @Override
+    public double getLastPackBuildMillis()
+    {
+        return lastPackBuildNanos / 1e6;
+    }
+
+    @Override
+    public double getLastPackReloadLatencyMillis()
+    {
+        return lastPackLatencyNanos / 1e6;
+    }
+
+    @Override
+    public long getInputToFeedbackCount()
+    {
+        return inputToFeedback.count();
+    }
+
+    @Override
+    public long getInputToFeedbackP50Micros()
+    {
+        return micros(inputToFeedback.percentile(50));
+    }
+
+    @Override
+    public long getInputToFeedbackP99Micros()
+    {
+        return micros(inputToFeedback.percentile(99));
+    }
+
+    @Override
+    public long getInputToFeedbackMaxMicros()
+    {
+        return micros(inputToFeedback.max());
+    }
+
+    @Override
+    public long getPulses()
+    {
+        return pulses.count();
+    }
+
+    @Override
+    public long getPulseP50Micros()
+    {
+        return micros(pulses.percentile(50));
+    }
+
+    @Override
+    public long getPulseP99Micros()
+    {
+        return micros(pulses.percentile(99));
+    }
+
+    @Override
+    public long getPulseMaxMicros()
+    {
+        return micros(pulses.max());
+    }
+
+    @Override
+    public void reset()
+    {
+        phrasesShown.reset();
+        keystrokes.reset();
+        validations.reset();
+        correctValidations.reset();
+        levelUps.reset();
+        sceneSwitches.reset();
+        dialogsShown.reset();
+        packReloads.reset();
+        lastPackBuildNanos = 0;
+        lastPackLatencyNanos = 0;
+        timerLateness.reset();
+        inputToFeedback.reset();
+        pulses.reset();
+        for (int i = 0; i < RATE_BUCKETS; i++)
+        {
+            rateCount.set(i, 0);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package example.speedw.diagnostics;
+
+/**
+ * Contadores y latencias del juego publicados por JMX.
+ * <p>
+ * Se consultan con cualquier consola de JMX (jconsole, JMC, VisualVM) bajo el
+ * nombre {@value GameMetrics#OBJECT_NAME}. Las latencias son percentiles
+ * aproximados de histogramas log-lineales, en microsegundos.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public interface IGameMetricsMXBean
+{
+    /**
+     * @return El numero de frases mostradas.
+     */
+    long getPhrasesShown();
+
+    /**
+     * @return El numero de cambios de la respuesta (teclas, borrados y pegados).
+     */
+    long getKeystrokes();
+
+    /**
+     * @return El numero de respuestas validadas.
+     */
+    long getValidations();
+
+    /**
+     * @return El numero de respuestas validadas como correctas.
+     */
+    long getCorrectValidations();
+
+    /**
+     * @return Las validaciones por segundo, en promedio sobre los ultimos segundos completos.
+     */
+    double getValidationsPerSecond();
+
+    /**
+     * @return El numero de subidas de nivel.
+     */
+    long getLevelUps();
+
+    /**
+     * @return El numero de avisos del reloj del nivel.
+     */
+    long getTimerTicks();
+
+    /**
+     * @return El percentil 99 del retraso de los avisos del reloj, en microsegundos.
+     */
+    long getTimerLatenessP99Micros();
+
+    /**
+     * @return El mayor retraso de un aviso del reloj, en microsegundos.
+     */
+    long getTimerLatenessMaxMicros();
+
+    /**
+     * @return El numero de cambios de vista.
+     */
+    long getSceneSwitches();
+
+    /**
+     * @return El numero de dialogos mostrados.
+     */
+    long getDialogsShown();
+
+    /**
+     * @return El numero de cambios de la respuesta cuyo efecto ya se dibujo.
+     */
+    long getInputToFeedbackCount();
+
+    /**
+     * @return La mediana del tiempo entre un cambio de la respuesta y el pulso que lo dibuja, en microsegundos.
+     */
+    long getInputToFeedbackP50Micros();
+
+    /**
+     * @return El percentil 99 del tiempo entre un cambio de la respuesta y el pulso que lo dibuja, en microsegundos.
+     */
+    long getInputToFeedbackP99Micros();
+
+    /**
+     * @return El mayor tiempo entre un cambio de la respuesta y el pulso que lo dibuja, en microsegundos.
+     */
+    long getInputToFeedbackMaxMicros();
+
+    /**
+     * @return El numero de pulsos de la interfaz medidos.
+     */
+    long getPulses();
+
+    /**
+     * @return La mediana de la duracion del CSS y el layout de un pulso, en microsegundos.
+     */
+    long getPulseP50Micros();
+
+    /**
+     * @return El percentil 99 de la duracion del CSS y el layout de un pulso, en microsegundos.
+     */
+    long getPulseP99Micros();
+
+    /**
+     * @return La mayor duracion del CSS y el layout de un pulso, en microsegundos.
+     */
+    long getPulseMaxMicros();
+
+    /**
+     * @return El numero de paquetes de frases publicados mientras el juego corria.
+     */
+    long getPackReloads();
+
+    /**
+     * @return El tiempo de leer e indexar el ultimo paquete publicado, en milisegundos.
+     */
+    double getLastPackBuildMillis();
+
+    /**
+     * @return El tiempo desde el cambio en la carpeta hasta la publicacion del ultimo paquete, en milisegundos.
+     */
+    double getLastPackReloadLatencyMillis();
+
+    /**
+     * Reinicia todos los contadores y histogramas.
+     */
+    void reset();
+}
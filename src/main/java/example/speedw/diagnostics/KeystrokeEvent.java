@@ -0,0 +1,36 @@
+package example.speedw.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento de JFR: el jugador cambio su respuesta con una tecla, un borrado o un pegado.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Name("speedw.Keystroke")
+@Label("Tecla")
+@Category({"SpeedW", "Juego"})
+final class KeystrokeEvent extends jdk.jfr.Event
+{
+    /**
+     * Tipo de cambio, segun {@link example.speedw.models.KeystrokeTelemetry}.
+     */
+    @Label("Tipo")
+    String kind;
+
+    /**
+     * Caracteres escritos despues del cambio.
+     */
+    @Label("Escritos")
+    int typed;
+
+    /**
+     * Prefijo correcto despues del cambio.
+     */
+    @Label("Prefijo correcto")
+    int correctPrefix;
+}
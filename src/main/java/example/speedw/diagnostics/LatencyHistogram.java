@@ -0,0 +1,145 @@
+package example.speedw.diagnostics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Histograma concurrente de latencias con cubetas log-lineales.
+ * <p>
+ * Cada potencia de dos se divide en {@value #SUB_BUCKETS} cubetas, por lo que el
+ * error relativo de un percentil es menor al 12.5% en cualquier escala, desde
+ * nanosegundos hasta segundos, con un arreglo fijo de contadores. Registrar un
+ * valor es un solo incremento atomico y no crea objetos, por lo que miles de
+ * hilos pueden compartir el mismo histograma.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class LatencyHistogram
+{
+    /**
+     * Bits de subdivision de cada potencia de dos.
+     */
+    private static final int SUB_BITS = 3;
+
+    /**
+     * Cubetas por potencia de dos.
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    /**
+     * Contadores de cada cubeta.
+     */
+    private final AtomicLongArray counts = new AtomicLongArray((64 - SUB_BITS + 1) * SUB_BUCKETS);
+
+    /**
+     * Valor maximo registrado.
+     */
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Registra un valor.
+     *
+     * @param value El valor, en nanosegundos; los negativos cuentan como 0.
+     */
+    public void record(long value)
+    {
+        long v = Math.max(0, value);
+        counts.incrementAndGet(indexOf(v));
+        max.accumulate(v);
+    }
+
+    /**
+     * Calcula la cubeta de un valor.
+     *
+     * @param value El valor, no negativo.
+     * @return El indice de la cubeta.
+     */
+    private static int indexOf(long value)
+    {
+        if (value < SUB_BUCKETS)
+        {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Calcula el menor valor que cae en una cubeta.
+     *
+     * @param index El indice de la cubeta.
+     * @return El limite inferior de la cubeta.
+     */
+    private static long lowerBound(int index)
+    {
+        if (index < SUB_BUCKETS)
+        {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BITS - 1;
+        long sub = index % SUB_BUCKETS;
+        return (SUB_BUCKETS + sub) << (exponent - SUB_BITS);
+    }
+
+    /**
+     * @return El numero de valores registrados.
+     */
+    public long count()
+    {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++)
+        {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Calcula un percentil aproximado.
+     *
+     * @param percentile El percentil, entre 0 y 100.
+     * @return El limite inferior de la cubeta del percentil, o 0 si no hay valores.
+     */
+    public long percentile(double percentile)
+    {
+        long total = count();
+        if (total == 0)
+        {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++)
+        {
+            seen += counts.get(i);
+            if (seen >= rank)
+            {
+                return lowerBound(i);
+            }
+        }
+        return max();
+    }
+
+    /**
+     * @return El valor maximo registrado.
+     */
+    public long max()
+    {
+        return max.get();
+    }
+
+    /**
+     * Vacia el histograma.
+     */
+    public void reset()
+    {
+        for (int i = 0; i < counts.length(); i++)
+        {
+            counts.set(i, 0);
+        }
+        max.reset();
+    }
+}
@@ -0,0 +1,36 @@
+package example.speedw.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento de JFR: el jugador paso al siguiente nivel.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Name("speedw.LevelUp")
+@Label("Subida de nivel")
+@Category({"SpeedW", "Juego"})
+final class LevelUpEvent extends jdk.jfr.Event
+{
+    /**
+     * Nivel alcanzado.
+     */
+    @Label("Nivel")
+    int level;
+
+    /**
+     * Segundos del nivel alcanzado.
+     */
+    @Label("Tiempo del nivel")
+    int levelTime;
+
+    /**
+     * Indica si la frase se completo justo cuando se agoto el tiempo.
+     */
+    @Label("Ultimo segundo")
+    boolean lastSecond;
+}
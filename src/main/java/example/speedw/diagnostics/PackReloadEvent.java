@@ -0,0 +1,45 @@
+package example.speedw.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento de JFR: se publico un paquete de frases nuevo en el juego en marcha.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Name("speedw.PackReload")
+@Label("Paquete de frases recargado")
+@Category({"SpeedW", "Frases"})
+final class PackReloadEvent extends jdk.jfr.Event
+{
+    /**
+     * Nombre del archivo del paquete.
+     */
+    @Label("Paquete")
+    String pack;
+
+    /**
+     * Frases del paquete.
+     */
+    @Label("Frases")
+    int phrases;
+
+    /**
+     * Tiempo de leer el paquete y construir su indice de dificultad.
+     */
+    @Label("Construccion")
+    @Timespan(Timespan.NANOSECONDS)
+    long buildTime;
+
+    /**
+     * Tiempo desde que se detecto el cambio en la carpeta hasta que el paquete quedo publicado.
+     */
+    @Label("Latencia de recarga")
+    @Timespan(Timespan.NANOSECONDS)
+    long reloadLatency;
+}
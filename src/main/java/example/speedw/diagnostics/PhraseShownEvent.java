@@ -0,0 +1,38 @@
+package example.speedw.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento de JFR: se mostro una frase nueva al jugador.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Name("speedw.PhraseShown")
+@Label("Frase mostrada")
+@Category({"SpeedW", "Juego"})
+final class PhraseShownEvent extends jdk.jfr.Event
+{
+    /**
+     * Nivel de la frase.
+     */
+    @Label("Nivel")
+    int level;
+
+    /**
+     * Longitud de la frase, en caracteres.
+     */
+    @Label("Longitud")
+    int length;
+
+    /**
+     * Segundos del nivel.
+     */
+    @Label("Tiempo del nivel")
+    @Description("Segundos que tiene el jugador para escribir la frase.")
+    int levelTime;
+}
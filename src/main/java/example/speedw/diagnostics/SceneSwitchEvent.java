@@ -0,0 +1,38 @@
+package example.speedw.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento de JFR: la ventana principal cambio de vista.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Name("speedw.SceneSwitch")
+@Label("Cambio de vista")
+@Category({"SpeedW", "Interfaz"})
+final class SceneSwitchEvent extends jdk.jfr.Event
+{
+    /**
+     * Vista mostrada.
+     */
+    @Label("Vista")
+    String view;
+
+    /**
+     * Indica si la vista ya estaba cargada en la cache.
+     */
+    @Label("Desde cache")
+    boolean cached;
+
+    /**
+     * Tiempo que tomo cargar, si hacia falta, y mostrar la vista.
+     */
+    @Label("Duracion")
+    @Timespan(Timespan.NANOSECONDS)
+    long switchTime;
+}
@@ -0,0 +1,34 @@
+package example.speedw.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento de JFR: el reloj del nivel aviso un segundo o el fin del tiempo.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Name("speedw.TimerTick")
+@Label("Aviso del reloj")
+@Category({"SpeedW", "Interfaz"})
+final class TimerTickEvent extends jdk.jfr.Event
+{
+    /**
+     * Tipo de aviso.
+     */
+    @Label("Aviso")
+    String tick;
+
+    /**
+     * Retraso del aviso respecto del instante en que debia ocurrir.
+     */
+    @Label("Retraso")
+    @Description("Tiempo entre el instante programado del aviso y el pulso de la interfaz que lo atendio.")
+    @Timespan(Timespan.NANOSECONDS)
+    long lateness;
+}
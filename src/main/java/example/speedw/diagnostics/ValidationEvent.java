@@ -0,0 +1,38 @@
+package example.speedw.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento de JFR: se valido una respuesta, al enviarla o al agotarse el tiempo.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Name("speedw.Validation")
+@Label("Validacion")
+@Category({"SpeedW", "Juego"})
+final class ValidationEvent extends jdk.jfr.Event
+{
+    /**
+     * Resultado de la validacion.
+     */
+    @Label("Resultado")
+    String result;
+
+    /**
+     * Nivel despues de la validacion.
+     */
+    @Label("Nivel")
+    int level;
+
+    /**
+     * Tiempo que tomo validar la respuesta.
+     */
+    @Label("Duracion")
+    @Timespan(Timespan.NANOSECONDS)
+    long validationTime;
+}
@@ -0,0 +1,397 @@
+package example.speedw.models;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Fuente de frases que se adapta al nivel y a los errores del jugador.
+ * <p>
+ * Las frases vienen ordenadas por dificultad en un {@link PhraseDifficulty}.
+ * Cada nivel elige dentro de una banda de ese orden: el nivel 1 en las mas
+ * faciles y el nivel {@link GameEngine#WIN_LEVEL} en las mas dificiles. Dentro
+ * de la banda se sortea con un {@link FenwickSampler}, en O(log n), con un peso
+ * por frase que sube cada vez que el jugador la falla y baja cuando la acierta.
+ * Las ultimas frases mostradas quedan con peso 0 hasta que salen de la lista de
+ * recientes, para no repetirlas seguidas.
+ * <p>
+ * Ademas se cuentan las teclas correctas y erradas de cada caracter. Cuando el
+ * jugador ya fallo alguno, cada frase sorteada se acepta con una probabilidad
+ * que crece con la tasa de error de sus caracteres, hasta {@value #MAX_TRIES}
+ * intentos; asi aparecen mas las frases con las letras que le cuestan.
+ * <p>
+ * Todo lo aprendido se reinicia en {@link #startGame()}: la partida depende
+ * solo de su semilla y de sus eventos, como exige el {@link Replayer}. El
+ * reinicio solo restaura las frases que cambiaron, sin recorrer el corpus.
+ * Cada instancia la usa un solo motor a la vez.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class AdaptivePhraseScheduler implements IPhraseSource
+{
+    /**
+     * Fraccion del corpus que abarca la banda de dificultad de cada nivel.
+     */
+    public static final double BAND_FRACTION = 0.2;
+
+    /**
+     * Numero minimo de frases de una banda.
+     */
+    public static final int MIN_BAND = 8;
+
+    /**
+     * Numero maximo de frases recientes que no se repiten.
+     */
+    public static final int RECENT_PHRASES = 16;
+
+    /**
+     * Factor del peso de una frase cada vez que el jugador la falla.
+     */
+    public static final double MISS_FACTOR = 2.0;
+
+    /**
+     * Factor del peso de una frase cada vez que el jugador la acierta.
+     */
+    public static final double CORRECT_FACTOR = 0.7;
+
+    /**
+     * Peso minimo de una frase.
+     */
+    public static final double MIN_WEIGHT = 0.1;
+
+    /**
+     * Peso maximo de una frase.
+     */
+    public static final double MAX_WEIGHT = 16.0;
+
+    /**
+     * Probabilidad de aceptar una frase sin ninguno de los caracteres que el jugador falla.
+     */
+    public static final double ACCEPT_FLOOR = 0.35;
+
+    /**
+     * Numero maximo de frases sorteadas por nivel; la ultima se acepta siempre.
+     */
+    public static final int MAX_TRIES = 4;
+
+    /**
+     * Numero de caracteres con estadisticas de error (Latin-1, que incluye acentos y eñes).
+     */
+    private static final int CHAR_RANGE = 256;
+
+    /**
+     * Las frases ordenadas por dificultad.
+     */
+    private final PhraseDifficulty index;
+
+    /**
+     * El paquete de las frases, o {@code null} si el planificador se creo sobre un indice suelto.
+     */
+    private final PhrasePack pack;
+
+    /**
+     * Peso de cada posicion de {@link #index}.
+     */
+    private final FenwickSampler sampler;
+
+    /**
+     * Numero de frases de cada banda.
+     */
+    private final int bandSize;
+
+    /**
+     * Posiciones de las frases recientes, en un anillo.
+     */
+    private final int[] recent;
+
+    /**
+     * Peso que recupera cada frase reciente al salir del anillo.
+     */
+    private final double[] recentWeights;
+
+    /**
+     * Indice del anillo donde se guarda la siguiente frase.
+     */
+    private int recentHead;
+
+    /**
+     * Numero de frases en el anillo.
+     */
+    private int recentCount;
+
+    /**
+     * Posiciones con un peso distinto de 1 al salir del anillo, para reiniciarlas.
+     */
+    private int[] touched = new int[64];
+
+    /**
+     * Numero de posiciones en {@link #touched}.
+     */
+    private int touchedCount;
+
+    /**
+     * Frase devuelta por la ultima llamada a {@link #nextPhrase(int, RandomGenerator)}.
+     */
+    private String currentPhrase;
+
+    /**
+     * Teclas escritas de cada caracter esperado en la partida.
+     */
+    private final int[] typedKeys = new int[CHAR_RANGE];
+
+    /**
+     * Teclas erradas de cada caracter esperado en la partida.
+     */
+    private final int[] missedKeys = new int[CHAR_RANGE];
+
+    /**
+     * Mayor tasa de error de un caracter en la partida.
+     */
+    private double maxErrorRate;
+
+    /**
+     * Crea un planificador sobre un indice de dificultad.
+     *
+     * @param index Las frases ordenadas por dificultad.
+     */
+    public AdaptivePhraseScheduler(PhraseDifficulty index)
+    {
+        this(index, null);
+    }
+
+    /**
+     * Crea un planificador sobre las frases de un paquete.
+     *
+     * @param pack El paquete de frases.
+     */
+    public AdaptivePhraseScheduler(PhrasePack pack)
+    {
+        this(pack.getIndex(), pack);
+    }
+
+    /**
+     * Crea un planificador sobre un indice de dificultad.
+     *
+     * @param index Las frases ordenadas por dificultad.
+     * @param pack  El paquete de las frases, o {@code null}.
+     */
+    private AdaptivePhraseScheduler(PhraseDifficulty index, PhrasePack pack)
+    {
+        this.index = index;
+        this.pack = pack;
+        int size = index.size();
+        sampler = new FenwickSampler(size, 1.0);
+        bandSize = Math.min(size, Math.max(MIN_BAND, (int) Math.ceil(size * BAND_FRACTION)));
+        // A lo sumo media banda bloqueada, para que siempre quede donde elegir.
+        recent = new int[Math.min(RECENT_PHRASES, bandSize / 2)];
+        recentWeights = new double[recent.length];
+    }
+
+    /**
+     * Crea un planificador sobre el corpus por defecto ({@link PhraseDifficulty#defaultIndex()}).
+     *
+     * @return El planificador.
+     */
+    public static AdaptivePhraseScheduler forDefaultCorpus()
+    {
+        return new AdaptivePhraseScheduler(PhrasePack.defaultPack());
+    }
+
+    /**
+     * Olvida lo aprendido de la partida anterior en O(k log n), siendo k las frases que cambiaron.
+     */
+    @Override
+    public void startGame()
+    {
+        while (recentCount > 0)
+        {
+            releaseOldest();
+        }
+        for (int i = 0; i < touchedCount; i++)
+        {
+            sampler.set(touched[i], 1.0);
+        }
+        touchedCount = 0;
+        recentHead = 0;
+        currentPhrase = null;
+        Arrays.fill(typedKeys, 0);
+        Arrays.fill(missedKeys, 0);
+        maxErrorRate = 0;
+    }
+
+    /**
+     * Selecciona una frase de la banda del nivel.
+     *
+     * @param level  El nivel actual del juego.
+     * @param random El generador de numeros aleatorios de la partida.
+     * @return La frase seleccionada.
+     */
+    @Override
+    public String nextPhrase(int level, RandomGenerator random)
+    {
+        int size = index.size();
+        double quantile = Math.min(1.0, Math.max(0.0, (level - 1) / (double) (GameEngine.WIN_LEVEL - 1)));
+        int from = (int) Math.round(quantile * (size - 1)) - bandSize / 2;
+        from = Math.max(0, Math.min(size - bandSize, from));
+        int to = from + bandSize;
+
+        int position = -1;
+        String phrase = null;
+        for (int attempt = 1; attempt <= MAX_TRIES; attempt++)
+        {
+            int candidate = sampler.sample(from, to, random);
+            if (candidate < 0)
+            {
+                candidate = from + random.nextInt(bandSize);
+            }
+            position = candidate;
+            phrase = index.phraseAt(candidate);
+            if (maxErrorRate == 0 || attempt == MAX_TRIES
+                    || random.nextDouble() < ACCEPT_FLOOR + (1 - ACCEPT_FLOOR) * errorRate(phrase) / maxErrorRate)
+            {
+                break;
+            }
+        }
+
+        hold(position);
+        currentPhrase = phrase;
+        return phrase;
+    }
+
+    /**
+     * Cuenta una tecla del jugador.
+     *
+     * @param expected El caracter que esperaba la frase en esa posicion.
+     * @param error    {@code true} si la tecla no coincidio con el caracter esperado.
+     */
+    @Override
+    public void recordKey(char expected, boolean error)
+    {
+        if (expected >= CHAR_RANGE)
+        {
+            return;
+        }
+        typedKeys[expected]++;
+        if (error)
+        {
+            missedKeys[expected]++;
+            maxErrorRate = Math.max(maxErrorRate, rate(expected));
+        }
+    }
+
+    /**
+     * Sube o baja el peso de la frase actual segun la respuesta del jugador.
+     * <p>
+     * La frase sigue en el anillo de recientes, asi que el peso nuevo se guarda
+     * ahi y entra al arbol cuando la frase sale del anillo.
+     *
+     * @param phrase  La frase respondida.
+     * @param correct {@code true} si la respuesta fue correcta.
+     */
+    @Override
+    public void recordResult(String phrase, boolean correct)
+    {
+        if (phrase != currentPhrase || recentCount == 0)
+        {
+            return;
+        }
+        int last = (recentHead - 1 + recent.length) % recent.length;
+        double weight = recentWeights[last] * (correct ? CORRECT_FACTOR : MISS_FACTOR);
+        recentWeights[last] = Math.max(MIN_WEIGHT, Math.min(MAX_WEIGHT, weight));
+    }
+
+    /**
+     * Deja una posicion con peso 0 mientras este en el anillo de recientes.
+     *
+     * @param position La posicion recien mostrada.
+     */
+    private void hold(int position)
+    {
+        if (recent.length == 0)
+        {
+            return;
+        }
+        if (recentCount == recent.length)
+        {
+            releaseOldest();
+        }
+        recent[recentHead] = position;
+        recentWeights[recentHead] = sampler.get(position);
+        recentHead = (recentHead + 1) % recent.length;
+        recentCount++;
+        sampler.set(position, 0);
+    }
+
+    /**
+     * Saca la frase mas antigua del anillo y le devuelve su peso.
+     */
+    private void releaseOldest()
+    {
+        int oldest = (recentHead - recentCount + recent.length) % recent.length;
+        int position = recent[oldest];
+        double weight = recentWeights[oldest];
+        recentCount--;
+        if (weight != 1.0)
+        {
+            if (touchedCount == touched.length)
+            {
+                touched = Arrays.copyOf(touched, touchedCount * 2);
+            }
+            touched[touchedCount++] = position;
+        }
+        sampler.set(position, weight);
+    }
+
+    /**
+     * @param phrase Una frase.
+     * @return El promedio de la tasa de error de sus caracteres en la partida.
+     */
+    private double errorRate(String phrase)
+    {
+        double sum = 0;
+        for (int i = 0; i < phrase.length(); i++)
+        {
+            char c = phrase.charAt(i);
+            if (c < CHAR_RANGE)
+            {
+                sum += rate(c);
+            }
+        }
+        return phrase.isEmpty() ? 0 : sum / phrase.length();
+    }
+
+    /**
+     * @param c Un caracter menor que {@value #CHAR_RANGE}.
+     * @return Sus teclas erradas sobre las escritas, suavizado para pocas teclas.
+     */
+    private double rate(char c)
+    {
+        return missedKeys[c] / (typedKeys[c] + 1.0);
+    }
+
+    /**
+     * @return Las frases ordenadas por dificultad.
+     */
+    public PhraseDifficulty getIndex()
+    {
+        return index;
+    }
+
+    /**
+     * @return El paquete de las frases; el paquete por defecto si el planificador se creo sobre un indice suelto.
+     */
+    @Override
+    public PhrasePack getPack()
+    {
+        return pack != null ? pack : PhrasePack.defaultPack();
+    }
+
+    /**
+     * @return El numero de frases de cada banda de dificultad.
+     */
+    public int getBandSize()
+    {
+        return bandSize;
+    }
+}
@@ -1,5 +1,6 @@
 package example.speedw.models;
 
+import example.speedw.diagnostics.GameMetrics;
 import javafx.scene.control.Alert;
 
 
@@ -41,6 +42,8 @@ public class AlertBox implements IAlertBox
 
         alert.getDialogPane().setContent(textArea);
         alert.getDialogPane().setPrefSize(400, 450);
+        long start = System.nanoTime();
+        alert.setOnShown(e -> GameMetrics.shared().dialogShown(title, System.nanoTime() - start));
         alert.showAndWait();
     }
 }
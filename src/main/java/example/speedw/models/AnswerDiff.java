@@ -0,0 +1,453 @@
+package example.speedw.models;
+
+import java.util.Arrays;
+
+/**
+ * Distancia de edicion y alineacion entre la frase objetivo y la respuesta del jugador.
+ * <p>
+ * Usa el algoritmo bit-paralelo de Myers, en la version por bloques de Hyyrö:
+ * la frase objetivo se codifica en mascaras de 64 bits por caracter y cada
+ * caracter de la respuesta avanza una columna completa de la matriz de
+ * Levenshtein en O(m/64) operaciones. Las diferencias verticales de cada columna
+ * se guardan, de modo que agregar una tecla cuesta una sola columna, borrarla
+ * cuesta O(1) y la distancia se conoce en todo momento. La alineacion (que
+ * caracteres estan bien, cuales estan errados, cuales faltan y cuales sobran)
+ * se reconstruye solo cuando se pide, recorriendo el camino desde el final.
+ * <p>
+ * Todos los buffers se reutilizan entre frases y solo crecen; una vez que
+ * alcanzan el tamaño de las frases del juego, ninguna comparacion crea objetos.
+ * Las columnas guardadas ocupan {@code 2 * 8 * ceil(m / 64)} bytes por caracter
+ * de la respuesta.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class AnswerDiff
+{
+    /**
+     * Operacion: el caracter de la respuesta coincide con el de la frase.
+     */
+    public static final byte MATCH = 0;
+
+    /**
+     * Operacion: el caracter de la respuesta reemplaza a otro de la frase.
+     */
+    public static final byte WRONG = 1;
+
+    /**
+     * Operacion: falta un caracter de la frase en la respuesta.
+     */
+    public static final byte MISSING = 2;
+
+    /**
+     * Operacion: la respuesta tiene un caracter que no esta en la frase.
+     */
+    public static final byte EXTRA = 3;
+
+    /**
+     * Caracteres de la frase objetivo.
+     */
+    private char[] target = new char[64];
+
+    /**
+     * Longitud de la frase objetivo.
+     */
+    private int targetLength;
+
+    /**
+     * Caracteres de la respuesta.
+     */
+    private char[] input = new char[64];
+
+    /**
+     * Longitud de la respuesta.
+     */
+    private int inputLength;
+
+    /**
+     * Bloques de 64 bits que ocupa la frase objetivo.
+     */
+    private int blocks;
+
+    /**
+     * Mascara del bit de la ultima fila dentro del ultimo bloque.
+     */
+    private long lastRowBit;
+
+    /**
+     * Casilla de las mascaras de cada caracter, o 0 si no aparece en la frase.
+     */
+    private final char[] slotOf = new char[Character.MAX_VALUE + 1];
+
+    /**
+     * Mascaras de coincidencia por casilla y bloque; la casilla 0 es siempre 0.
+     */
+    private long[] peq = new long[64];
+
+    /**
+     * Diferencias verticales positivas de cada columna, por bloque.
+     */
+    private long[] plus = new long[64];
+
+    /**
+     * Diferencias verticales negativas de cada columna, por bloque.
+     */
+    private long[] minus = new long[64];
+
+    /**
+     * Distancia de edicion al final de cada columna; la posicion 0 es la frase vacia.
+     */
+    private int[] scores = new int[65];
+
+    /**
+     * Operaciones de la ultima alineacion, en orden.
+     */
+    private byte[] ops = new byte[128];
+
+    /**
+     * Numero de operaciones de la ultima alineacion.
+     */
+    private int opCount;
+
+    /**
+     * Establece una nueva frase objetivo y vacia la respuesta.
+     *
+     * @param phrase La frase que el jugador debe escribir.
+     */
+    public void setTarget(CharSequence phrase)
+    {
+        for (int i = 0; i < targetLength; i++)
+        {
+            slotOf[target[i]] = 0;
+        }
+        targetLength = phrase.length();
+        if (target.length < targetLength)
+        {
+            target = new char[Math.max(targetLength, target.length * 2)];
+        }
+        blocks = Math.max(1, (targetLength + 63) >>> 6);
+        lastRowBit = targetLength == 0 ? 0 : 1L << ((targetLength - 1) & 63);
+
+        int slots = 1;
+        for (int i = 0; i < targetLength; i++)
+        {
+            char c = phrase.charAt(i);
+            target[i] = c;
+            if (slotOf[c] == 0)
+            {
+                slotOf[c] = (char) slots++;
+            }
+        }
+        if (peq.length < slots * blocks)
+        {
+            peq = new long[Math.max(slots * blocks, peq.length * 2)];
+        }
+        Arrays.fill(peq, 0, slots * blocks, 0L);
+        for (int i = 0; i < targetLength; i++)
+        {
+            peq[slotOf[target[i]] * blocks + (i >>> 6)] |= 1L << (i & 63);
+        }
+        // Columna 0 (respuesta vacia): cada fila vale una mas que la anterior.
+        ensureColumns(0);
+        Arrays.fill(plus, 0, blocks, -1L);
+        Arrays.fill(minus, 0, blocks, 0L);
+        scores[0] = targetLength;
+        clear();
+    }
+
+    /**
+     * Vacia la respuesta.
+     */
+    public void clear()
+    {
+        inputLength = 0;
+        opCount = 0;
+    }
+
+    /**
+     * Agrega un caracter al final de la respuesta, en O(m/64).
+     *
+     * @param c El caracter escrito.
+     * @return La distancia de edicion con el caracter agregado.
+     */
+    public int append(char c)
+    {
+        int column = inputLength + 1;
+        if (input.length == inputLength)
+        {
+            input = Arrays.copyOf(input, inputLength * 2);
+        }
+        if (scores.length <= column)
+        {
+            scores = Arrays.copyOf(scores, scores.length * 2);
+        }
+        ensureColumns(column);
+        input[inputLength] = c;
+
+        int eqBase = slotOf[c] * blocks;
+        int previous = (column - 1) * blocks;
+        int current = column * blocks;
+        // La fila 0 vale el numero de columnas, asi que cada columna entra al primer bloque con +1.
+        int carry = 1;
+        for (int b = 0; b < blocks; b++)
+        {
+            long pv = plus[previous + b];
+            long mv = minus[previous + b];
+            long eq = peq[eqBase + b];
+            long xv = eq | mv;
+            if (carry < 0)
+            {
+                eq |= 1L;
+            }
+            long xh = (((eq & pv) + pv) ^ pv) | eq;
+            long ph = mv | ~(xh | pv);
+            long mh = pv & xh;
+            long high = b == blocks - 1 ? lastRowBit : Long.MIN_VALUE;
+            int out = (ph & high) != 0 ? 1 : (mh & high) != 0 ? -1 : 0;
+            ph <<= 1;
+            mh <<= 1;
+            if (carry < 0)
+            {
+                mh |= 1L;
+            }
+            else if (carry > 0)
+            {
+                ph |= 1L;
+            }
+            plus[current + b] = mh | ~(xv | ph);
+            minus[current + b] = ph & xv;
+            carry = out;
+        }
+        // Con la frase vacia no hay filas y la distancia es solo la longitud de la respuesta.
+        scores[column] = targetLength == 0 ? column : scores[column - 1] + carry;
+        inputLength = column;
+        opCount = 0;
+        return scores[column];
+    }
+
+    /**
+     * Agranda los buffers de las columnas para guardar hasta la columna indicada.
+     *
+     * @param column La ultima columna a guardar.
+     */
+    private void ensureColumns(int column)
+    {
+        if (plus.length < (column + 1) * blocks)
+        {
+            int size = Math.max((column + 1) * blocks, plus.length * 2);
+            plus = Arrays.copyOf(plus, size);
+            minus = Arrays.copyOf(minus, size);
+        }
+    }
+
+    /**
+     * Borra el ultimo caracter de la respuesta, en O(1).
+     */
+    public void deleteLast()
+    {
+        if (inputLength > 0)
+        {
+            inputLength--;
+            opCount = 0;
+        }
+    }
+
+    /**
+     * Reemplaza toda la respuesta, en O(n * m/64).
+     *
+     * @param text El nuevo texto de la respuesta.
+     */
+    public void setInput(CharSequence text)
+    {
+        clear();
+        for (int i = 0; i < text.length(); i++)
+        {
+            append(text.charAt(i));
+        }
+    }
+
+    /**
+     * Compara una frase con una respuesta y calcula su alineacion.
+     *
+     * @param phrase La frase objetivo.
+     * @param answer La respuesta.
+     * @return La distancia de edicion.
+     */
+    public int compare(CharSequence phrase, CharSequence answer)
+    {
+        setTarget(phrase);
+        setInput(answer);
+        align();
+        return getDistance();
+    }
+
+    /**
+     * @return La distancia de edicion entre la frase y la respuesta actuales, en O(1).
+     */
+    public int getDistance()
+    {
+        return scores[inputLength];
+    }
+
+    /**
+     * Reconstruye la alineacion entre la frase y la respuesta actuales.
+     * <p>
+     * Recorre el camino desde la ultima celda hasta la primera, en O(m + n) pasos
+     * mas un conteo de bits por cada columna visitada, preferiendo coincidencias,
+     * luego reemplazos, luego caracteres faltantes y por ultimo sobrantes.
+     *
+     * @return El numero de operaciones.
+     */
+    public int align()
+    {
+        if (ops.length < targetLength + inputLength)
+        {
+            ops = new byte[Math.max(targetLength + inputLength, ops.length * 2)];
+        }
+        int count = 0;
+        int row = targetLength;
+        int column = inputLength;
+        int value = scores[column];
+        int left = column > 0 ? cell(row, column - 1) : 0;
+        while (row > 0 && column > 0)
+        {
+            int diagonal = left - delta(row, column - 1);
+            byte op;
+            if (diagonal == value && target[row - 1] == input[column - 1])
+            {
+                op = MATCH;
+            }
+            else if (diagonal + 1 == value)
+            {
+                op = WRONG;
+            }
+            else if (delta(row, column) == 1)
+            {
+                ops[count++] = MISSING;
+                value--;
+                left -= delta(row, column - 1);
+                row--;
+                continue;
+            }
+            else
+            {
+                ops[count++] = EXTRA;
+                value = left;
+                column--;
+                left = column > 0 ? cell(row, column - 1) : 0;
+                continue;
+            }
+            ops[count++] = op;
+            value = diagonal;
+            row--;
+            column--;
+            left = column > 0 ? cell(row, column - 1) : 0;
+        }
+        while (row-- > 0)
+        {
+            ops[count++] = MISSING;
+        }
+        while (column-- > 0)
+        {
+            ops[count++] = EXTRA;
+        }
+        for (int i = 0, j = count - 1; i < j; i++, j--)
+        {
+            byte swap = ops[i];
+            ops[i] = ops[j];
+            ops[j] = swap;
+        }
+        opCount = count;
+        return count;
+    }
+
+    /**
+     * Calcula una celda de la matriz sumando las diferencias verticales de su columna.
+     *
+     * @param row    La fila, de 0 a la longitud de la frase.
+     * @param column La columna, de 0 a la longitud de la respuesta.
+     * @return La distancia entre los primeros {@code row} caracteres de la frase y
+     *         los primeros {@code column} de la respuesta.
+     */
+    private int cell(int row, int column)
+    {
+        int base = column * blocks;
+        int value = column;
+        int full = row >>> 6;
+        for (int b = 0; b < full; b++)
+        {
+            value += Long.bitCount(plus[base + b]) - Long.bitCount(minus[base + b]);
+        }
+        int rest = row & 63;
+        if (rest != 0)
+        {
+            long mask = (1L << rest) - 1;
+            value += Long.bitCount(plus[base + full] & mask) - Long.bitCount(minus[base + full] & mask);
+        }
+        return value;
+    }
+
+    /**
+     * @param row    Una fila, de 1 a la longitud de la frase.
+     * @param column Una columna.
+     * @return La diferencia entre la celda de esa fila y la de la fila anterior (-1, 0 o 1).
+     */
+    private int delta(int row, int column)
+    {
+        int index = column * blocks + ((row - 1) >>> 6);
+        long bit = 1L << ((row - 1) & 63);
+        return (plus[index] & bit) != 0 ? 1 : (minus[index] & bit) != 0 ? -1 : 0;
+    }
+
+    /**
+     * @return El numero de operaciones de la ultima alineacion, o 0 si la respuesta cambio desde entonces.
+     */
+    public int getOpCount()
+    {
+        return opCount;
+    }
+
+    /**
+     * @param index La posicion de la operacion, de 0 a {@link #getOpCount()} - 1.
+     * @return La operacion: {@link #MATCH}, {@link #WRONG}, {@link #MISSING} o {@link #EXTRA}.
+     */
+    public byte opAt(int index)
+    {
+        return ops[index];
+    }
+
+    /**
+     * @return La longitud de la frase objetivo.
+     */
+    public int getTargetLength()
+    {
+        return targetLength;
+    }
+
+    /**
+     * @return La longitud de la respuesta.
+     */
+    public int getInputLength()
+    {
+        return inputLength;
+    }
+
+    /**
+     * @param index Una posicion de la frase.
+     * @return El caracter de la frase en esa posicion.
+     */
+    public char targetAt(int index)
+    {
+        return target[index];
+    }
+
+    /**
+     * @param index Una posicion de la respuesta.
+     * @return El caracter de la respuesta en esa posicion.
+     */
+    public char inputAt(int index)
+    {
+        return input[index];
+    }
+}
@@ -0,0 +1,26 @@
+package example.speedw.models;
+
+/**
+ * Eventos que produce el {@link GameClock} al ser consultado.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public enum ClockEvent
+{
+    /**
+     * No ocurrio nada desde la ultima consulta.
+     */
+    NONE,
+
+    /**
+     * Paso un segundo completo; la etiqueta de tiempo debe actualizarse.
+     */
+    TICK,
+
+    /**
+     * El tiempo del nivel se agoto.
+     */
+    EXPIRED
+}
@@ -0,0 +1,135 @@
+package example.speedw.models;
+
+/**
+ * Formas de comparar la respuesta del jugador con la frase.
+ * <p>
+ * Salvo {@link #EXACT}, todos los modos combinan los acentos escritos por
+ * separado con la letra anterior, como NFC, para que "o" seguida de U+0301
+ * valga lo mismo que "ó" aunque el teclado o el metodo de entrada produzca los
+ * acentos descompuestos. La frase y la respuesta pasan por el mismo modo,
+ * caracter a caracter, con las tablas de {@link TextFolding}:
+ * <ul>
+ * <li><b>EXACT:</b> los caracteres deben ser identicos.</li>
+ * <li><b>NFC:</b> los acentos descompuestos valen lo mismo que los combinados.</li>
+ * <li><b>ACCENT_INSENSITIVE:</b> se ignoran los acentos, incluida la tilde de la ñ.</li>
+ * <li><b>CASE_INSENSITIVE:</b> como NFC, pero sin distinguir mayusculas de minusculas.</li>
+ * </ul>
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public enum ComparisonMode
+{
+    /**
+     * Comparacion caracter a caracter, sin normalizar.
+     */
+    EXACT("mode.exact"),
+
+    /**
+     * Comparacion con los acentos combinados (NFC).
+     */
+    NFC("mode.nfc"),
+
+    /**
+     * Comparacion que ignora los acentos.
+     */
+    ACCENT_INSENSITIVE("mode.accentInsensitive"),
+
+    /**
+     * Comparacion que ignora mayusculas y minusculas.
+     */
+    CASE_INSENSITIVE("mode.caseInsensitive");
+
+    /**
+     * La llave del nombre del modo en los mensajes de cada idioma.
+     */
+    private final String key;
+
+    ComparisonMode(String key)
+    {
+        this.key = key;
+    }
+
+    /**
+     * @return La llave del nombre del modo en los mensajes de cada idioma.
+     */
+    public String getKey()
+    {
+        return key;
+    }
+
+    /**
+     * @return El nombre del modo en el idioma en uso, para mostrar en la interfaz.
+     */
+    public String getLabel()
+    {
+        return LanguageCatalog.shared().current().modeLabel(this);
+    }
+
+    /**
+     * Convierte un caracter ya combinado a la forma en que se compara en este modo.
+     *
+     * @param c El caracter.
+     * @return El caracter a comparar.
+     */
+    public char fold(char c)
+    {
+        switch (this)
+        {
+            case ACCENT_INSENSITIVE:
+                return TextFolding.stripAccents(c);
+            case CASE_INSENSITIVE:
+                return Character.toLowerCase(c);
+            default:
+                return c;
+        }
+    }
+
+    /**
+     * Agrega un caracter a un texto ya normalizado en este modo.
+     * <p>
+     * Si el caracter es un acento que se combina con el ultimo del texto, lo
+     * reemplaza; si el modo ignora los acentos, lo descarta.
+     *
+     * @param text   El texto normalizado, con espacio para un caracter mas.
+     * @param length La longitud actual del texto.
+     * @param c      El caracter a agregar.
+     * @return La nueva longitud del texto.
+     */
+    public int append(char[] text, int length, char c)
+    {
+        if (this != EXACT && TextFolding.isCombining(c))
+        {
+            if (this == ACCENT_INSENSITIVE)
+            {
+                return length;
+            }
+            char composed = length > 0 ? TextFolding.compose(text[length - 1], c) : 0;
+            if (composed != 0)
+            {
+                text[length - 1] = fold(composed);
+                return length;
+            }
+        }
+        text[length] = fold(c);
+        return length + 1;
+    }
+
+    /**
+     * Normaliza un texto completo en este modo.
+     *
+     * @param text El texto.
+     * @return El texto normalizado.
+     */
+    public String apply(CharSequence text)
+    {
+        char[] normalized = new char[text.length()];
+        int length = 0;
+        for (int i = 0; i < text.length(); i++)
+        {
+            length = append(normalized, length, text.charAt(i));
+        }
+        return new String(normalized, 0, length);
+    }
+}
@@ -0,0 +1,575 @@
+package example.speedw.models;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Importa frases desde textos grandes (libros, subtitulos, listas de palabras)
+ * y escribe un corpus listo para el juego.
+ * <p>
+ * El texto se lee una sola vez, en bloques de {@value #CHUNK_CHARS} caracteres
+ * cortados en un signo de puntuacion, y cada bloque se procesa en paralelo en
+ * un {@link ForkJoinPool}: se parte en frases, se descartan las que tienen
+ * cifras o simbolos o no cumplen los limites de largo y de palabras, y a cada
+ * frase se le calcula su dificultad ({@link PhraseDifficulty#score}) y un hash
+ * de 64 bits de su texto en minusculas. Los resultados se escriben en el orden
+ * del texto desde un solo hilo, que descarta las frases repetidas con un
+ * {@link LongHashSet} de hashes y las pasa a un {@link PhraseCorpusWriter}
+ * respaldado por un archivo temporal.
+ * <p>
+ * La memoria no depende del tamaño de la entrada: solo hay a la vez unos
+ * pocos bloques en proceso (dos por hilo) y, por cada frase unica, su hash en
+ * el conjunto y 13 bytes de indices en el escritor. Un archivo de varios GB se
+ * importa con la misma memoria que uno de pocos MB y la misma cantidad de
+ * frases unicas. Dos frases distintas con el mismo hash se tomarian por
+ * repetidas; con 64 bits es improbable aun con cientos de millones de frases.
+ * <p>
+ * Ejecutar con:
+ * {@code java example.speedw.models.CorpusImporter [--lineas] [--min N] [--max N] [--palabras N] [--hilos N] <corpus.spwc> <texto>...}
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class CorpusImporter
+{
+    /**
+     * Caracteres de cada bloque que se procesa en paralelo.
+     */
+    public static final int CHUNK_CHARS = 1 << 20;
+
+    /**
+     * Largo minimo de una frase, por defecto.
+     */
+    public static final int DEFAULT_MIN_LENGTH = 3;
+
+    /**
+     * Largo maximo de una frase, por defecto.
+     */
+    public static final int DEFAULT_MAX_LENGTH = 40;
+
+    /**
+     * Palabras maximas de una frase, por defecto.
+     */
+    public static final int DEFAULT_MAX_WORDS = 5;
+
+    /**
+     * Signos que terminan una frase.
+     */
+    private static final String BOUNDARIES = ".,;:!?¡¿\"()[]{}«»…—";
+
+    /**
+     * Tabla de {@link #BOUNDARIES}, indexada por caracter, para no buscar en el texto de los signos.
+     */
+    private static final boolean[] IS_BOUNDARY = new boolean[0x2100];
+
+    /**
+     * Primer caracter que puede hacer que un texto no este en NFC; todo texto por debajo ya lo esta.
+     */
+    private static final char FIRST_NON_NFC = '\u0300';
+
+    static
+    {
+        for (int i = 0; i < BOUNDARIES.length(); i++)
+        {
+            IS_BOUNDARY[BOUNDARIES.charAt(i)] = true;
+        }
+    }
+
+    /**
+     * Largo minimo de una frase.
+     */
+    private final int minLength;
+
+    /**
+     * Largo maximo de una frase.
+     */
+    private final int maxLength;
+
+    /**
+     * Palabras maximas de una frase.
+     */
+    private final int maxWords;
+
+    /**
+     * Indica que cada renglon es una frase aparte, como en las listas de palabras y los subtitulos.
+     */
+    private final boolean lineMode;
+
+    /**
+     * Hilos que procesan los bloques.
+     */
+    private final int parallelism;
+
+    /**
+     * Frases encontradas en un bloque, en el orden del texto.
+     */
+    private static final class Chunk
+    {
+        /**
+         * Las frases.
+         */
+        private String[] phrases = new String[256];
+
+        /**
+         * Puntaje de dificultad de cada frase.
+         */
+        private float[] scores = new float[256];
+
+        /**
+         * Hash de cada frase en minusculas.
+         */
+        private long[] hashes = new long[256];
+
+        /**
+         * Numero de frases.
+         */
+        private int count;
+
+        /**
+         * Agrega una frase con su puntaje y su hash.
+         *
+         * @param phrase La frase, ya normalizada en NFC.
+         */
+        private void add(String phrase)
+        {
+            if (count == phrases.length)
+            {
+                phrases = Arrays.copyOf(phrases, count * 2);
+                scores = Arrays.copyOf(scores, count * 2);
+                hashes = Arrays.copyOf(hashes, count * 2);
+            }
+            phrases[count] = phrase;
+            scores[count] = PhraseDifficulty.score(phrase);
+            hashes[count++] = hash(phrase);
+        }
+    }
+
+    /**
+     * Resultado de una importacion.
+     */
+    public static final class Report
+    {
+        /**
+         * Bytes leidos de las entradas.
+         */
+        private final long bytes;
+
+        /**
+         * Frases que pasaron los filtros, con repeticiones.
+         */
+        private final long candidates;
+
+        /**
+         * Frases unicas escritas en el corpus.
+         */
+        private final int phrases;
+
+        /**
+         * Nanosegundos que tomo la importacion.
+         */
+        private final long nanos;
+
+        /**
+         * @param bytes      Bytes leidos.
+         * @param candidates Frases que pasaron los filtros.
+         * @param phrases    Frases unicas escritas.
+         * @param nanos      Duracion de la importacion.
+         */
+        Report(long bytes, long candidates, int phrases, long nanos)
+        {
+            this.bytes = bytes;
+            this.candidates = candidates;
+            this.phrases = phrases;
+            this.nanos = nanos;
+        }
+
+        /**
+         * @return Los bytes leidos de las entradas.
+         */
+        public long getBytes()
+        {
+            return bytes;
+        }
+
+        /**
+         * @return Las frases que pasaron los filtros, contando las repetidas.
+         */
+        public long getCandidates()
+        {
+            return candidates;
+        }
+
+        /**
+         * @return Las frases unicas escritas en el corpus.
+         */
+        public int getPhrases()
+        {
+            return phrases;
+        }
+
+        /**
+         * @return Los nanosegundos que tomo la importacion, incluida la escritura del corpus.
+         */
+        public long getNanos()
+        {
+            return nanos;
+        }
+
+        /**
+         * @return Los megabytes de entrada procesados por segundo.
+         */
+        public double getMegabytesPerSecond()
+        {
+            return nanos == 0 ? 0 : bytes / 1_048_576.0 / (nanos / 1e9);
+        }
+
+        /**
+         * @return Un resumen de la importacion en una linea.
+         */
+        public String summary()
+        {
+            return String.format("%d frases unicas de %d encontradas (%d repetidas); %.1f MB en %.2f s: %.1f MB/s",
+                    phrases, candidates, candidates - phrases, bytes / 1_048_576.0, nanos / 1e9, getMegabytesPerSecond());
+        }
+    }
+
+    /**
+     * Crea un importador.
+     *
+     * @param minLength   El largo minimo de una frase.
+     * @param maxLength   El largo maximo de una frase.
+     * @param maxWords    Las palabras maximas de una frase.
+     * @param lineMode    {@code true} si cada renglon es una frase aparte.
+     * @param parallelism Los hilos que procesan el texto.
+     */
+    public CorpusImporter(int minLength, int maxLength, int maxWords, boolean lineMode, int parallelism)
+    {
+        if (minLength < 1 || maxLength < minLength || maxWords < 1 || parallelism < 1)
+        {
+            throw new IllegalArgumentException("Limites de importacion invalidos.");
+        }
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+        this.maxWords = maxWords;
+        this.lineMode = lineMode;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Crea un importador con los limites por defecto y un hilo por nucleo.
+     */
+    public CorpusImporter()
+    {
+        this(DEFAULT_MIN_LENGTH, DEFAULT_MAX_LENGTH, DEFAULT_MAX_WORDS, false,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Importa las frases de varios archivos de texto en UTF-8 y escribe el corpus.
+     * <p>
+     * Los bytes mal codificados se reemplazan, y la frase que los contiene se descarta.
+     *
+     * @param inputs Los archivos de texto.
+     * @param target El archivo de corpus a escribir.
+     * @return El resultado de la importacion.
+     * @throws IOException Si no se puede leer una entrada, si no se encontro
+     *                     ninguna frase o si no se puede escribir el corpus.
+     */
+    public Report run(List<Path> inputs, Path target) throws IOException
+    {
+        long start = System.nanoTime();
+        long bytes = 0;
+        LongHashSet seen = new LongHashSet(1 << 16);
+        long candidates = 0;
+        PhraseCorpusWriter writer = new PhraseCorpusWriter(target.toAbsolutePath().getParent());
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try
+        {
+            ArrayDeque<CompletableFuture<Chunk>> pending = new ArrayDeque<>();
+            for (Path input : inputs)
+            {
+                bytes += Files.size(input);
+                try (Reader reader = openUtf8(input))
+                {
+                    char[] buffer = new char[CHUNK_CHARS];
+                    int filled = 0;
+                    boolean eof = false;
+                    while (!eof)
+                    {
+                        int read;
+                        while (filled < buffer.length && (read = reader.read(buffer, filled, buffer.length - filled)) > 0)
+                        {
+                            filled += read;
+                        }
+                        eof = filled < buffer.length;
+                        int cut = eof ? filled : lastBoundary(buffer, filled);
+
+                        char[] text = buffer;
+                        int length = cut;
+                        pending.add(CompletableFuture.supplyAsync(() -> tokenize(text, length), pool));
+
+                        buffer = new char[CHUNK_CHARS];
+                        System.arraycopy(text, cut, buffer, 0, filled - cut);
+                        filled -= cut;
+                        // Solo se espera al bloque mas antiguo: limita la memoria sin frenar a los demas hilos.
+                        while (pending.size() > 2 * parallelism)
+                        {
+                            candidates += store(pending.poll().join(), seen, writer);
+                        }
+                    }
+                }
+            }
+            while (!pending.isEmpty())
+            {
+                candidates += store(pending.poll().join(), seen, writer);
+            }
+            if (writer.size() == 0)
+            {
+                throw new IOException("No se encontraron frases en las entradas.");
+            }
+            writer.write(target);
+        }
+        finally
+        {
+            pool.shutdownNow();
+            writer.close();
+        }
+        return new Report(bytes, candidates, writer.size(), System.nanoTime() - start);
+    }
+
+    /**
+     * Abre un archivo en UTF-8, reemplazando los bytes mal codificados en lugar de fallar.
+     *
+     * @param file El archivo.
+     * @return El lector.
+     * @throws IOException Si no se puede abrir el archivo.
+     */
+    private static Reader openUtf8(Path file) throws IOException
+    {
+        return new InputStreamReader(new BufferedInputStream(Files.newInputStream(file), 1 << 16),
+                StandardCharsets.UTF_8.newDecoder()
+                        .onMalformedInput(CodingErrorAction.REPLACE)
+                        .onUnmappableCharacter(CodingErrorAction.REPLACE));
+    }
+
+    /**
+     * Busca donde cortar un bloque sin partir una frase: despues del ultimo signo
+     * que termina una frase o, si no hay, del ultimo espacio.
+     *
+     * @param text   El bloque.
+     * @param length Los caracteres del bloque.
+     * @return La posicion del corte.
+     */
+    private int lastBoundary(char[] text, int length)
+    {
+        int space = -1;
+        for (int i = length - 1; i >= 0; i--)
+        {
+            char c = text[i];
+            if (isBoundary(c))
+            {
+                return i + 1;
+            }
+            if (space < 0 && Character.isWhitespace(c))
+            {
+                space = i + 1;
+            }
+        }
+        return space > 0 ? space : length;
+    }
+
+    /**
+     * @param c Un caracter.
+     * @return {@code true} si el caracter termina una frase.
+     */
+    private boolean isBoundary(char c)
+    {
+        return c == '\n' ? lineMode : c < IS_BOUNDARY.length && IS_BOUNDARY[c];
+    }
+
+    /**
+     * Parte un bloque en frases y calcula su dificultad y su hash.
+     * <p>
+     * Una frase son las palabras entre dos signos de puntuacion, entre dos
+     * renglones en blanco o, con {@link #lineMode}, en un mismo renglon. Las
+     * palabras solo tienen letras; una frase con cualquier otro caracter se descarta.
+     *
+     * @param text   El bloque.
+     * @param length Los caracteres del bloque.
+     * @return Las frases del bloque.
+     */
+    private Chunk tokenize(char[] text, int length)
+    {
+        Chunk chunk = new Chunk();
+        StringBuilder phrase = new StringBuilder(maxLength + 1);
+        int words = 0;
+        boolean valid = true;
+        boolean inWord = false;
+        int newlines = 0;
+        char maxChar = 0;
+        for (int i = 0; i <= length; i++)
+        {
+            char c = i < length ? text[i] : '.';
+            if (Character.isLetter(c) || inWord && TextFolding.isCombining(c))
+            {
+                newlines = 0;
+                if (!valid)
+                {
+                    continue;
+                }
+                if (!inWord)
+                {
+                    inWord = true;
+                    if (++words > maxWords)
+                    {
+                        valid = false;
+                        continue;
+                    }
+                    if (words > 1)
+                    {
+                        phrase.append(' ');
+                    }
+                }
+                if (phrase.length() >= maxLength)
+                {
+                    valid = false;
+                    continue;
+                }
+                phrase.append(c);
+                maxChar = (char) Math.max(maxChar, c);
+            }
+            else if (c == '\n' ? lineMode || ++newlines >= 2 : isBoundary(c))
+            {
+                if (valid && words > 0 && phrase.length() >= minLength)
+                {
+                    String normalized = phrase.toString();
+                    if (maxChar >= FIRST_NON_NFC && !Normalizer.isNormalized(normalized, Normalizer.Form.NFC))
+                    {
+                        normalized = Normalizer.normalize(normalized, Normalizer.Form.NFC);
+                    }
+                    chunk.add(normalized);
+                }
+                phrase.setLength(0);
+                words = 0;
+                valid = true;
+                inWord = false;
+                newlines = 0;
+                maxChar = 0;
+            }
+            else if (Character.isWhitespace(c))
+            {
+                inWord = false;
+            }
+            else
+            {
+                newlines = 0;
+                valid = false;
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * Escribe en el corpus las frases de un bloque que no se habian visto.
+     *
+     * @param chunk  Las frases del bloque.
+     * @param seen   Los hashes de las frases ya escritas.
+     * @param writer El escritor del corpus.
+     * @return Las frases del bloque, contando las repetidas.
+     * @throws IOException Si no se puede escribir una frase.
+     */
+    private static int store(Chunk chunk, LongHashSet seen, PhraseCorpusWriter writer) throws IOException
+    {
+        for (int i = 0; i < chunk.count; i++)
+        {
+            if (seen.add(chunk.hashes[i]))
+            {
+                writer.add(chunk.phrases[i], chunk.scores[i]);
+            }
+        }
+        return chunk.count;
+    }
+
+    /**
+     * Calcula un hash de 64 bits (FNV-1a con una mezcla final) del texto en minusculas.
+     *
+     * @param phrase La frase.
+     * @return El hash.
+     */
+    private static long hash(CharSequence phrase)
+    {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < phrase.length(); i++)
+        {
+            h = (h ^ Character.toLowerCase(phrase.charAt(i))) * 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ h >>> 33;
+    }
+
+    /**
+     * Importa textos desde la linea de comandos e informa el rendimiento en MB/s.
+     *
+     * @param args Las opciones, el corpus de salida y los textos de entrada.
+     * @throws IOException Si ocurre un error de lectura o escritura.
+     */
+    public static void main(String[] args) throws IOException
+    {
+        int minLength = DEFAULT_MIN_LENGTH;
+        int maxLength = DEFAULT_MAX_LENGTH;
+        int maxWords = DEFAULT_MAX_WORDS;
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean lines = false;
+        List<Path> paths = new ArrayList<>();
+        for (int i = 0; i < args.length; i++)
+        {
+            switch (args[i])
+            {
+                case "--lineas":
+                    lines = true;
+                    break;
+                case "--min":
+                    minLength = Integer.parseInt(args[++i]);
+                    break;
+                case "--max":
+                    maxLength = Integer.parseInt(args[++i]);
+                    break;
+                case "--palabras":
+                    maxWords = Integer.parseInt(args[++i]);
+                    break;
+                case "--hilos":
+                    threads = Integer.parseInt(args[++i]);
+                    break;
+                default:
+                    paths.add(Paths.get(args[i]));
+            }
+        }
+        if (paths.size() < 2)
+        {
+            System.err.println("Uso: CorpusImporter [--lineas] [--min N] [--max N] [--palabras N] [--hilos N] <corpus.spwc> <texto>...");
+            return;
+        }
+        Path target = paths.get(0);
+        Report report = new CorpusImporter(minLength, maxLength, maxWords, lines, threads)
+                .run(paths.subList(1, paths.size()), target);
+        System.out.println("Corpus escrito en " + target + ": " + report.summary());
+    }
+}
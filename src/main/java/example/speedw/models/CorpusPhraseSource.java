@@ -0,0 +1,52 @@
+package example.speedw.models;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Fuente de frases que selecciona frases de un {@link PhraseCorpus}.
+ * <p>
+ * Cada seleccion es O(1): se elige un identificador al azar y solo esa frase
+ * se decodifica, sin importar el tamaño del corpus.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class CorpusPhraseSource implements IPhraseSource
+{
+    /**
+     * El corpus del cual se seleccionan las frases.
+     */
+    private final PhraseCorpus corpus;
+
+    /**
+     * Crea una fuente sobre el corpus indicado.
+     *
+     * @param corpus El corpus de frases.
+     */
+    public CorpusPhraseSource(PhraseCorpus corpus)
+    {
+        this.corpus = corpus;
+    }
+
+    /**
+     * Selecciona una frase al azar del corpus.
+     *
+     * @param level  El nivel actual del juego (no se usa en esta fuente).
+     * @param random El generador de numeros aleatorios de la partida.
+     * @return La frase seleccionada.
+     */
+    @Override
+    public String nextPhrase(int level, RandomGenerator random)
+    {
+        return corpus.phraseAt(corpus.randomId(random));
+    }
+
+    /**
+     * @return El corpus del cual se seleccionan las frases.
+     */
+    public PhraseCorpus getCorpus()
+    {
+        return corpus;
+    }
+}
@@ -0,0 +1,86 @@
+package example.speedw.models;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Frases por defecto del juego.
+ * <p>
+ * Contiene el arreglo fijo de frases que antes vivia dentro del controlador
+ * del juego. Se usan para construir el corpus por defecto
+ * ({@link PhraseCorpus#defaultCorpus()}) cuando no se indica otro, y tambien
+ * pueden usarse directamente como fuente de frases uniforme.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class DefaultPhrases implements IPhraseSource
+{
+    /**
+     * Arreglo de strings que contiene todas las frases posibles del juego.
+     */
+    private static final String[] arrFrases =
+            {
+                    "radiologia",
+                    "chicharra",
+                    "biologia efimera",
+                    "programacion eventos",
+                    "filologia",
+                    "intervencion",
+                    "arreglo dinamico",
+                    "exorbitante",
+                    "exhortar",
+                    "calentamiento global",
+                    "indeterminacion",
+                    "paralelepipedo",
+                    "electroencefalografista",
+                    "anticonstitucionalmente",
+                    "esternocleidomastoideo",
+                    "mantequilla",
+                    "abyecto",
+                    "posole",
+                    "mecanico",
+                    "polifomania",
+                    "promotor",
+                    "abstraccion",
+                    "yucatan",
+                    "grafito",
+                    "tren",
+                    "sol",
+                    "malo",
+                    "dinosaurio",
+                    "escribe esto",
+                    "santiago",
+                    "frase larga",
+                    "cien años de sol",
+                    "enamorado tuyo",
+                    "namaste",
+                    "spider man",
+                    "batman y superman",
+                    "el fin se acerca",
+                    "oracion",
+                    "población",
+                    "sí"
+            };
+
+    /**
+     * @return Una copia de las frases por defecto.
+     */
+    public static String[] phrases()
+    {
+        return arrFrases.clone();
+    }
+
+    /**
+     * Selecciona una frase aleatoria del arreglo {@link #arrFrases}.
+     *
+     * @param level  El nivel actual del juego (no se usa en esta fuente).
+     * @param random El generador de numeros aleatorios de la partida.
+     * @return La frase seleccionada.
+     */
+    @Override
+    public String nextPhrase(int level, RandomGenerator random)
+    {
+        return arrFrases[random.nextInt(arrFrases.length)];
+    }
+}
@@ -0,0 +1,93 @@
+package example.speedw.models;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Escritura de archivos que nunca quedan a medias, ni siquiera tras un corte de luz.
+ * <p>
+ * El contenido se escribe en un temporal junto al archivo, se fuerza a disco y
+ * solo entonces se mueve sobre el archivo. Sin forzar, el sistema de archivos
+ * puede guardar el renombre antes que los datos, y tras un corte el archivo
+ * quedaria vacio. Si el sistema de archivos no sabe mover de forma atomica, se
+ * mueve reemplazando el anterior.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+final class DurableFiles
+{
+    private DurableFiles()
+    {
+    }
+
+    /**
+     * Escribe un archivo completo, creando su carpeta si no existe.
+     *
+     * @param file  El archivo.
+     * @param bytes El contenido.
+     * @throws IOException Si no se puede escribir.
+     */
+    static void write(Path file, byte[] bytes) throws IOException
+    {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null)
+        {
+            Files.createDirectories(parent);
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            ByteBuffer source = ByteBuffer.wrap(bytes);
+            while (source.hasRemaining())
+            {
+                channel.write(source);
+            }
+            channel.force(true);
+        }
+        move(temp, file);
+    }
+
+    /**
+     * Reemplaza un archivo por un temporal ya escrito y cerrado, forzandolo antes a disco.
+     *
+     * @param temp   El temporal, en la misma carpeta que el archivo.
+     * @param target El archivo.
+     * @throws IOException Si no se puede forzar o mover.
+     */
+    static void commit(Path temp, Path target) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE))
+        {
+            channel.force(true);
+        }
+        move(temp, target);
+    }
+
+    /**
+     * Mueve el temporal sobre el archivo, de forma atomica si el sistema de archivos lo permite.
+     *
+     * @param temp   El temporal.
+     * @param target El archivo.
+     * @throws IOException Si no se puede mover.
+     */
+    private static void move(Path temp, Path target) throws IOException
+    {
+        try
+        {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (AtomicMoveNotSupportedException e)
+        {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
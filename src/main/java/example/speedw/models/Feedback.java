@@ -1,62 +1,91 @@
 package example.speedw.models;
 
 /**
- * Gestiona y genera mensajes de retroalimentacion para el jugador.
+ * Mensajes de retroalimentacion para el jugador.
  * <p>
- * Esta clase proporciona una manera centralizada de obtener los textos
- * de feedback que se le mostraran al usuario segun el resultado de su accion
- * en el juego.
+ * Cada constante corresponde a un resultado diferente de la validacion y
+ * guarda la llave de su mensaje. El texto sale del idioma en uso
+ * ({@link LanguageCatalog}), que resuelve todos los mensajes al cargarse, por
+ * lo que obtener un mensaje nunca crea objetos nuevos:
+ * <ul>
+ * <li><b>INCORRECT:</b> Palabra incorrecta.</li>
+ * <li><b>EMPTY:</b> Campo de texto vacio.</li>
+ * <li><b>CORRECT:</b> Palabra correcta.</li>
+ * <li><b>CORRECT_LAST_SECOND:</b> Palabra correcta, pero cerca del limite de tiempo.</li>
+ * </ul>
  *
  * @author Santiago Duque Magaña
  * @version 1.0
  * @since 2025-09-22
  */
-public class Feedback
+public enum Feedback
 {
     /**
-     * Almacena el texto del mensaje de feedback a retornar.
+     * La palabra escrita es incorrecta.
      */
-    private String textFeedback;
+    INCORRECT("feedback.incorrect"),
 
     /**
-     * Devuelve un mensaje de retroalimentacion basado en un codigo de tipo.
-     * <p>
-     * Este metodo utiliza un codigo numerico para determinar que mensaje
-     * especifico debe retornarse. Cada numero corresponde a un estado diferente
-     * del juego:
-     * <ul>
-     * <li><b>1:</b> Palabra incorrecta.</li>
-     * <li><b>2:</b> Campo de texto vacio.</li>
-     * <li><b>3:</b> Palabra correcta.</li>
-     * <li><b>4:</b> Palabra correcta, pero cerca del limite de tiempo.</li>
-     * </ul>
+     * El jugador no escribio nada.
+     */
+    EMPTY("feedback.empty"),
+
+    /**
+     * La palabra escrita es correcta.
+     */
+    CORRECT("feedback.correct"),
+
+    /**
+     * La palabra es correcta, pero casi se acaba el tiempo.
+     */
+    CORRECT_LAST_SECOND("feedback.correctLastSecond");
+
+    /**
+     * La llave del mensaje de feedback en los mensajes de cada idioma.
+     */
+    private final String key;
+
+    Feedback(String key)
+    {
+        this.key = key;
+    }
+
+    /**
+     * @return La llave del mensaje de feedback en los mensajes de cada idioma.
+     */
+    public String getKey()
+    {
+        return key;
+    }
+
+    /**
+     * @return El texto del mensaje de feedback en el idioma en uso.
+     */
+    public String getMessage()
+    {
+        return LanguageCatalog.shared().current().feedback(this);
+    }
+
+    /**
+     * Devuelve el feedback que corresponde a un resultado de validacion.
      *
-     * @param type El codigo numerico que representa el tipo de feedback.
-     * @return Un {@code String} con el mensaje de feedback correspondiente.
+     * @param result El resultado de la validacion.
+     * @return El feedback correspondiente, o {@code null} si el resultado termina la partida.
      */
-    public String TypeOfFeedback(int type)
+    public static Feedback forResult(ValidationResult result)
     {
-        if (type == 1) // 1 es para palabra incorrecta
-        {
-            textFeedback = "Palabra Incorrecta!";
-        }
-        else if (type == 2)  // 2 es para palabra vacia
-        {
-            textFeedback = "No escribiste Nada";
-        }
-        else if (type == 3)  // 3 es para el exito
-        {
-            textFeedback = "Correcto!";
-        }
-        else if (type == 4)  // 4 es para el casi perder por tiempo
-        {
-            textFeedback = "Correcto! Casi te gana el tiempo eh!";
-        }
-        else
+        switch (result)
         {
-            System.out.println("Error");
-            textFeedback = "Error";
+            case EMPTY:
+                return EMPTY;
+            case INCORRECT:
+                return INCORRECT;
+            case CORRECT:
+                return CORRECT;
+            case CORRECT_LAST_SECOND:
+                return CORRECT_LAST_SECOND;
+            default:
+                return null;
         }
-        return textFeedback;
     }
 }
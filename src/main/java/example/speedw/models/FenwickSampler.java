@@ -0,0 +1,180 @@
+package example.speedw.models;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Muestreador ponderado sobre un arbol de Fenwick (arbol binario indexado).
+ * <p>
+ * Guarda un peso no negativo por posicion y permite, en O(log n), cambiar un
+ * peso, sumar los pesos de un prefijo y elegir al azar una posicion de un rango
+ * con probabilidad proporcional a su peso. A diferencia del metodo alias, que
+ * sortea en O(1) pero debe reconstruirse entero si cambia un peso, aqui cada
+ * cambio cuesta O(log n), por lo que sirve para pesos que se ajustan con cada
+ * respuesta del jugador aun con millones de posiciones.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class FenwickSampler
+{
+    /**
+     * Arbol de Fenwick con base 1: {@code tree[i]} suma los pesos de
+     * {@code (i - (i & -i), i]}.
+     */
+    private final double[] tree;
+
+    /**
+     * Peso actual de cada posicion, con base 0.
+     */
+    private final double[] weights;
+
+    /**
+     * Mayor potencia de dos que no supera el numero de posiciones, para la busqueda.
+     */
+    private final int topBit;
+
+    /**
+     * Crea un muestreador con todas las posiciones en el peso indicado.
+     *
+     * @param size   El numero de posiciones.
+     * @param weight El peso inicial de cada posicion.
+     */
+    public FenwickSampler(int size, double weight)
+    {
+        tree = new double[size + 1];
+        weights = new double[size];
+        topBit = size == 0 ? 0 : Integer.highestOneBit(size);
+        fill(weight);
+    }
+
+    /**
+     * Pone todas las posiciones en el mismo peso, en O(n).
+     *
+     * @param weight El peso de cada posicion.
+     */
+    public void fill(double weight)
+    {
+        Arrays.fill(weights, weight);
+        for (int i = 1; i < tree.length; i++)
+        {
+            tree[i] = weight * (i & -i);
+        }
+    }
+
+    /**
+     * Cambia el peso de una posicion en O(log n).
+     *
+     * @param index  La posicion.
+     * @param weight El nuevo peso, no negativo.
+     */
+    public void set(int index, double weight)
+    {
+        double delta = weight - weights[index];
+        if (delta == 0)
+        {
+            return;
+        }
+        weights[index] = weight;
+        for (int i = index + 1; i < tree.length; i += i & -i)
+        {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * @param index La posicion.
+     * @return El peso actual de la posicion.
+     */
+    public double get(int index)
+    {
+        return weights[index];
+    }
+
+    /**
+     * Suma los pesos de las posiciones {@code [0, end)} en O(log n).
+     *
+     * @param end La primera posicion que no se suma.
+     * @return La suma de los pesos.
+     */
+    public double prefixSum(int end)
+    {
+        double sum = 0;
+        for (int i = end; i > 0; i -= i & -i)
+        {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Busca la primera posicion cuya suma acumulada supera un valor, en O(log n).
+     *
+     * @param target Un valor entre 0 y la suma total.
+     * @return La posicion {@code i} tal que {@code prefixSum(i) <= target < prefixSum(i + 1)},
+     *         o el numero de posiciones si {@code target} no es menor que la suma total.
+     */
+    public int find(double target)
+    {
+        int index = 0;
+        double remaining = target;
+        for (int step = topBit; step > 0; step >>= 1)
+        {
+            int next = index + step;
+            if (next < tree.length && tree[next] <= remaining)
+            {
+                index = next;
+                remaining -= tree[next];
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Elige una posicion de {@code [from, to)} con probabilidad proporcional a su peso.
+     *
+     * @param from   La primera posicion del rango.
+     * @param to     La primera posicion fuera del rango.
+     * @param random El generador aleatorio.
+     * @return La posicion elegida, o -1 si todos los pesos del rango son 0.
+     */
+    public int sample(int from, int to, RandomGenerator random)
+    {
+        double base = prefixSum(from);
+        double span = prefixSum(to) - base;
+        if (!(span > 0))
+        {
+            return -1;
+        }
+        int index = find(base + random.nextDouble() * span);
+        // El redondeo de las sumas puede dejar la busqueda justo fuera del rango o en un peso 0.
+        if (index >= from && index < to && weights[index] > 0)
+        {
+            return index;
+        }
+        for (int i = Math.min(Math.max(index, from), to - 1); i >= from; i--)
+        {
+            if (weights[i] > 0)
+            {
+                return i;
+            }
+        }
+        for (int i = Math.max(index, from); i < to; i++)
+        {
+            if (weights[i] > 0)
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return El numero de posiciones.
+     */
+    public int size()
+    {
+        return weights.length;
+    }
+}
@@ -0,0 +1,114 @@
+package example.speedw.models;
+
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+
+import java.util.Arrays;
+
+/**
+ * Medidas de los caracteres de una fuente, tomadas con un nodo {@link Text} y guardadas.
+ * <p>
+ * Cada caracter se mide la primera vez que aparece y su avance queda en una
+ * tabla por paginas de 256 caracteres, que solo se crean para los bloques de
+ * Unicode que realmente se usan. Despues, consultar un avance es leer un arreglo.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class FontGlyphMetrics implements IGlyphMetrics
+{
+    /**
+     * Bits del indice dentro de una pagina.
+     */
+    private static final int PAGE_BITS = 8;
+
+    /**
+     * Caracter de referencia para medir los avances sin depender de espacios al final.
+     */
+    private static final String REFERENCE = "|";
+
+    /**
+     * La fuente medida.
+     */
+    private final Font font;
+
+    /**
+     * Nodo reutilizado para medir.
+     */
+    private final Text probe = new Text();
+
+    /**
+     * Avances por pagina; -1 indica un caracter todavia sin medir.
+     */
+    private final float[][] pages = new float[1 << (16 - PAGE_BITS)][];
+
+    /**
+     * Ancho del caracter de referencia.
+     */
+    private final double referenceWidth;
+
+    /**
+     * Alto de un renglon.
+     */
+    private final double lineHeight;
+
+    /**
+     * Distancia del borde superior a la linea base.
+     */
+    private final double ascent;
+
+    /**
+     * Mide la altura de la fuente; los avances se miden a pedido.
+     *
+     * @param font La fuente.
+     */
+    public FontGlyphMetrics(Font font)
+    {
+        this.font = font;
+        probe.setFont(font);
+        probe.setText(REFERENCE);
+        referenceWidth = probe.getLayoutBounds().getWidth();
+        probe.setText("Ag");
+        lineHeight = Math.ceil(probe.getLayoutBounds().getHeight());
+        ascent = Math.ceil(probe.getBaselineOffset());
+    }
+
+    @Override
+    public Font getFont()
+    {
+        return font;
+    }
+
+    @Override
+    public double advance(char c)
+    {
+        float[] page = pages[c >>> PAGE_BITS];
+        if (page == null)
+        {
+            page = new float[1 << PAGE_BITS];
+            Arrays.fill(page, -1f);
+            pages[c >>> PAGE_BITS] = page;
+        }
+        int index = c & ((1 << PAGE_BITS) - 1);
+        if (page[index] < 0)
+        {
+            // El caracter se mide entre referencias para que un espacio tambien tenga ancho.
+            probe.setText(REFERENCE + c + REFERENCE);
+            page[index] = (float) Math.max(0, probe.getLayoutBounds().getWidth() - 2 * referenceWidth);
+        }
+        return page[index];
+    }
+
+    @Override
+    public double getLineHeight()
+    {
+        return lineHeight;
+    }
+
+    @Override
+    public double getAscent()
+    {
+        return ascent;
+    }
+}
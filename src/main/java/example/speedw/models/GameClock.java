@@ -0,0 +1,221 @@
+package example.speedw.models;
+
+/**
+ * Reloj de alta resolucion del juego basado en {@link System#nanoTime()}.
+ * <p>
+ * Se crea una sola vez por sesion y se vuelve a armar en cada nivel sin crear
+ * objetos nuevos. En lugar de contar segundos enteros, guarda el instante exacto
+ * en que vence el nivel, por lo que el tiempo restante no acumula error aunque
+ * los avisos lleguen tarde. Cada aviso de segundo ({@link ClockEvent#TICK})
+ * registra con cuanto retraso se atendio, para poder vigilar el jitter.
+ * <p>
+ * El reloj no tiene hilo propio: quien lo usa (por ejemplo un
+ * {@code AnimationTimer}) debe llamar a {@link #poll(long)} con el instante actual.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class GameClock
+{
+    /**
+     * Nanosegundos en un milisegundo.
+     */
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    /**
+     * Nanosegundos entre dos avisos de segundo.
+     */
+    private static final long TICK_NANOS = 1_000_000_000L;
+
+    /**
+     * Indica si el reloj esta corriendo.
+     */
+    private boolean armed;
+
+    /**
+     * Instante (en nanosegundos) en que vence el nivel.
+     */
+    private long deadlineNanos;
+
+    /**
+     * Instante (en nanosegundos) del proximo aviso de segundo.
+     */
+    private long nextTickNanos;
+
+    /**
+     * Retraso del ultimo aviso atendido.
+     */
+    private long lastLatenessNanos;
+
+    /**
+     * Retraso maximo observado desde el ultimo {@link #resetStats()}.
+     */
+    private long maxLatenessNanos;
+
+    /**
+     * Suma de los retrasos observados, para calcular el promedio.
+     */
+    private long totalLatenessNanos;
+
+    /**
+     * Numero de avisos atendidos.
+     */
+    private long tickCount;
+
+    /**
+     * Numero de avisos que se saltaron porque llegaron mas de un segundo tarde.
+     */
+    private long missedTicks;
+
+    /**
+     * Arma el reloj para que venza despues de la duracion indicada.
+     *
+     * @param nowNanos       El instante actual.
+     * @param durationMillis La duracion del nivel en milisegundos.
+     */
+    public void arm(long nowNanos, long durationMillis)
+    {
+        armed = true;
+        deadlineNanos = nowNanos + durationMillis * NANOS_PER_MILLI;
+        nextTickNanos = nowNanos + TICK_NANOS;
+    }
+
+    /**
+     * Detiene el reloj. Mientras este detenido {@link #poll(long)} no produce eventos.
+     */
+    public void disarm()
+    {
+        armed = false;
+    }
+
+    /**
+     * Revisa el reloj y devuelve el evento que corresponde al instante actual.
+     * <p>
+     * Si el nivel vencio devuelve {@link ClockEvent#EXPIRED} y se detiene; si paso
+     * un segundo completo devuelve {@link ClockEvent#TICK}. Nunca crea objetos.
+     *
+     * @param nowNanos El instante actual.
+     * @return El evento correspondiente.
+     */
+    public ClockEvent poll(long nowNanos)
+    {
+        if (!armed)
+        {
+            return ClockEvent.NONE;
+        }
+        if (nowNanos >= deadlineNanos)
+        {
+            armed = false;
+            recordLateness(nowNanos - deadlineNanos);
+            return ClockEvent.EXPIRED;
+        }
+        if (nowNanos >= nextTickNanos)
+        {
+            recordLateness(nowNanos - nextTickNanos);
+            nextTickNanos += TICK_NANOS;
+            while (nextTickNanos <= nowNanos)
+            {
+                nextTickNanos += TICK_NANOS;
+                missedTicks++;
+            }
+            return ClockEvent.TICK;
+        }
+        return ClockEvent.NONE;
+    }
+
+    /**
+     * Registra el retraso de un aviso.
+     *
+     * @param latenessNanos El retraso en nanosegundos.
+     */
+    private void recordLateness(long latenessNanos)
+    {
+        lastLatenessNanos = latenessNanos;
+        maxLatenessNanos = Math.max(maxLatenessNanos, latenessNanos);
+        totalLatenessNanos += latenessNanos;
+        tickCount++;
+    }
+
+    /**
+     * Reinicia las estadisticas de retraso.
+     */
+    public void resetStats()
+    {
+        lastLatenessNanos = 0;
+        maxLatenessNanos = 0;
+        totalLatenessNanos = 0;
+        tickCount = 0;
+        missedTicks = 0;
+    }
+
+    /**
+     * @return {@code true} si el reloj esta corriendo.
+     */
+    public boolean isArmed()
+    {
+        return armed;
+    }
+
+    /**
+     * @param nowNanos El instante actual.
+     * @return {@code true} si el reloj esta armado y ya paso el vencimiento.
+     */
+    public boolean isExpired(long nowNanos)
+    {
+        return armed && nowNanos >= deadlineNanos;
+    }
+
+    /**
+     * @param nowNanos El instante actual.
+     * @return Los milisegundos restantes del nivel (0 si ya vencio o esta detenido).
+     */
+    public long remainingMillis(long nowNanos)
+    {
+        if (!armed)
+        {
+            return 0;
+        }
+        return Math.max(0, (deadlineNanos - nowNanos + NANOS_PER_MILLI - 1) / NANOS_PER_MILLI);
+    }
+
+    /**
+     * @return El retraso del ultimo aviso, en nanosegundos.
+     */
+    public long getLastLatenessNanos()
+    {
+        return lastLatenessNanos;
+    }
+
+    /**
+     * @return El retraso maximo observado, en nanosegundos.
+     */
+    public long getMaxLatenessNanos()
+    {
+        return maxLatenessNanos;
+    }
+
+    /**
+     * @return El retraso promedio de los avisos, en nanosegundos.
+     */
+    public long getMeanLatenessNanos()
+    {
+        return tickCount == 0 ? 0 : totalLatenessNanos / tickCount;
+    }
+
+    /**
+     * @return El numero de avisos atendidos.
+     */
+    public long getTickCount()
+    {
+        return tickCount;
+    }
+
+    /**
+     * @return El numero de avisos saltados por llegar mas de un segundo tarde.
+     */
+    public long getMissedTicks()
+    {
+        return missedTicks;
+    }
+}
@@ -0,0 +1,677 @@
+package example.speedw.models;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Motor del juego 'SpeedW' sin dependencias de JavaFX.
+ * <p>
+ * Contiene todas las reglas del juego: el nivel actual, el tiempo restante,
+ * el acumulador de handicap, la condicion de victoria en el nivel 35 y el
+ * registro de frases escritas correctamente. El controlador grafico solo
+ * traduce los resultados de este motor a la interfaz, por lo que el motor
+ * puede ejecutarse y medirse sin abrir ninguna ventana.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class GameEngine
+{
+    /**
+     * Nivel que el jugador debe superar para ganar la partida.
+     */
+    public static final int WIN_LEVEL = 35;
+
+    /**
+     * Segundos disponibles en cada nivel antes de aplicar el handicap.
+     */
+    public static final int BASE_TIME = 20;
+
+    /**
+     * Segundos que se restan al tiempo de cada nivel cada 5 niveles.
+     */
+    public static final int HANDICAP_STEP = 2;
+
+    /**
+     * Fuente de la cual se obtienen las frases de cada nivel.
+     */
+    private final IPhraseSource phraseSource;
+
+    /**
+     * Generador de numeros aleatorios usado para seleccionar las frases.
+     */
+    private RandomGenerator random;
+
+    /**
+     * Semilla de la partida actual, si se comenzo con {@link #startGame(long, long)}.
+     */
+    private long seed;
+
+    /**
+     * Indica si el generador de cada nivel se deriva de la semilla y del nivel ({@link #startGame(long, long)}).
+     */
+    private boolean levelSeeds;
+
+    /**
+     * Nivel actual del juego.
+     */
+    private int level;
+
+    /**
+     * Segundos disponibles en el nivel actual. Se inicializa en 20 y se reduce con el handicap.
+     */
+    private int levelTime = BASE_TIME;
+
+    /**
+     * Reloj de la sesion; se vuelve a armar en cada nivel sin crear objetos.
+     */
+    private final GameClock clock = new GameClock();
+
+    /**
+     * Acumulador de 'handicap' (desventaja) que reduce el tiempo disponible en niveles mas altos para aumentar la dificultad.
+     */
+    private int handicapAccumulator = 0;
+
+    /**
+     * La frase actual que el jugador debe escribir.
+     */
+    private String actualPhrase;
+
+    /**
+     * Estadisticas de las frases escritas correctamente durante la partida actual.
+     */
+    private final SessionStats stats = new SessionStats();
+
+    /**
+     * Validador incremental de la respuesta del jugador contra la frase actual.
+     */
+    private final TypingValidator validator = new TypingValidator();
+
+    /**
+     * Instante en que se mostro la frase actual.
+     */
+    private long phraseShownNanos;
+
+    /**
+     * Indica si la partida actual ya termino (por victoria o por derrota).
+     */
+    private boolean finished;
+
+    /**
+     * Indica si la partida actual termino con una victoria.
+     */
+    private boolean won;
+
+    /**
+     * Indica si la partida actual se retomo de una {@link GameSnapshot} en lugar de comenzar en el nivel 1.
+     */
+    private boolean resumed;
+
+    /**
+     * Crea un motor que usa el planificador adaptativo sobre el paquete de frases en uso,
+     * que puede cambiar entre partidas ({@link HotSwapPhraseSource}).
+     */
+    public GameEngine()
+    {
+        this(new HotSwapPhraseSource(), new Random());
+    }
+
+    /**
+     * Crea un motor con la fuente de frases y el generador aleatorio indicados.
+     *
+     * @param phraseSource La fuente de frases para cada nivel.
+     * @param random       El generador aleatorio usado para seleccionar frases.
+     */
+    public GameEngine(IPhraseSource phraseSource, RandomGenerator random)
+    {
+        this.phraseSource = phraseSource;
+        this.random = random;
+    }
+
+    /**
+     * Cambia la forma de comparar las respuestas con las frases.
+     * <p>
+     * Se aplica desde la siguiente frase; para que toda una partida use el mismo
+     * modo, se llama antes de {@link #startGame(long)}.
+     *
+     * @param mode El modo de comparacion.
+     */
+    public void setComparisonMode(ComparisonMode mode)
+    {
+        validator.setMode(mode);
+    }
+
+    /**
+     * @return El modo de comparacion de la frase actual.
+     */
+    public ComparisonMode getComparisonMode()
+    {
+        return validator.getMode();
+    }
+
+    /**
+     * Comienza una partida nueva desde el nivel 1.
+     * <p>
+     * Reinicia el nivel, el handicap, el tiempo y el registro de frases correctas,
+     * selecciona la primera frase y arma el reloj.
+     *
+     * @param nowNanos El instante actual, segun {@link System#nanoTime()}.
+     */
+    public void startGame(long nowNanos)
+    {
+        levelSeeds = false;
+        beginGame(nowNanos);
+    }
+
+    /**
+     * Comienza una partida nueva y reproducible desde el nivel 1.
+     * <p>
+     * La frase de cada nivel sale de un {@link SplittableRandom} derivado de la
+     * semilla y del nivel, de modo que la misma semilla y los mismos eventos
+     * producen siempre la misma partida, y una partida retomada de una
+     * {@link GameSnapshot} sigue con los mismos generadores que la original.
+     *
+     * @param nowNanos El instante actual, segun {@link System#nanoTime()}.
+     * @param seed     La semilla de la partida.
+     */
+    public void startGame(long nowNanos, long seed)
+    {
+        this.seed = seed;
+        levelSeeds = true;
+        beginGame(nowNanos);
+    }
+
+    /**
+     * Comienza una partida reproducible con un solo {@link SplittableRandom} para
+     * toda la partida, como se jugaban las partidas de las repeticiones anteriores
+     * a {@link ReplayRecorder#VERSION_LEVEL_SEEDS}.
+     *
+     * @param nowNanos El instante actual, segun {@link System#nanoTime()}.
+     * @param seed     La semilla de la partida.
+     */
+    public void startSingleStreamGame(long nowNanos, long seed)
+    {
+        this.seed = seed;
+        random = new SplittableRandom(seed);
+        levelSeeds = false;
+        beginGame(nowNanos);
+    }
+
+    /**
+     * Reinicia el nivel, el handicap, el tiempo y el registro de frases
+     * correctas, selecciona la primera frase y arma el reloj.
+     *
+     * @param nowNanos El instante actual.
+     */
+    private void beginGame(long nowNanos)
+    {
+        level = 1;
+        handicapAccumulator = 0;
+        finished = false;
+        won = false;
+        resumed = false;
+        stats.reset(nowNanos);
+        phraseSource.startGame();
+        levelRefiller(nowNanos);
+    }
+
+    /**
+     * @return Los bytes maximos que ocupa el estado de la partida escrito con {@link #writeState(ByteBuffer, long)}.
+     */
+    public int stateBytes()
+    {
+        return 9 + 4 * Varint.MAX_BYTES + Varint.bytesOf(actualPhrase) + stats.stateBytes();
+    }
+
+    /**
+     * Escribe el estado de la partida en curso en un buffer, para una {@link GameSnapshot}.
+     * <p>
+     * Se guarda la semilla, el modo de comparacion, el nivel, el tiempo del nivel,
+     * el handicap, los milisegundos que le quedan al reloj, la frase actual y las
+     * estadisticas. La respuesta a medio escribir no se guarda.
+     *
+     * @param out      El buffer, con espacio para {@link #stateBytes()} bytes.
+     * @param nowNanos El instante de la instantanea.
+     */
+    public void writeState(ByteBuffer out, long nowNanos)
+    {
+        out.putLong(seed).put((byte) getComparisonMode().ordinal());
+        Varint.put(out, level);
+        Varint.put(out, levelTime);
+        Varint.put(out, handicapAccumulator);
+        Varint.put(out, clock.remainingMillis(nowNanos));
+        Varint.putString(out, actualPhrase);
+        stats.writeState(out, nowNanos);
+    }
+
+    /**
+     * Retoma una partida escrita con {@link #writeState(ByteBuffer, long)}.
+     * <p>
+     * El reloj se vuelve a armar con los milisegundos que le quedaban, de modo que
+     * el jugador sigue en el mismo punto del nivel. Los niveles siguientes usan
+     * el mismo generador que habrian usado en la partida original, derivado de la
+     * semilla y del nivel ({@link #startGame(long, long)}). Lo que la fuente de
+     * frases aprendio del jugador no se guarda, asi que una fuente adaptativa
+     * puede elegir otras frases.
+     * <p>
+     * Las frases siguientes salen del paquete con que se jugo la partida, que la
+     * fuente vuelve a fijar ({@link IPhraseSource#resumeGame(PhrasePack)}), aunque
+     * entre tanto se haya publicado otro. Si los datos no son validos o la fuente
+     * no puede usar ese paquete, la partida no se puede retomar y hay que comenzar
+     * una nueva con {@link #startGame(long)}.
+     *
+     * @param in       El buffer.
+     * @param pack     El paquete de frases de la partida guardada.
+     * @param nowNanos El instante en que se retoma la partida.
+     * @throws IllegalArgumentException Si los datos no son validos o la fuente no puede usar el paquete.
+     */
+    public void restoreState(ByteBuffer in, PhrasePack pack, long nowNanos)
+    {
+        long savedSeed = in.getLong();
+        int mode = in.get();
+        int savedLevel = Varint.getInt(in);
+        int savedTime = Varint.getInt(in);
+        int savedHandicap = Varint.getInt(in);
+        long remaining = Varint.get(in);
+        String phrase = Varint.getString(in);
+        // El handicap y el tiempo del nivel solo dependen del nivel; cualquier otro valor viene de un archivo dañado.
+        if (mode < 0 || mode >= ComparisonMode.values().length || savedLevel < 1 || savedLevel > WIN_LEVEL
+                || savedHandicap != HANDICAP_STEP * (savedLevel / 5) || savedTime != BASE_TIME - savedHandicap
+                || remaining > savedTime * 1000L || phrase.isEmpty())
+        {
+            throw new IllegalArgumentException("Estado de partida no valido en el nivel " + savedLevel + ".");
+        }
+        if (!phraseSource.resumeGame(pack))
+        {
+            throw new IllegalArgumentException("La fuente de frases no puede usar el paquete " + pack.getName() + ".");
+        }
+        stats.readState(in, nowNanos);
+
+        seed = savedSeed;
+        levelSeeds = true;
+        level = savedLevel;
+        levelTime = savedTime;
+        handicapAccumulator = savedHandicap;
+        finished = false;
+        won = false;
+        resumed = true;
+        validator.setMode(ComparisonMode.values()[mode]);
+        actualPhrase = phrase;
+        validator.setTarget(phrase);
+        phraseShownNanos = nowNanos - (savedTime * 1000L - remaining) * 1_000_000L;
+        clock.arm(nowNanos, remaining);
+    }
+
+    /**
+     * Agrega una tecla a la respuesta del jugador y la valida en O(1).
+     *
+     * @param c El caracter escrito.
+     * @return {@code true} si con esta tecla la respuesta quedo completa y correcta.
+     */
+    public boolean typeChar(char c)
+    {
+        int at = validator.getTypedLength();
+        if (validator.getFirstError() < 0 && at < validator.getTargetLength())
+        {
+            char expected = validator.targetAt(at);
+            phraseSource.recordKey(expected, c != expected);
+        }
+        return validator.append(c);
+    }
+
+    /**
+     * Borra el ultimo caracter de la respuesta del jugador.
+     */
+    public void deleteChar()
+    {
+        validator.deleteLast();
+    }
+
+    /**
+     * Reemplaza toda la respuesta del jugador (por ejemplo al pegar texto).
+     *
+     * @param text El nuevo texto de la respuesta.
+     */
+    public void setInput(CharSequence text)
+    {
+        validator.setInput(text);
+    }
+
+    /**
+     * Vacia la respuesta del jugador.
+     */
+    public void clearInput()
+    {
+        validator.clear();
+    }
+
+    /**
+     * Valida una respuesta completa del jugador contra la frase actual.
+     * <p>
+     * Equivale a reemplazar la respuesta con {@link #setInput(CharSequence)} y
+     * luego llamar a {@link #submit(long)}.
+     *
+     * @param answer   El texto escrito por el jugador.
+     * @param nowNanos El instante de la validacion.
+     * @return El resultado de la validacion.
+     */
+    public ValidationResult validate(CharSequence answer, long nowNanos)
+    {
+        validator.setInput(answer);
+        return submit(nowNanos);
+    }
+
+    /**
+     * Valida la respuesta actual del jugador contra la frase actual.
+     * <p>
+     * La respuesta ya fue validada tecla por tecla, por lo que aqui solo se consulta
+     * el estado del validador. Si la respuesta es correcta se registra la frase y se
+     * avanza de nivel, a menos que el jugador haya alcanzado el nivel final. Si el
+     * tiempo ya vencio pero el reloj aun no se ha consultado, la respuesta se trata
+     * como la ultima validacion, de modo que el resultado no depende de cual de los
+     * dos eventos se atienda primero. La respuesta queda vacia despues de validar.
+     *
+     * @param nowNanos El instante de la validacion.
+     * @return El resultado de la validacion.
+     */
+    public ValidationResult submit(long nowNanos)
+    {
+        if (finished)
+        {
+            return won ? ValidationResult.WON : ValidationResult.LOST;
+        }
+        if (clock.isExpired(nowNanos))
+        {
+            clock.disarm();
+            return finalValidation(nowNanos);
+        }
+        ValidationResult result;
+        if (validator.isEmpty())
+        {
+            result = ValidationResult.EMPTY;
+        }
+        else if (validator.isComplete())
+        {
+            result = acceptPhrase(ValidationResult.CORRECT, nowNanos);
+        }
+        else
+        {
+            stats.recordMiss(actualPhrase);
+            phraseSource.recordResult(actualPhrase, false);
+            result = ValidationResult.INCORRECT;
+        }
+        validator.clear();
+        return result;
+    }
+
+    /**
+     * Consulta el reloj del nivel.
+     * <p>
+     * Si devuelve {@link ClockEvent#EXPIRED}, quien llama debe invocar
+     * {@link #finalValidation(long)}.
+     *
+     * @param nowNanos El instante actual.
+     * @return El evento del reloj.
+     */
+    public ClockEvent poll(long nowNanos)
+    {
+        return clock.poll(nowNanos);
+    }
+
+    /**
+     * Realiza la ultima validacion cuando el tiempo se agota.
+     * <p>
+     * Si la respuesta es correcta justo cuando el tiempo llega a 0, se considera valida
+     * y el juego continua. Si no, el juego se da por perdido.
+     *
+     * @param nowNanos El instante actual, usado para armar el reloj del siguiente nivel.
+     * @return {@link ValidationResult#CORRECT_LAST_SECOND}, {@link ValidationResult#WON}
+     *         o {@link ValidationResult#LOST}.
+     */
+    public ValidationResult finalValidation(long nowNanos)
+    {
+        if (finished)
+        {
+            return won ? ValidationResult.WON : ValidationResult.LOST;
+        }
+        ValidationResult result;
+        if (validator.isComplete())
+        {
+            result = acceptPhrase(ValidationResult.CORRECT_LAST_SECOND, nowNanos);
+        }
+        else
+        {
+            clock.disarm();
+            stats.recordMiss(actualPhrase);
+            phraseSource.recordResult(actualPhrase, false);
+            finished = true;
+            result = ValidationResult.LOST;
+        }
+        validator.clear();
+        return result;
+    }
+
+    /**
+     * Registra la frase actual como correcta y avanza de nivel o termina la partida.
+     *
+     * @param onLevelUp El resultado a devolver si la partida continua.
+     * @param nowNanos  El instante actual.
+     * @return {@code onLevelUp}, o {@link ValidationResult#WON} si se alcanzo el nivel final.
+     */
+    private ValidationResult acceptPhrase(ValidationResult onLevelUp, long nowNanos)
+    {
+        stats.recordCorrect(actualPhrase, nowNanos - phraseShownNanos, nowNanos);
+        phraseSource.recordResult(actualPhrase, true);
+
+        //SE REVISA SI SE GANO EL JUEGO PARA NO AVANZAR A OTRO NIVEL SI ESTAS EN EL 35
+        if (level >= WIN_LEVEL)
+        {
+            clock.disarm();
+            finished = true;
+            won = true;
+            return ValidationResult.WON;
+        }
+        level++;
+        stats.setLevelReached(level);
+        levelRefiller(nowNanos);
+        return onLevelUp;
+    }
+
+    /**
+     * Prepara el siguiente nivel.
+     * <p>
+     * Selecciona una nueva frase, calcula el tiempo aplicando el handicap si corresponde
+     * y vuelve a armar el reloj.
+     *
+     * @param nowNanos El instante en que comienza el nivel.
+     */
+    private void levelRefiller(long nowNanos)
+    {
+        if (levelSeeds)
+        {
+            random = new SplittableRandom(seed ^ level * 0x9E3779B97F4A7C15L);
+        }
+        actualPhrase = phraseSource.nextPhrase(level, random);
+        validator.setTarget(actualPhrase);
+        phraseShownNanos = nowNanos;
+
+        //Aca cualquier numero multiplo de 5 cae en esta condicion.
+        if (level % 5 == 0)
+        {
+            handicapAccumulator = handicapAccumulator + HANDICAP_STEP;
+        }
+        levelTime = BASE_TIME - handicapAccumulator;
+        clock.arm(nowNanos, levelTime * 1000L);
+    }
+
+    /**
+     * Genera el string con el resumen del juego.
+     * <p>
+     * Las estadisticas se actualizan con cada respuesta correcta, por lo que aqui
+     * solo se les da formato. Es el texto fijo que las repeticiones comparan
+     * ({@link SessionStats#formatSummary()}), no el que se muestra.
+     *
+     * @return El resumen de la partida.
+     */
+    public String generateRecord()
+    {
+        return stats.formatSummary();
+    }
+
+    /**
+     * Vacia el registro de frases correctas de la partida.
+     */
+    public void clearCorrectPhrases()
+    {
+        stats.clear();
+    }
+
+    /**
+     * @return El nivel actual del juego.
+     */
+    public int getLevel()
+    {
+        return level;
+    }
+
+    /**
+     * @return La semilla de la partida actual.
+     */
+    public long getSeed()
+    {
+        return seed;
+    }
+
+    /**
+     * @return El paquete de frases de la partida actual ({@link IPhraseSource#getPack()}).
+     */
+    public PhrasePack getPack()
+    {
+        return phraseSource.getPack();
+    }
+
+    /**
+     * @return Los segundos disponibles en el nivel actual.
+     */
+    public int getLevelTime()
+    {
+        return levelTime;
+    }
+
+    /**
+     * @return El instante en que comenzo el nivel actual, segun {@link System#nanoTime()}.
+     */
+    public long getLevelStartNanos()
+    {
+        return phraseShownNanos;
+    }
+
+    /**
+     * @param nowNanos El instante actual.
+     * @return Los segundos restantes del nivel actual, redondeados hacia arriba.
+     */
+    public int getRemainingTime(long nowNanos)
+    {
+        return (int) ((clock.remainingMillis(nowNanos) + 999) / 1000);
+    }
+
+    /**
+     * @param nowNanos El instante actual.
+     * @return Los milisegundos restantes del nivel actual.
+     */
+    public long getRemainingMillis(long nowNanos)
+    {
+        return clock.remainingMillis(nowNanos);
+    }
+
+    /**
+     * @return El reloj de la sesion, con las estadisticas de retraso de sus avisos.
+     */
+    public GameClock getClock()
+    {
+        return clock;
+    }
+
+    /**
+     * @return Los segundos acumulados de handicap.
+     */
+    public int getHandicapAccumulator()
+    {
+        return handicapAccumulator;
+    }
+
+    /**
+     * @return La frase que el jugador debe escribir.
+     */
+    public String getActualPhrase()
+    {
+        return actualPhrase;
+    }
+
+    /**
+     * @return Cuantas frases se han escrito correctamente en la partida.
+     */
+    public int getCorrectPhraseCount()
+    {
+        return stats.getCorrectCount();
+    }
+
+    /**
+     * @return Las estadisticas de la partida, actualizadas con cada respuesta correcta.
+     */
+    public SessionStats getStats()
+    {
+        return stats;
+    }
+
+    /**
+     * @return El validador incremental con el estado de la respuesta actual.
+     */
+    public TypingValidator getValidator()
+    {
+        return validator;
+    }
+
+    /**
+     * @return El tiempo de reaccion de la ultima frase correcta, en nanosegundos.
+     */
+    public long getLastReactionNanos()
+    {
+        return stats.getLastReactionNanos();
+    }
+
+    /**
+     * @return El mejor tiempo de reaccion de la partida, en nanosegundos.
+     */
+    public long getBestReactionNanos()
+    {
+        return stats.getBestReactionNanos();
+    }
+
+    /**
+     * @return {@code true} si la partida ya termino.
+     */
+    public boolean isFinished()
+    {
+        return finished;
+    }
+
+    /**
+     * @return {@code true} si la partida termino con una victoria.
+     */
+    public boolean isWon()
+    {
+        return won;
+    }
+
+    /**
+     * @return {@code true} si la partida se retomo de una instantanea; su repeticion no comienza en el nivel 1 y no se puede reproducir.
+     */
+    public boolean isResumed()
+    {
+        return resumed;
+    }
+}
@@ -0,0 +1,184 @@
+package example.speedw.models;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Resultado de una partida terminada, tal como se guarda en el historial.
+ * <p>
+ * Es un valor inmutable; el {@link ResultsIndex} guarda estos mismos datos en
+ * arreglos primitivos y solo crea objetos de esta clase para las consultas.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class GameResult
+{
+    /**
+     * Formato de la fecha en la descripcion de una partida.
+     */
+    private static final DateTimeFormatter DATE_FORMAT =
+            DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm").withZone(ZoneId.systemDefault());
+
+    /**
+     * Instante en que termino la partida, en milisegundos desde la epoca.
+     */
+    private final long timestampMillis;
+
+    /**
+     * Nivel alcanzado.
+     */
+    private final int level;
+
+    /**
+     * Indica si la partida termino con una victoria.
+     */
+    private final boolean won;
+
+    /**
+     * Numero de respuestas correctas.
+     */
+    private final int correctCount;
+
+    /**
+     * Numero de respuestas incorrectas o vencidas.
+     */
+    private final int missCount;
+
+    /**
+     * Total de caracteres escritos correctamente.
+     */
+    private final long totalChars;
+
+    /**
+     * Milisegundos entre el inicio de la partida y la ultima respuesta correcta.
+     */
+    private final long elapsedMillis;
+
+    /**
+     * Mejor tiempo de reaccion, en microsegundos.
+     */
+    private final long bestReactionMicros;
+
+    /**
+     * @param timestampMillis    Instante en que termino la partida.
+     * @param level              Nivel alcanzado.
+     * @param won                Si la partida termino con una victoria.
+     * @param correctCount       Numero de respuestas correctas.
+     * @param missCount          Numero de respuestas incorrectas o vencidas.
+     * @param totalChars         Total de caracteres escritos correctamente.
+     * @param elapsedMillis      Duracion hasta la ultima respuesta correcta.
+     * @param bestReactionMicros Mejor tiempo de reaccion, en microsegundos.
+     */
+    public GameResult(long timestampMillis, int level, boolean won, int correctCount, int missCount,
+                      long totalChars, long elapsedMillis, long bestReactionMicros)
+    {
+        this.timestampMillis = timestampMillis;
+        this.level = level;
+        this.won = won;
+        this.correctCount = correctCount;
+        this.missCount = missCount;
+        this.totalChars = totalChars;
+        this.elapsedMillis = elapsedMillis;
+        this.bestReactionMicros = bestReactionMicros;
+    }
+
+    /**
+     * Crea el resultado de una partida a partir de sus estadisticas.
+     *
+     * @param stats           Las estadisticas de la partida terminada.
+     * @param won             Si la partida termino con una victoria.
+     * @param timestampMillis Instante en que termino la partida.
+     * @return El resultado de la partida.
+     */
+    public static GameResult of(SessionStats stats, boolean won, long timestampMillis)
+    {
+        return new GameResult(timestampMillis, stats.getLevelReached(), won, stats.getCorrectCount(),
+                stats.getMissCount(), stats.getTotalChars(), stats.getElapsedNanos() / 1_000_000,
+                stats.getBestReactionNanos() / 1_000);
+    }
+
+    /**
+     * @return Instante en que termino la partida, en milisegundos desde la epoca.
+     */
+    public long getTimestampMillis()
+    {
+        return timestampMillis;
+    }
+
+    /**
+     * @return Nivel alcanzado.
+     */
+    public int getLevel()
+    {
+        return level;
+    }
+
+    /**
+     * @return {@code true} si la partida termino con una victoria.
+     */
+    public boolean isWon()
+    {
+        return won;
+    }
+
+    /**
+     * @return Numero de respuestas correctas.
+     */
+    public int getCorrectCount()
+    {
+        return correctCount;
+    }
+
+    /**
+     * @return Numero de respuestas incorrectas o vencidas.
+     */
+    public int getMissCount()
+    {
+        return missCount;
+    }
+
+    /**
+     * @return Total de caracteres escritos correctamente.
+     */
+    public long getTotalChars()
+    {
+        return totalChars;
+    }
+
+    /**
+     * @return Milisegundos entre el inicio de la partida y la ultima respuesta correcta.
+     */
+    public long getElapsedMillis()
+    {
+        return elapsedMillis;
+    }
+
+    /**
+     * @return Mejor tiempo de reaccion, en microsegundos.
+     */
+    public long getBestReactionMicros()
+    {
+        return bestReactionMicros;
+    }
+
+    /**
+     * @return Caracteres correctos por minuto, redondeados.
+     */
+    public int getCharsPerMinute()
+    {
+        return elapsedMillis <= 0 ? 0 : (int) (totalChars * 60_000 / elapsedMillis);
+    }
+
+    /**
+     * @param language El idioma de la interfaz.
+     * @return Una linea con el nivel (o la victoria), los caracteres por minuto y la fecha.
+     */
+    public String describe(Language language)
+    {
+        return (won ? language.message("result.won") : language.format("result.level", level)) + " | "
+                + getCharsPerMinute() + " cpm | " + DATE_FORMAT.format(Instant.ofEpochMilli(timestampMillis));
+    }
+}
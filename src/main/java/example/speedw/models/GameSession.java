@@ -0,0 +1,610 @@
+package example.speedw.models;
+
+import example.speedw.diagnostics.GameMetrics;
+
+import java.io.IOException;
+import java.lang.System.Logger.Level;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Sesion de juego: todo lo que rodea a una partida del {@link GameEngine} fuera de la interfaz.
+ * <p>
+ * Reparte cada evento del jugador al motor, al {@link ReplayRecorder}, a la
+ * {@link KeystrokeTelemetry} y a las {@link GameMetrics}; guarda una
+ * {@link GameSnapshot} en cada cambio de nivel y al suspender la partida; lleva
+ * el {@link GhostRun} de la mejor partida; y al terminar agrega la partida al
+ * historial, guarda su repeticion y exporta la telemetria. El controlador de
+ * la vista solo traduce la entrada a estas llamadas y dibuja el estado.
+ * <p>
+ * Todos los metodos se llaman desde un mismo hilo (el de JavaFX); lo que
+ * termina en segundo plano vuelve a ese hilo por el {@link Executor} indicado.
+ * Sin historial ({@link #attach(ResultsLog, Path)}) la sesion no escribe
+ * ningun archivo.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class GameSession
+{
+    /**
+     * Registro de los errores de esta clase.
+     */
+    private static final System.Logger LOG = System.getLogger(GameSession.class.getName());
+
+    /**
+     * Motor con las reglas del juego.
+     */
+    private final GameEngine engine;
+
+    /**
+     * Hilo al que vuelven los resultados de las tareas de fondo.
+     */
+    private final Executor uiThread;
+
+    /**
+     * Telemetria de las teclas de la partida, con las palabras por minuto en vivo.
+     */
+    private final KeystrokeTelemetry telemetry = new KeystrokeTelemetry();
+
+    /**
+     * Grabador de la partida actual, para poder reproducirla y verificarla.
+     */
+    private final ReplayRecorder recorder = new ReplayRecorder();
+
+    /**
+     * Generador de las semillas de cada partida.
+     */
+    private final SplittableRandom seeds = new SplittableRandom();
+
+    /**
+     * Metricas de JMX y eventos de JFR de la aplicacion.
+     */
+    private final GameMetrics metrics = GameMetrics.shared();
+
+    /**
+     * Instantanea de la partida, capturada en cada cambio de nivel y al suspenderla; se reutiliza.
+     */
+    private final GameSnapshot snapshot = new GameSnapshot();
+
+    /**
+     * Partida suspendida que se retoma en la siguiente sesion, o {@code null} si la siguiente comienza de cero.
+     */
+    private GameSnapshot suspended;
+
+    /**
+     * Historial de partidas, o {@code null} si la sesion no guarda nada.
+     */
+    private ResultsLog results;
+
+    /**
+     * Archivo de la instantanea de la partida en curso.
+     */
+    private Path snapshotFile;
+
+    /**
+     * Indica si se quiere ver el fantasma de la mejor partida.
+     */
+    private boolean ghostEnabled;
+
+    /**
+     * Fantasma de la mejor partida del historial, o {@code null} si no se muestra.
+     */
+    private GhostRun ghost;
+
+    /**
+     * Crea una sesion con un motor nuevo.
+     *
+     * @param uiThread El hilo al que vuelven los resultados de fondo, por ejemplo {@code Platform::runLater}.
+     */
+    public GameSession(Executor uiThread)
+    {
+        this(new GameEngine(), uiThread);
+    }
+
+    /**
+     * Crea una sesion sobre un motor.
+     *
+     * @param engine   El motor.
+     * @param uiThread El hilo al que vuelven los resultados de fondo.
+     */
+    public GameSession(GameEngine engine, Executor uiThread)
+    {
+        this.engine = engine;
+        this.uiThread = uiThread;
+    }
+
+    /**
+     * Conecta la sesion al historial, junto al que se guardan las repeticiones, la
+     * telemetria y el fantasma, y al archivo de la instantanea.
+     *
+     * @param results      El historial de partidas.
+     * @param snapshotFile El archivo de la instantanea.
+     */
+    public void attach(ResultsLog results, Path snapshotFile)
+    {
+        this.results = results;
+        this.snapshotFile = snapshotFile;
+    }
+
+    /**
+     * Comienza una partida, o retoma la suspendida si la hay.
+     *
+     * @param now  El instante en que comienza.
+     * @param mode El modo de comparacion de una partida nueva.
+     * @return {@code true} si se retomo una partida suspendida.
+     */
+    public boolean start(long now, ComparisonMode mode)
+    {
+        if (suspended != null && resume(now))
+        {
+            return true;
+        }
+        restart(now, mode);
+        return false;
+    }
+
+    /**
+     * Comienza una partida nueva con una semilla nueva, aunque haya una suspendida.
+     *
+     * @param now  El instante en que comienza.
+     * @param mode El modo de comparacion.
+     */
+    public void restart(long now, ComparisonMode mode)
+    {
+        suspended = null;
+        engine.setComparisonMode(mode);
+        engine.startGame(now, seeds.nextLong());
+        startRecording(now);
+        saveSnapshot(now);
+    }
+
+    /**
+     * Deja una partida guardada para retomarla en el siguiente {@link #start(long, ComparisonMode)}.
+     *
+     * @param saved La instantanea de la partida.
+     */
+    public void resumeFrom(GameSnapshot saved)
+    {
+        suspended = saved;
+    }
+
+    /**
+     * Suspende la partida en curso y guarda una instantanea con el tiempo que le
+     * queda, para retomarla en la siguiente sesion o al volver a abrir la aplicacion.
+     * <p>
+     * No hace nada si no hay una partida en curso o si ya estaba suspendida.
+     *
+     * @param now El instante de la suspension.
+     * @return Una tarea que termina cuando la instantanea esta escrita.
+     */
+    public CompletableFuture<Path> suspend(long now)
+    {
+        if (results == null || suspended != null || engine.getActualPhrase() == null || engine.isFinished())
+        {
+            return CompletableFuture.completedFuture(null);
+        }
+        stopGhost();
+        suspended = snapshot;
+        return saveSnapshot(now);
+    }
+
+    /**
+     * Consulta el reloj del nivel y registra el aviso en las metricas.
+     * <p>
+     * Si devuelve {@link ClockEvent#EXPIRED}, quien llama debe invocar {@link #expire(long)}.
+     *
+     * @param now El instante actual.
+     * @return El evento del reloj.
+     */
+    public ClockEvent poll(long now)
+    {
+        ClockEvent event = engine.poll(now);
+        if (event != ClockEvent.NONE)
+        {
+            metrics.timerTick(event, engine.getClock().getLastLatenessNanos());
+        }
+        return event;
+    }
+
+    /**
+     * Agrega una tecla al final de la respuesta.
+     *
+     * @param now El instante de la tecla.
+     * @param c   El caracter.
+     * @return {@code true} si con esta tecla la respuesta quedo completa y correcta.
+     */
+    public boolean typeChar(long now, char c)
+    {
+        boolean completed = engine.typeChar(c);
+        recorder.append(now, c);
+        TypingValidator validator = engine.getValidator();
+        keystroke(now, c, validator.getCorrectPrefix() == validator.getTypedLength()
+                ? KeystrokeTelemetry.KIND_CORRECT : KeystrokeTelemetry.KIND_ERROR);
+        return completed;
+    }
+
+    /**
+     * Borra el ultimo caracter de la respuesta.
+     *
+     * @param now El instante de la tecla.
+     */
+    public void deleteChar(long now)
+    {
+        engine.deleteChar();
+        recorder.delete(now);
+        keystroke(now, (char) 0, KeystrokeTelemetry.KIND_DELETE);
+    }
+
+    /**
+     * Reemplaza toda la respuesta, por ejemplo al pegar o editar en medio.
+     *
+     * @param now  El instante del cambio.
+     * @param text El nuevo texto de la respuesta.
+     * @return {@code true} si la respuesta quedo completa y correcta.
+     */
+    public boolean setInput(long now, CharSequence text)
+    {
+        engine.setInput(text);
+        recorder.set(now, text);
+        keystroke(now, (char) 0, KeystrokeTelemetry.KIND_REPLACE);
+        return engine.getValidator().isComplete();
+    }
+
+    /**
+     * Vacia la respuesta si tenia algo.
+     *
+     * @param now El instante del cambio.
+     */
+    public void clearInput(long now)
+    {
+        if (!engine.getValidator().isEmpty())
+        {
+            recorder.clear(now);
+            engine.clearInput();
+        }
+    }
+
+    /**
+     * Envia la respuesta y la registra en la telemetria, la repeticion y las metricas.
+     * <p>
+     * La respuesta queda vacia despues del envio. Si la respuesta sube de nivel, se graba el nivel nuevo y se guarda la
+     * instantanea; si termina la partida, se guarda todo con {@link #finish()}.
+     *
+     * @param at    El instante del envio.
+     * @param start El instante desde el que se mide la validacion.
+     * @return El resultado de la validacion.
+     */
+    public ValidationResult submit(long at, long start)
+    {
+        telemetry.record(at, (char) 0, KeystrokeTelemetry.KIND_SUBMIT);
+        recorder.submit(at);
+        ValidationResult result = engine.submit(at);
+        metrics.validation(start, result, engine.getLevel());
+        clearInput(System.nanoTime());
+        afterValidation(result);
+        return result;
+    }
+
+    /**
+     * Hace la ultima validacion cuando el tiempo del nivel se agota y vacia la respuesta.
+     * <p>
+     * El instante del pulso de la interfaz puede ser anterior a la ultima tecla
+     * atendida; en ese caso la validacion se hace en el instante de esa tecla,
+     * tanto en el motor como en la repeticion, para que la repeticion nunca
+     * retroceda en el tiempo y se reproduzca igual.
+     *
+     * @param now El instante en que se agoto el tiempo.
+     * @return El resultado de la validacion.
+     */
+    public ValidationResult expire(long now)
+    {
+        now = Math.max(now, recorder.getLastNanos());
+        recorder.expire(now);
+        ValidationResult result = engine.finalValidation(now);
+        metrics.validation(now, result, engine.getLevel());
+        clearInput(System.nanoTime());
+        afterValidation(result);
+        return result;
+    }
+
+    /**
+     * Posicion del fantasma en la frase actual, si lo hay.
+     *
+     * @param now El instante del pulso.
+     * @return La posicion, o -1 si no se muestra.
+     */
+    public int ghostPosition(long now)
+    {
+        if (ghost == null)
+        {
+            return -1;
+        }
+        return ghost.position(engine.getLevel(), now - engine.getLevelStartNanos(), engine.getActualPhrase().length());
+    }
+
+    /**
+     * Muestra u oculta el fantasma de la mejor partida del historial.
+     *
+     * @param enabled {@code true} para mostrarlo desde ahora.
+     */
+    public void setGhostEnabled(boolean enabled)
+    {
+        ghostEnabled = enabled;
+        if (enabled && !engine.isFinished() && suspended == null)
+        {
+            startGhost();
+        }
+        else if (!enabled)
+        {
+            stopGhost();
+        }
+    }
+
+    /**
+     * Deja de mostrar el fantasma y libera su hilo de lectura.
+     */
+    public void stopGhost()
+    {
+        if (ghost != null)
+        {
+            ghost.close();
+            ghost = null;
+        }
+    }
+
+    /**
+     * @param now El instante actual.
+     * @return Las palabras por minuto de los ultimos segundos.
+     */
+    public double getLiveWpm(long now)
+    {
+        return telemetry.getLiveWpm(now);
+    }
+
+    /**
+     * @return El motor de la partida.
+     */
+    public GameEngine getEngine()
+    {
+        return engine;
+    }
+
+    /**
+     * @return La telemetria de teclas de la partida.
+     */
+    public KeystrokeTelemetry getTelemetry()
+    {
+        return telemetry;
+    }
+
+    /**
+     * Registra un cambio de la respuesta en la telemetria y las metricas.
+     *
+     * @param now  El instante del cambio.
+     * @param c    El caracter, o 0 si no es una tecla.
+     * @param kind El tipo de cambio.
+     */
+    private void keystroke(long now, char c, byte kind)
+    {
+        telemetry.record(now, c, kind);
+        TypingValidator validator = engine.getValidator();
+        metrics.keystroke(now, kind, validator.getTypedLength(), validator.getCorrectPrefix());
+    }
+
+    /**
+     * Graba el nivel nuevo despues de subir de nivel, o guarda la partida si termino.
+     *
+     * @param result El resultado de la validacion.
+     */
+    private void afterValidation(ValidationResult result)
+    {
+        switch (result)
+        {
+            case CORRECT:
+            case CORRECT_LAST_SECOND:
+                metrics.levelUp(engine.getLevel(), engine.getLevelTime(), result == ValidationResult.CORRECT_LAST_SECOND);
+                metrics.phraseShown(engine.getLevel(), engine.getActualPhrase().length(), engine.getLevelTime());
+                recorder.level(engine.getLevelStartNanos(), engine.getLevel(), engine.getActualPhrase().length());
+                saveSnapshot(System.nanoTime());
+                break;
+            case WON:
+            case LOST:
+                finish();
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Retoma la partida suspendida en el mismo punto del reloj en que quedo.
+     * <p>
+     * La partida retomada se sigue grabando para el fantasma y la telemetria,
+     * pero su repeticion no se guarda, porque no comienza en el nivel 1.
+     *
+     * @param now El instante en que se retoma.
+     * @return {@code true} si se retomo; {@code false} si la instantanea no era valida y se descarto.
+     */
+    private boolean resume(long now)
+    {
+        GameSnapshot saved = suspended;
+        suspended = null;
+        try
+        {
+            saved.restore(engine, now);
+        }
+        catch (IOException e)
+        {
+            LOG.log(Level.WARNING, "No se pudo retomar la partida guardada; se comienza una nueva.", e);
+            deleteSnapshot();
+            return false;
+        }
+        startRecording(now);
+        return true;
+    }
+
+    /**
+     * Empieza a grabar la partida del motor desde su nivel actual.
+     *
+     * @param now El instante en que comienza la grabacion.
+     */
+    private void startRecording(long now)
+    {
+        // Una partida retomada empezo su nivel antes de ahora; la grabacion empieza con el nivel.
+        long levelStart = Math.min(now, engine.getLevelStartNanos());
+        recorder.begin(engine.getSeed(), engine.getComparisonMode(), engine.getPack(), levelStart);
+        recorder.level(levelStart, engine.getLevel(), engine.getActualPhrase().length());
+        telemetry.reset(now);
+        metrics.phraseShown(engine.getLevel(), engine.getActualPhrase().length(), engine.getLevelTime());
+        startGhost();
+    }
+
+    /**
+     * Guarda la partida terminada: la agrega al historial, guarda su repeticion
+     * (si no se retomo de una instantanea), exporta la telemetria y borra la
+     * instantanea. Todo se escribe en segundo plano.
+     */
+    private void finish()
+    {
+        stopGhost();
+        recorder.end(System.nanoTime(), engine.getLevel(), engine.isWon(), engine.generateRecord());
+        if (results == null)
+        {
+            return;
+        }
+        long millis = System.currentTimeMillis();
+        results.append(GameResult.of(engine.getStats(), engine.isWon(), millis), engine.getStats());
+        if (!engine.isResumed())
+        {
+            saveReplay(millis);
+        }
+        exportTelemetry(millis);
+        deleteSnapshot();
+    }
+
+    /**
+     * Captura la partida en curso y escribe su instantanea en segundo plano.
+     * <p>
+     * En el hilo que llama solo se codifica el estado en el buffer de
+     * {@link #snapshot} y se copian sus bytes.
+     *
+     * @param now El instante de la captura.
+     * @return Una tarea que termina cuando la instantanea esta escrita.
+     */
+    private CompletableFuture<Path> saveSnapshot(long now)
+    {
+        if (results == null)
+        {
+            return CompletableFuture.completedFuture(null);
+        }
+        snapshot.capture(engine, now);
+        return snapshot.writeAsync(snapshotFile).whenComplete((file, error) ->
+        {
+            if (error != null)
+            {
+                LOG.log(Level.ERROR, "No se pudo guardar la instantanea de la partida.", error);
+            }
+        });
+    }
+
+    /**
+     * Borra la instantanea guardada, para que una partida terminada no se vuelva a retomar.
+     */
+    private void deleteSnapshot()
+    {
+        if (results == null)
+        {
+            return;
+        }
+        GameSnapshot.deleteAsync(snapshotFile).whenComplete((ignored, error) ->
+        {
+            if (error != null)
+            {
+                LOG.log(Level.ERROR, "No se pudo borrar la instantanea de la partida.", error);
+            }
+        });
+    }
+
+    /**
+     * Busca en segundo plano la mejor partida del historial y, si el fantasma
+     * esta activado, la usa como fantasma de esta partida.
+     * <p>
+     * El fantasma se lee por partes en su propio hilo; en el hilo de la
+     * interfaz solo se consulta su posicion en cada pulso.
+     */
+    private void startGhost()
+    {
+        stopGhost();
+        if (results == null || !ghostEnabled)
+        {
+            return;
+        }
+        long seed = engine.getSeed();
+        GhostRun.startBestAsync(results.getIndex(), replaysDir()).whenComplete((run, error) ->
+                uiThread.execute(() ->
+                {
+                    if (error != null)
+                    {
+                        LOG.log(Level.WARNING, "No se pudo cargar el fantasma de la mejor partida.", error);
+                        return;
+                    }
+                    if (run == null)
+                    {
+                        return;
+                    }
+                    // Si mientras tanto empezo otra partida, se suspendio o se desactivo el fantasma, ya no sirve.
+                    if (ghost != null || engine.getSeed() != seed || engine.isFinished() || suspended != null
+                            || !ghostEnabled)
+                    {
+                        run.close();
+                        return;
+                    }
+                    ghost = run;
+                }));
+    }
+
+    /**
+     * Guarda la repeticion de la partida junto al historial, en la carpeta {@code replays}.
+     *
+     * @param millis El instante en que termino la partida, usado en el nombre del archivo.
+     */
+    private void saveReplay(long millis)
+    {
+        recorder.writeAsync(replaysDir().resolve("replay-" + millis + ReplayRecorder.EXTENSION)).whenComplete((file, error) ->
+        {
+            if (error != null)
+            {
+                LOG.log(Level.ERROR, "No se pudo guardar la repeticion de la partida.", error);
+            }
+        });
+    }
+
+    /**
+     * Exporta la telemetria de teclas de la partida junto al historial, en la carpeta {@code telemetry}.
+     *
+     * @param millis El instante en que termino la partida, usado en el nombre del archivo.
+     */
+    private void exportTelemetry(long millis)
+    {
+        Path dir = results.getFile().toAbsolutePath().resolveSibling("telemetry");
+        telemetry.exportAsync(dir.resolve("sesion-" + millis + ".csv")).whenComplete((file, error) ->
+        {
+            if (error != null)
+            {
+                LOG.log(Level.ERROR, "No se pudo exportar la telemetria de teclas.", error);
+            }
+        });
+    }
+
+    /**
+     * @return La carpeta de las repeticiones, junto al historial.
+     */
+    private Path replaysDir()
+    {
+        return results.getFile().toAbsolutePath().resolveSibling("replays");
+    }
+}
@@ -0,0 +1,288 @@
+package example.speedw.models;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Instantanea binaria de una partida en curso, para retomarla despues de volver al menu o de cerrar el juego.
+ * <p>
+ * La instantanea guarda todo el estado del {@link GameEngine} que no se puede
+ * reconstruir: el nivel, el tiempo y el handicap, los milisegundos que le
+ * quedan al reloj, la frase actual y las estadisticas con las frases correctas.
+ * Se codifica en un buffer que se reutiliza, con {@link Varint} como las
+ * repeticiones, asi que capturarla en el hilo de JavaFX cuesta microsegundos
+ * aun en sesiones largas. El archivo se escribe en un hilo de fondo en un
+ * temporal que luego se mueve, de modo que nunca queda a medias.
+ * <p>
+ * Formato: {@link #MAGIC} (4 bytes), {@link #VERSION} (1 byte), el paquete de
+ * frases de la partida (la etiqueta de su idioma, con su longitud en 1 byte, y
+ * el hash de sus frases, {@link PhrasePack#getHash()}, en 8 bytes) y el estado
+ * escrito por {@link GameEngine#writeState(ByteBuffer, long)}. Al retomarla, la
+ * partida sigue con ese mismo paquete aunque entre tanto se haya publicado otro;
+ * si ya no se encuentra, la instantanea no se puede retomar.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class GameSnapshot
+{
+    /**
+     * Numero magico al inicio de toda instantanea ("SPWS").
+     */
+    public static final int MAGIC = 0x53505753;
+
+    /**
+     * Version del formato. La version 1 no guardaba el paquete de frases.
+     */
+    public static final byte VERSION = 2;
+
+    /**
+     * Propiedad del sistema con la ruta de la instantanea.
+     */
+    public static final String SNAPSHOT_PROPERTY = "speedw.snapshot";
+
+    /**
+     * Extension de los archivos de instantanea.
+     */
+    public static final String EXTENSION = ".spws";
+
+    /**
+     * Bytes maximos de la cabecera, con el paquete de frases.
+     */
+    private static final int HEADER_BYTES = 14 + ReplayRecorder.MAX_LANGUAGE_CHARS;
+
+    /**
+     * Hilo de fondo compartido para leer, escribir y borrar las instantaneas, en orden.
+     */
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(r ->
+    {
+        Thread thread = new Thread(r, "speedw-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Buffer con la instantanea; se reutiliza entre capturas.
+     */
+    private ByteBuffer buffer = ByteBuffer.allocate(1024);
+
+    /**
+     * Crea una instantanea vacia, lista para {@link #capture(GameEngine, long)}.
+     */
+    public GameSnapshot()
+    {
+    }
+
+    /**
+     * Crea una instantanea con bytes ya escritos, por ejemplo leidos de un archivo.
+     *
+     * @param bytes Los bytes de la instantanea.
+     */
+    public GameSnapshot(byte[] bytes)
+    {
+        buffer = ByteBuffer.allocate(Math.max(bytes.length, 1024));
+        buffer.put(bytes);
+    }
+
+    /**
+     * Captura el estado de la partida en curso, reemplazando el anterior.
+     *
+     * @param engine   El motor con la partida.
+     * @param nowNanos El instante de la captura; el reloj guarda lo que le queda desde aqui.
+     * @throws IllegalArgumentException Si la etiqueta del idioma del paquete de la partida es demasiado larga.
+     */
+    public void capture(GameEngine engine, long nowNanos)
+    {
+        int needed = HEADER_BYTES + engine.stateBytes();
+        if (buffer.capacity() < needed)
+        {
+            buffer = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, needed));
+        }
+        PhrasePack pack = engine.getPack();
+        byte[] language = pack.getLanguage().toLanguageTag().getBytes(StandardCharsets.US_ASCII);
+        if (language.length > ReplayRecorder.MAX_LANGUAGE_CHARS)
+        {
+            throw new IllegalArgumentException("Etiqueta de idioma demasiado larga: " + pack.getLanguage());
+        }
+        buffer.clear();
+        buffer.putInt(MAGIC).put(VERSION);
+        buffer.put((byte) language.length).put(language).putLong(pack.getHash());
+        engine.writeState(buffer, nowNanos);
+    }
+
+    /**
+     * Retoma en el motor la partida de esta instantanea.
+     *
+     * @param engine   El motor.
+     * @param nowNanos El instante en que se retoma; el reloj sigue desde aqui.
+     * @throws IOException Si la instantanea no es valida, es de otra version o su paquete de frases es desconocido.
+     */
+    public void restore(GameEngine engine, long nowNanos) throws IOException
+    {
+        restore(engine, nowNanos, PhrasePackWatcher.defaultDirectory());
+    }
+
+    /**
+     * Retoma en el motor la partida de esta instantanea, buscando su paquete de
+     * frases con {@link PhrasePack#find(Locale, long, Path)}.
+     *
+     * @param engine   El motor.
+     * @param nowNanos El instante en que se retoma; el reloj sigue desde aqui.
+     * @param packs    La carpeta de paquetes donde buscar el paquete, o {@code null}.
+     * @throws IOException Si la instantanea no es valida, es de otra version o su paquete de frases es desconocido.
+     */
+    public void restore(GameEngine engine, long nowNanos, Path packs) throws IOException
+    {
+        ByteBuffer in = buffer.duplicate().flip();
+        try
+        {
+            if (in.getInt() != MAGIC)
+            {
+                throw new IOException("No es una instantanea de SpeedW.");
+            }
+            byte version = in.get();
+            if (version != VERSION)
+            {
+                throw new IOException("Version de instantanea no soportada: " + version);
+            }
+            int length = in.get();
+            if (length < 1 || length > ReplayRecorder.MAX_LANGUAGE_CHARS)
+            {
+                throw new IOException("Instantanea danada: idioma de " + length + " caracteres.");
+            }
+            byte[] tag = new byte[length];
+            in.get(tag);
+            Locale language = Locale.forLanguageTag(new String(tag, StandardCharsets.US_ASCII));
+            long hash = in.getLong();
+            PhrasePack pack = engine.getPack();
+            if (!pack.getLanguage().equals(language) || pack.getHash() != hash)
+            {
+                pack = PhrasePack.find(language, hash, packs);
+            }
+            engine.restoreState(in, pack, nowNanos);
+        }
+        catch (BufferUnderflowException | IllegalArgumentException e)
+        {
+            throw new IOException("Instantanea danada: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return Una copia de los bytes capturados.
+     */
+    public byte[] toByteArray()
+    {
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    /**
+     * @return Los bytes capturados.
+     */
+    public int size()
+    {
+        return buffer.position();
+    }
+
+    /**
+     * Escribe la instantanea en un archivo en un hilo de fondo.
+     * <p>
+     * En el hilo que llama solo se copian los bytes. El archivo se escribe con
+     * {@link DurableFiles#write(Path, byte[])}, de modo que nunca queda a medias.
+     *
+     * @param file La ruta del archivo.
+     * @return La ruta del archivo, cuando termine de escribirse.
+     */
+    public CompletableFuture<Path> writeAsync(Path file)
+    {
+        byte[] bytes = toByteArray();
+        return CompletableFuture.supplyAsync(() ->
+        {
+            try
+            {
+                DurableFiles.write(file, bytes);
+                return file;
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }, WRITER);
+    }
+
+    /**
+     * Lee una instantanea en un hilo de fondo, despues de las escrituras pendientes.
+     *
+     * @param file La ruta del archivo.
+     * @return La instantanea, o {@code null} si no hay ninguna guardada.
+     */
+    public static CompletableFuture<GameSnapshot> readAsync(Path file)
+    {
+        return CompletableFuture.supplyAsync(() ->
+        {
+            try
+            {
+                return new GameSnapshot(Files.readAllBytes(file));
+            }
+            catch (NoSuchFileException e)
+            {
+                return null;
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }, WRITER);
+    }
+
+    /**
+     * Borra una instantanea en un hilo de fondo, despues de las escrituras pendientes.
+     * <p>
+     * Se llama cuando la partida termina, para no retomarla otra vez.
+     *
+     * @param file La ruta del archivo.
+     * @return Una tarea que termina cuando el archivo ya no existe.
+     */
+    public static CompletableFuture<Void> deleteAsync(Path file)
+    {
+        return CompletableFuture.runAsync(() ->
+        {
+            try
+            {
+                Files.deleteIfExists(file);
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }, WRITER);
+    }
+
+    /**
+     * Ruta por defecto de la instantanea: la de la propiedad {@value #SNAPSHOT_PROPERTY},
+     * o {@code partida.spws} junto al historial.
+     *
+     * @return La ruta de la instantanea.
+     */
+    public static Path defaultPath()
+    {
+        String path = System.getProperty(SNAPSHOT_PROPERTY);
+        if (path != null && !path.isBlank())
+        {
+            return Paths.get(path);
+        }
+        return ResultsLog.defaultPath().toAbsolutePath().resolveSibling("partida" + EXTENSION);
+    }
+}
@@ -0,0 +1,166 @@
+package example.speedw.models;
+
+import java.util.Arrays;
+
+/**
+ * Texto editable guardado en un buffer con un hueco en la posicion del cursor.
+ * <p>
+ * Los caracteres antes del cursor estan al inicio del arreglo y los de despues
+ * al final; el hueco entre ellos es el espacio libre. Escribir o borrar en el
+ * cursor solo mueve el borde del hueco, en O(1) sin importar la longitud del
+ * texto. Mover el cursor copia los caracteres que quedan entre la posicion
+ * vieja y la nueva, asi que editar cerca de donde se estaba escribiendo tambien
+ * es barato. El arreglo duplica su tamaño cuando el hueco se acaba.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class GapBuffer implements CharSequence
+{
+    /**
+     * Caracteres del texto, con el hueco en medio.
+     */
+    private char[] buffer;
+
+    /**
+     * Inicio del hueco, que es tambien la posicion del cursor.
+     */
+    private int gapStart;
+
+    /**
+     * Fin del hueco: el primer caracter despues del cursor.
+     */
+    private int gapEnd;
+
+    /**
+     * Crea un buffer vacio con una capacidad inicial.
+     *
+     * @param capacity Los caracteres que caben sin agrandar el arreglo.
+     */
+    public GapBuffer(int capacity)
+    {
+        buffer = new char[Math.max(16, capacity)];
+        gapEnd = buffer.length;
+    }
+
+    /**
+     * Inserta un caracter en el cursor y avanza el cursor.
+     *
+     * @param c El caracter.
+     */
+    public void insert(char c)
+    {
+        if (gapStart == gapEnd)
+        {
+            grow();
+        }
+        buffer[gapStart++] = c;
+    }
+
+    /**
+     * Borra el caracter antes del cursor.
+     *
+     * @return El caracter borrado, o 0 si el cursor esta al inicio.
+     */
+    public char deleteBefore()
+    {
+        if (gapStart == 0)
+        {
+            return 0;
+        }
+        return buffer[--gapStart];
+    }
+
+    /**
+     * Mueve el cursor, copiando los caracteres que quedan entre las dos posiciones.
+     *
+     * @param position La nueva posicion, entre 0 y {@link #length()}.
+     */
+    public void moveCaret(int position)
+    {
+        if (position < 0 || position > length())
+        {
+            throw new IndexOutOfBoundsException(position);
+        }
+        if (position < gapStart)
+        {
+            int count = gapStart - position;
+            System.arraycopy(buffer, position, buffer, gapEnd - count, count);
+            gapStart -= count;
+            gapEnd -= count;
+        }
+        else if (position > gapStart)
+        {
+            int count = position - gapStart;
+            System.arraycopy(buffer, gapEnd, buffer, gapStart, count);
+            gapStart += count;
+            gapEnd += count;
+        }
+    }
+
+    /**
+     * Duplica el arreglo y deja los caracteres despues del cursor al final.
+     */
+    private void grow()
+    {
+        int after = buffer.length - gapEnd;
+        char[] larger = Arrays.copyOf(buffer, buffer.length * 2);
+        System.arraycopy(buffer, gapEnd, larger, larger.length - after, after);
+        gapEnd = larger.length - after;
+        buffer = larger;
+    }
+
+    /**
+     * Vacia el texto, conservando el arreglo.
+     */
+    public void clear()
+    {
+        gapStart = 0;
+        gapEnd = buffer.length;
+    }
+
+    /**
+     * @return La posicion del cursor.
+     */
+    public int getCaret()
+    {
+        return gapStart;
+    }
+
+    @Override
+    public int length()
+    {
+        return buffer.length - (gapEnd - gapStart);
+    }
+
+    @Override
+    public char charAt(int index)
+    {
+        if (index < 0 || index >= length())
+        {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return index < gapStart ? buffer[index] : buffer[index + gapEnd - gapStart];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end)
+    {
+        return toString().substring(start, end);
+    }
+
+    /**
+     * Copia todo el texto; cuesta O(n).
+     *
+     * @return El texto.
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder text = new StringBuilder(length());
+        text.append(buffer, 0, gapStart);
+        text.append(buffer, gapEnd, buffer.length - gapEnd);
+        return text.toString();
+    }
+}
@@ -0,0 +1,386 @@
+package example.speedw.models;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.System.Logger.Level;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fantasma de una partida anterior: donde iba en cada nivel, al mismo tiempo que el jugador.
+ * <p>
+ * Un hilo de fondo lee la repeticion de la partida por bloques de
+ * {@value #CHUNK_BYTES} bytes ({@link ReplayReader}) y convierte cada evento en
+ * una muestra: el nivel, el tiempo desde que comenzo ese nivel, los caracteres
+ * escritos y la longitud de la frase. Las muestras pasan al hilo de JavaFX por
+ * un anillo de {@value #CAPACITY} casillas con un solo productor y un solo
+ * consumidor, sin candados: cuando el anillo se llena, el hilo de fondo se
+ * detiene hasta que el juego consuma muestras. Asi la memoria no depende del
+ * largo de la partida y el archivo nunca se carga completo.
+ * <p>
+ * El juego consulta al fantasma una vez por pulso con
+ * {@link #position(int, long, int)}; la consulta solo avanza por las muestras
+ * que ya pasaron, sin crear objetos ni esperar al hilo de fondo. El fantasma se
+ * alinea por nivel: en el nivel N muestra donde iba la partida anterior a los
+ * mismos segundos de su propio nivel N, proporcional a la frase del jugador.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class GhostRun implements AutoCloseable
+{
+    /**
+     * Registro de los errores de esta clase.
+     */
+    private static final System.Logger LOG = System.getLogger(GhostRun.class.getName());
+
+    /**
+     * Muestras del anillo; debe ser potencia de dos.
+     */
+    public static final int CAPACITY = 1024;
+
+    /**
+     * Bytes de cada bloque que se lee de la repeticion.
+     */
+    public static final int CHUNK_BYTES = 4096;
+
+    /**
+     * Mejores partidas del historial que se revisan buscando una repeticion con niveles marcados.
+     */
+    public static final int BEST_CANDIDATES = 10;
+
+    /**
+     * Mascara para convertir un contador en una casilla del anillo.
+     */
+    private static final int MASK = CAPACITY - 1;
+
+    /**
+     * Nanosegundos que el hilo de fondo espera con el anillo lleno antes de volver a revisarlo.
+     */
+    private static final long PARK_NANOS = 50_000_000L;
+
+    /**
+     * Hilo de fondo que lee las repeticiones de los fantasmas.
+     */
+    private static final ExecutorService STREAMER = Executors.newSingleThreadExecutor(r ->
+    {
+        Thread thread = new Thread(r, "speedw-ghost");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Archivo de la repeticion.
+     */
+    private final Path file;
+
+    /**
+     * Nivel de cada muestra.
+     */
+    private final int[] levels = new int[CAPACITY];
+
+    /**
+     * Tiempo de cada muestra desde que comenzo su nivel.
+     */
+    private final long[] offsets = new long[CAPACITY];
+
+    /**
+     * Caracteres escritos en cada muestra.
+     */
+    private final int[] typed = new int[CAPACITY];
+
+    /**
+     * Longitud de la frase del nivel de cada muestra.
+     */
+    private final int[] lengths = new int[CAPACITY];
+
+    /**
+     * Muestras escritas por el hilo de fondo; solo el las modifica.
+     */
+    private volatile long head;
+
+    /**
+     * Muestras consumidas por el juego; solo el juego las modifica.
+     */
+    private volatile long tail;
+
+    /**
+     * Indica que ya no hay mas muestras: se termino la repeticion, fallo su lectura o se cerro el fantasma.
+     */
+    private volatile boolean ended;
+
+    /**
+     * Indica que el fantasma se cerro y el hilo de fondo debe terminar.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Hilo de fondo mientras lee la repeticion, para despertarlo cuando se libera espacio.
+     */
+    private volatile Thread producer;
+
+    /**
+     * Nivel de la ultima muestra consumida, o 0 si aun no se consume ninguna.
+     */
+    private int ghostLevel;
+
+    /**
+     * Caracteres escritos en la ultima muestra consumida.
+     */
+    private int ghostTyped;
+
+    /**
+     * Longitud de la frase en la ultima muestra consumida.
+     */
+    private int ghostLength;
+
+    /**
+     * Crea un fantasma sobre una repeticion; no la lee hasta {@link #start()}.
+     *
+     * @param file El archivo de la repeticion, grabado con niveles marcados.
+     */
+    public GhostRun(Path file)
+    {
+        this.file = file;
+    }
+
+    /**
+     * Busca en un hilo de fondo la mejor partida del historial con una repeticion
+     * que marque los niveles, y empieza a leerla.
+     *
+     * @param index      El indice del historial.
+     * @param replaysDir La carpeta de las repeticiones.
+     * @return El fantasma ya leyendo su repeticion, o {@code null} si no hay ninguna partida que sirva.
+     */
+    public static CompletableFuture<GhostRun> startBestAsync(ResultsIndex index, Path replaysDir)
+    {
+        return CompletableFuture.supplyAsync(() ->
+        {
+            try
+            {
+                Path best = findBest(index.top(BEST_CANDIDATES), replaysDir);
+                if (best == null)
+                {
+                    return null;
+                }
+                GhostRun ghost = new GhostRun(best);
+                ghost.start();
+                return ghost;
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }, STREAMER);
+    }
+
+    /**
+     * Elige la primera partida, de la mejor a la peor, cuya repeticion existe y marca los niveles.
+     *
+     * @param best       Las mejores partidas, de la mejor a la peor.
+     * @param replaysDir La carpeta de las repeticiones.
+     * @return El archivo de la repeticion, o {@code null} si ninguna sirve.
+     * @throws IOException Si no se puede leer la cabecera de una repeticion.
+     */
+    private static Path findBest(List<GameResult> best, Path replaysDir) throws IOException
+    {
+        for (GameResult result : best)
+        {
+            Path file = replaysDir.resolve("replay-" + result.getTimestampMillis() + ReplayRecorder.EXTENSION);
+            if (!Files.isRegularFile(file))
+            {
+                continue;
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+            {
+                if (new ReplayReader(channel, 64).getVersion() >= ReplayRecorder.VERSION_LEVELS)
+                {
+                    return file;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Empieza a leer la repeticion en el hilo de fondo de los fantasmas.
+     * <p>
+     * El hilo queda ocupado mientras el fantasma este abierto; cerrar el fantasma
+     * lo libera para el siguiente.
+     */
+    public void start()
+    {
+        STREAMER.execute(this::stream);
+    }
+
+    /**
+     * Devuelve la posicion del fantasma en la frase del jugador. Lo llama el hilo de JavaFX en cada pulso.
+     * <p>
+     * Consume las muestras hasta el instante indicado del nivel. Si el fantasma
+     * ya termino el nivel, esta al final de la frase; si nunca llego a el, o si
+     * sus muestras aun no se leen, no se muestra.
+     *
+     * @param level        El nivel del jugador.
+     * @param levelNanos   El tiempo desde que el jugador comenzo el nivel.
+     * @param phraseLength La longitud de la frase del jugador.
+     * @return La posicion del fantasma, entre 0 y {@code phraseLength}, o -1 si no se muestra.
+     */
+    public int position(int level, long levelNanos, int phraseLength)
+    {
+        long t = tail;
+        long h = head;
+        while (t < h)
+        {
+            int slot = (int) (t & MASK);
+            int sampleLevel = levels[slot];
+            if (sampleLevel > level || sampleLevel == level && offsets[slot] > levelNanos)
+            {
+                break;
+            }
+            ghostLevel = sampleLevel;
+            ghostTyped = typed[slot];
+            ghostLength = lengths[slot];
+            t++;
+        }
+        if (t != tail)
+        {
+            tail = t;
+            Thread waiting = producer;
+            if (waiting != null)
+            {
+                LockSupport.unpark(waiting);
+            }
+        }
+        if (t < h && levels[(int) (t & MASK)] > level)
+        {
+            // La siguiente muestra ya es de otro nivel: el fantasma termino este.
+            return ghostLevel == level ? phraseLength : -1;
+        }
+        if (ghostLevel != level || ghostLength <= 0)
+        {
+            return -1;
+        }
+        return (int) Math.min(phraseLength, (long) ghostTyped * phraseLength / ghostLength);
+    }
+
+    /**
+     * Deja de leer la repeticion y libera el hilo de fondo.
+     */
+    @Override
+    public void close()
+    {
+        closed = true;
+        Thread waiting = producer;
+        if (waiting != null)
+        {
+            LockSupport.unpark(waiting);
+        }
+    }
+
+    /**
+     * @return {@code true} si ya no llegaran mas muestras.
+     */
+    public boolean isEnded()
+    {
+        return ended;
+    }
+
+    /**
+     * @return El archivo de la repeticion.
+     */
+    public Path getFile()
+    {
+        return file;
+    }
+
+    /**
+     * Lee la repeticion y escribe sus muestras en el anillo; corre en el hilo de fondo.
+     */
+    private void stream()
+    {
+        producer = Thread.currentThread();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            ReplayReader reader = new ReplayReader(channel, CHUNK_BYTES);
+            int level = 0;
+            int length = 0;
+            long levelStart = 0;
+            int chars = 0;
+            while (!closed && reader.next())
+            {
+                switch (reader.getType())
+                {
+                    case ReplayRecorder.LEVEL:
+                        level = reader.getLevel();
+                        length = reader.getPhraseLength();
+                        levelStart = reader.getTimeNanos();
+                        chars = 0;
+                        break;
+                    case ReplayRecorder.APPEND:
+                        chars++;
+                        break;
+                    case ReplayRecorder.DELETE:
+                        chars = Math.max(0, chars - 1);
+                        break;
+                    case ReplayRecorder.SET:
+                        chars = reader.getText().length();
+                        break;
+                    case ReplayRecorder.CLEAR:
+                        chars = 0;
+                        break;
+                    default:
+                        continue;
+                }
+                if (level > 0)
+                {
+                    publish(level, reader.getTimeNanos() - levelStart, chars, length);
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            LOG.log(Level.WARNING, "No se pudo leer el fantasma " + file + ".", e);
+        }
+        finally
+        {
+            ended = true;
+            producer = null;
+        }
+    }
+
+    /**
+     * Escribe una muestra en el anillo, esperando a que haya espacio.
+     *
+     * @param level  El nivel.
+     * @param offset El tiempo desde que comenzo el nivel.
+     * @param chars  Los caracteres escritos.
+     * @param length La longitud de la frase del nivel.
+     */
+    private void publish(int level, long offset, int chars, int length)
+    {
+        long h = head;
+        while (h - tail == CAPACITY)
+        {
+            if (closed)
+            {
+                return;
+            }
+            LockSupport.parkNanos(this, PARK_NANOS);
+        }
+        int slot = (int) (h & MASK);
+        levels[slot] = level;
+        offsets[slot] = offset;
+        typed[slot] = chars;
+        lengths[slot] = length;
+        // Escribir head despues de la muestra la publica para el hilo de JavaFX.
+        head = h + 1;
+    }
+}
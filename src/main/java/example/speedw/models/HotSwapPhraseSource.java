@@ -0,0 +1,101 @@
+package example.speedw.models;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Fuente de frases que sigue al paquete en uso ({@link PhrasePack#current()}).
+ * <p>
+ * Al empezar cada partida lee el paquete en uso una sola vez y lo fija hasta la
+ * siguiente: una partida nunca mezcla frases de dos paquetes, aunque se publique
+ * uno nuevo mientras se juega. Una partida retomada vuelve a fijar el paquete con
+ * que se jugo ({@link #resumeGame(PhrasePack)}). Si el paquete cambio, crea un
+ * {@link AdaptivePhraseScheduler} nuevo sobre el; si no, reutiliza el anterior.
+ * <p>
+ * Las repeticiones guardan el paquete fijado ({@link #getPack()}), y el
+ * {@link Replayer} las verifica con ese mismo paquete.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class HotSwapPhraseSource implements IPhraseSource
+{
+    /**
+     * Paquete fijado para la partida actual.
+     */
+    private PhrasePack pack;
+
+    /**
+     * Planificador sobre las frases de {@link #pack}.
+     */
+    private AdaptivePhraseScheduler scheduler;
+
+    /**
+     * Crea la fuente con el paquete en uso.
+     */
+    public HotSwapPhraseSource()
+    {
+        pack = PhrasePack.current();
+        scheduler = new AdaptivePhraseScheduler(pack);
+    }
+
+    /**
+     * Fija el paquete en uso para la partida que empieza.
+     */
+    @Override
+    public void startGame()
+    {
+        PhrasePack latest = PhrasePack.current();
+        if (latest != pack)
+        {
+            pack = latest;
+            scheduler = new AdaptivePhraseScheduler(latest);
+        }
+        scheduler.startGame();
+    }
+
+    /**
+     * Fija el paquete de una partida guardada, aunque ya no sea el paquete en uso.
+     *
+     * @param saved El paquete de la partida guardada.
+     * @return Siempre {@code true}: esta fuente puede usar cualquier paquete.
+     */
+    @Override
+    public boolean resumeGame(PhrasePack saved)
+    {
+        if (saved != pack)
+        {
+            pack = saved;
+            scheduler = new AdaptivePhraseScheduler(saved);
+        }
+        scheduler.startGame();
+        return true;
+    }
+
+    @Override
+    public String nextPhrase(int level, RandomGenerator random)
+    {
+        return scheduler.nextPhrase(level, random);
+    }
+
+    @Override
+    public void recordKey(char expected, boolean error)
+    {
+        scheduler.recordKey(expected, error);
+    }
+
+    @Override
+    public void recordResult(String phrase, boolean correct)
+    {
+        scheduler.recordResult(phrase, correct);
+    }
+
+    /**
+     * @return El paquete fijado para la partida actual.
+     */
+    @Override
+    public PhrasePack getPack()
+    {
+        return pack;
+    }
+}
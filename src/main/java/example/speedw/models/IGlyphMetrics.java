@@ -0,0 +1,38 @@
+package example.speedw.models;
+
+import javafx.scene.text.Font;
+
+/**
+ * Define las medidas de los caracteres de una fuente que necesita un {@link PhraseRenderer}.
+ * <p>
+ * Las medidas se consultan una vez por caracter al acomodar una frase; quien
+ * implemente esta interfaz debe guardarlas para no volver a medir el mismo
+ * caracter.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public interface IGlyphMetrics
+{
+    /**
+     * @return La fuente con la que se dibujan los caracteres.
+     */
+    Font getFont();
+
+    /**
+     * @param c Un caracter.
+     * @return Su avance horizontal, en pixeles.
+     */
+    double advance(char c);
+
+    /**
+     * @return El alto de un renglon, en pixeles.
+     */
+    double getLineHeight();
+
+    /**
+     * @return La distancia del borde superior del renglon a la linea base, en pixeles.
+     */
+    double getAscent();
+}
@@ -0,0 +1,88 @@
+package example.speedw.models;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Define el contrato para cualquier fuente de frases del juego.
+ * <p>
+ * El {@link GameEngine} no conoce de donde provienen las frases; solo le pide
+ * a esta interfaz la siguiente frase para el nivel actual. Esto permite
+ * intercambiar la lista fija de frases por otras fuentes sin tocar las reglas.
+ * <p>
+ * El motor tambien avisa a la fuente cuando comienza una partida, cuando el
+ * jugador escribe cada tecla y cuando responde, para que las fuentes que se
+ * adaptan al jugador aprendan de la partida. Las demas ignoran esos avisos.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public interface IPhraseSource
+{
+    /**
+     * Selecciona la siguiente frase que el jugador debe escribir.
+     *
+     * @param level  El nivel actual del juego.
+     * @param random El generador de numeros aleatorios de la partida.
+     * @return La frase seleccionada.
+     */
+    String nextPhrase(int level, RandomGenerator random);
+
+    /**
+     * Avisa que comienza una partida nueva, antes de pedir la primera frase.
+     */
+    default void startGame()
+    {
+    }
+
+    /**
+     * Avisa que el jugador escribio una tecla mientras su respuesta era correcta.
+     *
+     * @param expected El caracter que esperaba la frase en esa posicion.
+     * @param error    {@code true} si la tecla no coincidio con el caracter esperado.
+     */
+    default void recordKey(char expected, boolean error)
+    {
+    }
+
+    /**
+     * Avisa el resultado de una respuesta del jugador.
+     *
+     * @param phrase  La frase respondida, tal como la devolvio {@link #nextPhrase(int, RandomGenerator)}.
+     * @param correct {@code true} si la respuesta fue correcta.
+     */
+    default void recordResult(String phrase, boolean correct)
+    {
+    }
+
+    /**
+     * Devuelve el paquete de las frases de la partida actual, que las repeticiones
+     * guardan para verificarse con las mismas frases. Las fuentes que no siguen a
+     * los paquetes informan el paquete por defecto ({@link PhrasePack#defaultPack()}).
+     *
+     * @return El paquete de frases de la partida actual.
+     */
+    default PhrasePack getPack()
+    {
+        return PhrasePack.defaultPack();
+    }
+
+    /**
+     * Avisa que se retoma una partida guardada jugada con el paquete indicado, en
+     * lugar de comenzar una nueva. Las fuentes que no siguen a los paquetes solo
+     * pueden retomar partidas de su propio paquete.
+     *
+     * @param pack El paquete de frases de la partida guardada.
+     * @return {@code false} si la fuente no puede dar frases de ese paquete.
+     */
+    default boolean resumeGame(PhrasePack pack)
+    {
+        PhrasePack own = getPack();
+        if (!own.getLanguage().equals(pack.getLanguage()) || own.getHash() != pack.getHash())
+        {
+            return false;
+        }
+        startGame();
+        return true;
+    }
+}
@@ -0,0 +1,476 @@
+package example.speedw.models;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Telemetria de teclas de una sesion de juego.
+ * <p>
+ * Cada tecla se guarda con su instante en nanosegundos en un buffer circular de
+ * tamaño fijo formado por arreglos primitivos paralelos ({@code long} para el
+ * instante, {@code char} para el caracter y {@code byte} para el tipo), por lo
+ * que registrar una tecla son unas pocas escrituras en arreglos, sin objetos ni
+ * conversiones a tipos envoltorio. Cuando el buffer se llena se sobrescriben las
+ * teclas mas antiguas.
+ * <p>
+ * Las metricas se mantienen al registrar cada tecla: las palabras por minuto de
+ * la ventana de los ultimos {@value #WPM_WINDOW_SECONDS} segundos (avanzando el
+ * extremo viejo de la ventana sobre el buffer), y por cada caracter la suma y
+ * el numero de latencias entre teclas y el numero de errores. Al terminar la
+ * sesion los datos pueden exportarse a un archivo CSV en un hilo de fondo.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class KeystrokeTelemetry
+{
+    /**
+     * Tipo de tecla: caracter que extiende la parte correcta de la respuesta.
+     */
+    public static final byte KIND_CORRECT = 0;
+
+    /**
+     * Tipo de tecla: caracter incorrecto.
+     */
+    public static final byte KIND_ERROR = 1;
+
+    /**
+     * Tipo de tecla: borrado del ultimo caracter.
+     */
+    public static final byte KIND_DELETE = 2;
+
+    /**
+     * Tipo de tecla: reemplazo de la respuesta (pegar o editar en medio).
+     */
+    public static final byte KIND_REPLACE = 3;
+
+    /**
+     * Tipo de tecla: envio de la respuesta.
+     */
+    public static final byte KIND_SUBMIT = 4;
+
+    /**
+     * Nombres de los tipos de tecla, usados en la exportacion y en los eventos de JFR.
+     */
+    private static final String[] KIND_NAMES = {"CORRECTO", "ERROR", "BORRAR", "REEMPLAZAR", "ENVIAR"};
+
+    /**
+     * Capacidad por defecto del buffer circular.
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 14;
+
+    /**
+     * Segundos de la ventana usada para las palabras por minuto en vivo.
+     */
+    public static final int WPM_WINDOW_SECONDS = 30;
+
+    /**
+     * Caracteres que cuentan como una palabra al calcular las palabras por minuto.
+     */
+    private static final int CHARS_PER_WORD = 5;
+
+    /**
+     * Caracteres con estadisticas propias (Latin-1, que incluye acentos y eñes); los demas
+     * se acumulan en la casilla 0.
+     */
+    private static final int CHAR_SLOTS = 256;
+
+    /**
+     * Hilo de fondo compartido para las exportaciones.
+     */
+    private static final ExecutorService EXPORTER = Executors.newSingleThreadExecutor(r ->
+    {
+        Thread thread = new Thread(r, "speedw-telemetry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Mascara para convertir una secuencia en una posicion del buffer.
+     */
+    private final int mask;
+
+    /**
+     * Instante de cada tecla.
+     */
+    private final long[] times;
+
+    /**
+     * Caracter de cada tecla (0 si no aplica).
+     */
+    private final char[] chars;
+
+    /**
+     * Tipo de cada tecla.
+     */
+    private final byte[] kinds;
+
+    /**
+     * Numero total de teclas registradas en la sesion; la siguiente se escribe en {@code head & mask}.
+     */
+    private long head;
+
+    /**
+     * Secuencia de la tecla mas antigua dentro de la ventana de palabras por minuto.
+     */
+    private long windowTail;
+
+    /**
+     * Caracteres correctos dentro de la ventana de palabras por minuto.
+     */
+    private int windowCorrect;
+
+    /**
+     * Instante en que comenzo la sesion.
+     */
+    private long startNanos;
+
+    /**
+     * Instante de la tecla anterior.
+     */
+    private long previousNanos;
+
+    /**
+     * Caracteres correctos de la sesion.
+     */
+    private long correctTotal;
+
+    /**
+     * Caracteres incorrectos de la sesion.
+     */
+    private long errorTotal;
+
+    /**
+     * Suma de las latencias entre teclas de cada caracter.
+     */
+    private final long[] latencySum = new long[CHAR_SLOTS];
+
+    /**
+     * Numero de latencias registradas de cada caracter.
+     */
+    private final int[] latencyCount = new int[CHAR_SLOTS];
+
+    /**
+     * Errores de cada caracter.
+     */
+    private final int[] errorCount = new int[CHAR_SLOTS];
+
+    /**
+     * Crea la telemetria con la capacidad por defecto.
+     */
+    public KeystrokeTelemetry()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Crea la telemetria con una capacidad dada.
+     *
+     * @param capacity Teclas que conserva el buffer; se redondea a una potencia de 2.
+     */
+    public KeystrokeTelemetry(int capacity)
+    {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        mask = size - 1;
+        times = new long[size];
+        chars = new char[size];
+        kinds = new byte[size];
+    }
+
+    /**
+     * Vacia la telemetria y comienza una sesion nueva.
+     *
+     * @param nowNanos El instante en que comienza la sesion.
+     */
+    public void reset(long nowNanos)
+    {
+        head = 0;
+        windowTail = 0;
+        windowCorrect = 0;
+        startNanos = nowNanos;
+        previousNanos = nowNanos;
+        correctTotal = 0;
+        errorTotal = 0;
+        Arrays.fill(latencySum, 0);
+        Arrays.fill(latencyCount, 0);
+        Arrays.fill(errorCount, 0);
+    }
+
+    /**
+     * Registra una tecla. No crea objetos.
+     *
+     * @param nowNanos El instante de la tecla.
+     * @param c        El caracter escrito, o 0 si la tecla no es un caracter.
+     * @param kind     El tipo de tecla.
+     */
+    public void record(long nowNanos, char c, byte kind)
+    {
+        if (head - windowTail == mask + 1)
+        {
+            // La tecla mas antigua de la ventana esta por sobrescribirse.
+            dropFromWindow();
+        }
+        int slot = (int) (head & mask);
+        times[slot] = nowNanos;
+        chars[slot] = c;
+        kinds[slot] = kind;
+        head++;
+
+        if (kind == KIND_CORRECT || kind == KIND_ERROR)
+        {
+            int charSlot = c < CHAR_SLOTS ? c : 0;
+            latencySum[charSlot] += nowNanos - previousNanos;
+            latencyCount[charSlot]++;
+            if (kind == KIND_CORRECT)
+            {
+                correctTotal++;
+                windowCorrect++;
+            }
+            else
+            {
+                errorTotal++;
+                errorCount[charSlot]++;
+            }
+        }
+        previousNanos = nowNanos;
+
+        long windowStart = nowNanos - WPM_WINDOW_SECONDS * 1_000_000_000L;
+        while (windowTail < head && times[(int) (windowTail & mask)] < windowStart)
+        {
+            dropFromWindow();
+        }
+    }
+
+    /**
+     * Saca de la ventana de palabras por minuto la tecla mas antigua.
+     */
+    private void dropFromWindow()
+    {
+        if (kinds[(int) (windowTail & mask)] == KIND_CORRECT)
+        {
+            windowCorrect--;
+        }
+        windowTail++;
+    }
+
+    /**
+     * Calcula las palabras por minuto de la ventana reciente.
+     *
+     * @param nowNanos El instante actual.
+     * @return Las palabras (de {@value #CHARS_PER_WORD} caracteres) por minuto de la
+     *         ventana, o de la sesion si aun no dura lo que la ventana.
+     */
+    public double getLiveWpm(long nowNanos)
+    {
+        long window = Math.min(nowNanos - startNanos, WPM_WINDOW_SECONDS * 1_000_000_000L);
+        if (window <= 0)
+        {
+            return 0;
+        }
+        return windowCorrect * 60_000_000_000.0 / CHARS_PER_WORD / window;
+    }
+
+    /**
+     * @param nowNanos El instante actual.
+     * @return Las palabras por minuto de toda la sesion.
+     */
+    public double getSessionWpm(long nowNanos)
+    {
+        long elapsed = nowNanos - startNanos;
+        return elapsed <= 0 ? 0 : correctTotal * 60_000_000_000.0 / CHARS_PER_WORD / elapsed;
+    }
+
+    /**
+     * @return La fraccion de caracteres incorrectos de la sesion, o 0 si no hay caracteres.
+     */
+    public double getErrorRate()
+    {
+        long total = correctTotal + errorTotal;
+        return total == 0 ? 0 : (double) errorTotal / total;
+    }
+
+    /**
+     * @param c Un caracter.
+     * @return La latencia promedio antes de escribir ese caracter, en nanosegundos, o 0 si no se ha escrito.
+     */
+    public long getMeanLatencyNanos(char c)
+    {
+        int charSlot = c < CHAR_SLOTS ? c : 0;
+        int count = latencyCount[charSlot];
+        return count == 0 ? 0 : latencySum[charSlot] / count;
+    }
+
+    /**
+     * @param c Un caracter.
+     * @return La fraccion de veces que ese caracter se escribio mal, o 0 si no se ha escrito.
+     */
+    public double getCharErrorRate(char c)
+    {
+        int charSlot = c < CHAR_SLOTS ? c : 0;
+        int count = latencyCount[charSlot];
+        return count == 0 ? 0 : (double) errorCount[charSlot] / count;
+    }
+
+    /**
+     * @return El numero total de teclas registradas en la sesion, incluidas las ya sobrescritas.
+     */
+    public long getKeystrokeCount()
+    {
+        return head;
+    }
+
+    /**
+     * @param kind Un tipo de tecla, como {@link #KIND_CORRECT}.
+     * @return El nombre del tipo, el mismo de la exportacion.
+     */
+    public static String kindName(byte kind)
+    {
+        return KIND_NAMES[kind];
+    }
+
+    /**
+     * @return El numero de teclas que conserva el buffer.
+     */
+    public int getCapacity()
+    {
+        return mask + 1;
+    }
+
+    /**
+     * Exporta la sesion a un archivo CSV en un hilo de fondo.
+     * <p>
+     * En el hilo que llama solo se copian los arreglos del buffer; la escritura
+     * ocurre en el hilo de exportacion. El archivo se escribe primero en un
+     * temporal y luego se mueve, de modo que nunca queda a medias.
+     *
+     * @param file La ruta del archivo CSV.
+     * @return La ruta del archivo, cuando termine de escribirse.
+     */
+    public CompletableFuture<Path> exportAsync(Path file)
+    {
+        long first = Math.max(0, head - (mask + 1));
+        int count = (int) (head - first);
+        long[] snapTimes = new long[count];
+        char[] snapChars = new char[count];
+        byte[] snapKinds = new byte[count];
+        for (int i = 0; i < count; i++)
+        {
+            int slot = (int) ((first + i) & mask);
+            snapTimes[i] = times[slot];
+            snapChars[i] = chars[slot];
+            snapKinds[i] = kinds[slot];
+        }
+        long[] snapLatencySum = latencySum.clone();
+        int[] snapLatencyCount = latencyCount.clone();
+        int[] snapErrors = errorCount.clone();
+        long start = startNanos;
+
+        return CompletableFuture.supplyAsync(() ->
+        {
+            try
+            {
+                writeCsv(file, start, snapTimes, snapChars, snapKinds, snapLatencySum, snapLatencyCount, snapErrors);
+                return file;
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }, EXPORTER);
+    }
+
+    /**
+     * Escribe el CSV: primero cada tecla y luego el resumen por caracter. Se
+     * escribe en un temporal que luego reemplaza al archivo con
+     * {@link DurableFiles#commit(Path, Path)}.
+     *
+     * @param file         La ruta del archivo.
+     * @param start        El instante en que comenzo la sesion.
+     * @param times        El instante de cada tecla.
+     * @param chars        El caracter de cada tecla.
+     * @param kinds        El tipo de cada tecla.
+     * @param latencySum   La suma de latencias de cada caracter.
+     * @param latencyCount El numero de latencias de cada caracter.
+     * @param errors       Los errores de cada caracter.
+     * @throws IOException Si no se pudo escribir el archivo.
+     */
+    private static void writeCsv(Path file, long start, long[] times, char[] chars, byte[] kinds,
+                                 long[] latencySum, int[] latencyCount, int[] errors) throws IOException
+    {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null)
+        {
+            Files.createDirectories(parent);
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8))
+        {
+            writer.write("ms,tipo,caracter\n");
+            for (int i = 0; i < times.length; i++)
+            {
+                writer.write(String.valueOf((times[i] - start) / 1_000_000.0));
+                writer.write(',');
+                writer.write(KIND_NAMES[kinds[i]]);
+                writer.write(',');
+                writeChar(writer, chars[i]);
+                writer.write('\n');
+            }
+
+            writer.write("\ncaracter,teclas,latencia_media_ms,errores\n");
+            for (int c = 0; c < latencySum.length; c++)
+            {
+                if (latencyCount[c] == 0)
+                {
+                    continue;
+                }
+                writeChar(writer, (char) c);
+                writer.write(',');
+                writer.write(String.valueOf(latencyCount[c]));
+                writer.write(',');
+                writer.write(String.valueOf(latencySum[c] / latencyCount[c] / 1_000_000.0));
+                writer.write(',');
+                writer.write(String.valueOf(errors[c]));
+                writer.write('\n');
+            }
+        }
+        DurableFiles.commit(temp, file);
+    }
+
+    /**
+     * Escribe un caracter como campo CSV, entre comillas si hace falta.
+     *
+     * @param writer El destino.
+     * @param c      El caracter.
+     * @throws IOException Si no se pudo escribir.
+     */
+    private static void writeChar(BufferedWriter writer, char c) throws IOException
+    {
+        if (c == 0)
+        {
+            return;
+        }
+        if (c == '"')
+        {
+            writer.write("\"\"\"\"");
+        }
+        else if (c == ',' || c == ' ' || c == '\n')
+        {
+            writer.write('"');
+            writer.write(c);
+            writer.write('"');
+        }
+        else
+        {
+            writer.write(c);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package example.speedw.models;
+
+import java.text.MessageFormat;
+import java.util.Locale;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+
+/**
+ * Idioma del juego: los mensajes de la interfaz y el paquete de frases.
+ * <p>
+ * Un idioma es inmutable y se carga completo de una vez
+ * ({@link LanguageCatalog}). Los mensajes de retroalimentacion y los nombres de
+ * los modos de comparacion se resuelven al crearlo, para que mostrarlos durante la partida no busque en el
+ * {@link ResourceBundle} ni cree objetos.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class Language
+{
+    /**
+     * Bytes aproximados de cada mensaje, ademas de sus caracteres.
+     */
+    private static final int MESSAGE_OVERHEAD = 64;
+
+    /**
+     * El idioma.
+     */
+    private final Locale locale;
+
+    /**
+     * Mensajes de la interfaz.
+     */
+    private final ResourceBundle messages;
+
+    /**
+     * Frases del idioma.
+     */
+    private final PhrasePack phrases;
+
+    /**
+     * Mensaje de cada {@link Feedback}, indexado por su ordinal.
+     */
+    private final String[] feedback;
+
+    /**
+     * Nombre de cada {@link ComparisonMode}, indexado por su ordinal.
+     */
+    private final String[] modeLabels;
+
+    /**
+     * Peso aproximado del idioma en memoria, en bytes.
+     */
+    private final long weight;
+
+    /**
+     * Crea un idioma y resuelve sus mensajes de retroalimentacion.
+     *
+     * @param locale   El idioma.
+     * @param messages Los mensajes de la interfaz.
+     * @param phrases  Las frases del idioma.
+     * @throws MissingResourceException Si falta algun mensaje de retroalimentacion o nombre de modo.
+     */
+    public Language(Locale locale, ResourceBundle messages, PhrasePack phrases)
+    {
+        this.locale = locale;
+        this.messages = messages;
+        this.phrases = phrases;
+        Feedback[] values = Feedback.values();
+        feedback = new String[values.length];
+        for (Feedback value : values)
+        {
+            feedback[value.ordinal()] = messages.getString(value.getKey());
+        }
+        ComparisonMode[] modes = ComparisonMode.values();
+        modeLabels = new String[modes.length];
+        for (ComparisonMode mode : modes)
+        {
+            modeLabels[mode.ordinal()] = messages.getString(mode.getKey());
+        }
+        long messageBytes = 0;
+        for (String key : messages.keySet())
+        {
+            messageBytes += MESSAGE_OVERHEAD + 2L * (key.length() + messages.getString(key).length());
+        }
+        PhraseDifficulty index = phrases.getIndex();
+        weight = messageBytes + index.getCorpus().byteSize() + 8L * index.size();
+    }
+
+    /**
+     * @return El idioma.
+     */
+    public Locale getLocale()
+    {
+        return locale;
+    }
+
+    /**
+     * @return Las frases del idioma.
+     */
+    public PhrasePack getPhrases()
+    {
+        return phrases;
+    }
+
+    /**
+     * Devuelve un mensaje de la interfaz.
+     *
+     * @param key La llave del mensaje.
+     * @return El mensaje.
+     * @throws MissingResourceException Si el idioma no tiene ese mensaje.
+     */
+    public String message(String key)
+    {
+        return messages.getString(key);
+    }
+
+    /**
+     * Devuelve un mensaje de la interfaz con sus datos, que van en el lugar de
+     * {@code {0}}, {@code {1}}, etc. ({@link MessageFormat}). Los numeros se
+     * escriben con el formato del idioma.
+     *
+     * @param key  La llave del mensaje.
+     * @param args Los datos del mensaje.
+     * @return El mensaje.
+     * @throws MissingResourceException Si el idioma no tiene ese mensaje.
+     */
+    public String format(String key, Object... args)
+    {
+        return new MessageFormat(messages.getString(key), locale).format(args);
+    }
+
+    /**
+     * Devuelve un mensaje de retroalimentacion sin buscarlo ni crear objetos.
+     *
+     * @param value La retroalimentacion.
+     * @return Su mensaje en este idioma.
+     */
+    public String feedback(Feedback value)
+    {
+        return feedback[value.ordinal()];
+    }
+
+    /**
+     * @param mode El modo de comparacion.
+     * @return Su nombre en este idioma.
+     */
+    public String modeLabel(ComparisonMode mode)
+    {
+        return modeLabels[mode.ordinal()];
+    }
+
+    /**
+     * @return El peso aproximado del idioma en memoria, en bytes.
+     */
+    public long getWeight()
+    {
+        return weight;
+    }
+}
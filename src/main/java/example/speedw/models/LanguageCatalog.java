@@ -0,0 +1,353 @@
+package example.speedw.models;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.System.Logger.Level;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.PropertyResourceBundle;
+import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Idiomas instalados del juego, cargados solo cuando se eligen.
+ * <p>
+ * Los idiomas instalados se listan en {@code i18n/languages.txt}. Cada uno
+ * tiene sus mensajes en {@code messages_<idioma>.properties} y, opcionalmente,
+ * sus frases en {@code phrases_<idioma>.txt}, una por renglon; un idioma sin
+ * frases propias usa el corpus por defecto. Crear el catalogo y listar los
+ * idiomas no lee ningun idioma, asi que el arranque cuesta lo mismo con dos
+ * idiomas instalados que con veinte.
+ * <p>
+ * Un idioma se lee y se indexa en un hilo de fondo la primera vez que se pide,
+ * y queda en una {@link LruCache} limitada a {@value #DEFAULT_CACHE_MB} MB (o a
+ * los MB de la propiedad {@value #CACHE_PROPERTY}); si se pasa del limite, se
+ * descartan los idiomas usados hace mas tiempo. El idioma en uso se guarda
+ * aparte y nunca se descarta. Elegir un idioma fija sus frases con
+ * {@link PhrasePack#select(PhrasePack)}, asi que la siguiente partida ya las
+ * usa, salvo que la carpeta de paquetes tenga uno de ese mismo idioma
+ * ({@link PhrasePackWatcher}); los paquetes de otros idiomas no las reemplazan.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class LanguageCatalog
+{
+    /**
+     * Registro de los errores de esta clase.
+     */
+    private static final System.Logger LOG = System.getLogger(LanguageCatalog.class.getName());
+
+    /**
+     * Idioma con el que arranca el juego.
+     */
+    public static final Locale DEFAULT_LANGUAGE = Locale.forLanguageTag("es");
+
+    /**
+     * Propiedad del sistema con el limite de la cache de idiomas, en MB.
+     */
+    public static final String CACHE_PROPERTY = "speedw.languageCacheMb";
+
+    /**
+     * Limite por defecto de la cache de idiomas, en MB.
+     */
+    public static final int DEFAULT_CACHE_MB = 16;
+
+    /**
+     * Carpeta de los recursos de idiomas.
+     */
+    private static final String RESOURCES = "/example/speedw/i18n/";
+
+    /**
+     * Hilo de fondo que lee los idiomas.
+     */
+    private static final ExecutorService LOADER = Executors.newSingleThreadExecutor(r ->
+    {
+        Thread thread = new Thread(r, "speedw-language");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Catalogo compartido por toda la aplicacion.
+     */
+    private static final LanguageCatalog SHARED =
+            new LanguageCatalog(Integer.getInteger(CACHE_PROPERTY, DEFAULT_CACHE_MB) * 1_048_576L);
+
+    /**
+     * Idiomas ya cargados, por su etiqueta.
+     */
+    private final LruCache<String, Language> cache;
+
+    /**
+     * Idiomas que se estan cargando, por su etiqueta, para no leer dos veces el mismo.
+     */
+    private final Map<String, CompletableFuture<Language>> loading = new HashMap<>();
+
+    /**
+     * Idioma en uso, o {@code null} hasta que se pide por primera vez o se elige uno.
+     */
+    private volatile Language current;
+
+    /**
+     * Idiomas instalados, leidos la primera vez que se piden.
+     */
+    private List<Locale> available;
+
+    /**
+     * Crea un catalogo vacio; no lee nada hasta que se pide un idioma.
+     *
+     * @param maxCacheBytes El peso maximo de los idiomas guardados, en bytes.
+     */
+    public LanguageCatalog(long maxCacheBytes)
+    {
+        cache = new LruCache<>(maxCacheBytes, Language::getWeight);
+    }
+
+    /**
+     * @return El catalogo compartido por toda la aplicacion.
+     */
+    public static LanguageCatalog shared()
+    {
+        return SHARED;
+    }
+
+    /**
+     * Devuelve los idiomas instalados, leyendo solo su lista.
+     *
+     * @return Los idiomas instalados; al menos el idioma por defecto.
+     */
+    public synchronized List<Locale> available()
+    {
+        if (available == null)
+        {
+            List<Locale> locales = new ArrayList<>();
+            try (InputStream in = LanguageCatalog.class.getResourceAsStream(RESOURCES + "languages.txt"))
+            {
+                if (in != null)
+                {
+                    for (String line : readLines(in))
+                    {
+                        locales.add(Locale.forLanguageTag(line));
+                    }
+                }
+            }
+            catch (IOException e)
+            {
+                LOG.log(Level.WARNING, "No se pudo leer la lista de idiomas.", e);
+            }
+            if (!locales.contains(DEFAULT_LANGUAGE))
+            {
+                locales.add(0, DEFAULT_LANGUAGE);
+            }
+            available = List.copyOf(locales);
+        }
+        return available;
+    }
+
+    /**
+     * Devuelve el idioma en uso. Si aun no se eligio ninguno, carga el idioma por defecto y espera a que este listo.
+     *
+     * @return El idioma en uso.
+     */
+    public Language current()
+    {
+        Language language = current;
+        if (language == null)
+        {
+            language = get(DEFAULT_LANGUAGE).join();
+            synchronized (this)
+            {
+                if (current == null)
+                {
+                    current = language;
+                }
+                language = current;
+            }
+        }
+        return language;
+    }
+
+    /**
+     * Elige el idioma del juego, cargandolo en un hilo de fondo si no esta en la cache.
+     * <p>
+     * Al terminar, el idioma queda en uso y sus frases elegidas para la siguiente partida.
+     * Si no se puede cargar, el idioma en uso no cambia.
+     *
+     * @param locale El idioma.
+     * @return El idioma, cuando este en uso.
+     */
+    public CompletableFuture<Language> select(Locale locale)
+    {
+        return get(locale).thenApply(language ->
+        {
+            current = language;
+            PhrasePack.select(language.getPhrases());
+            return language;
+        });
+    }
+
+    /**
+     * Devuelve un idioma de la cache o lo carga en un hilo de fondo.
+     *
+     * @param locale El idioma.
+     * @return El idioma, cuando termine de cargarse.
+     */
+    public synchronized CompletableFuture<Language> get(Locale locale)
+    {
+        String tag = locale.toLanguageTag();
+        Language cached = cache.get(tag);
+        if (cached != null)
+        {
+            return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<Language> pending = loading.get(tag);
+        if (pending == null)
+        {
+            // Se guarda en la cache dentro de la tarea, para que ya este ahi cuando el futuro se complete.
+            pending = CompletableFuture.supplyAsync(() ->
+            {
+                Language language = null;
+                try
+                {
+                    language = load(locale);
+                    return language;
+                }
+                catch (IOException e)
+                {
+                    throw new UncheckedIOException(e);
+                }
+                finally
+                {
+                    loaded(tag, language);
+                }
+            }, LOADER);
+            loading.put(tag, pending);
+        }
+        return pending;
+    }
+
+    /**
+     * @return La cache de idiomas cargados.
+     */
+    public LruCache<String, Language> getCache()
+    {
+        return cache;
+    }
+
+    /**
+     * Guarda en la cache un idioma que termino de cargarse. Espera a que
+     * {@link #get(Locale)} termine de registrar la carga, porque ambos toman el candado del catalogo.
+     *
+     * @param tag      La etiqueta del idioma.
+     * @param language El idioma, o {@code null} si no se pudo cargar.
+     */
+    private synchronized void loaded(String tag, Language language)
+    {
+        loading.remove(tag);
+        if (language != null)
+        {
+            cache.put(tag, language);
+        }
+    }
+
+    /**
+     * Lee los mensajes y las frases de un idioma y construye el indice de sus frases.
+     *
+     * @param locale El idioma.
+     * @return El idioma.
+     * @throws IOException Si el idioma no esta instalado o le faltan mensajes.
+     */
+    private static Language load(Locale locale) throws IOException
+    {
+        long start = System.nanoTime();
+        String tag = locale.toLanguageTag();
+        ResourceBundle messages;
+        try (InputStream in = LanguageCatalog.class.getResourceAsStream(RESOURCES + "messages_" + tag + ".properties"))
+        {
+            if (in == null)
+            {
+                throw new IOException("El idioma " + tag + " no esta instalado.");
+            }
+            messages = new PropertyResourceBundle(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+        PhraseDifficulty index;
+        try (InputStream in = LanguageCatalog.class.getResourceAsStream(RESOURCES + "phrases_" + tag + ".txt"))
+        {
+            index = in == null ? PhraseDifficulty.defaultIndex() : new PhraseDifficulty(readCorpus(in));
+        }
+        Language language;
+        try
+        {
+            language = new Language(locale, messages, new PhrasePack(tag, locale, index, System.nanoTime() - start));
+        }
+        catch (MissingResourceException e)
+        {
+            throw new IOException("Al idioma " + tag + " le falta el mensaje " + e.getKey() + ".", e);
+        }
+        LOG.log(Level.INFO, String.format(Locale.ROOT, "Idioma %s cargado: %d frases en %.1f ms.",
+                tag, index.size(), language.getPhrases().getBuildNanos() / 1e6));
+        return language;
+    }
+
+    /**
+     * Construye un corpus en memoria con las frases de un texto, una por renglon.
+     *
+     * @param in El texto en UTF-8.
+     * @return El corpus.
+     * @throws IOException Si no se puede leer o no tiene frases.
+     */
+    private static PhraseCorpus readCorpus(InputStream in) throws IOException
+    {
+        PhraseCorpusWriter writer = new PhraseCorpusWriter();
+        try
+        {
+            for (String line : readLines(in))
+            {
+                writer.add(line);
+            }
+            if (writer.size() == 0)
+            {
+                throw new IOException("El archivo de frases esta vacio.");
+            }
+            return PhraseCorpus.wrap(writer.toByteBuffer());
+        }
+        finally
+        {
+            writer.close();
+        }
+    }
+
+    /**
+     * Lee los renglones no vacios de un texto, sin espacios en los extremos ni comentarios ({@code #}).
+     *
+     * @param in El texto en UTF-8.
+     * @return Los renglones.
+     * @throws IOException Si no se puede leer.
+     */
+    private static List<String> readLines(InputStream in) throws IOException
+    {
+        List<String> lines = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        for (String line = reader.readLine(); line != null; line = reader.readLine())
+        {
+            line = line.strip();
+            if (!line.isEmpty() && line.charAt(0) != '#')
+            {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,101 @@
+package example.speedw.models;
+
+import example.speedw.diagnostics.GameMetrics;
+import javafx.collections.FXCollections;
+import javafx.scene.control.Alert;
+import javafx.scene.control.ListView;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Implementacion de {@link IAlertBox} que reutiliza un solo dialogo y muestra el
+ * contenido en una lista virtualizada.
+ * <p>
+ * {@link AlertBox} crea un {@link Alert} y un {@code TextArea} con todo el texto
+ * en cada llamada, y el layout de un texto largo crece con el. Aqui el dialogo
+ * y su {@link ListView} se crean la primera vez y despues solo se les cambia el
+ * contenido. La lista tiene un alto fijo por renglon, de modo que solo se
+ * arman y se acomodan los renglones visibles: abrir el dialogo cuesta lo mismo
+ * con diez renglones que con cien mil. Con {@link #showRows} los renglones se
+ * leen de una lista que los arma a pedido, como {@link SessionSummary}, sin
+ * construir nunca el texto completo.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class ListAlertBox implements IAlertBox
+{
+    /**
+     * Alto de cada renglon, en pixeles.
+     */
+    private static final double ROW_HEIGHT = 24.0;
+
+    /**
+     * Dialogo reutilizado, creado al mostrarse por primera vez.
+     */
+    private Alert alert;
+
+    /**
+     * Lista virtualizada con los renglones del dialogo.
+     */
+    private ListView<String> list;
+
+    /**
+     * Muestra un texto, un renglon por linea.
+     * <p>
+     * Partir el texto cuesta O(n); para contenidos largos conviene {@link #showRows}.
+     *
+     * @param title   El texto que se mostrara en la barra de titulo de la ventana.
+     * @param message El mensaje principal o cuerpo del contenido de la alerta.
+     * @param header  El texto del encabezado, usualmente un resumen o titulo corto.
+     */
+    @Override
+    public void showAlertBox(String title, String message, String header)
+    {
+        showRows(title, Arrays.asList(message.split("\n", -1)), header);
+    }
+
+    /**
+     * Muestra una lista de renglones y espera a que el jugador cierre el dialogo.
+     * <p>
+     * La lista no se copia: el dialogo solo pide los renglones que estan a la vista.
+     *
+     * @param title  El texto de la barra de titulo de la ventana.
+     * @param rows   Los renglones a mostrar.
+     * @param header El texto del encabezado.
+     */
+    public void showRows(String title, List<String> rows, String header)
+    {
+        if (alert == null)
+        {
+            create();
+        }
+        alert.setTitle(title);
+        alert.setHeaderText(header);
+        list.setItems(FXCollections.observableList(rows));
+        list.scrollTo(0);
+
+        // Se mide hasta que el dialogo aparece, no el tiempo que el jugador lo deja abierto.
+        long start = System.nanoTime();
+        alert.setOnShown(e -> GameMetrics.shared().dialogShown(title, System.nanoTime() - start));
+        alert.showAndWait();
+        // No retiene los renglones mientras el dialogo esta oculto.
+        list.setItems(null);
+    }
+
+    /**
+     * Crea el dialogo y su lista, una sola vez.
+     */
+    private void create()
+    {
+        alert = new Alert(Alert.AlertType.INFORMATION);
+        list = new ListView<>();
+        list.setFixedCellSize(ROW_HEIGHT);
+        list.setFocusTraversable(false);
+        alert.getDialogPane().setContent(list);
+        alert.getDialogPane().setPrefSize(400, 450);
+        alert.setResizable(true);
+    }
+}
@@ -0,0 +1,143 @@
+package example.speedw.models;
+
+/**
+ * Conjunto de enteros de 64 bits con direccionamiento abierto, sin objetos por elemento.
+ * <p>
+ * Guarda los valores en un solo arreglo de {@code long} con sondeo lineal y lo
+ * duplica cuando se llena hasta la mitad, asi que cada elemento ocupa entre 16
+ * y 32 bytes. Lo usa {@link CorpusImporter} para recordar el hash de cada frase
+ * ya importada. El 0 se guarda aparte, porque marca las casillas vacias.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class LongHashSet
+{
+    /**
+     * Casillas de la tabla; 0 es una casilla vacia.
+     */
+    private long[] slots;
+
+    /**
+     * Mascara para convertir un hash en una casilla.
+     */
+    private int mask;
+
+    /**
+     * Valores guardados en {@link #slots}.
+     */
+    private int size;
+
+    /**
+     * Indica si el conjunto contiene el 0.
+     */
+    private boolean hasZero;
+
+    /**
+     * Crea un conjunto vacio.
+     *
+     * @param expected Los elementos que se esperan, para no agrandar la tabla al principio.
+     */
+    public LongHashSet(int expected)
+    {
+        int capacity = Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1;
+        slots = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Agrega un valor si no estaba.
+     *
+     * @param value El valor.
+     * @return {@code true} si el valor no estaba en el conjunto.
+     */
+    public boolean add(long value)
+    {
+        if (value == 0)
+        {
+            boolean added = !hasZero;
+            hasZero = true;
+            return added;
+        }
+        int slot = slotOf(value);
+        while (slots[slot] != 0)
+        {
+            if (slots[slot] == value)
+            {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = value;
+        if (++size * 2 > slots.length)
+        {
+            grow();
+        }
+        return true;
+    }
+
+    /**
+     * @param value El valor.
+     * @return {@code true} si el valor esta en el conjunto.
+     */
+    public boolean contains(long value)
+    {
+        if (value == 0)
+        {
+            return hasZero;
+        }
+        int slot = slotOf(value);
+        while (slots[slot] != 0)
+        {
+            if (slots[slot] == value)
+            {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * @return El numero de valores del conjunto.
+     */
+    public int size()
+    {
+        return size + (hasZero ? 1 : 0);
+    }
+
+    /**
+     * Calcula la casilla inicial de un valor, mezclando sus bits altos con los bajos.
+     *
+     * @param value El valor.
+     * @return La casilla.
+     */
+    private int slotOf(long value)
+    {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ h >>> 32) & mask;
+    }
+
+    /**
+     * Duplica la tabla y vuelve a ubicar los valores.
+     */
+    private void grow()
+    {
+        long[] old = slots;
+        slots = new long[old.length * 2];
+        mask = slots.length - 1;
+        for (long value : old)
+        {
+            if (value != 0)
+            {
+                int slot = slotOf(value);
+                while (slots[slot] != 0)
+                {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = value;
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package example.speedw.models;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Cache con limite de memoria que descarta primero lo usado hace mas tiempo.
+ * <p>
+ * Cada valor tiene un peso aproximado en bytes, calculado al guardarlo. Cuando
+ * la suma pasa del limite, se descartan los valores menos usados hasta volver
+ * a quedar por debajo, salvo el ultimo guardado, que se conserva aunque pese
+ * mas que el limite. Todas las operaciones son O(1) y estan sincronizadas.
+ *
+ * @param <K> El tipo de las llaves.
+ * @param <V> El tipo de los valores.
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class LruCache<K, V>
+{
+    /**
+     * Valores en orden de uso, del menos al mas reciente.
+     */
+    private final LinkedHashMap<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Peso aproximado en bytes de cada valor.
+     */
+    private final ToLongFunction<V> weigher;
+
+    /**
+     * Peso maximo de la cache, en bytes.
+     */
+    private final long maxWeight;
+
+    /**
+     * Peso actual de la cache, en bytes.
+     */
+    private long weight;
+
+    /**
+     * Valores descartados desde que se creo la cache.
+     */
+    private long evictions;
+
+    /**
+     * Crea una cache vacia.
+     *
+     * @param maxWeight El peso maximo, en bytes.
+     * @param weigher   El peso aproximado de cada valor, en bytes.
+     */
+    public LruCache(long maxWeight, ToLongFunction<V> weigher)
+    {
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    /**
+     * Devuelve un valor y lo marca como el mas reciente.
+     *
+     * @param key La llave.
+     * @return El valor, o {@code null} si no esta en la cache.
+     */
+    public synchronized V get(K key)
+    {
+        return entries.get(key);
+    }
+
+    /**
+     * Guarda un valor como el mas reciente y descarta los menos usados si se pasa del limite.
+     *
+     * @param key   La llave.
+     * @param value El valor.
+     */
+    public synchronized void put(K key, V value)
+    {
+        V old = entries.put(key, value);
+        if (old != null)
+        {
+            weight -= weigher.applyAsLong(old);
+        }
+        weight += weigher.applyAsLong(value);
+        Iterator<Map.Entry<K, V>> eldest = entries.entrySet().iterator();
+        while (weight > maxWeight && entries.size() > 1)
+        {
+            weight -= weigher.applyAsLong(eldest.next().getValue());
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * @return Las llaves guardadas, de la menos a la mas reciente.
+     */
+    public synchronized List<K> keys()
+    {
+        return List.copyOf(entries.keySet());
+    }
+
+    /**
+     * @return El peso actual de la cache, en bytes.
+     */
+    public synchronized long getWeight()
+    {
+        return weight;
+    }
+
+    /**
+     * @return El peso maximo de la cache, en bytes.
+     */
+    public long getMaxWeight()
+    {
+        return maxWeight;
+    }
+
+    /**
+     * @return Los valores descartados desde que se creo la cache.
+     */
+    public synchronized long getEvictions()
+    {
+        return evictions;
+    }
+}
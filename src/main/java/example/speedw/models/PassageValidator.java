@@ -0,0 +1,228 @@
+package example.speedw.models;
+
+/**
+ * Validador incremental para textos largos, de un parrafo a un capitulo entero.
+ * <p>
+ * A diferencia de {@link TypingValidator}, la respuesta se puede editar en
+ * cualquier posicion: se guarda en un {@link GapBuffer} con el cursor del
+ * jugador. El texto objetivo se normaliza una sola vez al fijarlo, en el
+ * {@link ComparisonMode} elegido, y cada tecla se normaliza al llegar.
+ * <p>
+ * Se lleva la posicion del primer error. Un cambio en la posicion {@code p}
+ * no altera lo que hay antes de ella, asi que si el primer error esta antes
+ * queda igual; si no, se busca de nuevo desde {@code p} y la busqueda para en
+ * el primer caracter distinto. Escribir o borrar al final, que es lo normal,
+ * cuesta O(1) con un texto de mil caracteres o de un millon.
+ * <p>
+ * Un acento escrito por separado se combina con el caracter antes del cursor,
+ * como en {@link TypingValidator}; al borrar se quita el caracter combinado.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class PassageValidator
+{
+    /**
+     * Modo de comparacion del texto actual.
+     */
+    private ComparisonMode mode = TypingValidator.DEFAULT_MODE;
+
+    /**
+     * Texto objetivo normalizado.
+     */
+    private String target = "";
+
+    /**
+     * Respuesta del jugador, normalizada, con su cursor.
+     */
+    private final GapBuffer input = new GapBuffer(1024);
+
+    /**
+     * Posicion del primer caracter incorrecto, o -1 si todo lo escrito es correcto.
+     */
+    private int firstError = -1;
+
+    /**
+     * Teclas que coincidieron con el texto al escribirse.
+     */
+    private int correctKeys;
+
+    /**
+     * Teclas que no coincidieron con el texto al escribirse.
+     */
+    private int errorKeys;
+
+    /**
+     * Fija un texto objetivo nuevo y vacia la respuesta. Cuesta O(n), una sola vez.
+     *
+     * @param text El texto que el jugador debe escribir.
+     * @param mode El modo de comparacion.
+     */
+    public void setTarget(CharSequence text, ComparisonMode mode)
+    {
+        this.mode = mode;
+        target = mode == ComparisonMode.EXACT ? text.toString() : mode.apply(text);
+        input.clear();
+        firstError = -1;
+        correctKeys = 0;
+        errorKeys = 0;
+    }
+
+    /**
+     * Escribe un caracter en el cursor.
+     *
+     * @param c La tecla.
+     * @return {@code true} si el caracter escrito coincide con el texto.
+     */
+    public boolean type(char c)
+    {
+        int caret = input.getCaret();
+        if (mode != ComparisonMode.EXACT && TextFolding.isCombining(c))
+        {
+            if (mode == ComparisonMode.ACCENT_INSENSITIVE)
+            {
+                return true;
+            }
+            char composed = caret > 0 ? TextFolding.compose(input.charAt(caret - 1), c) : 0;
+            if (composed != 0)
+            {
+                input.deleteBefore();
+                caret--;
+                c = composed;
+            }
+        }
+        input.insert(mode.fold(c));
+        revalidateFrom(caret);
+        boolean correct = caret < target.length() && input.charAt(caret) == target.charAt(caret);
+        if (correct)
+        {
+            correctKeys++;
+        }
+        else
+        {
+            errorKeys++;
+        }
+        return correct;
+    }
+
+    /**
+     * Borra el caracter antes del cursor.
+     *
+     * @return {@code false} si el cursor estaba al inicio y no se borro nada.
+     */
+    public boolean deleteBefore()
+    {
+        int caret = input.getCaret();
+        if (caret == 0)
+        {
+            return false;
+        }
+        input.deleteBefore();
+        revalidateFrom(caret - 1);
+        return true;
+    }
+
+    /**
+     * Mueve el cursor de la respuesta; no cambia la validacion.
+     *
+     * @param position La nueva posicion, entre 0 y la longitud de la respuesta.
+     */
+    public void moveCaret(int position)
+    {
+        input.moveCaret(Math.max(0, Math.min(position, input.length())));
+    }
+
+    /**
+     * Busca de nuevo el primer error despues de un cambio en una posicion.
+     *
+     * @param from La primera posicion que cambio.
+     */
+    private void revalidateFrom(int from)
+    {
+        if (firstError >= 0 && firstError < from)
+        {
+            return;
+        }
+        int length = input.length();
+        int limit = Math.min(length, target.length());
+        int i = from;
+        while (i < limit && input.charAt(i) == target.charAt(i))
+        {
+            i++;
+        }
+        firstError = i < length ? i : -1;
+    }
+
+    /**
+     * @return {@code true} si la respuesta es exactamente el texto objetivo.
+     */
+    public boolean isComplete()
+    {
+        return firstError < 0 && input.length() == target.length();
+    }
+
+    /**
+     * @return Cuantos caracteres escritos coinciden con el inicio del texto.
+     */
+    public int getCorrectPrefix()
+    {
+        return firstError < 0 ? input.length() : firstError;
+    }
+
+    /**
+     * @return La posicion del primer caracter incorrecto, o -1 si no hay errores.
+     */
+    public int getFirstError()
+    {
+        return firstError;
+    }
+
+    /**
+     * @return Cuantos caracteres tiene la respuesta.
+     */
+    public int getTypedLength()
+    {
+        return input.length();
+    }
+
+    /**
+     * @return La posicion del cursor en la respuesta.
+     */
+    public int getCaret()
+    {
+        return input.getCaret();
+    }
+
+    /**
+     * @return El texto objetivo normalizado, que es el que se debe mostrar.
+     */
+    public String getTarget()
+    {
+        return target;
+    }
+
+    /**
+     * @return El modo de comparacion del texto actual.
+     */
+    public ComparisonMode getMode()
+    {
+        return mode;
+    }
+
+    /**
+     * @return Las teclas que coincidieron con el texto al escribirse.
+     */
+    public int getCorrectKeys()
+    {
+        return correctKeys;
+    }
+
+    /**
+     * @return Las teclas que no coincidieron con el texto al escribirse.
+     */
+    public int getErrorKeys()
+    {
+        return errorKeys;
+    }
+}
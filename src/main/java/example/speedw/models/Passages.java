@@ -0,0 +1,99 @@
+package example.speedw.models;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Textos para el modo de pasajes largos.
+ * <p>
+ * Un pasaje se escribe de corrido, sin saltos de linea: al leerlo, cada grupo
+ * de espacios, tabuladores y saltos de linea se reemplaza por un solo espacio,
+ * y la vista lo acomoda en renglones segun su ancho.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class Passages
+{
+    /**
+     * Hilo de fondo que lee los archivos de texto.
+     */
+    private static final ExecutorService READER = Executors.newSingleThreadExecutor(r ->
+    {
+        Thread thread = new Thread(r, "speedw-passage");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Passages()
+    {
+    }
+
+    /**
+     * Arma un pasaje corto con las frases por defecto, para cuando no se ha cargado un archivo.
+     *
+     * @return El pasaje.
+     */
+    public static String defaultPassage()
+    {
+        return String.join(" ", DefaultPhrases.phrases());
+    }
+
+    /**
+     * Lee un archivo de texto en UTF-8 en un hilo de fondo y lo deja en un solo renglon.
+     *
+     * @param file La ruta del archivo.
+     * @return El pasaje, cuando termine de leerse.
+     */
+    public static CompletableFuture<String> readAsync(Path file)
+    {
+        return CompletableFuture.supplyAsync(() ->
+        {
+            try
+            {
+                return collapseWhitespace(Files.readString(file, StandardCharsets.UTF_8));
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }, READER);
+    }
+
+    /**
+     * Reemplaza cada grupo de espacios en blanco por un espacio y quita los de los extremos.
+     *
+     * @param text El texto.
+     * @return El texto en un solo renglon.
+     */
+    public static String collapseWhitespace(CharSequence text)
+    {
+        StringBuilder passage = new StringBuilder(text.length());
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++)
+        {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c))
+            {
+                space = passage.length() > 0;
+            }
+            else
+            {
+                if (space)
+                {
+                    passage.append(' ');
+                    space = false;
+                }
+                passage.append(c);
+            }
+        }
+        return passage.toString();
+    }
+}
@@ -10,6 +10,10 @@ import javafx.animation.PauseTransition;
  * Esta clase de utilidad encapsula la logica para crear una breve pausa
  * antes de actualizar el texto de una etiqueta en la interfaz de usuario.
  * Es util para temporizar la aparicion de texto en el juego.
+ * <p>
+ * Se usa una sola {@link PauseTransition} por etiqueta: cada nueva pausa
+ * reinicia la anterior en lugar de apilarse, por lo que las validaciones
+ * rapidas nunca sobrescriben la etiqueta fuera de orden.
  *
  * @author Santiago Duque
  * @version 1.0
@@ -18,18 +22,51 @@ import javafx.animation.PauseTransition;
 public class PauseGameTransition
 {
     /**
-     * Crea y ejecuta una pausa antes de actualizar el texto de una etiqueta.
-     * <p>
-     * El metodo establece una pausa fija de 0.7 segundos. Una vez finalizada,
-     * el texto de la {@code Label} proporcionada se actualiza con la nueva frase.
+     * La etiqueta cuyo texto se actualiza al terminar la pausa.
+     */
+    private final Label phraseLabel;
+
+    /**
+     * La unica transicion de pausa, reutilizada en cada llamada.
+     */
+    private final PauseTransition pause = new PauseTransition(Duration.seconds(0.7));
+
+    /**
+     * El texto que se mostrara al terminar la pausa en curso.
+     */
+    private String pendingText;
+
+    /**
+     * Crea la transicion para una etiqueta.
      *
      * @param phraseLabel La etiqueta (Label) de JavaFX cuyo texto se actualizara.
+     */
+    public PauseGameTransition(Label phraseLabel)
+    {
+        this.phraseLabel = phraseLabel;
+        pause.setOnFinished(e -> phraseLabel.setText(pendingText));
+    }
+
+    /**
+     * Ejecuta una pausa antes de actualizar el texto de la etiqueta.
+     * <p>
+     * El metodo establece una pausa fija de 0.7 segundos. Si ya habia una pausa en
+     * curso, se reinicia con el nuevo texto. Una vez finalizada, el texto de la
+     * {@code Label} se actualiza con la nueva frase.
+     *
      * @param actualPhrase El nuevo texto (String) que se mostrara en la etiqueta.
      */
-    public void pauseTransition(Label phraseLabel,String actualPhrase)
+    public void pauseTransition(String actualPhrase)
+    {
+        pendingText = actualPhrase;
+        pause.playFromStart();
+    }
+
+    /**
+     * Cancela la pausa en curso, si la hay, sin actualizar la etiqueta.
+     */
+    public void cancel()
     {
-        PauseTransition pause = new PauseTransition(Duration.seconds(0.7));
-        pause.setOnFinished(e -> phraseLabel.setText(actualPhrase));
-        pause.play();
+        pause.stop();
     }
 }
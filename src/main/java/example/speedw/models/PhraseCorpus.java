@@ -0,0 +1,445 @@
+package example.speedw.models;
+
+import java.io.IOException;
+import java.lang.System.Logger.Level;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.random.RandomGenerator;
+
+/**
+ * Corpus de frases indexado y respaldado por un archivo mapeado en memoria.
+ * <p>
+ * Las frases se guardan como un blob UTF-8 precedido por una tabla de
+ * desplazamientos, un indice por longitud y un indice por clase de caracteres.
+ * Abrir un corpus solo mapea el archivo; ninguna frase se decodifica hasta que
+ * se selecciona, y solo esa frase se convierte en {@code String}. Asi un corpus
+ * de millones de frases no ocupa memoria del heap ni retrasa el arranque.
+ * <p>
+ * Formato (enteros big-endian): una cabecera de {@value #HEADER_SIZE} bytes con
+ * la posicion de cada seccion, luego los desplazamientos ({@code count + 1}
+ * enteros), el indice por longitud (inicio de cada cubeta de longitud y los ids
+ * ordenados), el indice por clase (un byte de clase por frase, el inicio de
+ * cada cubeta y los ids ordenados), desde la version 2 el puntaje de dificultad
+ * de cada frase (un {@code float} por frase, ver {@link PhraseDifficulty}) y
+ * finalmente el blob. Los archivos se crean con {@link PhraseCorpusWriter} o
+ * con {@link CorpusImporter} y no pueden superar los 2 GB. Los archivos de la
+ * version 1 se siguen leyendo; su dificultad se calcula al pedirla.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class PhraseCorpus
+{
+    /**
+     * Registro de los errores de esta clase.
+     */
+    private static final System.Logger LOG = System.getLogger(PhraseCorpus.class.getName());
+
+    /**
+     * Numero magico al inicio de todo corpus ("SPWC").
+     */
+    public static final int MAGIC = 0x53505743;
+
+    /**
+     * Version del formato que escribe {@link PhraseCorpusWriter}.
+     */
+    public static final int VERSION = 2;
+
+    /**
+     * Primera version del formato, sin los puntajes de dificultad.
+     */
+    public static final int VERSION_1 = 1;
+
+    /**
+     * Tamaño en bytes de la cabecera.
+     */
+    public static final int HEADER_SIZE = 40;
+
+    /**
+     * Bit de clase: la frase contiene caracteres fuera de ASCII (acentos, eñes).
+     */
+    public static final int CLASS_NON_ASCII = 1;
+
+    /**
+     * Bit de clase: la frase contiene espacios (tiene varias palabras).
+     */
+    public static final int CLASS_HAS_SPACE = 2;
+
+    /**
+     * Numero de clases de caracteres posibles.
+     */
+    public static final int CHAR_CLASSES = 4;
+
+    /**
+     * Extension de los archivos de corpus.
+     */
+    public static final String EXTENSION = ".spwc";
+
+    /**
+     * Propiedad del sistema con la ruta de un corpus a usar en lugar del corpus por defecto.
+     */
+    public static final String CORPUS_PROPERTY = "speedw.corpus";
+
+    /**
+     * Corpus por defecto, creado la primera vez que se solicita.
+     */
+    private static PhraseCorpus defaultCorpus;
+
+    /**
+     * Buffer con el corpus completo (mapeado desde un archivo o en memoria).
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Numero de frases del corpus.
+     */
+    private final int count;
+
+    /**
+     * Longitud de la frase mas larga.
+     */
+    private final int maxLength;
+
+    /**
+     * Posicion de la tabla de desplazamientos.
+     */
+    private final int offsetsPos;
+
+    /**
+     * Posicion del inicio de cada cubeta del indice por longitud.
+     */
+    private final int lengthStartsPos;
+
+    /**
+     * Posicion de los ids ordenados por longitud.
+     */
+    private final int lengthIdsPos;
+
+    /**
+     * Posicion del byte de clase de cada frase.
+     */
+    private final int classesPos;
+
+    /**
+     * Posicion del inicio de cada cubeta del indice por clase.
+     */
+    private final int classStartsPos;
+
+    /**
+     * Posicion de los ids ordenados por clase.
+     */
+    private final int classIdsPos;
+
+    /**
+     * Posicion de los puntajes de dificultad, o 0 si el corpus es de la version 1.
+     */
+    private final int difficultyPos;
+
+    /**
+     * Posicion del blob UTF-8.
+     */
+    private final int blobPos;
+
+    /**
+     * Crea un corpus sobre un buffer ya validado.
+     *
+     * @param buffer El buffer con el corpus completo.
+     * @throws IOException Si el buffer no contiene un corpus valido.
+     */
+    private PhraseCorpus(ByteBuffer buffer) throws IOException
+    {
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC)
+        {
+            throw new IOException("El archivo no es un corpus de SpeedW.");
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION && version != VERSION_1)
+        {
+            throw new IOException("Version de corpus no soportada: " + buffer.getInt(4));
+        }
+        this.buffer = buffer;
+        count = buffer.getInt(8);
+        maxLength = buffer.getInt(12);
+        offsetsPos = buffer.getInt(16);
+        lengthStartsPos = buffer.getInt(20);
+        classesPos = buffer.getInt(24);
+        blobPos = buffer.getInt(28);
+        int blobSize = buffer.getInt(32);
+        difficultyPos = version == VERSION_1 ? 0 : buffer.getInt(36);
+
+        // Las secciones van una tras otra; se comprueban en long para que una
+        // cabecera dañada no desborde y apunte fuera del buffer.
+        long lengthIdsEnd = lengthStartsPos + 4L * (maxLength + 2L) + 4L * count;
+        long classIdsEnd = classesPos + ((count + 3L) & ~3L) + 4L * (CHAR_CLASSES + 1) + 4L * count;
+        if (count < 0 || maxLength < 0 || blobSize < 0
+                || offsetsPos < HEADER_SIZE
+                || offsetsPos + 4L * (count + 1L) > lengthStartsPos
+                || lengthIdsEnd > classesPos
+                || classIdsEnd > (version == VERSION_1 ? blobPos : difficultyPos)
+                || version != VERSION_1 && difficultyPos + 4L * count > blobPos
+                || (long) blobPos + blobSize > buffer.capacity())
+        {
+            throw new IOException("El corpus esta incompleto o dañado.");
+        }
+        lengthIdsPos = lengthStartsPos + 4 * (maxLength + 2);
+        classStartsPos = classesPos + ((count + 3) & ~3);
+        classIdsPos = classStartsPos + 4 * (CHAR_CLASSES + 1);
+    }
+
+    /**
+     * Abre un corpus mapeando el archivo en memoria.
+     *
+     * @param file El archivo de corpus.
+     * @return El corpus abierto.
+     * @throws IOException Si el archivo no existe o no es un corpus valido.
+     */
+    public static PhraseCorpus open(Path file) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            return new PhraseCorpus(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Crea un corpus sobre un buffer en memoria.
+     *
+     * @param buffer El buffer con el corpus completo.
+     * @return El corpus.
+     * @throws IOException Si el buffer no contiene un corpus valido.
+     */
+    public static PhraseCorpus wrap(ByteBuffer buffer) throws IOException
+    {
+        return new PhraseCorpus(buffer);
+    }
+
+    /**
+     * Crea un corpus en memoria con las frases indicadas.
+     *
+     * @param phrases Las frases del corpus.
+     * @return El corpus.
+     */
+    public static PhraseCorpus of(String... phrases)
+    {
+        try
+        {
+            PhraseCorpusWriter writer = new PhraseCorpusWriter();
+            for (String phrase : phrases)
+            {
+                writer.add(phrase);
+            }
+            return new PhraseCorpus(writer.toByteBuffer());
+        }
+        catch (IOException e)
+        {
+            // Solo se escribe en memoria, por lo que no deberia ocurrir.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Devuelve el corpus por defecto del juego.
+     * <p>
+     * Si la propiedad del sistema {@value #CORPUS_PROPERTY} apunta a un archivo,
+     * se mapea ese corpus; si no, se construye uno en memoria con las frases de
+     * {@link DefaultPhrases}.
+     *
+     * @return El corpus por defecto.
+     */
+    public static synchronized PhraseCorpus defaultCorpus()
+    {
+        if (defaultCorpus == null)
+        {
+            String path = System.getProperty(CORPUS_PROPERTY);
+            if (path != null)
+            {
+                try
+                {
+                    defaultCorpus = open(Paths.get(path));
+                }
+                catch (IOException e)
+                {
+                    LOG.log(Level.WARNING, "No se pudo abrir el corpus " + path + ", se usan las frases por defecto.", e);
+                }
+            }
+            if (defaultCorpus == null)
+            {
+                defaultCorpus = of(DefaultPhrases.phrases());
+            }
+        }
+        return defaultCorpus;
+    }
+
+    /**
+     * Calcula la clase de caracteres de una frase.
+     *
+     * @param phrase La frase.
+     * @return La combinacion de {@link #CLASS_NON_ASCII} y {@link #CLASS_HAS_SPACE}.
+     */
+    public static int charClassOf(CharSequence phrase)
+    {
+        int charClass = 0;
+        for (int i = 0; i < phrase.length(); i++)
+        {
+            char c = phrase.charAt(i);
+            if (c > 127)
+            {
+                charClass |= CLASS_NON_ASCII;
+            }
+            else if (c == ' ')
+            {
+                charClass |= CLASS_HAS_SPACE;
+            }
+        }
+        return charClass;
+    }
+
+    /**
+     * @return El numero de frases del corpus.
+     */
+    public int size()
+    {
+        return count;
+    }
+
+    /**
+     * @return La longitud de la frase mas larga del corpus.
+     */
+    public int getMaxLength()
+    {
+        return maxLength;
+    }
+
+    /**
+     * @return El tamaño del corpus en bytes, el de su archivo.
+     */
+    public int byteSize()
+    {
+        return buffer.capacity();
+    }
+
+    /**
+     * Decodifica una sola frase del corpus.
+     *
+     * @param id El identificador de la frase, entre 0 y {@link #size()} - 1.
+     * @return La frase.
+     */
+    public String phraseAt(int id)
+    {
+        int start = buffer.getInt(offsetsPos + 4 * id);
+        int end = buffer.getInt(offsetsPos + 4 * (id + 1));
+        byte[] bytes = new byte[end - start];
+        buffer.get(blobPos + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param id El identificador de la frase.
+     * @return La clase de caracteres de la frase.
+     */
+    public int charClassAt(int id)
+    {
+        return buffer.get(classesPos + id);
+    }
+
+    /**
+     * Devuelve el puntaje de dificultad de una frase, guardado al crear el corpus.
+     * <p>
+     * En un corpus de la version 1 no esta guardado y se calcula decodificando la frase.
+     *
+     * @param id El identificador de la frase.
+     * @return El puntaje de {@link PhraseDifficulty#score(CharSequence)}.
+     */
+    public float difficultyAt(int id)
+    {
+        if (difficultyPos == 0)
+        {
+            return PhraseDifficulty.score(phraseAt(id));
+        }
+        return buffer.getFloat(difficultyPos + 4 * id);
+    }
+
+    /**
+     * Selecciona una frase cualquiera del corpus en O(1).
+     *
+     * @param random El generador aleatorio.
+     * @return El identificador de la frase.
+     */
+    public int randomId(RandomGenerator random)
+    {
+        return random.nextInt(count);
+    }
+
+    /**
+     * Cuenta las frases cuya longitud esta dentro del rango indicado.
+     *
+     * @param minLength La longitud minima (inclusiva).
+     * @param maxLen    La longitud maxima (inclusiva).
+     * @return El numero de frases en el rango.
+     */
+    public int countWithLength(int minLength, int maxLen)
+    {
+        return lengthStart(maxLen + 1) - lengthStart(minLength);
+    }
+
+    /**
+     * Selecciona en O(1) una frase cuya longitud esta dentro del rango indicado.
+     *
+     * @param minLength La longitud minima (inclusiva).
+     * @param maxLen    La longitud maxima (inclusiva).
+     * @param random    El generador aleatorio.
+     * @return El identificador de la frase, o -1 si no hay frases en el rango.
+     */
+    public int randomIdWithLength(int minLength, int maxLen, RandomGenerator random)
+    {
+        int from = lengthStart(minLength);
+        int to = lengthStart(maxLen + 1);
+        if (from >= to)
+        {
+            return -1;
+        }
+        return buffer.getInt(lengthIdsPos + 4 * (from + random.nextInt(to - from)));
+    }
+
+    /**
+     * Selecciona en O(1) una frase de la clase de caracteres indicada.
+     *
+     * @param charClass La clase de caracteres, entre 0 y {@link #CHAR_CLASSES} - 1.
+     * @param random    El generador aleatorio.
+     * @return El identificador de la frase, o -1 si no hay frases de esa clase.
+     */
+    public int randomIdWithClass(int charClass, RandomGenerator random)
+    {
+        int from = buffer.getInt(classStartsPos + 4 * charClass);
+        int to = buffer.getInt(classStartsPos + 4 * (charClass + 1));
+        if (from >= to)
+        {
+            return -1;
+        }
+        return buffer.getInt(classIdsPos + 4 * (from + random.nextInt(to - from)));
+    }
+
+    /**
+     * Devuelve el inicio de la cubeta de una longitud, ajustando longitudes fuera de rango.
+     *
+     * @param length La longitud.
+     * @return La posicion de la cubeta dentro de los ids ordenados por longitud.
+     */
+    private int lengthStart(int length)
+    {
+        if (length <= 0)
+        {
+            return 0;
+        }
+        if (length > maxLength)
+        {
+            return count;
+        }
+        return buffer.getInt(lengthStartsPos + 4 * length);
+    }
+}
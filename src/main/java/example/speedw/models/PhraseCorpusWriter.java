@@ -0,0 +1,400 @@
+package example.speedw.models;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.Normalizer;
+import java.util.Arrays;
+
+/**
+ * Construye archivos de corpus de frases en el formato que lee {@link PhraseCorpus}.
+ * <p>
+ * Las frases se agregan una por una y se codifican en UTF-8 a medida que llegan,
+ * por lo que nunca se mantienen como objetos {@code String} en memoria. Por cada
+ * frase solo se guardan su desplazamiento, su longitud, su clase de caracteres
+ * y su puntaje de dificultad en arreglos primitivos; los indices secundarios se
+ * construyen al escribir.
+ * <p>
+ * Tambien puede ejecutarse desde la linea de comandos para convertir un archivo
+ * de texto (una frase por linea) en un corpus:
+ * {@code java example.speedw.models.PhraseCorpusWriter frases.txt frases.spwc}.
+ * Para textos grandes sin una frase por linea (libros, subtitulos) esta
+ * {@link CorpusImporter}.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class PhraseCorpusWriter
+{
+    /**
+     * Destino de los bytes UTF-8 de las frases.
+     */
+    private final OutputStream blobOut;
+
+    /**
+     * Archivo temporal con los bytes de las frases, o {@code null} si se guardan en memoria.
+     */
+    private final Path blobFile;
+
+    /**
+     * Bytes de las frases cuando el corpus se construye en memoria.
+     */
+    private final ByteArrayOutputStream blobBytes;
+
+    /**
+     * Desplazamiento de inicio de cada frase dentro del blob.
+     */
+    private int[] offsets = new int[1024];
+
+    /**
+     * Longitud en caracteres de cada frase.
+     */
+    private int[] lengths = new int[1024];
+
+    /**
+     * Clase de caracteres de cada frase (ver {@link PhraseCorpus#CLASS_NON_ASCII}).
+     */
+    private byte[] classes = new byte[1024];
+
+    /**
+     * Puntaje de dificultad de cada frase (ver {@link PhraseDifficulty#score(CharSequence)}).
+     */
+    private float[] difficulties = new float[1024];
+
+    /**
+     * Numero de frases agregadas.
+     */
+    private int count;
+
+    /**
+     * Tamaño actual del blob en bytes.
+     */
+    private long blobSize;
+
+    /**
+     * Longitud de la frase mas larga agregada.
+     */
+    private int maxLength;
+
+    /**
+     * Crea un escritor que guarda las frases en memoria, util para corpus pequeños.
+     */
+    public PhraseCorpusWriter()
+    {
+        blobBytes = new ByteArrayOutputStream();
+        blobOut = blobBytes;
+        blobFile = null;
+    }
+
+    /**
+     * Crea un escritor que guarda las frases en un archivo temporal, para corpus grandes.
+     *
+     * @param tempDir La carpeta donde se crea el archivo temporal.
+     * @throws IOException Si no se puede crear el archivo temporal.
+     */
+    public PhraseCorpusWriter(Path tempDir) throws IOException
+    {
+        blobBytes = null;
+        blobFile = Files.createTempFile(tempDir, "corpus", ".blob");
+        blobOut = new BufferedOutputStream(Files.newOutputStream(blobFile), 1 << 16);
+    }
+
+    /**
+     * Agrega una frase al corpus y calcula su dificultad.
+     * <p>
+     * La frase se guarda normalizada en NFC, una sola vez al crear el corpus,
+     * para que sus acentos coincidan con los que combina el {@link TypingValidator}.
+     *
+     * @param phrase La frase a agregar.
+     * @throws IOException Si no se puede escribir la frase.
+     */
+    public void add(String phrase) throws IOException
+    {
+        phrase = toNfc(phrase);
+        add(phrase, PhraseDifficulty.score(phrase));
+    }
+
+    /**
+     * Agrega una frase con un puntaje de dificultad ya calculado.
+     *
+     * @param phrase     La frase a agregar; se normaliza en NFC si no lo esta.
+     * @param difficulty Su puntaje de dificultad.
+     * @throws IOException Si no se puede escribir la frase.
+     */
+    public void add(String phrase, float difficulty) throws IOException
+    {
+        phrase = toNfc(phrase);
+        byte[] bytes = phrase.getBytes(StandardCharsets.UTF_8);
+        if (blobSize + bytes.length > Integer.MAX_VALUE - PhraseCorpus.HEADER_SIZE)
+        {
+            throw new IOException("El corpus supera el tamaño maximo de 2 GB.");
+        }
+        if (count == offsets.length)
+        {
+            int newLength = offsets.length * 2;
+            offsets = Arrays.copyOf(offsets, newLength);
+            lengths = Arrays.copyOf(lengths, newLength);
+            classes = Arrays.copyOf(classes, newLength);
+            difficulties = Arrays.copyOf(difficulties, newLength);
+        }
+        offsets[count] = (int) blobSize;
+        lengths[count] = phrase.length();
+        classes[count] = (byte) PhraseCorpus.charClassOf(phrase);
+        difficulties[count] = difficulty;
+        maxLength = Math.max(maxLength, phrase.length());
+        count++;
+
+        blobOut.write(bytes);
+        blobSize += bytes.length;
+    }
+
+    /**
+     * @param phrase Una frase.
+     * @return La frase normalizada en NFC, o la misma si ya lo estaba.
+     */
+    private static String toNfc(String phrase)
+    {
+        int i = 0;
+        // Los caracteres anteriores a U+0300 nunca se combinan ni se descomponen.
+        while (i < phrase.length() && phrase.charAt(i) < '\u0300')
+        {
+            i++;
+        }
+        if (i < phrase.length() && !Normalizer.isNormalized(phrase, Normalizer.Form.NFC))
+        {
+            return Normalizer.normalize(phrase, Normalizer.Form.NFC);
+        }
+        return phrase;
+    }
+
+    /**
+     * @return El numero de frases agregadas hasta ahora.
+     */
+    public int size()
+    {
+        return count;
+    }
+
+    /**
+     * Escribe el corpus en un archivo.
+     * <p>
+     * El archivo se escribe primero con un nombre temporal y luego se reemplaza
+     * con {@link DurableFiles#commit(Path, Path)}, de modo que un lector nunca ve
+     * un corpus a medio escribir, ni siquiera tras un corte de luz.
+     *
+     * @param target El archivo de destino.
+     * @throws IOException Si ocurre un error al escribir.
+     */
+    public void write(Path target) throws IOException
+    {
+        blobOut.flush();
+        Path parent = target.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(parent, target.getFileName().toString(), ".tmp");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))
+        {
+            writeTo(out);
+        }
+        DurableFiles.commit(temp, target);
+    }
+
+    /**
+     * Construye el corpus en un buffer de memoria.
+     *
+     * @return Un buffer con el corpus completo, listo para {@link PhraseCorpus#wrap(ByteBuffer)}.
+     * @throws IOException Si ocurre un error al leer el blob temporal.
+     */
+    public ByteBuffer toByteBuffer() throws IOException
+    {
+        blobOut.flush();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(
+                (int) Math.min(blobSize + 20L * count + PhraseCorpus.HEADER_SIZE, Integer.MAX_VALUE - 8));
+        writeTo(out);
+        return ByteBuffer.wrap(out.toByteArray());
+    }
+
+    /**
+     * Libera el archivo temporal del blob, si existe.
+     *
+     * @throws IOException Si no se puede borrar el archivo temporal.
+     */
+    public void close() throws IOException
+    {
+        blobOut.close();
+        if (blobFile != null)
+        {
+            Files.deleteIfExists(blobFile);
+        }
+    }
+
+    /**
+     * Escribe la cabecera, las secciones de indices y el blob.
+     *
+     * @param rawOut El destino del corpus.
+     * @throws IOException Si ocurre un error al escribir.
+     */
+    private void writeTo(OutputStream rawOut) throws IOException
+    {
+        DataOutputStream out = new DataOutputStream(rawOut);
+
+        int offsetsPos = PhraseCorpus.HEADER_SIZE;
+        int classBytes = (count + 3) & ~3;
+        int lengthIndexPos;
+        int charsetIndexPos;
+        int difficultyPos;
+        int blobPos;
+        try
+        {
+            int idsBytes = Math.multiplyExact(4, count);
+            lengthIndexPos = Math.addExact(offsetsPos, Math.addExact(idsBytes, 4));
+            charsetIndexPos = Math.addExact(lengthIndexPos,
+                    Math.addExact(Math.multiplyExact(4, maxLength + 2), idsBytes));
+            difficultyPos = Math.addExact(charsetIndexPos,
+                    Math.addExact(classBytes + 4 * (PhraseCorpus.CHAR_CLASSES + 1), idsBytes));
+            blobPos = Math.addExact(difficultyPos, idsBytes);
+            Math.addExact(blobPos, (int) blobSize);
+        }
+        catch (ArithmeticException e)
+        {
+            throw new IOException("El corpus supera el tamaño maximo de 2 GB.", e);
+        }
+
+        // --- Cabecera ---
+        out.writeInt(PhraseCorpus.MAGIC);
+        out.writeInt(PhraseCorpus.VERSION);
+        out.writeInt(count);
+        out.writeInt(maxLength);
+        out.writeInt(offsetsPos);
+        out.writeInt(lengthIndexPos);
+        out.writeInt(charsetIndexPos);
+        out.writeInt(blobPos);
+        out.writeInt((int) blobSize);
+        out.writeInt(difficultyPos);
+
+        // --- Tabla de desplazamientos ---
+        for (int i = 0; i < count; i++)
+        {
+            out.writeInt(offsets[i]);
+        }
+        out.writeInt((int) blobSize);
+
+        // --- Indice por longitud (ordenamiento por conteo) ---
+        int[] lengthStarts = new int[maxLength + 2];
+        for (int i = 0; i < count; i++)
+        {
+            lengthStarts[lengths[i] + 1]++;
+        }
+        for (int l = 1; l < lengthStarts.length; l++)
+        {
+            lengthStarts[l] += lengthStarts[l - 1];
+        }
+        for (int start : lengthStarts)
+        {
+            out.writeInt(start);
+        }
+        writeBucketIds(out, lengthStarts, lengths);
+
+        // --- Indice por clase de caracteres ---
+        for (int i = 0; i < classBytes; i++)
+        {
+            out.writeByte(i < count ? classes[i] : 0);
+        }
+        int[] classStarts = new int[PhraseCorpus.CHAR_CLASSES + 1];
+        int[] classKeys = new int[count];
+        for (int i = 0; i < count; i++)
+        {
+            classKeys[i] = classes[i];
+            classStarts[classes[i] + 1]++;
+        }
+        for (int c = 1; c < classStarts.length; c++)
+        {
+            classStarts[c] += classStarts[c - 1];
+        }
+        for (int start : classStarts)
+        {
+            out.writeInt(start);
+        }
+        writeBucketIds(out, classStarts, classKeys);
+
+        // --- Puntajes de dificultad ---
+        for (int i = 0; i < count; i++)
+        {
+            out.writeFloat(difficulties[i]);
+        }
+
+        // --- Blob UTF-8 ---
+        if (blobFile != null)
+        {
+            Files.copy(blobFile, out);
+        }
+        else
+        {
+            blobBytes.writeTo(out);
+        }
+        out.flush();
+    }
+
+    /**
+     * Escribe los identificadores de frase agrupados por cubeta.
+     *
+     * @param out    El destino.
+     * @param starts El inicio de cada cubeta (ya acumulado).
+     * @param keys   La cubeta de cada frase.
+     * @throws IOException Si ocurre un error al escribir.
+     */
+    private void writeBucketIds(DataOutputStream out, int[] starts, int[] keys) throws IOException
+    {
+        int[] cursor = Arrays.copyOf(starts, starts.length);
+        int[] ids = new int[count];
+        for (int i = 0; i < count; i++)
+        {
+            ids[cursor[keys[i]]++] = i;
+        }
+        for (int id : ids)
+        {
+            out.writeInt(id);
+        }
+    }
+
+    /**
+     * Convierte un archivo de texto (una frase por linea) en un corpus binario.
+     *
+     * @param args El archivo de texto de entrada y el archivo de corpus de salida.
+     * @throws IOException Si ocurre un error de lectura o escritura.
+     */
+    public static void main(String[] args) throws IOException
+    {
+        if (args.length != 2)
+        {
+            System.err.println("Uso: PhraseCorpusWriter <frases.txt> <corpus.spwc>");
+            return;
+        }
+        Path target = Paths.get(args[1]);
+        PhraseCorpusWriter writer = new PhraseCorpusWriter(target.toAbsolutePath().getParent());
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(args[0]), StandardCharsets.UTF_8))
+        {
+            String line;
+            while ((line = reader.readLine()) != null)
+            {
+                if (!line.isBlank())
+                {
+                    writer.add(line.strip());
+                }
+            }
+            writer.write(target);
+        }
+        finally
+        {
+            writer.close();
+        }
+        System.out.println("Corpus escrito: " + writer.size() + " frases en " + target);
+    }
+}
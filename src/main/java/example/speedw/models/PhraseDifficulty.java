@@ -0,0 +1,190 @@
+package example.speedw.models;
+
+import java.util.Arrays;
+
+/**
+ * Indice de las frases de un {@link PhraseCorpus} ordenadas por dificultad.
+ * <p>
+ * La dificultad de una frase se calcula una sola vez a partir de su texto: su
+ * longitud, las letras poco frecuentes en español (j, k, q, w, x, y, z, ñ), los
+ * caracteres acentuados (como en "población") y las mayusculas. Las frases se
+ * ordenan de la mas facil a la mas dificil, de modo que una banda de dificultad
+ * es simplemente un rango de posiciones. El indice es inmutable y puede
+ * compartirse entre varios {@link AdaptivePhraseScheduler}.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class PhraseDifficulty
+{
+    /**
+     * Puntos extra por cada letra poco frecuente.
+     */
+    public static final float RARE_LETTER_WEIGHT = 3f;
+
+    /**
+     * Puntos extra por cada caracter acentuado o fuera de ASCII.
+     */
+    public static final float ACCENT_WEIGHT = 4f;
+
+    /**
+     * Puntos extra por cada mayuscula.
+     */
+    public static final float UPPERCASE_WEIGHT = 1f;
+
+    /**
+     * Letras poco frecuentes en español, en minusculas.
+     */
+    private static final String RARE_LETTERS = "jkqwxyzñ";
+
+    /**
+     * Tabla de {@link #RARE_LETTERS} indexada por caracter, para no buscar en el texto con cada letra.
+     */
+    private static final boolean[] IS_RARE = new boolean[256];
+
+    static
+    {
+        for (int i = 0; i < RARE_LETTERS.length(); i++)
+        {
+            IS_RARE[RARE_LETTERS.charAt(i)] = true;
+        }
+    }
+
+    /**
+     * Indice del corpus por defecto, creado la primera vez que se solicita.
+     */
+    private static PhraseDifficulty defaultIndex;
+
+    /**
+     * El corpus indexado.
+     */
+    private final PhraseCorpus corpus;
+
+    /**
+     * Id de la frase en cada posicion, de la mas facil a la mas dificil.
+     */
+    private final int[] order;
+
+    /**
+     * Posicion de cada frase en {@link #order}, indexado por su id.
+     */
+    private final int[] positions;
+
+    /**
+     * Construye el indice en O(n log n), con los puntajes guardados en el corpus.
+     * <p>
+     * Solo un corpus de la version 1 obliga a decodificar cada frase para puntuarla.
+     *
+     * @param corpus El corpus a indexar.
+     */
+    public PhraseDifficulty(PhraseCorpus corpus)
+    {
+        this.corpus = corpus;
+        int size = corpus.size();
+        // Puntaje en los 32 bits altos e id en los bajos: un solo sort de primitivos y los empates quedan por id.
+        long[] keys = new long[size];
+        for (int id = 0; id < size; id++)
+        {
+            keys[id] = (long) Float.floatToIntBits(corpus.difficultyAt(id)) << 32 | id;
+        }
+        Arrays.sort(keys);
+
+        order = new int[size];
+        positions = new int[size];
+        for (int position = 0; position < size; position++)
+        {
+            int id = (int) keys[position];
+            order[position] = id;
+            positions[id] = position;
+        }
+    }
+
+    /**
+     * Devuelve el indice del corpus por defecto ({@link PhraseCorpus#defaultCorpus()}).
+     *
+     * @return El indice por defecto.
+     */
+    public static synchronized PhraseDifficulty defaultIndex()
+    {
+        if (defaultIndex == null)
+        {
+            defaultIndex = new PhraseDifficulty(PhraseCorpus.defaultCorpus());
+        }
+        return defaultIndex;
+    }
+
+    /**
+     * Calcula la dificultad estatica de una frase.
+     *
+     * @param phrase La frase.
+     * @return El puntaje de dificultad, mayor o igual que 0.
+     */
+    public static float score(CharSequence phrase)
+    {
+        float score = phrase.length();
+        for (int i = 0; i < phrase.length(); i++)
+        {
+            char c = phrase.charAt(i);
+            char lower = Character.toLowerCase(c);
+            if (lower < IS_RARE.length && IS_RARE[lower])
+            {
+                score += RARE_LETTER_WEIGHT;
+            }
+            else if (c > 127)
+            {
+                score += ACCENT_WEIGHT;
+            }
+            if (lower != c)
+            {
+                score += UPPERCASE_WEIGHT;
+            }
+        }
+        return score;
+    }
+
+    /**
+     * @return El corpus indexado.
+     */
+    public PhraseCorpus getCorpus()
+    {
+        return corpus;
+    }
+
+    /**
+     * @return El numero de frases.
+     */
+    public int size()
+    {
+        return order.length;
+    }
+
+    /**
+     * @param position Una posicion, de 0 (la mas facil) a {@code size() - 1}.
+     * @return El id en el corpus de la frase en esa posicion.
+     */
+    public int idAt(int position)
+    {
+        return order[position];
+    }
+
+    /**
+     * @param id El id de una frase en el corpus.
+     * @return Su posicion por dificultad.
+     */
+    public int positionOf(int id)
+    {
+        return positions[id];
+    }
+
+    /**
+     * Decodifica la frase en una posicion.
+     *
+     * @param position La posicion por dificultad.
+     * @return La frase.
+     */
+    public String phraseAt(int position)
+    {
+        return corpus.phraseAt(order[position]);
+    }
+}
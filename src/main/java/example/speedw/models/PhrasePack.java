@@ -0,0 +1,365 @@
+package example.speedw.models;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Paquete de frases listo para jugar: un corpus con su indice de dificultad.
+ * <p>
+ * Cada paquete es de un idioma. El idioma elegido ({@link LanguageCatalog})
+ * fija sus frases con {@link #select(PhrasePack)}, y {@link PhrasePackWatcher}
+ * publica los paquetes de la carpeta de paquetes con {@link #publish(PhrasePack)},
+ * uno por idioma. El paquete en uso es el publicado para el idioma elegido o,
+ * si no hay, las frases del idioma: un paquete de otro idioma no las reemplaza,
+ * y elegir otra vez un idioma no descarta el paquete publicado para el.
+ * <p>
+ * Un paquete es inmutable. El vigilante construye el paquete nuevo completo en
+ * su hilo y lo publica con una sola escritura, y el juego lee el paquete en
+ * uso al empezar cada partida ({@link HotSwapPhraseSource}). Nadie toma un
+ * candado, asi que el hilo de JavaFX nunca espera la carga de un paquete, y
+ * nadie puede ver un paquete a medio construir.
+ * <p>
+ * Los paquetes se leen completos a memoria en lugar de mapearse: un archivo
+ * mapeado que se sobrescribe mientras se juega cambiaria bajo la partida.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class PhrasePack
+{
+    /**
+     * Frases del idioma elegido; {@code null} hasta que se pide por primera vez o se elige un idioma.
+     */
+    private static final AtomicReference<PhrasePack> SELECTED = new AtomicReference<>();
+
+    /**
+     * Paquetes publicados desde la carpeta de paquetes, por idioma.
+     */
+    private static final Map<Locale, PhrasePack> PUBLISHED = new ConcurrentHashMap<>();
+
+    /**
+     * Paquete con el corpus por defecto; {@code null} hasta que se pide por primera vez.
+     */
+    private static PhrasePack defaultPack;
+
+    /**
+     * Nombre del paquete, el de su archivo.
+     */
+    private final String name;
+
+    /**
+     * Idioma de las frases.
+     */
+    private final Locale language;
+
+    /**
+     * Frases ordenadas por dificultad.
+     */
+    private final PhraseDifficulty index;
+
+    /**
+     * Tiempo que tomo leer el paquete y construir su indice.
+     */
+    private final long buildNanos;
+
+    /**
+     * Hash de las frases del paquete.
+     */
+    private final long hash;
+
+    /**
+     * Crea un paquete sobre un indice ya construido.
+     *
+     * @param name       El nombre del paquete.
+     * @param language   El idioma de las frases.
+     * @param index      Las frases ordenadas por dificultad.
+     * @param buildNanos El tiempo que tomo construirlo.
+     */
+    public PhrasePack(String name, Locale language, PhraseDifficulty index, long buildNanos)
+    {
+        this.name = name;
+        this.language = language;
+        this.index = index;
+        this.buildNanos = buildNanos;
+        this.hash = hashOf(index.getCorpus());
+    }
+
+    /**
+     * Lee un archivo de corpus y construye su indice. El idioma del paquete sale
+     * del nombre del archivo ({@link #languageOf(Path)}).
+     *
+     * @param file El archivo de corpus.
+     * @return El paquete.
+     * @throws IOException Si el archivo no se puede leer, esta incompleto o no es un corpus valido.
+     */
+    public static PhrasePack load(Path file) throws IOException
+    {
+        long start = System.nanoTime();
+        PhraseCorpus corpus = PhraseCorpus.wrap(ByteBuffer.wrap(Files.readAllBytes(file)));
+        if (corpus.size() == 0)
+        {
+            throw new IOException("El paquete " + file + " no tiene frases.");
+        }
+        PhraseDifficulty index = new PhraseDifficulty(corpus);
+        return new PhrasePack(file.getFileName().toString(), languageOf(file), index, System.nanoTime() - start);
+    }
+
+    /**
+     * Devuelve el idioma de un archivo de paquete, que va antes de la extension:
+     * {@code refranes.en.spwc} es en ingles. Un archivo sin idioma en el nombre
+     * es del idioma por defecto ({@link LanguageCatalog#DEFAULT_LANGUAGE}).
+     *
+     * @param file El archivo del paquete.
+     * @return El idioma del paquete.
+     */
+    public static Locale languageOf(Path file)
+    {
+        String name = file.getFileName().toString();
+        if (name.endsWith(PhraseCorpus.EXTENSION))
+        {
+            name = name.substring(0, name.length() - PhraseCorpus.EXTENSION.length());
+        }
+        int dot = name.lastIndexOf('.');
+        if (dot > 0)
+        {
+            String tag = name.substring(dot + 1);
+            Locale locale = Locale.forLanguageTag(tag);
+            // Solo un idioma de dos o tres letras, con su region opcional; "frases.v2" no es un idioma.
+            if (!locale.getLanguage().isEmpty() && locale.getLanguage().length() <= 3
+                    && locale.toLanguageTag().equalsIgnoreCase(tag))
+            {
+                return locale;
+            }
+        }
+        return LanguageCatalog.DEFAULT_LANGUAGE;
+    }
+
+    /**
+     * Devuelve el paquete en uso: el publicado para el idioma elegido o, si no
+     * hay, las frases del idioma. Si aun no se eligio ninguno, el idioma es el
+     * por defecto con las frases del corpus por defecto.
+     *
+     * @return El paquete en uso.
+     */
+    public static PhrasePack current()
+    {
+        PhrasePack selected = SELECTED.get();
+        if (selected == null)
+        {
+            SELECTED.compareAndSet(null, defaultPack());
+            selected = SELECTED.get();
+        }
+        PhrasePack published = PUBLISHED.get(selected.language);
+        return published != null ? published : selected;
+    }
+
+    /**
+     * Devuelve el paquete del corpus por defecto ({@link PhraseDifficulty#defaultIndex()}),
+     * en el idioma por defecto. Es el paquete de las partidas grabadas antes de
+     * que las repeticiones guardaran su paquete.
+     *
+     * @return El paquete por defecto.
+     */
+    public static synchronized PhrasePack defaultPack()
+    {
+        if (defaultPack == null)
+        {
+            defaultPack = new PhrasePack("por defecto", LanguageCatalog.DEFAULT_LANGUAGE,
+                    PhraseDifficulty.defaultIndex(), 0);
+        }
+        return defaultPack;
+    }
+
+    /**
+     * Busca el paquete de un idioma con un hash de frases dado ({@link #getHash()}),
+     * para volver a jugar con las frases de una partida grabada.
+     * <p>
+     * Se prueban, en orden, el paquete por defecto, el paquete en uso, los
+     * paquetes publicados, las frases instaladas del idioma ({@link LanguageCatalog})
+     * y los paquetes de ese idioma en la carpeta indicada.
+     *
+     * @param language El idioma del paquete.
+     * @param hash     El hash de sus frases.
+     * @param packs    La carpeta de paquetes, o {@code null} para no buscar en ninguna.
+     * @return El paquete.
+     * @throws IOException Si ningun paquete conocido tiene ese idioma y ese hash.
+     */
+    public static PhrasePack find(Locale language, long hash, Path packs) throws IOException
+    {
+        List<PhrasePack> known = new ArrayList<>();
+        known.add(defaultPack());
+        known.add(current());
+        known.addAll(PUBLISHED.values());
+        for (PhrasePack pack : known)
+        {
+            if (pack.language.equals(language) && pack.getHash() == hash)
+            {
+                return pack;
+            }
+        }
+        LanguageCatalog catalog = LanguageCatalog.shared();
+        if (catalog.available().contains(language))
+        {
+            try
+            {
+                PhrasePack pack = catalog.get(language).join().getPhrases();
+                if (pack.getHash() == hash)
+                {
+                    return pack;
+                }
+            }
+            catch (CompletionException e)
+            {
+                // El idioma esta en la lista pero no se pudo cargar; se siguen buscando paquetes.
+            }
+        }
+        if (packs != null && Files.isDirectory(packs))
+        {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(packs, "*" + PhraseCorpus.EXTENSION))
+            {
+                for (Path file : stream)
+                {
+                    if (!languageOf(file).equals(language))
+                    {
+                        continue;
+                    }
+                    try
+                    {
+                        PhrasePack pack = load(file);
+                        if (pack.getHash() == hash)
+                        {
+                            return pack;
+                        }
+                    }
+                    catch (IOException e)
+                    {
+                        // Un paquete incompleto o dañado no puede ser el buscado.
+                    }
+                }
+            }
+        }
+        throw new IOException(String.format(Locale.ROOT, "Paquete de frases desconocido: idioma %s, hash %016x.",
+                language.toLanguageTag(), hash));
+    }
+
+    /**
+     * Elige las frases del idioma del juego; las partidas que empiecen desde
+     * ahora las usan, salvo que haya un paquete publicado para ese idioma.
+     *
+     * @param pack Las frases del idioma.
+     */
+    public static void select(PhrasePack pack)
+    {
+        SELECTED.set(pack);
+    }
+
+    /**
+     * Publica un paquete para su idioma, en lugar del publicado antes para el
+     * mismo idioma; si es el idioma elegido, las partidas que empiecen desde ahora lo usan.
+     *
+     * @param pack El paquete nuevo.
+     */
+    public static void publish(PhrasePack pack)
+    {
+        PUBLISHED.put(pack.language, pack);
+    }
+
+    /**
+     * Olvida el idioma elegido y los paquetes publicados, para que cada prueba empiece con el corpus por defecto.
+     */
+    static void reset()
+    {
+        SELECTED.set(null);
+        PUBLISHED.clear();
+    }
+
+    /**
+     * @return El nombre del paquete.
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+    /**
+     * @return El idioma de las frases.
+     */
+    public Locale getLanguage()
+    {
+        return language;
+    }
+
+    /**
+     * @return Las frases del paquete ordenadas por dificultad.
+     */
+    public PhraseDifficulty getIndex()
+    {
+        return index;
+    }
+
+    /**
+     * @return El numero de frases del paquete.
+     */
+    public int size()
+    {
+        return index.size();
+    }
+
+    /**
+     * @return El tiempo que tomo leer el paquete y construir su indice.
+     */
+    public long getBuildNanos()
+    {
+        return buildNanos;
+    }
+
+    /**
+     * Devuelve el hash de las frases del paquete ({@link #hashOf(PhraseCorpus)}).
+     * Dos paquetes con las mismas frases tienen el mismo hash aunque sus archivos
+     * se llamen distinto; asi una repeticion ({@link ReplayRecorder}) o una
+     * instantanea ({@link GameSnapshot}) reconocen el paquete con que se jugo.
+     *
+     * @return El hash de las frases del paquete.
+     */
+    public long getHash()
+    {
+        return hash;
+    }
+
+    /**
+     * Calcula el hash FNV-1a de 64 bits de las frases de un corpus, en su orden.
+     * Recorre todas las frases, asi que se calcula una vez al construir el
+     * paquete, en el mismo hilo que su indice.
+     *
+     * @param corpus El corpus.
+     * @return El hash.
+     */
+    private static long hashOf(PhraseCorpus corpus)
+    {
+        long h = 0xcbf29ce484222325L;
+        for (int id = 0; id < corpus.size(); id++)
+        {
+            String phrase = corpus.phraseAt(id);
+            for (int i = 0; i < phrase.length(); i++)
+            {
+                h ^= phrase.charAt(i);
+                h *= 0x100000001b3L;
+            }
+            // Un separador, para que "ab" + "c" no se confunda con "a" + "bc".
+            h ^= '\n';
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+}
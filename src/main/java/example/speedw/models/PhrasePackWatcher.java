@@ -0,0 +1,300 @@
+package example.speedw.models;
+
+import example.speedw.diagnostics.GameMetrics;
+
+import java.io.IOException;
+import java.lang.System.Logger.Level;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.FileTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vigila una carpeta de paquetes de frases y publica en el juego los que cambian.
+ * <p>
+ * Un hilo de fondo espera los avisos de un {@link WatchService}. Cuando se crea
+ * o se modifica un archivo {@value PhraseCorpus#EXTENSION}, espera a que la
+ * carpeta quede quieta {@value #SETTLE_MILLIS} ms (copiar un archivo grande
+ * genera varios avisos), lee el paquete y construye su indice en ese mismo hilo,
+ * y lo publica con {@link PhrasePack#publish(PhrasePack)}. Si el archivo esta
+ * incompleto o no es un corpus valido, se registra y se sigue usando el paquete
+ * anterior; cuando termine de copiarse llegara otro aviso.
+ * <p>
+ * Cada paquete es del idioma que lleva en el nombre antes de la extension
+ * ({@code refranes.en.spwc}), o del idioma por defecto si no lleva ninguno
+ * ({@link PhrasePack#languageOf(Path)}), y solo reemplaza las frases de ese
+ * idioma. De cada idioma se carga el paquete modificado mas recientemente.
+ * <p>
+ * Cada recarga informa por JMX y JFR ({@link GameMetrics#packReloaded}) cuanto
+ * tardo en construirse el paquete y cuanto paso desde el primer aviso hasta su
+ * publicacion.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class PhrasePackWatcher implements AutoCloseable
+{
+    /**
+     * Registro de los errores de esta clase.
+     */
+    private static final System.Logger LOG = System.getLogger(PhrasePackWatcher.class.getName());
+
+    /**
+     * Propiedad del sistema con la carpeta de paquetes a vigilar.
+     */
+    public static final String PACKS_PROPERTY = "speedw.packs";
+
+    /**
+     * Milisegundos sin avisos nuevos que se esperan antes de leer un paquete.
+     */
+    public static final long SETTLE_MILLIS = 250;
+
+    /**
+     * Carpeta vigilada.
+     */
+    private final Path directory;
+
+    /**
+     * Metricas de JMX y eventos de JFR de la aplicacion.
+     */
+    private final GameMetrics metrics = GameMetrics.shared();
+
+    /**
+     * Servicio de avisos de la carpeta, o {@code null} antes de {@link #start()}.
+     */
+    private WatchService watchService;
+
+    /**
+     * Hilo que atiende los avisos.
+     */
+    private Thread thread;
+
+    /**
+     * Crea un vigilante para una carpeta; no vigila nada hasta {@link #start()}.
+     *
+     * @param directory La carpeta de paquetes.
+     */
+    public PhrasePackWatcher(Path directory)
+    {
+        this.directory = directory;
+    }
+
+    /**
+     * Devuelve la carpeta de paquetes por defecto.
+     * <p>
+     * Es la de la propiedad del sistema {@value #PACKS_PROPERTY} o, si no esta
+     * definida, la carpeta {@code packs} junto al historial de resultados.
+     *
+     * @return La carpeta de paquetes.
+     */
+    public static Path defaultDirectory()
+    {
+        String path = System.getProperty(PACKS_PROPERTY);
+        if (path != null)
+        {
+            return Paths.get(path);
+        }
+        return ResultsLog.defaultPath().toAbsolutePath().resolveSibling("packs");
+    }
+
+    /**
+     * Crea la carpeta si no existe, empieza a vigilarla y carga en el hilo de
+     * fondo el paquete mas reciente de cada idioma que ya tenga.
+     *
+     * @throws IOException Si no se puede crear o vigilar la carpeta.
+     */
+    public synchronized void start() throws IOException
+    {
+        if (thread != null)
+        {
+            return;
+        }
+        Files.createDirectories(directory);
+        watchService = FileSystems.getDefault().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        thread = new Thread(this::run, "speedw-packs");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Deja de vigilar la carpeta. El paquete en uso no cambia.
+     */
+    @Override
+    public synchronized void close()
+    {
+        if (watchService == null)
+        {
+            return;
+        }
+        try
+        {
+            watchService.close();
+        }
+        catch (IOException e)
+        {
+            LOG.log(Level.WARNING, "No se pudo cerrar la vigilancia de " + directory + ".", e);
+        }
+    }
+
+    /**
+     * @return La carpeta vigilada.
+     */
+    public Path getDirectory()
+    {
+        return directory;
+    }
+
+    /**
+     * Ciclo del hilo de fondo: carga los paquetes iniciales y despues atiende los avisos hasta que se cierre.
+     */
+    private void run()
+    {
+        for (Path newest : latestByLanguage(listPacks()))
+        {
+            reload(newest, System.nanoTime());
+        }
+        try
+        {
+            while (true)
+            {
+                Set<Path> changed = new LinkedHashSet<>();
+                WatchKey key = watchService.take();
+                long firstEventNanos = 0;
+                // Se juntan los avisos hasta que la carpeta quede quieta; la latencia se mide desde el primero de un paquete.
+                while (key != null)
+                {
+                    collect(key, changed);
+                    if (firstEventNanos == 0 && !changed.isEmpty())
+                    {
+                        firstEventNanos = System.nanoTime();
+                    }
+                    key = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+                }
+                for (Path latest : latestByLanguage(changed))
+                {
+                    reload(latest, firstEventNanos);
+                }
+            }
+        }
+        catch (ClosedWatchServiceException | InterruptedException e)
+        {
+            // Se cerro el vigilante; el hilo termina.
+        }
+    }
+
+    /**
+     * Agrega a un conjunto los paquetes de los avisos de una llave y la deja lista para recibir mas.
+     *
+     * @param key     La llave con avisos.
+     * @param changed Los paquetes que cambiaron.
+     */
+    private void collect(WatchKey key, Set<Path> changed)
+    {
+        for (WatchEvent<?> event : key.pollEvents())
+        {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW)
+            {
+                // Se perdieron avisos: se toman los paquetes de la carpeta y se elige el mas reciente de cada idioma.
+                changed.addAll(listPacks());
+                continue;
+            }
+            Path file = directory.resolve((Path) event.context());
+            if (file.getFileName().toString().endsWith(PhraseCorpus.EXTENSION))
+            {
+                changed.add(file);
+            }
+        }
+        key.reset();
+    }
+
+    /**
+     * Lee un paquete, lo publica e informa los tiempos; si falla, deja el paquete en uso.
+     *
+     * @param file            El archivo del paquete.
+     * @param firstEventNanos El instante del primer aviso del cambio.
+     */
+    private void reload(Path file, long firstEventNanos)
+    {
+        PhrasePack pack;
+        try
+        {
+            pack = PhrasePack.load(file);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            LOG.log(Level.WARNING, "No se pudo cargar el paquete " + file + "; se sigue usando el anterior de "
+                    + PhrasePack.languageOf(file).toLanguageTag() + ".", e);
+            return;
+        }
+        PhrasePack.publish(pack);
+        long latencyNanos = System.nanoTime() - firstEventNanos;
+        metrics.packReloaded(pack.getName(), pack.size(), pack.getBuildNanos(), latencyNanos);
+        LOG.log(Level.INFO, String.format(Locale.ROOT, "Paquete %s publicado: %d frases, construido en %.1f ms, %.1f ms desde el aviso.",
+                pack.getName(), pack.size(), pack.getBuildNanos() / 1e6, latencyNanos / 1e6));
+    }
+
+    /**
+     * @return Los paquetes de la carpeta.
+     */
+    private Set<Path> listPacks()
+    {
+        Set<Path> packs = new LinkedHashSet<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + PhraseCorpus.EXTENSION))
+        {
+            stream.forEach(packs::add);
+        }
+        catch (IOException e)
+        {
+            LOG.log(Level.WARNING, "No se pudo listar la carpeta de paquetes " + directory + ".", e);
+        }
+        return packs;
+    }
+
+    /**
+     * Elige, de varios paquetes, el modificado mas recientemente de cada idioma que aun exista.
+     *
+     * @param files Los paquetes.
+     * @return El paquete mas reciente de cada idioma; vacio si ninguno existe.
+     */
+    private static Collection<Path> latestByLanguage(Set<Path> files)
+    {
+        Map<Locale, Path> latest = new LinkedHashMap<>();
+        Map<Locale, FileTime> latestTimes = new HashMap<>();
+        for (Path file : files)
+        {
+            try
+            {
+                FileTime time = Files.getLastModifiedTime(file);
+                Locale language = PhrasePack.languageOf(file);
+                FileTime latestTime = latestTimes.get(language);
+                if (latestTime == null || time.compareTo(latestTime) >= 0)
+                {
+                    latest.put(language, file);
+                    latestTimes.put(language, time);
+                }
+            }
+            catch (IOException e)
+            {
+                // El archivo se borro o se renombro despues del aviso.
+            }
+        }
+        return latest.values();
+    }
+}
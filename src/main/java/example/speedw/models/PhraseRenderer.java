@@ -0,0 +1,508 @@
+package example.speedw.models;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+
+import java.util.Arrays;
+
+/**
+ * Dibuja la frase objetivo en un {@link Canvas}, coloreando cada caracter segun el progreso.
+ * <p>
+ * Los caracteres ya escritos bien se pintan en verde, los errados en rojo y
+ * subrayados, y los pendientes en gris; una barra marca el cursor y otra,
+ * opcional, la posicion de un fantasma ({@link GhostRun}). Al cambiar
+ * de frase se acomoda el texto una sola vez en renglones centrados, con los
+ * avances guardados de {@link IGlyphMetrics}, y cada caracter queda con su
+ * posicion fija. Despues, cada cambio del progreso solo marca el rango de
+ * caracteres que cambio de estado, y {@link #render()} borra y vuelve a dibujar
+ * solo esas celdas (mas una a cada lado, por los bordes suavizados). Con una
+ * tecla eso son dos o tres caracteres, sin importar la longitud del texto.
+ * <p>
+ * Si el texto no cabe en {@code maxLines} renglones, solo se dibujan los
+ * visibles y la vista se desplaza para seguir al cursor; desplazarla redibuja
+ * solo los renglones visibles. Esta clase no crea objetos al dibujar, salvo
+ * el texto de los caracteres fuera de los alfabetos latinos.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class PhraseRenderer
+{
+    /**
+     * Color de los caracteres pendientes.
+     */
+    private static final Color PENDING_COLOR = Color.web("#7f7f7f");
+
+    /**
+     * Color de los caracteres escritos correctamente.
+     */
+    private static final Color CORRECT_COLOR = Color.web("#7dff9d");
+
+    /**
+     * Color de los caracteres errados.
+     */
+    private static final Color WRONG_COLOR = Color.web("#ff4d4d");
+
+    /**
+     * Color del cursor.
+     */
+    private static final Color CURSOR_COLOR = Color.WHITE;
+
+    /**
+     * Color de la barra del fantasma.
+     */
+    private static final Color GHOST_COLOR = Color.web("#6fa8ff", 0.8);
+
+    /**
+     * Ancho del cursor, y de la celda despues del ultimo caracter.
+     */
+    private static final double CURSOR_WIDTH = 2.0;
+
+    /**
+     * Alto del subrayado de los caracteres errados.
+     */
+    private static final double UNDERLINE_HEIGHT = 1.5;
+
+    /**
+     * Texto de cada caracter de los alfabetos latinos, para no crear uno por dibujo.
+     */
+    private static final String[] GLYPHS = new String[0x250];
+
+    static
+    {
+        for (int c = 0; c < GLYPHS.length; c++)
+        {
+            GLYPHS[c] = String.valueOf((char) c);
+        }
+    }
+
+    /**
+     * El lienzo donde se dibuja.
+     */
+    private final Canvas canvas;
+
+    /**
+     * Contexto de dibujo del lienzo.
+     */
+    private final GraphicsContext gc;
+
+    /**
+     * Medidas de los caracteres.
+     */
+    private final IGlyphMetrics metrics;
+
+    /**
+     * Maximo de renglones visibles.
+     */
+    private final int maxLines;
+
+    /**
+     * Alto de un renglon.
+     */
+    private final double lineHeight;
+
+    /**
+     * Caracteres de la frase.
+     */
+    private char[] text = new char[64];
+
+    /**
+     * Longitud de la frase.
+     */
+    private int length;
+
+    /**
+     * Posicion horizontal de cada celda; la celda {@code length} es la del cursor al final.
+     */
+    private double[] x = new double[65];
+
+    /**
+     * Ancho de cada celda.
+     */
+    private double[] width = new double[65];
+
+    /**
+     * Renglon de cada celda.
+     */
+    private int[] lineOf = new int[65];
+
+    /**
+     * Primer caracter de cada renglon.
+     */
+    private int[] lineStart = new int[8];
+
+    /**
+     * Numero de renglones.
+     */
+    private int lineCount;
+
+    /**
+     * Primer renglon visible.
+     */
+    private int topLine;
+
+    /**
+     * Renglones visibles.
+     */
+    private int visibleLines;
+
+    /**
+     * Caracteres escritos correctamente desde el inicio.
+     */
+    private int prefix;
+
+    /**
+     * Fin de lo escrito; los caracteres entre {@link #prefix} y esta posicion estan errados.
+     */
+    private int cursor;
+
+    /**
+     * Posicion donde se dibuja la barra del cursor; suele ser {@link #cursor}.
+     */
+    private int caret;
+
+    /**
+     * Posicion donde se dibuja la barra del fantasma, o -1 si no hay fantasma.
+     */
+    private int ghost = -1;
+
+    /**
+     * Primera celda pendiente de dibujar.
+     */
+    private int dirtyFrom = Integer.MAX_VALUE;
+
+    /**
+     * Celda siguiente a la ultima pendiente de dibujar.
+     */
+    private int dirtyTo;
+
+    /**
+     * Indica que hay que borrar y dibujar todos los renglones visibles.
+     */
+    private boolean fullRedraw;
+
+    /**
+     * Crea un dibujante sobre un lienzo de ancho fijo; el alto se ajusta a los renglones de cada frase.
+     *
+     * @param canvas   El lienzo.
+     * @param metrics  Las medidas de la fuente.
+     * @param maxLines El maximo de renglones visibles.
+     */
+    public PhraseRenderer(Canvas canvas, IGlyphMetrics metrics, int maxLines)
+    {
+        this.canvas = canvas;
+        this.gc = canvas.getGraphicsContext2D();
+        this.metrics = metrics;
+        this.maxLines = maxLines;
+        this.lineHeight = metrics.getLineHeight();
+        gc.setFont(metrics.getFont());
+        setPhrase("");
+    }
+
+    /**
+     * Cambia la frase, la acomoda en renglones y deja todo el progreso en cero.
+     *
+     * @param phrase La frase objetivo.
+     */
+    public void setPhrase(CharSequence phrase)
+    {
+        length = phrase.length();
+        if (text.length < length)
+        {
+            int capacity = Math.max(length, text.length * 2);
+            text = new char[capacity];
+            x = new double[capacity + 1];
+            width = new double[capacity + 1];
+            lineOf = new int[capacity + 1];
+        }
+        for (int i = 0; i < length; i++)
+        {
+            char c = phrase.charAt(i);
+            text[i] = c;
+            width[i] = metrics.advance(c);
+        }
+        width[length] = CURSOR_WIDTH;
+        layout();
+
+        prefix = 0;
+        cursor = 0;
+        caret = 0;
+        ghost = -1;
+        topLine = 0;
+        visibleLines = Math.min(lineCount, maxLines);
+        double height = visibleLines * lineHeight;
+        if (canvas.getHeight() != height)
+        {
+            canvas.setHeight(height);
+        }
+        invalidate();
+    }
+
+    /**
+     * Acomoda la frase en renglones centrados del ancho del lienzo, cortando despues de los espacios.
+     * <p>
+     * Una palabra mas ancha que el lienzo se corta donde se acabe el renglon.
+     */
+    private void layout()
+    {
+        double limit = canvas.getWidth();
+        lineCount = 0;
+        int start = 0;
+        do
+        {
+            double used = 0;
+            int end = start;
+            int breakAt = -1;
+            while (end < length && (used + width[end] <= limit || end == start))
+            {
+                used += width[end];
+                if (text[end] == ' ')
+                {
+                    breakAt = end + 1;
+                }
+                end++;
+            }
+            if (end < length && breakAt > start)
+            {
+                end = breakAt;
+            }
+            place(start, end, limit);
+            start = end;
+        }
+        while (start < length);
+        lineOf[length] = lineCount - 1;
+    }
+
+    /**
+     * Agrega un renglon y fija la posicion de sus caracteres, centrados sin contar los espacios finales.
+     *
+     * @param start El primer caracter del renglon.
+     * @param end   El caracter siguiente al ultimo.
+     * @param limit El ancho del lienzo.
+     */
+    private void place(int start, int end, double limit)
+    {
+        if (lineStart.length == lineCount)
+        {
+            lineStart = Arrays.copyOf(lineStart, lineCount * 2);
+        }
+        int line = lineCount++;
+        lineStart[line] = start;
+
+        int visibleEnd = end;
+        while (visibleEnd > start && text[visibleEnd - 1] == ' ')
+        {
+            visibleEnd--;
+        }
+        double lineWidth = 0;
+        for (int i = start; i < visibleEnd; i++)
+        {
+            lineWidth += width[i];
+        }
+        double position = Math.max(0, Math.floor((limit - lineWidth) / 2));
+        for (int i = start; i < end; i++)
+        {
+            x[i] = position;
+            lineOf[i] = line;
+            position += width[i];
+        }
+        x[end] = position;
+    }
+
+    /**
+     * Actualiza el progreso y marca las celdas que cambiaron de estado. Cuesta O(1).
+     *
+     * @param correctPrefix Los caracteres escritos correctamente desde el inicio.
+     * @param typed         Los caracteres escritos.
+     */
+    public void setProgress(int correctPrefix, int typed)
+    {
+        setProgress(correctPrefix, typed, typed);
+    }
+
+    /**
+     * Actualiza el progreso con el cursor en una posicion distinta del final de lo escrito.
+     * <p>
+     * Marca las celdas que cambiaron de estado y las de la barra del cursor. Si
+     * estan lejos se marca todo el tramo entre ellas, pero {@link #render()} solo
+     * dibuja la parte visible.
+     *
+     * @param correctPrefix Los caracteres escritos correctamente desde el inicio.
+     * @param typed         Los caracteres escritos.
+     * @param caretAt       La posicion del cursor, entre 0 y {@code typed}.
+     */
+    public void setProgress(int correctPrefix, int typed, int caretAt)
+    {
+        int newCursor = Math.min(typed, length);
+        int newPrefix = Math.min(correctPrefix, newCursor);
+        int newCaret = Math.max(0, Math.min(caretAt, newCursor));
+        if (newPrefix == prefix && newCursor == cursor && newCaret == caret)
+        {
+            return;
+        }
+        if (newPrefix != prefix || newCursor != cursor)
+        {
+            markDirty(Math.min(Math.min(prefix, newPrefix), Math.min(cursor, newCursor)),
+                    Math.max(Math.max(prefix, newPrefix), Math.max(cursor, newCursor)) + 1);
+        }
+        markDirty(caret, caret + 1);
+        markDirty(newCaret, newCaret + 1);
+        prefix = newPrefix;
+        cursor = newCursor;
+        caret = newCaret;
+
+        int cursorLine = lineOf[caret];
+        if (cursorLine < topLine || cursorLine >= topLine + visibleLines)
+        {
+            // El renglon del cursor queda segundo, para ver lo que sigue y lo que se acaba de escribir.
+            topLine = Math.max(0, Math.min(cursorLine - (visibleLines > 1 ? 1 : 0), lineCount - visibleLines));
+            invalidate();
+        }
+    }
+
+    /**
+     * Mueve la barra del fantasma y marca sus celdas. Cuesta O(1).
+     *
+     * @param position La posicion del fantasma en la frase, o -1 para ocultarlo.
+     */
+    public void setGhost(int position)
+    {
+        int newGhost = position < 0 ? -1 : Math.min(position, length);
+        if (newGhost == ghost)
+        {
+            return;
+        }
+        if (ghost >= 0)
+        {
+            markDirty(ghost, ghost + 1);
+        }
+        if (newGhost >= 0)
+        {
+            markDirty(newGhost, newGhost + 1);
+        }
+        ghost = newGhost;
+    }
+
+    /**
+     * Agrega un rango de celdas al rango pendiente de dibujar.
+     *
+     * @param from La primera celda.
+     * @param to   La celda siguiente a la ultima.
+     */
+    private void markDirty(int from, int to)
+    {
+        dirtyFrom = Math.min(dirtyFrom, from);
+        dirtyTo = Math.max(dirtyTo, to);
+    }
+
+    /**
+     * Pide borrar y dibujar todos los renglones visibles en el siguiente {@link #render()}.
+     */
+    public void invalidate()
+    {
+        fullRedraw = true;
+    }
+
+    /**
+     * Dibuja lo que cambio desde el ultimo llamado; se llama una vez por pulso de la interfaz.
+     *
+     * @return El numero de celdas dibujadas.
+     */
+    public int render()
+    {
+        int firstVisible = lineStart[topLine];
+        int lastLine = topLine + visibleLines;
+        int endVisible = lastLine >= lineCount ? length + 1 : lineStart[lastLine];
+        int from;
+        int to;
+        if (fullRedraw)
+        {
+            // Borrar todo el lienzo tambien descarta los comandos de dibujo anteriores.
+            gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+            from = firstVisible;
+            to = endVisible;
+        }
+        else
+        {
+            from = Math.max(dirtyFrom - 1, firstVisible);
+            to = Math.min(dirtyTo + 1, endVisible);
+            for (int i = from; i < to; i++)
+            {
+                double left = Math.floor(x[i]);
+                gc.clearRect(left, top(i), Math.ceil(x[i] + width[i]) - left, lineHeight);
+            }
+        }
+        fullRedraw = false;
+        dirtyFrom = Integer.MAX_VALUE;
+        dirtyTo = 0;
+
+        Color fill = null;
+        for (int i = from; i < to; i++)
+        {
+            double top = top(i);
+            if (i < length)
+            {
+                Color color = i < prefix ? CORRECT_COLOR : i < cursor ? WRONG_COLOR : PENDING_COLOR;
+                if (color != fill)
+                {
+                    gc.setFill(color);
+                    fill = color;
+                }
+                char c = text[i];
+                gc.fillText(c < GLYPHS.length ? GLYPHS[c] : String.valueOf(c), x[i], top + metrics.getAscent());
+                if (color == WRONG_COLOR)
+                {
+                    gc.fillRect(x[i], top + metrics.getAscent() + 2, width[i], UNDERLINE_HEIGHT);
+                }
+            }
+            if (i == ghost)
+            {
+                gc.setFill(GHOST_COLOR);
+                fill = GHOST_COLOR;
+                gc.fillRect(x[i], top + 2, CURSOR_WIDTH, lineHeight - 4);
+            }
+            if (i == caret)
+            {
+                gc.setFill(CURSOR_COLOR);
+                fill = CURSOR_COLOR;
+                gc.fillRect(x[i], top + 2, CURSOR_WIDTH, lineHeight - 4);
+            }
+        }
+        return Math.max(0, to - from);
+    }
+
+    /**
+     * @param cell Una celda visible.
+     * @return La posicion vertical de su renglon en el lienzo.
+     */
+    private double top(int cell)
+    {
+        return (lineOf[cell] - topLine) * lineHeight;
+    }
+
+    /**
+     * @return El numero de renglones de la frase.
+     */
+    public int getLineCount()
+    {
+        return lineCount;
+    }
+
+    /**
+     * @return La posicion de la barra del fantasma, o -1 si no hay fantasma.
+     */
+    public int getGhost()
+    {
+        return ghost;
+    }
+
+    /**
+     * @return El primer renglon visible.
+     */
+    public int getTopLine()
+    {
+        return topLine;
+    }
+}
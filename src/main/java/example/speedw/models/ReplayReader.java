@@ -0,0 +1,412 @@
+package example.speedw.models;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Lector secuencial de una repeticion grabada por {@link ReplayRecorder}.
+ * <p>
+ * Recorre los eventos uno por uno sin crear objetos por evento: {@link #next()}
+ * avanza al siguiente y los datos del evento actual se consultan con los
+ * metodos {@code get}. El instante de cada evento se reconstruye sumando los
+ * tiempos relativos, a partir de 0.
+ * <p>
+ * Puede leer de un buffer con la repeticion completa o de un canal, por
+ * partes: en ese caso solo guarda un bloque del archivo a la vez y lo rellena
+ * cuando al siguiente evento le faltan bytes, asi que una repeticion de una
+ * partida muy larga se recorre con memoria constante.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class ReplayReader
+{
+    /**
+     * Bytes maximos de un evento sin texto: la etiqueta y dos numeros, o el nivel, la victoria y el hash.
+     */
+    private static final int EVENT_BYTES = 2 * Varint.MAX_BYTES + 9;
+
+    /**
+     * Bytes maximos de la cabecera, con el modo de comparacion y el paquete de frases.
+     */
+    private static final int HEADER_BYTES = 23 + ReplayRecorder.MAX_LANGUAGE_CHARS;
+
+    /**
+     * Bytes maximos de un bloque; un evento mas grande solo puede venir de un archivo dañado.
+     */
+    private static final int MAX_CHUNK_BYTES = 1 << 24;
+
+    /**
+     * Los bytes de la repeticion, o el bloque leido del canal.
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * Canal del que se leen los bloques, o {@code null} si el buffer tiene la repeticion completa.
+     */
+    private final ReadableByteChannel channel;
+
+    /**
+     * Indica que el canal ya no tiene mas bytes.
+     */
+    private boolean endOfChannel;
+
+    /**
+     * Version del formato de la repeticion.
+     */
+    private final byte version;
+
+    /**
+     * Semilla de la partida.
+     */
+    private final long seed;
+
+    /**
+     * Modo de comparacion de la partida.
+     */
+    private final ComparisonMode mode;
+
+    /**
+     * Idioma del paquete de frases de la partida.
+     */
+    private final Locale language;
+
+    /**
+     * Hash del paquete de frases de la partida ({@link PhrasePack#getHash()}).
+     */
+    private final long packHash;
+
+    /**
+     * Tipo del evento actual.
+     */
+    private int type = -1;
+
+    /**
+     * Instante del evento actual, relativo al inicio de la partida.
+     */
+    private long timeNanos;
+
+    /**
+     * Caracter del evento {@link ReplayRecorder#APPEND} actual.
+     */
+    private char character;
+
+    /**
+     * Texto del evento {@link ReplayRecorder#SET} actual, reutilizado entre eventos.
+     */
+    private final StringBuilder text = new StringBuilder();
+
+    /**
+     * Nivel del evento {@link ReplayRecorder#LEVEL} o {@link ReplayRecorder#END} mas reciente.
+     */
+    private int level;
+
+    /**
+     * Longitud de la frase del evento {@link ReplayRecorder#LEVEL} mas reciente.
+     */
+    private int phraseLength;
+
+    /**
+     * Si la partida se gano, segun el evento {@link ReplayRecorder#END}.
+     */
+    private boolean won;
+
+    /**
+     * Hash del resumen del evento {@link ReplayRecorder#END}.
+     */
+    private long recordHash;
+
+    /**
+     * Numero de eventos leidos.
+     */
+    private int eventCount;
+
+    /**
+     * Abre una repeticion y lee su cabecera.
+     *
+     * @param buffer Los bytes de la repeticion, desde su posicion actual.
+     * @throws IOException Si los bytes no son una repeticion valida.
+     */
+    public ReplayReader(ByteBuffer buffer) throws IOException
+    {
+        this(buffer, null);
+    }
+
+    /**
+     * Abre una repeticion que se lee de un canal por bloques y lee su cabecera.
+     *
+     * @param channel    El canal con la repeticion, desde su inicio.
+     * @param chunkBytes El tamaño de cada bloque; crece solo si un evento no cabe.
+     * @throws IOException Si no se puede leer el canal o no contiene una repeticion valida.
+     */
+    public ReplayReader(ReadableByteChannel channel, int chunkBytes) throws IOException
+    {
+        this(ByteBuffer.allocate(Math.max(chunkBytes, EVENT_BYTES)).flip(), channel);
+    }
+
+    /**
+     * Lee la cabecera de una repeticion.
+     *
+     * @param bytes   Los bytes de la repeticion, o un buffer vacio para los bloques del canal.
+     * @param channel El canal, o {@code null}.
+     * @throws IOException Si los bytes no son una repeticion valida.
+     */
+    private ReplayReader(ByteBuffer bytes, ReadableByteChannel channel) throws IOException
+    {
+        this.buffer = bytes;
+        this.channel = channel;
+        fill(HEADER_BYTES);
+        if (buffer.remaining() < 13 || buffer.getInt() != ReplayRecorder.MAGIC)
+        {
+            throw new IOException("El archivo no es una repeticion de SpeedW.");
+        }
+        version = buffer.get();
+        if (version < 1 || version > ReplayRecorder.VERSION)
+        {
+            throw new IOException("Version de repeticion no soportada: " + version);
+        }
+        seed = buffer.getLong();
+        if (version == 1)
+        {
+            mode = ComparisonMode.EXACT;
+        }
+        else
+        {
+            int ordinal = buffer.hasRemaining() ? buffer.get() : -1;
+            if (ordinal < 0 || ordinal >= ComparisonMode.values().length)
+            {
+                throw new IOException("Modo de comparacion desconocido: " + ordinal);
+            }
+            mode = ComparisonMode.values()[ordinal];
+        }
+        if (version < ReplayRecorder.VERSION_PACK)
+        {
+            language = LanguageCatalog.DEFAULT_LANGUAGE;
+            packHash = PhrasePack.defaultPack().getHash();
+        }
+        else
+        {
+            int length = buffer.hasRemaining() ? buffer.get() : -1;
+            if (length < 1 || length > ReplayRecorder.MAX_LANGUAGE_CHARS || buffer.remaining() < length + 8)
+            {
+                throw new IOException("La cabecera de la repeticion esta incompleta.");
+            }
+            byte[] tag = new byte[length];
+            buffer.get(tag);
+            language = Locale.forLanguageTag(new String(tag, StandardCharsets.US_ASCII));
+            packHash = buffer.getLong();
+        }
+    }
+
+    /**
+     * Avanza al siguiente evento.
+     *
+     * @return {@code false} si no quedan eventos.
+     * @throws IOException Si el evento esta incompleto o tiene un tipo desconocido.
+     */
+    public boolean next() throws IOException
+    {
+        fill(EVENT_BYTES);
+        if (!buffer.hasRemaining() || type == ReplayRecorder.END)
+        {
+            return false;
+        }
+        try
+        {
+            long tag = Varint.get(buffer);
+            type = (int) (tag & ((1 << ReplayRecorder.TYPE_BITS) - 1));
+            timeNanos += tag >>> ReplayRecorder.TYPE_BITS;
+            switch (type)
+            {
+                case ReplayRecorder.APPEND:
+                    character = (char) Varint.getInt(buffer);
+                    break;
+                case ReplayRecorder.SET:
+                    int length = Varint.getInt(buffer);
+                    fill(3 * length);
+                    text.setLength(0);
+                    for (int i = 0; i < length; i++)
+                    {
+                        text.append((char) Varint.getInt(buffer));
+                    }
+                    break;
+                case ReplayRecorder.END:
+                    level = Varint.getInt(buffer);
+                    won = buffer.get() != 0;
+                    recordHash = buffer.getLong();
+                    break;
+                case ReplayRecorder.LEVEL:
+                    level = Varint.getInt(buffer);
+                    phraseLength = Varint.getInt(buffer);
+                    break;
+                case ReplayRecorder.DELETE:
+                case ReplayRecorder.CLEAR:
+                case ReplayRecorder.SUBMIT:
+                case ReplayRecorder.EXPIRE:
+                    break;
+                default:
+                    throw new IOException("Evento de repeticion desconocido: " + type);
+            }
+        }
+        catch (BufferUnderflowException | IllegalArgumentException e)
+        {
+            throw new IOException("La repeticion esta incompleta.", e);
+        }
+        eventCount++;
+        return true;
+    }
+
+    /**
+     * Se asegura de que el buffer tenga al menos los bytes indicados, leyendo otro
+     * bloque del canal si hace falta. Sin canal, o al final del canal, no hace nada.
+     *
+     * @param bytes Los bytes que se necesitan.
+     * @throws IOException Si no se puede leer el canal.
+     */
+    private void fill(int bytes) throws IOException
+    {
+        if (channel == null || endOfChannel || buffer.remaining() >= bytes)
+        {
+            return;
+        }
+        if (bytes > MAX_CHUNK_BYTES)
+        {
+            throw new IOException("La repeticion esta dañada: un evento de " + bytes + " bytes.");
+        }
+        buffer.compact();
+        if (buffer.capacity() < bytes)
+        {
+            ByteBuffer bigger = ByteBuffer.allocate(Math.max(bytes, buffer.capacity() * 2));
+            buffer.flip();
+            bigger.put(buffer);
+            buffer = bigger;
+        }
+        while (buffer.position() < bytes)
+        {
+            if (channel.read(buffer) < 0)
+            {
+                endOfChannel = true;
+                break;
+            }
+        }
+        buffer.flip();
+    }
+
+    /**
+     * @return La version del formato de la repeticion.
+     */
+    public byte getVersion()
+    {
+        return version;
+    }
+
+    /**
+     * @return La semilla de la partida.
+     */
+    public long getSeed()
+    {
+        return seed;
+    }
+
+    /**
+     * @return El modo de comparacion de la partida.
+     */
+    public ComparisonMode getComparisonMode()
+    {
+        return mode;
+    }
+
+    /**
+     * @return El idioma del paquete de frases de la partida; el idioma por defecto antes de la version 4.
+     */
+    public Locale getLanguage()
+    {
+        return language;
+    }
+
+    /**
+     * @return El hash del paquete de frases de la partida; el del paquete por defecto antes de la version 4.
+     */
+    public long getPackHash()
+    {
+        return packHash;
+    }
+
+    /**
+     * @return El tipo del evento actual.
+     */
+    public int getType()
+    {
+        return type;
+    }
+
+    /**
+     * @return El instante del evento actual, relativo al inicio de la partida.
+     */
+    public long getTimeNanos()
+    {
+        return timeNanos;
+    }
+
+    /**
+     * @return El caracter del evento {@link ReplayRecorder#APPEND} actual.
+     */
+    public char getChar()
+    {
+        return character;
+    }
+
+    /**
+     * @return El texto del evento {@link ReplayRecorder#SET} actual; se reutiliza en el siguiente.
+     */
+    public CharSequence getText()
+    {
+        return text;
+    }
+
+    /**
+     * @return El nivel del evento {@link ReplayRecorder#LEVEL} actual, o el nivel final
+     * grabado en el evento {@link ReplayRecorder#END}.
+     */
+    public int getLevel()
+    {
+        return level;
+    }
+
+    /**
+     * @return La longitud de la frase del evento {@link ReplayRecorder#LEVEL} mas reciente.
+     */
+    public int getPhraseLength()
+    {
+        return phraseLength;
+    }
+
+    /**
+     * @return Si la partida se gano, segun el evento {@link ReplayRecorder#END}.
+     */
+    public boolean isWon()
+    {
+        return won;
+    }
+
+    /**
+     * @return El hash del resumen grabado en el evento {@link ReplayRecorder#END}.
+     */
+    public long getRecordHash()
+    {
+        return recordHash;
+    }
+
+    /**
+     * @return El numero de eventos leidos.
+     */
+    public int getEventCount()
+    {
+        return eventCount;
+    }
+}
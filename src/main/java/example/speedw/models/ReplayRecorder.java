@@ -0,0 +1,390 @@
+package example.speedw.models;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Grabador de una partida para poder reproducirla exactamente.
+ * <p>
+ * Una partida queda determinada por la semilla de su generador aleatorio y por
+ * la secuencia de eventos que recibe el {@link GameEngine}, cada uno con su
+ * instante. El grabador guarda ambos en un buffer en memoria con un formato
+ * compacto: cada evento comienza con un {@link Varint} que combina el tiempo
+ * desde el evento anterior (en nanosegundos) y el tipo de evento en los
+ * {@value #TYPE_BITS} bits bajos, seguido de sus datos si los tiene. Una tecla
+ * normal ocupa asi entre tres y cinco bytes. Los instantes de los eventos no
+ * pueden retroceder: un evento anterior al ultimo grabado se rechaza con
+ * {@link IllegalArgumentException}, porque al reproducirlo el motor lo veria
+ * en otro instante que durante la partida.
+ * <p>
+ * Formato: {@link #MAGIC} (4 bytes), {@link #VERSION} (1 byte), la semilla
+ * (8 bytes), el {@link ComparisonMode} de la partida (1 byte, desde la version
+ * 2), el paquete de frases (desde la version 4: la etiqueta de su idioma, con
+ * su longitud en 1 byte, y el hash de sus frases, {@link PhrasePack#getHash()},
+ * en 8 bytes) y luego los eventos. Las versiones anteriores se jugaban siempre
+ * con el paquete por defecto ({@link PhrasePack#defaultPack()}). El evento {@link #END} cierra la partida con el
+ * nivel final, si se gano y el hash del resumen, que el {@link Replayer} compara
+ * al reproducirla. Desde la version 3, el evento {@link #LEVEL} marca el
+ * comienzo de cada nivel, para que un fantasma ({@link GhostRun}) pueda seguir
+ * la partida nivel por nivel sin reproducirla en un {@link GameEngine}.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class ReplayRecorder
+{
+    /**
+     * Numero magico al inicio de toda repeticion ("SPWP").
+     */
+    public static final int MAGIC = 0x53505750;
+
+    /**
+     * Version del formato. La version 1 no guardaba el modo de comparacion y
+     * siempre usaba {@link ComparisonMode#EXACT}; la 2 no marcaba el comienzo de cada
+     * nivel; la 3 no guardaba el paquete de frases; hasta la 4, toda la partida
+     * usaba un solo generador aleatorio ({@link GameEngine#startSingleStreamGame(long, long)}).
+     */
+    public static final byte VERSION = 5;
+
+    /**
+     * Primera version con los eventos {@link #LEVEL}.
+     */
+    public static final byte VERSION_LEVELS = 3;
+
+    /**
+     * Primera version con el idioma y el hash del paquete de frases en la cabecera.
+     */
+    public static final byte VERSION_PACK = 4;
+
+    /**
+     * Primera version en que el generador de cada nivel se deriva de la semilla y del nivel ({@link GameEngine#startGame(long, long)}).
+     */
+    public static final byte VERSION_LEVEL_SEEDS = 5;
+
+    /**
+     * Caracteres maximos de la etiqueta del idioma en la cabecera.
+     */
+    public static final int MAX_LANGUAGE_CHARS = 35;
+
+    /**
+     * Bits del tipo de evento dentro de la etiqueta de cada evento.
+     */
+    public static final int TYPE_BITS = 3;
+
+    /**
+     * Evento: un caracter agregado al final de la respuesta. Datos: el caracter.
+     */
+    public static final int APPEND = 0;
+
+    /**
+     * Evento: se borro el ultimo caracter de la respuesta.
+     */
+    public static final int DELETE = 1;
+
+    /**
+     * Evento: se reemplazo toda la respuesta. Datos: la longitud y cada caracter.
+     */
+    public static final int SET = 2;
+
+    /**
+     * Evento: se vacio la respuesta.
+     */
+    public static final int CLEAR = 3;
+
+    /**
+     * Evento: se envio la respuesta.
+     */
+    public static final int SUBMIT = 4;
+
+    /**
+     * Evento: el tiempo del nivel se agoto y se hizo la ultima validacion.
+     */
+    public static final int EXPIRE = 5;
+
+    /**
+     * Evento: termino la partida. Datos: el nivel final, si se gano (1 byte) y el hash del resumen (8 bytes).
+     */
+    public static final int END = 6;
+
+    /**
+     * Evento: comenzo un nivel. Datos: el nivel y la longitud de su frase.
+     */
+    public static final int LEVEL = 7;
+
+    /**
+     * Extension de los archivos de repeticion.
+     */
+    public static final String EXTENSION = ".spwp";
+
+    /**
+     * Hilo de fondo compartido para escribir las repeticiones.
+     */
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(r ->
+    {
+        Thread thread = new Thread(r, "speedw-replay");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Buffer con la repeticion grabada hasta ahora.
+     */
+    private ByteBuffer buffer = ByteBuffer.allocate(4096);
+
+    /**
+     * Instante del ultimo evento grabado.
+     */
+    private long lastNanos;
+
+    /**
+     * Semilla de la partida.
+     */
+    private long seed;
+
+    /**
+     * Indica si la partida ya termino.
+     */
+    private boolean ended;
+
+    /**
+     * Comienza a grabar una partida nueva, descartando la anterior.
+     *
+     * @param seed     La semilla con la que comienza la partida.
+     * @param mode     El modo de comparacion de la partida.
+     * @param pack     El paquete de frases fijado para la partida.
+     * @param nowNanos El instante en que comienza la partida.
+     * @throws IllegalArgumentException Si la etiqueta del idioma del paquete es demasiado larga.
+     */
+    public void begin(long seed, ComparisonMode mode, PhrasePack pack, long nowNanos)
+    {
+        byte[] language = pack.getLanguage().toLanguageTag().getBytes(StandardCharsets.US_ASCII);
+        if (language.length > MAX_LANGUAGE_CHARS)
+        {
+            throw new IllegalArgumentException("Etiqueta de idioma demasiado larga: " + pack.getLanguage());
+        }
+        this.seed = seed;
+        buffer.clear();
+        buffer.putInt(MAGIC).put(VERSION).putLong(seed).put((byte) mode.ordinal());
+        buffer.put((byte) language.length).put(language).putLong(pack.getHash());
+        lastNanos = nowNanos;
+        ended = false;
+    }
+
+    /**
+     * Graba un caracter agregado al final de la respuesta.
+     *
+     * @param nowNanos El instante del evento.
+     * @param c        El caracter.
+     */
+    public void append(long nowNanos, char c)
+    {
+        event(nowNanos, APPEND, Varint.MAX_BYTES);
+        Varint.put(buffer, c);
+    }
+
+    /**
+     * Graba el borrado del ultimo caracter.
+     *
+     * @param nowNanos El instante del evento.
+     */
+    public void delete(long nowNanos)
+    {
+        event(nowNanos, DELETE, 0);
+    }
+
+    /**
+     * Graba el reemplazo de toda la respuesta.
+     *
+     * @param nowNanos El instante del evento.
+     * @param text     El nuevo texto de la respuesta.
+     */
+    public void set(long nowNanos, CharSequence text)
+    {
+        int length = text.length();
+        event(nowNanos, SET, Varint.MAX_BYTES + length * 3);
+        Varint.put(buffer, length);
+        for (int i = 0; i < length; i++)
+        {
+            Varint.put(buffer, text.charAt(i));
+        }
+    }
+
+    /**
+     * Graba que la respuesta se vacio.
+     *
+     * @param nowNanos El instante del evento.
+     */
+    public void clear(long nowNanos)
+    {
+        event(nowNanos, CLEAR, 0);
+    }
+
+    /**
+     * Graba el envio de la respuesta.
+     *
+     * @param nowNanos El instante del evento.
+     */
+    public void submit(long nowNanos)
+    {
+        event(nowNanos, SUBMIT, 0);
+    }
+
+    /**
+     * Graba que el tiempo del nivel se agoto.
+     *
+     * @param nowNanos El instante del evento.
+     */
+    public void expire(long nowNanos)
+    {
+        event(nowNanos, EXPIRE, 0);
+    }
+
+    /**
+     * Graba el comienzo de un nivel.
+     *
+     * @param nowNanos     El instante en que comenzo el nivel.
+     * @param level        El nivel.
+     * @param phraseLength La longitud de la frase del nivel.
+     */
+    public void level(long nowNanos, int level, int phraseLength)
+    {
+        event(nowNanos, LEVEL, 2 * Varint.MAX_BYTES);
+        Varint.put(buffer, level);
+        Varint.put(buffer, phraseLength);
+    }
+
+    /**
+     * Graba el final de la partida.
+     *
+     * @param nowNanos El instante del evento.
+     * @param level    El nivel final.
+     * @param won      Si la partida termino con una victoria.
+     * @param record   El resumen de la partida generado por el motor.
+     */
+    public void end(long nowNanos, int level, boolean won, String record)
+    {
+        event(nowNanos, END, Varint.MAX_BYTES + 9);
+        Varint.put(buffer, level);
+        buffer.put((byte) (won ? 1 : 0));
+        buffer.putLong(hash(record));
+        ended = true;
+    }
+
+    /**
+     * Escribe la etiqueta de un evento, asegurando espacio para sus datos.
+     *
+     * @param nowNanos  El instante del evento.
+     * @param type      El tipo de evento.
+     * @param dataBytes Los bytes maximos de los datos del evento.
+     * @throws IllegalArgumentException Si el evento es anterior al ultimo grabado.
+     */
+    private void event(long nowNanos, int type, int dataBytes)
+    {
+        if (nowNanos < lastNanos)
+        {
+            throw new IllegalArgumentException("Evento anterior al ultimo grabado: " + nowNanos + " < " + lastNanos);
+        }
+        int needed = Varint.MAX_BYTES + dataBytes;
+        if (buffer.remaining() < needed)
+        {
+            ByteBuffer bigger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + needed));
+            buffer.flip();
+            bigger.put(buffer);
+            buffer = bigger;
+        }
+        long delta = nowNanos - lastNanos;
+        lastNanos = nowNanos;
+        Varint.put(buffer, delta << TYPE_BITS | type);
+    }
+
+    /**
+     * Calcula el hash FNV-1a de 64 bits de un resumen.
+     *
+     * @param record El resumen de la partida.
+     * @return El hash.
+     */
+    public static long hash(String record)
+    {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < record.length(); i++)
+        {
+            h ^= record.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    /**
+     * @return Una copia de los bytes grabados.
+     */
+    public byte[] toByteArray()
+    {
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    /**
+     * Escribe la repeticion en un archivo en un hilo de fondo.
+     * <p>
+     * En el hilo que llama solo se copian los bytes. El archivo se escribe con
+     * {@link DurableFiles#write(Path, byte[])}, de modo que nunca queda a medias.
+     *
+     * @param file La ruta del archivo.
+     * @return La ruta del archivo, cuando termine de escribirse.
+     */
+    public CompletableFuture<Path> writeAsync(Path file)
+    {
+        byte[] bytes = toByteArray();
+        return CompletableFuture.supplyAsync(() ->
+        {
+            try
+            {
+                DurableFiles.write(file, bytes);
+                return file;
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }, WRITER);
+    }
+
+    /**
+     * @return El instante del ultimo evento grabado; ningun evento siguiente puede ser anterior.
+     */
+    public long getLastNanos()
+    {
+        return lastNanos;
+    }
+
+    /**
+     * @return La semilla de la partida grabada.
+     */
+    public long getSeed()
+    {
+        return seed;
+    }
+
+    /**
+     * @return Los bytes grabados hasta ahora.
+     */
+    public int size()
+    {
+        return buffer.position();
+    }
+
+    /**
+     * @return {@code true} si ya se grabo el final de la partida.
+     */
+    public boolean isEnded()
+    {
+        return ended;
+    }
+}
@@ -0,0 +1,381 @@
+package example.speedw.models;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+/**
+ * Reproductor sin interfaz grafica de las partidas grabadas por {@link ReplayRecorder}.
+ * <p>
+ * Crea un {@link GameEngine} con la misma semilla y le entrega los mismos
+ * eventos, en el mismo orden y con los mismos instantes, usando un reloj
+ * virtual que salta directamente de un evento al siguiente. Asi una partida de
+ * varios minutos se reproduce en microsegundos. Al final compara el nivel, la
+ * victoria y el hash del resumen con los grabados.
+ * <p>
+ * La reproduccion usa la misma fuente de frases que el juego, por lo que solo
+ * coincide si el paquete de frases es el mismo con el que se grabo la partida.
+ * La repeticion guarda el idioma y el hash de ese paquete, y {@link #verify(ByteBuffer, Path)}
+ * lo busca con {@link PhrasePack#find(Locale, long, Path)}; si no lo encuentra, la
+ * repeticion no se puede verificar, en lugar de darse por diferente.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class Replayer
+{
+    /**
+     * Resultado de verificar una repeticion.
+     */
+    public static class Verification
+    {
+        /**
+         * Semilla de la partida.
+         */
+        private final long seed;
+
+        /**
+         * Eventos reproducidos.
+         */
+        private final int events;
+
+        /**
+         * Si la repeticion tenia el evento de final.
+         */
+        private final boolean complete;
+
+        /**
+         * Nivel grabado.
+         */
+        private final int expectedLevel;
+
+        /**
+         * Nivel obtenido al reproducir.
+         */
+        private final int actualLevel;
+
+        /**
+         * Si la partida grabada se gano.
+         */
+        private final boolean expectedWon;
+
+        /**
+         * Si la partida reproducida se gano.
+         */
+        private final boolean actualWon;
+
+        /**
+         * Hash del resumen grabado.
+         */
+        private final long expectedHash;
+
+        /**
+         * Hash del resumen reproducido.
+         */
+        private final long actualHash;
+
+        /**
+         * Duracion de la partida grabada.
+         */
+        private final long recordedNanos;
+
+        /**
+         * Duracion de la reproduccion.
+         */
+        private final long replayNanos;
+
+        private Verification(long seed, int events, boolean complete, int expectedLevel, int actualLevel,
+                             boolean expectedWon, boolean actualWon, long expectedHash, long actualHash,
+                             long recordedNanos, long replayNanos)
+        {
+            this.seed = seed;
+            this.events = events;
+            this.complete = complete;
+            this.expectedLevel = expectedLevel;
+            this.actualLevel = actualLevel;
+            this.expectedWon = expectedWon;
+            this.actualWon = actualWon;
+            this.expectedHash = expectedHash;
+            this.actualHash = actualHash;
+            this.recordedNanos = recordedNanos;
+            this.replayNanos = replayNanos;
+        }
+
+        /**
+         * @return {@code true} si la repeticion esta completa y el nivel, la victoria y el resumen coinciden.
+         */
+        public boolean isMatch()
+        {
+            return complete && expectedLevel == actualLevel && expectedWon == actualWon
+                    && expectedHash == actualHash;
+        }
+
+        /**
+         * @return La semilla de la partida.
+         */
+        public long getSeed()
+        {
+            return seed;
+        }
+
+        /**
+         * @return Los eventos reproducidos.
+         */
+        public int getEvents()
+        {
+            return events;
+        }
+
+        /**
+         * @return El nivel obtenido al reproducir.
+         */
+        public int getActualLevel()
+        {
+            return actualLevel;
+        }
+
+        /**
+         * @return La duracion de la partida grabada.
+         */
+        public long getRecordedNanos()
+        {
+            return recordedNanos;
+        }
+
+        /**
+         * @return La duracion de la reproduccion.
+         */
+        public long getReplayNanos()
+        {
+            return replayNanos;
+        }
+
+        /**
+         * @return Cuantas veces mas rapido que el tiempo real fue la reproduccion.
+         */
+        public double getSpeedup()
+        {
+            return replayNanos <= 0 ? 0 : (double) recordedNanos / replayNanos;
+        }
+
+        /**
+         * @return Una linea con el resultado de la verificacion.
+         */
+        public String summary()
+        {
+            if (!complete)
+            {
+                return "INCOMPLETA: " + events + " eventos, sin final grabado";
+            }
+            StringBuilder msj = new StringBuilder(isMatch() ? "OK" : "DIFERENTE");
+            msj.append(": nivel ").append(actualLevel);
+            if (actualLevel != expectedLevel || actualWon != expectedWon)
+            {
+                msj.append(" (grabado ").append(expectedLevel).append(expectedWon ? ", ganada" : "").append(')');
+            }
+            if (actualHash != expectedHash)
+            {
+                msj.append(", resumen distinto");
+            }
+            msj.append(", ").append(events).append(" eventos, ")
+                    .append(recordedNanos / 1_000_000).append(" ms grabados en ")
+                    .append(replayNanos / 1000).append(" us (x").append(Math.round(getSpeedup())).append(')');
+            return msj.toString();
+        }
+    }
+
+    private Replayer()
+    {
+    }
+
+    /**
+     * Reproduce una repeticion y la compara con lo grabado.
+     *
+     * @param replay       Los bytes de la repeticion.
+     * @param phraseSource La fuente de frases con la que se grabo la partida.
+     * @return El resultado de la verificacion.
+     * @throws IOException Si los bytes no son una repeticion valida.
+     */
+    public static Verification replay(ByteBuffer replay, IPhraseSource phraseSource) throws IOException
+    {
+        long start = System.nanoTime();
+        ReplayReader reader = new ReplayReader(replay);
+        GameEngine engine = new GameEngine(phraseSource, new SplittableRandom(reader.getSeed()));
+        engine.setComparisonMode(reader.getComparisonMode());
+        if (reader.getVersion() < ReplayRecorder.VERSION_LEVEL_SEEDS)
+        {
+            engine.startSingleStreamGame(0, reader.getSeed());
+        }
+        else
+        {
+            engine.startGame(0, reader.getSeed());
+        }
+
+        boolean complete = false;
+        while (reader.next())
+        {
+            long now = reader.getTimeNanos();
+            switch (reader.getType())
+            {
+                case ReplayRecorder.APPEND:
+                    engine.typeChar(reader.getChar());
+                    break;
+                case ReplayRecorder.DELETE:
+                    engine.deleteChar();
+                    break;
+                case ReplayRecorder.SET:
+                    engine.setInput(reader.getText());
+                    break;
+                case ReplayRecorder.CLEAR:
+                    engine.clearInput();
+                    break;
+                case ReplayRecorder.SUBMIT:
+                    engine.submit(now);
+                    break;
+                case ReplayRecorder.EXPIRE:
+                    engine.finalValidation(now);
+                    break;
+                case ReplayRecorder.END:
+                    complete = true;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        long actualHash = ReplayRecorder.hash(engine.generateRecord());
+        return new Verification(reader.getSeed(), reader.getEventCount(), complete, reader.getLevel(),
+                engine.getLevel(), reader.isWon(), engine.isWon(), reader.getRecordHash(), actualHash,
+                reader.getTimeNanos(), System.nanoTime() - start);
+    }
+
+    /**
+     * Busca el paquete de frases con que se grabo una repeticion.
+     *
+     * @param replay Los bytes de la repeticion; su posicion no cambia.
+     * @param packs  La carpeta de paquetes donde buscarlo, o {@code null}.
+     * @return El paquete.
+     * @throws IOException Si los bytes no son una repeticion valida o el paquete es desconocido.
+     */
+    public static PhrasePack packOf(ByteBuffer replay, Path packs) throws IOException
+    {
+        ReplayReader reader = new ReplayReader(replay.duplicate());
+        return PhrasePack.find(reader.getLanguage(), reader.getPackHash(), packs);
+    }
+
+    /**
+     * Reproduce una repeticion con el paquete de frases con que se grabo.
+     *
+     * @param replay Los bytes de la repeticion.
+     * @param packs  La carpeta de paquetes donde buscar el paquete, o {@code null}.
+     * @return El resultado de la verificacion.
+     * @throws IOException Si los bytes no son una repeticion valida o el paquete es desconocido.
+     */
+    public static Verification verify(ByteBuffer replay, Path packs) throws IOException
+    {
+        PhrasePack pack = packOf(replay, packs);
+        return replay(replay, new AdaptivePhraseScheduler(pack));
+    }
+
+    /**
+     * Reproduce un archivo de repeticion.
+     *
+     * @param file         La ruta del archivo.
+     * @param phraseSource La fuente de frases con la que se grabo la partida.
+     * @return El resultado de la verificacion.
+     * @throws IOException Si no se pudo leer el archivo o no es una repeticion valida.
+     */
+    public static Verification replay(Path file, IPhraseSource phraseSource) throws IOException
+    {
+        return replay(ByteBuffer.wrap(Files.readAllBytes(file)), phraseSource);
+    }
+
+    /**
+     * Verifica repeticiones desde la linea de comandos.
+     * <p>
+     * Uso: {@code Replayer <archivo.spwp | carpeta>...}. Las carpetas se recorren
+     * buscando archivos {@value ReplayRecorder#EXTENSION}, por lo que una carpeta de
+     * repeticiones sirve como corpus de regresion. Usa la misma fuente que el
+     * juego: el {@link AdaptivePhraseScheduler} sobre el paquete de frases de cada
+     * repeticion, buscado tambien en la carpeta de paquetes
+     * ({@link PhrasePackWatcher#defaultDirectory()}). Termina con codigo 1 si
+     * alguna repeticion no coincide o su paquete es desconocido.
+     *
+     * @param args Los archivos o carpetas a verificar.
+     * @throws IOException Si no se pudo recorrer una carpeta.
+     */
+    public static void main(String[] args) throws IOException
+    {
+        if (args.length == 0)
+        {
+            System.err.println("Uso: Replayer <archivo" + ReplayRecorder.EXTENSION + " | carpeta>...");
+            System.exit(2);
+        }
+
+        List<Path> files = new ArrayList<>();
+        for (String arg : args)
+        {
+            Path path = Paths.get(arg);
+            if (Files.isDirectory(path))
+            {
+                try (Stream<Path> walk = Files.walk(path))
+                {
+                    walk.filter(p -> p.toString().endsWith(ReplayRecorder.EXTENSION)).sorted().forEach(files::add);
+                }
+            }
+            else
+            {
+                files.add(path);
+            }
+        }
+
+        Path packs = PhrasePackWatcher.defaultDirectory();
+        Map<Long, IPhraseSource> sources = new HashMap<>();
+        int failures = 0;
+        long recorded = 0;
+        long replayed = 0;
+        for (Path file : files)
+        {
+            try
+            {
+                ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file));
+                PhrasePack pack = packOf(bytes, packs);
+                IPhraseSource phraseSource = sources.get(pack.getHash());
+                if (phraseSource == null)
+                {
+                    phraseSource = new AdaptivePhraseScheduler(pack);
+                    sources.put(pack.getHash(), phraseSource);
+                }
+                Verification verification = replay(bytes, phraseSource);
+                System.out.println(file.getFileName() + ": " + verification.summary());
+                recorded += verification.getRecordedNanos();
+                replayed += verification.getReplayNanos();
+                if (!verification.isMatch())
+                {
+                    failures++;
+                }
+            }
+            catch (IOException e)
+            {
+                System.out.println(file.getFileName() + ": ERROR " + e.getMessage());
+                failures++;
+            }
+        }
+        System.out.println(files.size() + " repeticiones, " + failures + " con diferencias; "
+                + recorded / 1_000_000 + " ms de juego en " + replayed / 1_000_000 + " ms");
+        if (failures > 0)
+        {
+            System.exit(1);
+        }
+    }
+}
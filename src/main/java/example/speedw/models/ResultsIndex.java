@@ -0,0 +1,407 @@
+package example.speedw.models;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Indices en memoria sobre el historial de partidas guardado por {@link ResultsLog}.
+ * <p>
+ * Cada partida se guarda en arreglos primitivos paralelos. Para responder el
+ * ranking sin ordenar el historial, las partidas se agrupan en una cubeta por
+ * nivel alcanzado (las victorias en una cubeta propia por encima del nivel
+ * final) y cada cubeta conserva solo sus {@value #TOP_PER_LEVEL} mejores
+ * partidas por caracteres por minuto, ordenadas al insertarlas. El ranking se
+ * arma recorriendo las cubetas de mayor a menor, por lo que cuesta O(n) en el
+ * tamaño del ranking y no en el del historial. La mejor marca personal y la
+ * precision de cada frase se actualizan con cada partida y se consultan en O(1).
+ * <p>
+ * Lo escribe solo el hilo de {@link ResultsLog}; las consultas pueden hacerse
+ * desde cualquier hilo.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class ResultsIndex
+{
+    /**
+     * Cuantas partidas conserva cada cubeta de nivel para el ranking.
+     */
+    public static final int TOP_PER_LEVEL = 100;
+
+    /**
+     * Numero de cubetas: niveles 0 a {@link GameEngine#WIN_LEVEL} y una mas para las victorias.
+     */
+    private static final int BUCKETS = GameEngine.WIN_LEVEL + 2;
+
+    /**
+     * Numero de partidas guardadas.
+     */
+    private int gameCount;
+
+    /**
+     * Instante en que termino cada partida.
+     */
+    private long[] timestamps = new long[1024];
+
+    /**
+     * Nivel alcanzado en cada partida.
+     */
+    private byte[] levels = new byte[1024];
+
+    /**
+     * Indica si cada partida termino con una victoria.
+     */
+    private boolean[] wins = new boolean[1024];
+
+    /**
+     * Respuestas correctas de cada partida.
+     */
+    private int[] corrects = new int[1024];
+
+    /**
+     * Respuestas incorrectas o vencidas de cada partida.
+     */
+    private int[] missed = new int[1024];
+
+    /**
+     * Caracteres correctos de cada partida.
+     */
+    private long[] chars = new long[1024];
+
+    /**
+     * Duracion de cada partida, en milisegundos.
+     */
+    private long[] elapsed = new long[1024];
+
+    /**
+     * Mejor tiempo de reaccion de cada partida, en microsegundos.
+     */
+    private long[] reactions = new long[1024];
+
+    /**
+     * Caracteres por minuto de cada partida, la clave de orden dentro de cada cubeta.
+     */
+    private int[] cpms = new int[1024];
+
+    /**
+     * Mejores partidas de cada cubeta, ordenadas de mejor a peor.
+     */
+    private final int[][] top = new int[BUCKETS][TOP_PER_LEVEL];
+
+    /**
+     * Cuantas partidas hay en el arreglo {@link #top} de cada cubeta.
+     */
+    private final int[] topSize = new int[BUCKETS];
+
+    /**
+     * Cuantas partidas hay en total en cada cubeta.
+     */
+    private final int[] bucketCount = new int[BUCKETS];
+
+    /**
+     * Indice de la mejor partida, o -1 si no hay partidas.
+     */
+    private int bestGame = -1;
+
+    /**
+     * Id de cada frase del historial.
+     */
+    private final HashMap<String, Integer> phraseIds = new HashMap<>();
+
+    /**
+     * Texto de cada frase del historial, indexado por su id.
+     */
+    private String[] phraseTexts = new String[256];
+
+    /**
+     * Veces que se escribio correctamente cada frase en todo el historial.
+     */
+    private long[] phraseCorrect = new long[256];
+
+    /**
+     * Veces que se fallo cada frase en todo el historial.
+     */
+    private long[] phraseMisses = new long[256];
+
+    /**
+     * Numero de frases del historial.
+     */
+    private int phraseCount;
+
+    /**
+     * Busca el id de una frase en el historial.
+     *
+     * @param phrase La frase.
+     * @return El id de la frase, o -1 si nunca se ha guardado.
+     */
+    public synchronized int phraseId(String phrase)
+    {
+        Integer id = phraseIds.get(phrase);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Agrega una frase nueva al historial.
+     *
+     * @param phrase La frase.
+     * @return El id asignado, que es el numero de frases que habia antes.
+     */
+    synchronized int addPhrase(String phrase)
+    {
+        int id = phraseCount++;
+        if (id == phraseTexts.length)
+        {
+            phraseTexts = Arrays.copyOf(phraseTexts, id * 2);
+            phraseCorrect = Arrays.copyOf(phraseCorrect, id * 2);
+            phraseMisses = Arrays.copyOf(phraseMisses, id * 2);
+        }
+        phraseTexts[id] = phrase;
+        phraseIds.put(phrase, id);
+        return id;
+    }
+
+    /**
+     * Suma los aciertos y fallos de una frase en una partida.
+     *
+     * @param id      El id de la frase en el historial.
+     * @param correct Veces que se escribio correctamente.
+     * @param misses  Veces que se fallo.
+     */
+    synchronized void addPhraseAttempts(int id, int correct, int misses)
+    {
+        phraseCorrect[id] += correct;
+        phraseMisses[id] += misses;
+    }
+
+    /**
+     * Agrega una partida al historial y actualiza el ranking y la mejor marca.
+     *
+     * @param result El resultado de la partida.
+     */
+    synchronized void addGame(GameResult result)
+    {
+        int game = gameCount++;
+        if (game == timestamps.length)
+        {
+            int capacity = game * 2;
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            levels = Arrays.copyOf(levels, capacity);
+            wins = Arrays.copyOf(wins, capacity);
+            corrects = Arrays.copyOf(corrects, capacity);
+            missed = Arrays.copyOf(missed, capacity);
+            chars = Arrays.copyOf(chars, capacity);
+            elapsed = Arrays.copyOf(elapsed, capacity);
+            reactions = Arrays.copyOf(reactions, capacity);
+            cpms = Arrays.copyOf(cpms, capacity);
+        }
+        timestamps[game] = result.getTimestampMillis();
+        levels[game] = (byte) result.getLevel();
+        wins[game] = result.isWon();
+        corrects[game] = result.getCorrectCount();
+        missed[game] = result.getMissCount();
+        chars[game] = result.getTotalChars();
+        elapsed[game] = result.getElapsedMillis();
+        reactions[game] = result.getBestReactionMicros();
+        cpms[game] = result.getCharsPerMinute();
+
+        int bucket = bucketOf(game);
+        bucketCount[bucket]++;
+        insertTop(bucket, game);
+        if (bestGame < 0 || isBetter(game, bestGame))
+        {
+            bestGame = game;
+        }
+    }
+
+    /**
+     * Inserta una partida en las mejores de su cubeta, si le corresponde.
+     *
+     * @param bucket La cubeta de la partida.
+     * @param game   El indice de la partida.
+     */
+    private void insertTop(int bucket, int game)
+    {
+        int[] games = top[bucket];
+        int size = topSize[bucket];
+        int pos = size;
+        while (pos > 0 && cpms[game] > cpms[games[pos - 1]])
+        {
+            pos--;
+        }
+        if (pos == TOP_PER_LEVEL)
+        {
+            return;
+        }
+        int last = Math.min(size, TOP_PER_LEVEL - 1);
+        System.arraycopy(games, pos, games, pos + 1, last - pos);
+        games[pos] = game;
+        topSize[bucket] = last + 1;
+    }
+
+    /**
+     * @param game El indice de una partida.
+     * @return La cubeta de la partida: su nivel, o la cubeta de victorias.
+     */
+    private int bucketOf(int game)
+    {
+        return wins[game] ? BUCKETS - 1 : Math.min(levels[game], GameEngine.WIN_LEVEL);
+    }
+
+    /**
+     * Compara dos partidas: primero por cubeta, luego por caracteres por minuto; a
+     * igualdad gana la mas antigua.
+     *
+     * @param a Una partida.
+     * @param b Otra partida.
+     * @return {@code true} si {@code a} es mejor que {@code b}.
+     */
+    private boolean isBetter(int a, int b)
+    {
+        int bucketA = bucketOf(a);
+        int bucketB = bucketOf(b);
+        if (bucketA != bucketB)
+        {
+            return bucketA > bucketB;
+        }
+        return cpms[a] > cpms[b];
+    }
+
+    /**
+     * Devuelve las mejores partidas del historial.
+     *
+     * @param n Cuantas partidas devolver, como maximo {@value #TOP_PER_LEVEL}.
+     * @return Las mejores partidas, de mejor a peor.
+     */
+    public synchronized List<GameResult> top(int n)
+    {
+        List<GameResult> result = new ArrayList<>(Math.min(n, gameCount));
+        for (int bucket = BUCKETS - 1; bucket >= 0 && result.size() < n; bucket--)
+        {
+            for (int i = 0; i < topSize[bucket] && result.size() < n; i++)
+            {
+                result.add(gameAt(top[bucket][i]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return La mejor partida del historial, o {@code null} si no hay partidas.
+     */
+    public synchronized GameResult personalBest()
+    {
+        return bestGame < 0 ? null : gameAt(bestGame);
+    }
+
+    /**
+     * @return El indice de la mejor partida, o -1 si no hay partidas.
+     */
+    public synchronized int getBestGameIndex()
+    {
+        return bestGame;
+    }
+
+    /**
+     * @param level Un nivel, o {@code GameEngine.WIN_LEVEL + 1} para las victorias.
+     * @return Cuantas partidas terminaron en ese nivel.
+     */
+    public synchronized int countAtLevel(int level)
+    {
+        return level >= 0 && level < BUCKETS ? bucketCount[level] : 0;
+    }
+
+    /**
+     * @param game El indice de una partida.
+     * @return La partida guardada en ese indice.
+     */
+    public synchronized GameResult gameAt(int game)
+    {
+        return new GameResult(timestamps[game], levels[game], wins[game], corrects[game], missed[game],
+                chars[game], elapsed[game], reactions[game]);
+    }
+
+    /**
+     * @return El numero de partidas guardadas.
+     */
+    public synchronized int getGameCount()
+    {
+        return gameCount;
+    }
+
+    /**
+     * @return El numero de frases distintas del historial.
+     */
+    public synchronized int getPhraseCount()
+    {
+        return phraseCount;
+    }
+
+    /**
+     * @param id El id de una frase.
+     * @return El texto de la frase.
+     */
+    public synchronized String phraseText(int id)
+    {
+        return phraseTexts[id];
+    }
+
+    /**
+     * @param id El id de una frase.
+     * @return Cuantas veces se intento la frase en todo el historial.
+     */
+    public synchronized long phraseAttempts(int id)
+    {
+        return phraseCorrect[id] + phraseMisses[id];
+    }
+
+    /**
+     * @param id El id de una frase.
+     * @return La fraccion de intentos correctos de la frase, o 0 si nunca se intento.
+     */
+    public synchronized double phraseAccuracy(int id)
+    {
+        long attempts = phraseCorrect[id] + phraseMisses[id];
+        return attempts == 0 ? 0 : (double) phraseCorrect[id] / attempts;
+    }
+
+    /**
+     * Busca las frases con peor precision.
+     * <p>
+     * Recorre una sola vez las frases del historial (no las partidas) y conserva
+     * las {@code n} peores con una insercion ordenada.
+     *
+     * @param n           Cuantas frases devolver.
+     * @param minAttempts Intentos minimos para que una frase cuente.
+     * @return Los ids de las frases, de menor a mayor precision.
+     */
+    public synchronized int[] hardestPhrases(int n, int minAttempts)
+    {
+        int[] ids = new int[n];
+        int size = 0;
+        for (int id = 0; id < phraseCount; id++)
+        {
+            if (phraseCorrect[id] + phraseMisses[id] < minAttempts)
+            {
+                continue;
+            }
+            double accuracy = phraseAccuracy(id);
+            int pos = size;
+            while (pos > 0 && accuracy < phraseAccuracy(ids[pos - 1]))
+            {
+                pos--;
+            }
+            if (pos == n)
+            {
+                continue;
+            }
+            int last = Math.min(size, n - 1);
+            System.arraycopy(ids, pos, ids, pos + 1, last - pos);
+            ids[pos] = id;
+            size = last + 1;
+        }
+        return Arrays.copyOf(ids, size);
+    }
+}
@@ -0,0 +1,764 @@
+package example.speedw.models;
+
+import java.io.IOException;
+import java.lang.System.Logger.Level;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.CRC32;
+
+/**
+ * Historial de partidas en un archivo binario de solo agregado.
+ * <p>
+ * Cada partida terminada se agrega al final del archivo como un registro
+ * compacto; nada se reescribe. Un unico hilo de fondo abre el archivo, recupera
+ * el historial, escribe las partidas nuevas y las sincroniza con el disco por
+ * lotes: todas las partidas que llegan mientras se escribe el lote anterior se
+ * escriben juntas y se confirman con un solo {@code force}. Asi el hilo de JavaFX
+ * nunca espera al disco.
+ * <p>
+ * Formato (enteros big-endian): una cabecera con {@link #MAGIC} y {@link #VERSION},
+ * y luego registros {@code [longitud][tipo][datos][crc32]}, donde la longitud
+ * cuenta el tipo y los datos, y el CRC cubre los mismos bytes. Hay dos tipos de
+ * registro: {@link #RECORD_PHRASE}, que agrega una frase al diccionario del
+ * historial (su id es el orden de aparicion) y {@link #RECORD_GAME}, con el
+ * resultado de una partida y los aciertos y fallos de cada frase por id. Los
+ * numeros de los datos van codificados con {@link Varint}.
+ * <p>
+ * Si la aplicacion se cierra a mitad de una escritura, el ultimo registro queda
+ * incompleto o con un CRC que no coincide; al abrir, el archivo se recorta hasta
+ * el ultimo registro valido. Un registro completo y con su CRC correcto que no
+ * tiene sentido (un tipo desconocido o frases fuera del diccionario) no es un
+ * final cortado: se salta con un aviso y los registros siguientes se conservan. Mientras se recorre el historial se construye el
+ * {@link ResultsIndex} que responde el ranking. Los archivos no pueden superar
+ * los 2 GB.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class ResultsLog
+{
+    /**
+     * Registro de los errores de esta clase.
+     */
+    private static final System.Logger LOG = System.getLogger(ResultsLog.class.getName());
+
+    /**
+     * Numero magico al inicio de todo historial ("SPWR").
+     */
+    public static final int MAGIC = 0x53505752;
+
+    /**
+     * Version del formato.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Tipo de registro: una frase nueva del diccionario.
+     */
+    public static final byte RECORD_PHRASE = 1;
+
+    /**
+     * Tipo de registro: el resultado de una partida.
+     */
+    public static final byte RECORD_GAME = 2;
+
+    /**
+     * Propiedad del sistema con la ruta de un historial a usar en lugar del historial por defecto.
+     */
+    public static final String RESULTS_PROPERTY = "speedw.results";
+
+    /**
+     * Tamaño de la cabecera.
+     */
+    private static final int HEADER_SIZE = 8;
+
+    /**
+     * Bytes que ocupan la longitud y el CRC de cada registro.
+     */
+    private static final int FRAME_OVERHEAD = 8;
+
+    /**
+     * Partida pendiente de escribir, con los aciertos y fallos de cada frase.
+     */
+    private static class Pending
+    {
+        /**
+         * El resultado de la partida.
+         */
+        private final GameResult result;
+
+        /**
+         * Las frases mostradas en la partida.
+         */
+        private final String[] phrases;
+
+        /**
+         * Aciertos de cada frase.
+         */
+        private final int[] correct;
+
+        /**
+         * Fallos de cada frase.
+         */
+        private final int[] misses;
+
+        /**
+         * Ids de las frases en el diccionario, asignados al codificar la partida.
+         */
+        private int[] ids;
+
+        private Pending(GameResult result, String[] phrases, int[] correct, int[] misses)
+        {
+            this.result = result;
+            this.phrases = phrases;
+            this.correct = correct;
+            this.misses = misses;
+        }
+    }
+
+    /**
+     * Marca que le indica al hilo de escritura que termine.
+     */
+    private static final Pending CLOSE = new Pending(null, new String[0], new int[0], new int[0]);
+
+    /**
+     * Ruta del archivo del historial.
+     */
+    private final Path file;
+
+    /**
+     * Indices sobre el historial.
+     */
+    private final ResultsIndex index = new ResultsIndex();
+
+    /**
+     * Partidas pendientes de escribir.
+     */
+    private final LinkedBlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+
+    /**
+     * Se completa cuando el historial termino de recuperarse.
+     */
+    private final CompletableFuture<ResultsIndex> loaded = new CompletableFuture<>();
+
+    /**
+     * Hilo que abre, recupera y escribe el historial.
+     */
+    private Thread writer;
+
+    /**
+     * Canal de escritura, o {@code null} si el archivo no pudo abrirse.
+     */
+    private FileChannel channel;
+
+    /**
+     * Buffer reutilizado para codificar los registros de cada lote.
+     */
+    private ByteBuffer out = ByteBuffer.allocate(64 * 1024);
+
+    /**
+     * Calculo del CRC de cada registro.
+     */
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * Frases nuevas del lote que se esta escribiendo, en el orden de sus ids; entran
+     * al indice solo cuando el lote llega al disco.
+     */
+    private final ArrayList<String> batchPhrases = new ArrayList<>();
+
+    /**
+     * Id de cada frase de {@link #batchPhrases}.
+     */
+    private final HashMap<String, Integer> batchPhraseIds = new HashMap<>();
+
+    /**
+     * Nanosegundos que tomo recuperar el historial.
+     */
+    private volatile long loadNanos;
+
+    /**
+     * Bytes descartados al final del archivo por un registro incompleto o corrupto.
+     */
+    private volatile long truncatedBytes;
+
+    /**
+     * Registros completos que se saltaron al recuperar el historial porque sus datos no tenian sentido.
+     */
+    private volatile int skippedRecords;
+
+    /**
+     * Numero de sincronizaciones con el disco.
+     */
+    private volatile long syncCount;
+
+    /**
+     * Numero de partidas escritas desde que se abrio el historial.
+     */
+    private volatile long writtenGames;
+
+    /**
+     * Crea el historial sobre un archivo. No toca el disco hasta llamar a {@link #open()}.
+     *
+     * @param file La ruta del archivo del historial.
+     */
+    public ResultsLog(Path file)
+    {
+        this.file = file;
+    }
+
+    /**
+     * @return La ruta indicada en la propiedad {@value #RESULTS_PROPERTY}, o
+     *         {@code ~/.speedw/results.log}.
+     */
+    public static Path defaultPath()
+    {
+        String path = System.getProperty(RESULTS_PROPERTY);
+        if (path != null && !path.isBlank())
+        {
+            return Paths.get(path);
+        }
+        return Paths.get(System.getProperty("user.home"), ".speedw", "results.log");
+    }
+
+    /**
+     * Arranca el hilo de escritura, que primero recupera el historial.
+     *
+     * @return El indice del historial, cuando termine de recuperarse.
+     */
+    public synchronized CompletableFuture<ResultsIndex> open()
+    {
+        if (writer == null)
+        {
+            writer = new Thread(this::run, "speedw-results");
+            writer.setDaemon(true);
+            writer.start();
+        }
+        return loaded;
+    }
+
+    /**
+     * Agrega una partida terminada al historial.
+     * <p>
+     * Solo copia los datos de la partida y los deja en la cola; la escritura y la
+     * sincronizacion con el disco ocurren en el hilo de fondo.
+     *
+     * @param result El resultado de la partida.
+     * @param stats  Las estadisticas de la partida, con los aciertos y fallos de cada frase.
+     */
+    public void append(GameResult result, SessionStats stats)
+    {
+        int distinct = stats.getDistinctCount();
+        String[] phrases = new String[distinct];
+        int[] correct = new int[distinct];
+        int[] misses = new int[distinct];
+        for (int id = 0; id < distinct; id++)
+        {
+            phrases[id] = stats.phraseOf(id);
+            correct[id] = stats.countOf(id);
+            misses[id] = stats.missesOf(id);
+        }
+        queue.add(new Pending(result, phrases, correct, misses));
+    }
+
+    /**
+     * Escribe las partidas pendientes y cierra el archivo, esperando como maximo el tiempo indicado.
+     *
+     * @param timeoutMillis Milisegundos maximos de espera.
+     */
+    public void close(long timeoutMillis)
+    {
+        Thread thread;
+        synchronized (this)
+        {
+            thread = writer;
+        }
+        if (thread == null)
+        {
+            return;
+        }
+        queue.add(CLOSE);
+        try
+        {
+            thread.join(timeoutMillis);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Ciclo del hilo de escritura: recupera el historial y luego escribe por lotes.
+     */
+    private void run()
+    {
+        long start = System.nanoTime();
+        try
+        {
+            channel = recover();
+        }
+        catch (IOException e)
+        {
+            LOG.log(Level.ERROR, "No se pudo abrir el historial " + file + "; las partidas no se guardaran.", e);
+        }
+        loadNanos = System.nanoTime() - start;
+        loaded.complete(index);
+
+        ArrayList<Pending> batch = new ArrayList<>();
+        boolean closing = false;
+        while (!closing)
+        {
+            try
+            {
+                batch.add(queue.take());
+            }
+            catch (InterruptedException e)
+            {
+                break;
+            }
+            queue.drainTo(batch);
+
+            out.clear();
+            int games = 0;
+            for (Pending pending : batch)
+            {
+                if (pending == CLOSE)
+                {
+                    closing = true;
+                }
+                else
+                {
+                    encode(pending);
+                    games++;
+                }
+            }
+            if (games > 0)
+            {
+                writeBatch(batch, games);
+            }
+            batch.clear();
+            batchPhrases.clear();
+            batchPhraseIds.clear();
+        }
+        closeChannel();
+    }
+
+    /**
+     * Escribe el lote codificado y lo sincroniza con el disco una sola vez.
+     * <p>
+     * Solo despues del {@code force} se agregan al indice las frases y partidas
+     * del lote; si la escritura falla, el indice no muestra partidas que el
+     * archivo no tiene.
+     *
+     * @param batch Las partidas del lote, ya codificadas.
+     * @param games Cuantas partidas contiene el lote.
+     */
+    private void writeBatch(ArrayList<Pending> batch, int games)
+    {
+        if (channel == null)
+        {
+            return;
+        }
+        out.flip();
+        try
+        {
+            while (out.hasRemaining())
+            {
+                channel.write(out);
+            }
+            channel.force(false);
+            syncCount++;
+            writtenGames += games;
+        }
+        catch (IOException e)
+        {
+            // Se deja de escribir para no dejar en el archivo partidas que apunten a frases perdidas.
+            LOG.log(Level.ERROR, "No se pudo escribir en el historial " + file + "; las partidas no se guardaran.", e);
+            closeChannel();
+            channel = null;
+            return;
+        }
+        for (String phrase : batchPhrases)
+        {
+            index.addPhrase(phrase);
+        }
+        for (Pending pending : batch)
+        {
+            if (pending == CLOSE)
+            {
+                continue;
+            }
+            for (int i = 0; i < pending.ids.length; i++)
+            {
+                index.addPhraseAttempts(pending.ids[i], pending.correct[i], pending.misses[i]);
+            }
+            index.addGame(pending.result);
+        }
+    }
+
+    /**
+     * Cierra el canal de escritura.
+     */
+    private void closeChannel()
+    {
+        if (channel == null)
+        {
+            return;
+        }
+        try
+        {
+            channel.close();
+        }
+        catch (IOException e)
+        {
+            LOG.log(Level.WARNING, "No se pudo cerrar el historial " + file + ".", e);
+        }
+    }
+
+    /**
+     * Codifica una partida en el buffer del lote, precedida por las frases que aun
+     * no estan en el diccionario.
+     * <p>
+     * Las frases nuevas reciben los ids siguientes a los del indice y se guardan
+     * en {@link #batchPhrases} hasta que el lote llegue al disco.
+     *
+     * @param pending La partida pendiente.
+     */
+    private void encode(Pending pending)
+    {
+        int count = pending.phrases.length;
+        int[] ids = new int[count];
+        for (int i = 0; i < count; i++)
+        {
+            String phrase = pending.phrases[i];
+            int id = index.phraseId(phrase);
+            if (id < 0)
+            {
+                id = batchPhraseIds.getOrDefault(phrase, -1);
+            }
+            if (id < 0)
+            {
+                id = index.getPhraseCount() + batchPhrases.size();
+                batchPhrases.add(phrase);
+                batchPhraseIds.put(phrase, id);
+                byte[] utf8 = phrase.getBytes(StandardCharsets.UTF_8);
+                ensureCapacity(FRAME_OVERHEAD + 1 + utf8.length);
+                int frame = beginFrame(RECORD_PHRASE);
+                out.put(utf8);
+                endFrame(frame);
+            }
+            ids[i] = id;
+        }
+        pending.ids = ids;
+
+        GameResult result = pending.result;
+        ensureCapacity(FRAME_OVERHEAD + 1 + 8 + 8 * Varint.MAX_BYTES + 1 + count * 3 * Varint.MAX_BYTES);
+        int frame = beginFrame(RECORD_GAME);
+        out.putLong(result.getTimestampMillis());
+        Varint.put(out, result.getLevel());
+        out.put((byte) (result.isWon() ? 1 : 0));
+        Varint.put(out, result.getCorrectCount());
+        Varint.put(out, result.getMissCount());
+        Varint.put(out, result.getTotalChars());
+        Varint.put(out, result.getElapsedMillis());
+        Varint.put(out, result.getBestReactionMicros());
+        Varint.put(out, count);
+        for (int i = 0; i < count; i++)
+        {
+            Varint.put(out, ids[i]);
+            Varint.put(out, pending.correct[i]);
+            Varint.put(out, pending.misses[i]);
+        }
+        endFrame(frame);
+    }
+
+    /**
+     * Se asegura de que el buffer del lote tenga espacio para un registro mas.
+     *
+     * @param bytes Los bytes que ocupara el registro.
+     */
+    private void ensureCapacity(int bytes)
+    {
+        if (out.remaining() < bytes)
+        {
+            ByteBuffer bigger = ByteBuffer.allocate(Math.max(out.capacity() * 2, out.position() + bytes));
+            out.flip();
+            bigger.put(out);
+            out = bigger;
+        }
+    }
+
+    /**
+     * Reserva la longitud de un registro y escribe su tipo.
+     *
+     * @param type El tipo de registro.
+     * @return La posicion donde comienza el registro.
+     */
+    private int beginFrame(byte type)
+    {
+        int frame = out.position();
+        out.putInt(0);
+        out.put(type);
+        return frame;
+    }
+
+    /**
+     * Completa la longitud y el CRC de un registro.
+     *
+     * @param frame La posicion donde comienza el registro.
+     */
+    private void endFrame(int frame)
+    {
+        int length = out.position() - frame - 4;
+        out.putInt(frame, length);
+        crc.reset();
+        crc.update(out.array(), frame + 4, length);
+        out.putInt((int) crc.getValue());
+    }
+
+    /**
+     * Abre el archivo, reconstruye el indice y recorta el final si quedo incompleto.
+     *
+     * @return El canal de escritura, posicionado al final del ultimo registro valido.
+     * @throws IOException Si el archivo no pudo abrirse o no es un historial.
+     */
+    private FileChannel recover() throws IOException
+    {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null)
+        {
+            Files.createDirectories(parent);
+        }
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try
+        {
+            long size = ch.size();
+            if (size < HEADER_SIZE)
+            {
+                if (size > 0)
+                {
+                    truncatedBytes = size;
+                }
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip();
+                ch.truncate(0);
+                ch.write(header, 0);
+                ch.force(false);
+                ch.position(HEADER_SIZE);
+                return ch;
+            }
+            if (size > Integer.MAX_VALUE)
+            {
+                throw new IOException("El historial supera los 2 GB.");
+            }
+
+            MappedByteBuffer map = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (map.getInt(0) != MAGIC)
+            {
+                throw new IOException("El archivo no es un historial de SpeedW.");
+            }
+            if (map.getInt(4) != VERSION)
+            {
+                throw new IOException("Version de historial no soportada: " + map.getInt(4));
+            }
+
+            int end = scan(map);
+            if (end < size)
+            {
+                truncatedBytes = size - end;
+                LOG.log(Level.WARNING, "Historial: se descartaron " + truncatedBytes
+                        + " bytes de un registro incompleto al final.");
+                ch.truncate(end);
+                ch.force(false);
+            }
+            ch.position(end);
+            return ch;
+        }
+        catch (IOException | RuntimeException e)
+        {
+            ch.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Recorre los registros del historial, agregandolos al indice.
+     * <p>
+     * Solo una longitud imposible o un CRC que no coincide marcan el final
+     * cortado del archivo. Un registro integro que no se puede aplicar se salta
+     * y se sigue con el siguiente, para no recortar los registros validos que
+     * vienen despues.
+     *
+     * @param map El archivo mapeado.
+     * @return La posicion del final del ultimo registro integro.
+     */
+    private int scan(ByteBuffer map)
+    {
+        CRC32 check = new CRC32();
+        int limit = map.capacity();
+        int pos = HEADER_SIZE;
+        while (limit - pos >= FRAME_OVERHEAD + 1)
+        {
+            int length = map.getInt(pos);
+            if (length < 1 || length > limit - pos - FRAME_OVERHEAD)
+            {
+                break;
+            }
+            ByteBuffer record = map.slice(pos + 4, length);
+            check.reset();
+            check.update(record.duplicate());
+            if ((int) check.getValue() != map.getInt(pos + 4 + length))
+            {
+                break;
+            }
+            boolean applied;
+            try
+            {
+                applied = apply(record);
+            }
+            catch (RuntimeException e)
+            {
+                applied = false;
+            }
+            if (!applied)
+            {
+                skippedRecords++;
+                LOG.log(Level.WARNING, "Historial: se salto un registro sin sentido de " + length
+                        + " bytes en la posicion " + pos + ".");
+            }
+            pos += length + FRAME_OVERHEAD;
+        }
+        return pos;
+    }
+
+    /**
+     * Agrega un registro valido al indice.
+     *
+     * @param record El tipo y los datos del registro.
+     * @return {@code false} si el registro no tiene sentido (tipo desconocido, mas frases que
+     * bytes o ids fuera del diccionario); en ese caso el indice no cambia.
+     */
+    private boolean apply(ByteBuffer record)
+    {
+        byte type = record.get();
+        if (type == RECORD_PHRASE)
+        {
+            index.addPhrase(StandardCharsets.UTF_8.decode(record).toString());
+            return true;
+        }
+        if (type != RECORD_GAME)
+        {
+            return false;
+        }
+
+        long timestamp = record.getLong();
+        int level = Varint.getInt(record);
+        boolean won = record.get() != 0;
+        int correct = Varint.getInt(record);
+        int misses = Varint.getInt(record);
+        long chars = Varint.get(record);
+        long elapsed = Varint.get(record);
+        long reaction = Varint.get(record);
+        int count = Varint.getInt(record);
+        // Cada frase ocupa al menos tres bytes; asi un conteo dañado no reserva un arreglo enorme.
+        if (count > record.remaining() / 3)
+        {
+            return false;
+        }
+        int phraseCount = index.getPhraseCount();
+        int[] entries = new int[count * 3];
+        for (int i = 0; i < entries.length; i++)
+        {
+            entries[i] = Varint.getInt(record);
+        }
+        for (int i = 0; i < entries.length; i += 3)
+        {
+            if (entries[i] >= phraseCount)
+            {
+                return false;
+            }
+        }
+        for (int i = 0; i < entries.length; i += 3)
+        {
+            index.addPhraseAttempts(entries[i], entries[i + 1], entries[i + 2]);
+        }
+        index.addGame(new GameResult(timestamp, level, won, correct, misses, chars, elapsed, reaction));
+        return true;
+    }
+
+    /**
+     * @return Los indices del historial. Estan vacios hasta que termine la recuperacion.
+     */
+    public ResultsIndex getIndex()
+    {
+        return index;
+    }
+
+    /**
+     * @return {@code true} si el historial ya se recupero.
+     */
+    public boolean isLoaded()
+    {
+        return loaded.isDone();
+    }
+
+    /**
+     * @return La ruta del archivo del historial.
+     */
+    public Path getFile()
+    {
+        return file;
+    }
+
+    /**
+     * @return Los nanosegundos que tomo recuperar el historial.
+     */
+    public long getLoadNanos()
+    {
+        return loadNanos;
+    }
+
+    /**
+     * @return Los bytes descartados al final del archivo al recuperarlo.
+     */
+    public long getTruncatedBytes()
+    {
+        return truncatedBytes;
+    }
+
+    /**
+     * @return Los registros integros que se saltaron al recuperar el historial porque sus datos no tenian sentido.
+     */
+    public int getSkippedRecords()
+    {
+        return skippedRecords;
+    }
+
+    /**
+     * @return El numero de sincronizaciones con el disco.
+     */
+    public long getSyncCount()
+    {
+        return syncCount;
+    }
+
+    /**
+     * @return El numero de partidas escritas desde que se abrio el historial.
+     */
+    public long getWrittenGames()
+    {
+        return writtenGames;
+    }
+}
@@ -0,0 +1,539 @@
+package example.speedw.models;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Estadisticas de una sesion de juego, actualizadas con cada respuesta correcta.
+ * <p>
+ * Cada frase se convierte una sola vez en un identificador entero mediante una
+ * tabla hash de direccionamiento abierto; a partir de ahi el registro de la
+ * sesion, la frecuencia de cada frase, la frase mas larga, la mas repetida, el
+ * nivel alcanzado y los caracteres por minuto se guardan en arreglos primitivos
+ * y se consultan en O(1) en cualquier momento. Generar el resumen solo cuesta
+ * recorrer las frases distintas para darles formato, sin reconstruir nada.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class SessionStats
+{
+    /**
+     * Tabla hash: guarda {@code id + 1} de cada frase, o 0 si la casilla esta vacia.
+     */
+    private int[] slots = new int[64];
+
+    /**
+     * Texto de cada frase distinta, indexado por su id.
+     */
+    private String[] phrases = new String[32];
+
+    /**
+     * Veces que se escribio correctamente cada frase, indexado por su id.
+     */
+    private int[] counts = new int[32];
+
+    /**
+     * Veces que se envio mal o se dejo vencer cada frase, indexado por su id.
+     */
+    private int[] misses = new int[32];
+
+    /**
+     * Numero de frases distintas.
+     */
+    private int distinct;
+
+    /**
+     * Ids de las frases correctas en el orden en que se escribieron.
+     */
+    private int[] log = new int[64];
+
+    /**
+     * Numero de respuestas correctas de la sesion.
+     */
+    private int correctCount;
+
+    /**
+     * Numero de respuestas incorrectas o vencidas de la sesion.
+     */
+    private int missCount;
+
+    /**
+     * Total de caracteres escritos correctamente.
+     */
+    private long totalChars;
+
+    /**
+     * Longitud de la frase mas larga escrita correctamente.
+     */
+    private int longestLength;
+
+    /**
+     * Id de la frase mas repetida, o -1 si no hay frases.
+     */
+    private int mostFrequentId = -1;
+
+    /**
+     * Nivel alcanzado en la sesion.
+     */
+    private int levelReached;
+
+    /**
+     * Instante en que comenzo la sesion.
+     */
+    private long startNanos;
+
+    /**
+     * Instante de la ultima respuesta correcta.
+     */
+    private long lastCorrectNanos;
+
+    /**
+     * Tiempo de reaccion de la ultima respuesta correcta.
+     */
+    private long lastReactionNanos;
+
+    /**
+     * Mejor tiempo de reaccion de la sesion, o 0 si aun no hay respuestas correctas.
+     */
+    private long bestReactionNanos;
+
+    /**
+     * Vacia las estadisticas y comienza una sesion nueva.
+     *
+     * @param nowNanos El instante en que comienza la sesion.
+     */
+    public void reset(long nowNanos)
+    {
+        Arrays.fill(slots, 0);
+        Arrays.fill(phrases, 0, distinct, null);
+        Arrays.fill(counts, 0, distinct, 0);
+        Arrays.fill(misses, 0, distinct, 0);
+        distinct = 0;
+        correctCount = 0;
+        missCount = 0;
+        totalChars = 0;
+        longestLength = 0;
+        mostFrequentId = -1;
+        levelReached = 1;
+        startNanos = nowNanos;
+        lastCorrectNanos = nowNanos;
+        lastReactionNanos = 0;
+        bestReactionNanos = 0;
+    }
+
+    /**
+     * Vacia las estadisticas conservando el instante de inicio de la sesion.
+     */
+    public void clear()
+    {
+        reset(startNanos);
+    }
+
+    /**
+     * @return Los bytes maximos que ocupan estas estadisticas escritas con {@link #writeState(ByteBuffer, long)}.
+     */
+    public int stateBytes()
+    {
+        int bytes = 12 * Varint.MAX_BYTES + correctCount * 5;
+        for (int id = 0; id < distinct; id++)
+        {
+            bytes += Varint.bytesOf(phrases[id]) + 2 * Varint.MAX_BYTES;
+        }
+        return bytes;
+    }
+
+    /**
+     * Escribe las estadisticas en un buffer, para una {@link GameSnapshot}.
+     * <p>
+     * Se guardan las frases distintas con sus contadores, el registro de ids y
+     * los totales. Los instantes se guardan como nanosegundos antes de
+     * {@code nowNanos}, porque {@link System#nanoTime()} no sirve entre procesos.
+     *
+     * @param out      El buffer, con espacio para {@link #stateBytes()} bytes.
+     * @param nowNanos El instante de la instantanea.
+     */
+    public void writeState(ByteBuffer out, long nowNanos)
+    {
+        Varint.put(out, distinct);
+        for (int id = 0; id < distinct; id++)
+        {
+            Varint.putString(out, phrases[id]);
+            Varint.put(out, counts[id]);
+            Varint.put(out, misses[id]);
+        }
+        Varint.put(out, correctCount);
+        for (int i = 0; i < correctCount; i++)
+        {
+            Varint.put(out, log[i]);
+        }
+        Varint.put(out, missCount);
+        Varint.put(out, totalChars);
+        Varint.put(out, longestLength);
+        Varint.put(out, mostFrequentId + 1);
+        Varint.put(out, levelReached);
+        Varint.put(out, Math.max(0, nowNanos - startNanos));
+        Varint.put(out, Math.max(0, nowNanos - lastCorrectNanos));
+        Varint.put(out, lastReactionNanos);
+        Varint.put(out, bestReactionNanos);
+    }
+
+    /**
+     * Reemplaza las estadisticas por las escritas con {@link #writeState(ByteBuffer, long)}.
+     *
+     * @param in       El buffer.
+     * @param nowNanos El instante en que se retoma la sesion; los instantes guardados se cuentan hacia atras desde el.
+     * @throws IllegalArgumentException Si los datos no son validos.
+     */
+    public void readState(ByteBuffer in, long nowNanos)
+    {
+        reset(nowNanos);
+        int count = Varint.getInt(in);
+        for (int i = 0; i < count; i++)
+        {
+            int id = intern(Varint.getString(in));
+            if (id != i)
+            {
+                throw new IllegalArgumentException("Frase repetida en las estadisticas.");
+            }
+            counts[id] = Varint.getInt(in);
+            misses[id] = Varint.getInt(in);
+        }
+        int corrects = Varint.getInt(in);
+        if (corrects > in.remaining())
+        {
+            throw new IllegalArgumentException("Registro mas largo que el buffer: " + corrects);
+        }
+        if (log.length < corrects)
+        {
+            log = new int[Math.max(corrects, log.length * 2)];
+        }
+        for (int i = 0; i < corrects; i++)
+        {
+            log[i] = checkId(Varint.getInt(in));
+        }
+        correctCount = corrects;
+        missCount = Varint.getInt(in);
+        totalChars = Varint.get(in);
+        longestLength = Varint.getInt(in);
+        mostFrequentId = Varint.getInt(in) - 1;
+        if (mostFrequentId >= 0)
+        {
+            checkId(mostFrequentId);
+        }
+        levelReached = Varint.getInt(in);
+        startNanos = nowNanos - Varint.get(in);
+        lastCorrectNanos = nowNanos - Varint.get(in);
+        lastReactionNanos = Varint.get(in);
+        bestReactionNanos = Varint.get(in);
+    }
+
+    /**
+     * @param id El id leido de una instantanea.
+     * @return El mismo id.
+     * @throws IllegalArgumentException Si no corresponde a ninguna frase.
+     */
+    private int checkId(int id)
+    {
+        if (id >= distinct)
+        {
+            throw new IllegalArgumentException("Id de frase fuera de rango: " + id);
+        }
+        return id;
+    }
+
+    /**
+     * Registra una respuesta correcta. Cuesta O(1) amortizado.
+     *
+     * @param phrase        La frase escrita correctamente.
+     * @param reactionNanos El tiempo desde que se mostro la frase hasta la respuesta.
+     * @param nowNanos      El instante de la respuesta.
+     */
+    public void recordCorrect(String phrase, long reactionNanos, long nowNanos)
+    {
+        int id = intern(phrase);
+        counts[id]++;
+        if (mostFrequentId < 0 || counts[id] > counts[mostFrequentId])
+        {
+            mostFrequentId = id;
+        }
+
+        if (correctCount == log.length)
+        {
+            log = Arrays.copyOf(log, log.length * 2);
+        }
+        log[correctCount++] = id;
+
+        totalChars += phrase.length();
+        longestLength = Math.max(longestLength, phrase.length());
+        lastCorrectNanos = nowNanos;
+        lastReactionNanos = reactionNanos;
+        if (bestReactionNanos == 0 || reactionNanos < bestReactionNanos)
+        {
+            bestReactionNanos = reactionNanos;
+        }
+    }
+
+    /**
+     * Registra una respuesta incorrecta, o un nivel perdido por tiempo, sobre una frase.
+     * Cuesta O(1) amortizado.
+     *
+     * @param phrase La frase que se estaba escribiendo.
+     */
+    public void recordMiss(String phrase)
+    {
+        // intern() puede reemplazar el arreglo, asi que el id se obtiene antes de indexarlo.
+        int id = intern(phrase);
+        misses[id]++;
+        missCount++;
+    }
+
+    /**
+     * Busca el id de una frase y, si es nueva, le asigna uno.
+     *
+     * @param phrase La frase.
+     * @return El id de la frase.
+     */
+    public int intern(String phrase)
+    {
+        int mask = slots.length - 1;
+        int slot = mix(phrase.hashCode()) & mask;
+        while (slots[slot] != 0)
+        {
+            int id = slots[slot] - 1;
+            if (phrases[id].equals(phrase))
+            {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        int id = distinct++;
+        if (id == phrases.length)
+        {
+            phrases = Arrays.copyOf(phrases, id * 2);
+            counts = Arrays.copyOf(counts, id * 2);
+            misses = Arrays.copyOf(misses, id * 2);
+        }
+        phrases[id] = phrase;
+        slots[slot] = id + 1;
+        if (distinct * 2 > slots.length)
+        {
+            rehash();
+        }
+        return id;
+    }
+
+    /**
+     * Duplica la tabla hash cuando supera la mitad de su capacidad.
+     */
+    private void rehash()
+    {
+        int[] newSlots = new int[slots.length * 2];
+        int mask = newSlots.length - 1;
+        for (int id = 0; id < distinct; id++)
+        {
+            int slot = mix(phrases[id].hashCode()) & mask;
+            while (newSlots[slot] != 0)
+            {
+                slot = (slot + 1) & mask;
+            }
+            newSlots[slot] = id + 1;
+        }
+        slots = newSlots;
+    }
+
+    /**
+     * Dispersa los bits del hash para que las casillas se repartan mejor.
+     *
+     * @param hash El hash de la frase.
+     * @return El hash dispersado.
+     */
+    private static int mix(int hash)
+    {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Establece el nivel alcanzado en la sesion.
+     *
+     * @param level El nivel actual.
+     */
+    public void setLevelReached(int level)
+    {
+        levelReached = level;
+    }
+
+    /**
+     * @return El nivel alcanzado en la sesion.
+     */
+    public int getLevelReached()
+    {
+        return levelReached;
+    }
+
+    /**
+     * @return El numero de respuestas correctas de la sesion.
+     */
+    public int getCorrectCount()
+    {
+        return correctCount;
+    }
+
+    /**
+     * @return El numero de respuestas incorrectas o vencidas de la sesion.
+     */
+    public int getMissCount()
+    {
+        return missCount;
+    }
+
+    /**
+     * @return El numero de frases distintas que se mostraron en la sesion.
+     */
+    public int getDistinctCount()
+    {
+        return distinct;
+    }
+
+    /**
+     * @param id El id de una frase.
+     * @return El texto de la frase.
+     */
+    public String phraseOf(int id)
+    {
+        return phrases[id];
+    }
+
+    /**
+     * @param id El id de una frase.
+     * @return Cuantas veces se escribio correctamente la frase.
+     */
+    public int countOf(int id)
+    {
+        return counts[id];
+    }
+
+    /**
+     * @param id El id de una frase.
+     * @return Cuantas veces se envio mal o se dejo vencer la frase.
+     */
+    public int missesOf(int id)
+    {
+        return misses[id];
+    }
+
+    /**
+     * @param index La posicion dentro del registro de la sesion.
+     * @return El id de la frase correcta en esa posicion.
+     */
+    public int logAt(int index)
+    {
+        return log[index];
+    }
+
+    /**
+     * @return La longitud de la frase mas larga escrita correctamente.
+     */
+    public int getLongestLength()
+    {
+        return longestLength;
+    }
+
+    /**
+     * @return El id de la frase mas repetida, o -1 si no hay frases.
+     */
+    public int getMostFrequentId()
+    {
+        return mostFrequentId;
+    }
+
+    /**
+     * @return El total de caracteres escritos correctamente.
+     */
+    public long getTotalChars()
+    {
+        return totalChars;
+    }
+
+    /**
+     * @return Los caracteres correctos por minuto, entre el inicio de la sesion y la ultima respuesta correcta.
+     */
+    public double getCharsPerMinute()
+    {
+        long elapsed = lastCorrectNanos - startNanos;
+        return elapsed <= 0 ? 0 : totalChars * 60_000_000_000.0 / elapsed;
+    }
+
+    /**
+     * @return Los nanosegundos entre el inicio de la sesion y la ultima respuesta correcta.
+     */
+    public long getElapsedNanos()
+    {
+        return lastCorrectNanos - startNanos;
+    }
+
+    /**
+     * @return El tiempo de reaccion de la ultima respuesta correcta, en nanosegundos.
+     */
+    public long getLastReactionNanos()
+    {
+        return lastReactionNanos;
+    }
+
+    /**
+     * @return El mejor tiempo de reaccion de la sesion, en nanosegundos.
+     */
+    public long getBestReactionNanos()
+    {
+        return bestReactionNanos;
+    }
+
+    /**
+     * Genera el resumen de la sesion.
+     * <p>
+     * Solo recorre las frases distintas para darles formato; todos los totales ya
+     * estan calculados.
+     * <p>
+     * Es el resumen que las repeticiones guardan como hash ({@link ReplayRecorder#end})
+     * y que el {@link Replayer} compara, asi que su texto es fijo y no se traduce:
+     * cambiarlo haria que ninguna repeticion anterior coincida. La interfaz muestra
+     * el resumen en su idioma con {@link SessionSummary}.
+     *
+     * @return El resumen de la sesion.
+     */
+    public String formatSummary()
+    {
+        if (correctCount == 0)
+        {
+            return "No hubo palabras correctas en este intento.";
+        }
+
+        StringBuilder msj = new StringBuilder(64 + distinct * 24);
+        msj.append("Resumen de tu intento:\n\n");
+        for (int id = 0; id < distinct; id++)
+        {
+            if (counts[id] == 0)
+            {
+                continue;
+            }
+            msj.append("- ").append(phrases[id]);
+            if (counts[id] > 1)
+            {
+                msj.append(" (x").append(counts[id]).append(')');
+            }
+            msj.append('\n');
+        }
+
+        msj.append("\n------------------------------\n");
+        msj.append("Ultimo nivel: ").append(levelReached);
+        msj.append("\nLetras de la palabra mas larga: ").append(longestLength);
+        msj.append("\nFrase mas repetida: ").append(phrases[mostFrequentId]);
+        msj.append("\nPrecision: ").append(correctCount * 100 / (correctCount + missCount)).append('%');
+        msj.append("\nCaracteres por minuto: ").append(Math.round(getCharsPerMinute()));
+        msj.append("\nMejor tiempo de reaccion: ").append(bestReactionNanos / 1_000_000).append(" ms");
+        return msj.toString();
+    }
+}
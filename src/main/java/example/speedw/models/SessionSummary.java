@@ -0,0 +1,166 @@
+package example.speedw.models;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Resumen de un intento visto como una lista de renglones, para un {@link ListAlertBox}.
+ * <p>
+ * Tiene los mismos renglones que {@link SessionStats#formatSummary()}, pero en el
+ * idioma de la interfaz ({@link Language}), y no arma un texto con todos ellos: al terminar la partida solo se copian las
+ * referencias a las frases correctas y sus conteos, y cada renglon se arma
+ * cuando la lista lo pide. Una lista virtualizada pide solo los renglones
+ * visibles, asi que mostrar el resumen cuesta lo mismo sin importar cuantas
+ * frases tuvo la sesion. Los arreglos se reutilizan entre partidas.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class SessionSummary extends AbstractList<String> implements RandomAccess
+{
+    /**
+     * Renglones antes de las frases.
+     */
+    private static final int HEAD_ROWS = 2;
+
+    /**
+     * Frases escritas correctamente, en orden de aparicion.
+     */
+    private String[] phrases = new String[32];
+
+    /**
+     * Veces que se escribio cada frase.
+     */
+    private int[] counts = new int[32];
+
+    /**
+     * Numero de frases correctas distintas.
+     */
+    private int phraseCount;
+
+    /**
+     * Titulo del resumen, en el idioma de la interfaz.
+     */
+    private String heading = "";
+
+    /**
+     * Renglones de totales, despues de las frases.
+     */
+    private String[] totals = new String[0];
+
+    /**
+     * Renglones agregados al final, como el resumen del historial.
+     */
+    private List<String> trailer = List.of();
+
+    /**
+     * Copia las frases y los totales de una sesion, en O(frases distintas) y sin armar renglones.
+     *
+     * @param stats    Las estadisticas de la sesion terminada.
+     * @param language El idioma de la interfaz.
+     */
+    public void load(SessionStats stats, Language language)
+    {
+        reset();
+        int distinct = stats.getDistinctCount();
+        if (phrases.length < distinct)
+        {
+            phrases = new String[Math.max(distinct, phrases.length * 2)];
+            counts = new int[phrases.length];
+        }
+        if (stats.getCorrectCount() == 0)
+        {
+            totals = new String[]{language.message("summary.none")};
+            return;
+        }
+        heading = language.message("summary.heading");
+        for (int id = 0; id < distinct; id++)
+        {
+            if (stats.countOf(id) > 0)
+            {
+                phrases[phraseCount] = stats.phraseOf(id);
+                counts[phraseCount++] = stats.countOf(id);
+            }
+        }
+        int answers = stats.getCorrectCount() + stats.getMissCount();
+        totals = new String[]{
+                "",
+                "------------------------------",
+                language.format("summary.level", stats.getLevelReached()),
+                language.format("summary.longest", stats.getLongestLength()),
+                language.format("summary.frequent", stats.phraseOf(stats.getMostFrequentId())),
+                language.format("summary.accuracy", stats.getCorrectCount() * 100 / answers),
+                language.format("summary.charsPerMinute", Math.round(stats.getCharsPerMinute())),
+                language.format("summary.bestReaction", stats.getBestReactionNanos() / 1_000_000)};
+    }
+
+    /**
+     * Vacia el resumen.
+     */
+    public void reset()
+    {
+        Arrays.fill(phrases, 0, phraseCount, null);
+        phraseCount = 0;
+        totals = new String[0];
+        trailer = List.of();
+    }
+
+    /**
+     * Establece los renglones que se muestran despues del resumen.
+     *
+     * @param rows Los renglones, que no se copian.
+     */
+    public void setTrailer(List<String> rows)
+    {
+        trailer = rows;
+    }
+
+    @Override
+    public int size()
+    {
+        int head = phraseCount == 0 ? 0 : HEAD_ROWS + phraseCount;
+        return head + totals.length + trailer.size();
+    }
+
+    /**
+     * Arma un renglon del resumen.
+     *
+     * @param index La posicion del renglon.
+     * @return El renglon.
+     */
+    @Override
+    public String get(int index)
+    {
+        int row = index;
+        if (phraseCount > 0)
+        {
+            if (row == 0)
+            {
+                return heading;
+            }
+            if (row < HEAD_ROWS)
+            {
+                return "";
+            }
+            row -= HEAD_ROWS;
+            if (row < phraseCount)
+            {
+                return counts[row] > 1 ? "- " + phrases[row] + " (x" + counts[row] + ")" : "- " + phrases[row];
+            }
+            row -= phraseCount;
+        }
+        if (row < totals.length)
+        {
+            return totals[row];
+        }
+        row -= totals.length;
+        if (row < trailer.size())
+        {
+            return trailer.get(row);
+        }
+        throw new IndexOutOfBoundsException(index);
+    }
+}
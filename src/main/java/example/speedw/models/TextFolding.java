@@ -0,0 +1,160 @@
+package example.speedw.models;
+
+import java.text.Normalizer;
+
+/**
+ * Tablas para normalizar texto caracter a caracter, sin crear strings.
+ * <p>
+ * {@link Normalizer} trabaja sobre cadenas completas. Para validar tecla por
+ * tecla basta con dos operaciones sobre caracteres sueltos: combinar una letra
+ * con el acento que la sigue (lo que hace NFC con "o" + U+0301 = "ó") y quitar
+ * el acento de una letra ya combinada ("ó" = "o"). Ambas se precalculan una sola
+ * vez, al cargar la clase, para los alfabetos latinos (U+00C0 a U+024F y
+ * U+1E00 a U+1EFF), que cubren el español y el resto de los idiomas europeos.
+ * Los caracteres fuera de esas tablas no se combinan ni se les quita el acento.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class TextFolding
+{
+    /**
+     * Tamaño de la tabla de composicion; potencia de dos, al menos el doble de las entradas.
+     */
+    private static final int TABLE_SIZE = 4096;
+
+    /**
+     * Claves de la tabla de composicion: {@code base << 16 | acento}, o 0 si la casilla esta vacia.
+     */
+    private static final int[] COMPOSE_KEYS = new int[TABLE_SIZE];
+
+    /**
+     * Caracter combinado de cada clave de {@link #COMPOSE_KEYS}.
+     */
+    private static final char[] COMPOSE_VALUES = new char[TABLE_SIZE];
+
+    /**
+     * Primer caracter de la tabla de letras sin acento.
+     */
+    private static final char STRIP_FIRST = '\u00C0';
+
+    /**
+     * Letra sin acento de cada caracter desde {@link #STRIP_FIRST}.
+     */
+    private static final char[] STRIPPED = new char['\u1EFF' - STRIP_FIRST + 1];
+
+    static
+    {
+        for (int i = 0; i < STRIPPED.length; i++)
+        {
+            STRIPPED[i] = (char) (STRIP_FIRST + i);
+        }
+        addRange('\u00C0', '\u024F');
+        addRange('\u1E00', '\u1EFF');
+    }
+
+    private TextFolding()
+    {
+    }
+
+    /**
+     * Agrega a las tablas los caracteres de un rango que se descomponen en letra y acentos.
+     *
+     * @param first El primer caracter del rango.
+     * @param last  El ultimo caracter del rango.
+     */
+    private static void addRange(char first, char last)
+    {
+        for (char c = first; c <= last; c++)
+        {
+            String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+            int length = decomposed.length();
+            if (length < 2 || !isCombining(decomposed.charAt(length - 1)))
+            {
+                continue;
+            }
+            STRIPPED[c - STRIP_FIRST] = decomposed.charAt(0);
+            // "ệ" = "ẹ" + U+0302: se combina con el ultimo acento sobre la letra ya combinada con los anteriores.
+            String base = Normalizer.normalize(decomposed.substring(0, length - 1), Normalizer.Form.NFC);
+            if (base.length() == 1)
+            {
+                put(base.charAt(0), decomposed.charAt(length - 1), c);
+            }
+        }
+    }
+
+    /**
+     * Agrega una entrada a la tabla de composicion.
+     *
+     * @param base     La letra.
+     * @param mark     El acento que la sigue.
+     * @param composed El caracter combinado.
+     */
+    private static void put(char base, char mark, char composed)
+    {
+        int key = base << 16 | mark;
+        int slot = slot(key);
+        while (COMPOSE_KEYS[slot] != 0 && COMPOSE_KEYS[slot] != key)
+        {
+            slot = (slot + 1) & (TABLE_SIZE - 1);
+        }
+        COMPOSE_KEYS[slot] = key;
+        COMPOSE_VALUES[slot] = composed;
+    }
+
+    /**
+     * @param key Una clave de la tabla de composicion.
+     * @return Su casilla inicial.
+     */
+    private static int slot(int key)
+    {
+        int hash = key * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & (TABLE_SIZE - 1);
+    }
+
+    /**
+     * Indica si un caracter es un acento combinable (una marca que se une a la letra anterior).
+     *
+     * @param c El caracter.
+     * @return {@code true} si es una marca sin espacio propio.
+     */
+    public static boolean isCombining(char c)
+    {
+        return c >= '\u0300' && (c <= '\u036F' || Character.getType(c) == Character.NON_SPACING_MARK);
+    }
+
+    /**
+     * Combina una letra con el acento que la sigue, como lo haria NFC.
+     *
+     * @param base La letra (que puede ya tener otros acentos).
+     * @param mark El acento.
+     * @return El caracter combinado, o 0 si no existe.
+     */
+    public static char compose(char base, char mark)
+    {
+        int key = base << 16 | mark;
+        int slot = slot(key);
+        while (COMPOSE_KEYS[slot] != 0)
+        {
+            if (COMPOSE_KEYS[slot] == key)
+            {
+                return COMPOSE_VALUES[slot];
+            }
+            slot = (slot + 1) & (TABLE_SIZE - 1);
+        }
+        return 0;
+    }
+
+    /**
+     * Quita todos los acentos de una letra combinada.
+     *
+     * @param c El caracter.
+     * @return La letra sin acentos, o el mismo caracter si no tiene.
+     */
+    public static char stripAccents(char c)
+    {
+        int index = c - STRIP_FIRST;
+        return index >= 0 && index < STRIPPED.length ? STRIPPED[index] : c;
+    }
+}
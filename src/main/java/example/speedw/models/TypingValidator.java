@@ -0,0 +1,326 @@
+package example.speedw.models;
+
+import java.util.Arrays;
+
+/**
+ * Validador incremental de la respuesta del jugador.
+ * <p>
+ * Guarda la frase objetivo en un arreglo de caracteres reutilizable y avanza
+ * un cursor sobre ella con cada tecla. Cada caracter nuevo se compara en O(1)
+ * contra la posicion que le corresponde, sin crear strings, y el primer
+ * caracter incorrecto queda marcado en cuanto se escribe. Asi la respuesta se
+ * conoce en todo momento y validar al final no requiere comparar cadenas.
+ * <p>
+ * La comparacion sigue un {@link ComparisonMode}. La frase se normaliza una vez
+ * al fijarla y cada tecla se normaliza al llegar, sobre el mismo buffer: un
+ * acento escrito por separado reemplaza a la letra anterior por la letra
+ * acentuada, sin llamar a {@link java.text.Normalizer} con toda la respuesta.
+ * Para poder borrar teclas se guarda tambien lo escrito sin normalizar.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class TypingValidator
+{
+    /**
+     * Modo de comparacion por defecto.
+     */
+    public static final ComparisonMode DEFAULT_MODE = ComparisonMode.NFC;
+
+    /**
+     * Modo de comparacion de la frase actual.
+     */
+    private ComparisonMode mode = DEFAULT_MODE;
+
+    /**
+     * Modo que se aplicara desde la siguiente frase.
+     */
+    private ComparisonMode nextMode = DEFAULT_MODE;
+
+    /**
+     * Caracteres de la frase objetivo, normalizados.
+     */
+    private char[] target = new char[64];
+
+    /**
+     * Longitud de la frase objetivo.
+     */
+    private int targetLength;
+
+    /**
+     * Caracteres escritos por el jugador, normalizados.
+     */
+    private char[] input = new char[64];
+
+    /**
+     * Numero de caracteres normalizados de la respuesta.
+     */
+    private int typed;
+
+    /**
+     * Posicion en {@link #raw} de la tecla que origino cada caracter de {@link #input}.
+     */
+    private int[] rawStart = new int[64];
+
+    /**
+     * Teclas escritas por el jugador, sin normalizar.
+     */
+    private char[] raw = new char[64];
+
+    /**
+     * Numero de teclas escritas por el jugador.
+     */
+    private int rawLength;
+
+    /**
+     * Posicion del primer caracter incorrecto, o -1 si todo lo escrito es correcto.
+     */
+    private int firstError = -1;
+
+    /**
+     * Establece una nueva frase objetivo y vacia la respuesta.
+     *
+     * @param phrase La frase que el jugador debe escribir.
+     */
+    public void setTarget(String phrase)
+    {
+        mode = nextMode;
+        if (target.length < phrase.length())
+        {
+            target = new char[Math.max(phrase.length(), target.length * 2)];
+        }
+        if (mode == ComparisonMode.EXACT)
+        {
+            targetLength = phrase.length();
+            phrase.getChars(0, targetLength, target, 0);
+        }
+        else
+        {
+            targetLength = 0;
+            for (int i = 0; i < phrase.length(); i++)
+            {
+                targetLength = mode.append(target, targetLength, phrase.charAt(i));
+            }
+        }
+        clear();
+    }
+
+    /**
+     * Cambia el modo de comparacion. Se aplica desde la siguiente frase objetivo.
+     *
+     * @param mode El nuevo modo.
+     */
+    public void setMode(ComparisonMode mode)
+    {
+        nextMode = mode;
+    }
+
+    /**
+     * @return El modo de comparacion de la frase actual.
+     */
+    public ComparisonMode getMode()
+    {
+        return mode;
+    }
+
+    /**
+     * Vacia la respuesta del jugador.
+     */
+    public void clear()
+    {
+        typed = 0;
+        rawLength = 0;
+        firstError = -1;
+    }
+
+    /**
+     * Agrega un caracter al final de la respuesta y lo valida en O(1).
+     *
+     * @param c El caracter escrito.
+     * @return {@code true} si la respuesta quedo completa y correcta.
+     */
+    public boolean append(char c)
+    {
+        if (rawLength == raw.length)
+        {
+            raw = Arrays.copyOf(raw, rawLength * 2);
+        }
+        raw[rawLength] = c;
+        feed(c, rawLength++);
+        return isComplete();
+    }
+
+    /**
+     * Normaliza una tecla y la agrega a la respuesta normalizada.
+     *
+     * @param c        La tecla.
+     * @param rawIndex Su posicion en {@link #raw}.
+     */
+    private void feed(char c, int rawIndex)
+    {
+        if (mode != ComparisonMode.EXACT && TextFolding.isCombining(c))
+        {
+            if (mode == ComparisonMode.ACCENT_INSENSITIVE)
+            {
+                return;
+            }
+            char composed = typed > 0 ? TextFolding.compose(input[typed - 1], c) : 0;
+            if (composed != 0)
+            {
+                int start = rawStart[typed - 1];
+                pop();
+                push(mode.fold(composed), start);
+                return;
+            }
+        }
+        push(mode.fold(c), rawIndex);
+    }
+
+    /**
+     * Agrega un caracter normalizado y lo compara con la frase en O(1).
+     *
+     * @param c        El caracter normalizado.
+     * @param rawIndex La posicion en {@link #raw} de la tecla que lo origino.
+     */
+    private void push(char c, int rawIndex)
+    {
+        if (typed == input.length)
+        {
+            input = Arrays.copyOf(input, typed * 2);
+            rawStart = Arrays.copyOf(rawStart, typed * 2);
+        }
+        if (firstError < 0 && (typed >= targetLength || target[typed] != c))
+        {
+            firstError = typed;
+        }
+        rawStart[typed] = rawIndex;
+        input[typed++] = c;
+    }
+
+    /**
+     * Quita el ultimo caracter normalizado.
+     */
+    private void pop()
+    {
+        typed--;
+        if (firstError >= typed)
+        {
+            firstError = -1;
+        }
+    }
+
+    /**
+     * Borra la ultima tecla de la respuesta.
+     * <p>
+     * Si la tecla se habia combinado con otras (una letra y su acento), se
+     * quita el caracter que formaban y se vuelven a normalizar las teclas que
+     * quedan de ese grupo, que son a lo sumo unas pocas.
+     */
+    public void deleteLast()
+    {
+        if (rawLength == 0)
+        {
+            return;
+        }
+        rawLength--;
+        if (mode == ComparisonMode.EXACT)
+        {
+            pop();
+            return;
+        }
+        int start = rawLength;
+        if (typed > 0)
+        {
+            start = rawStart[typed - 1];
+            pop();
+        }
+        for (int i = start; i < rawLength; i++)
+        {
+            feed(raw[i], i);
+        }
+    }
+
+    /**
+     * Reemplaza toda la respuesta y la vuelve a validar desde el principio.
+     * <p>
+     * Se usa para cambios que no son una tecla al final (pegar texto, editar en
+     * medio de la respuesta); cuesta O(n) en lugar de O(1).
+     *
+     * @param text El nuevo texto de la respuesta.
+     */
+    public void setInput(CharSequence text)
+    {
+        clear();
+        for (int i = 0; i < text.length(); i++)
+        {
+            append(text.charAt(i));
+        }
+    }
+
+    /**
+     * @return {@code true} si la respuesta es exactamente la frase objetivo.
+     */
+    public boolean isComplete()
+    {
+        return firstError < 0 && typed == targetLength;
+    }
+
+    /**
+     * @return {@code true} si el jugador no ha escrito nada.
+     */
+    public boolean isEmpty()
+    {
+        return rawLength == 0;
+    }
+
+    /**
+     * @return Cuantos caracteres escritos coinciden con el inicio de la frase objetivo.
+     */
+    public int getCorrectPrefix()
+    {
+        return firstError < 0 ? typed : firstError;
+    }
+
+    /**
+     * @return La posicion del primer caracter incorrecto, o -1 si no hay errores.
+     */
+    public int getFirstError()
+    {
+        return firstError;
+    }
+
+    /**
+     * @return Cuantos caracteres normalizados ha escrito el jugador.
+     */
+    public int getTypedLength()
+    {
+        return typed;
+    }
+
+    /**
+     * @return La longitud de la frase objetivo normalizada.
+     */
+    public int getTargetLength()
+    {
+        return targetLength;
+    }
+
+    /**
+     * @param index La posicion dentro de la frase objetivo.
+     * @return El caracter de la frase objetivo en esa posicion.
+     */
+    public char targetAt(int index)
+    {
+        return target[index];
+    }
+
+    /**
+     * @param index La posicion dentro de la respuesta.
+     * @return El caracter escrito por el jugador en esa posicion.
+     */
+    public char inputAt(int index)
+    {
+        return input[index];
+    }
+}
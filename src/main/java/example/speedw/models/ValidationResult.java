@@ -0,0 +1,44 @@
+package example.speedw.models;
+
+/**
+ * Resultados posibles de una validacion dentro del {@link GameEngine}.
+ * <p>
+ * El controlador usa estos valores para decidir que mostrar en la interfaz
+ * sin tener que conocer las reglas del juego.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public enum ValidationResult
+{
+    /**
+     * El jugador no escribio nada.
+     */
+    EMPTY,
+
+    /**
+     * La respuesta no coincide con la frase actual.
+     */
+    INCORRECT,
+
+    /**
+     * La respuesta es correcta y se avanzo de nivel.
+     */
+    CORRECT,
+
+    /**
+     * La respuesta es correcta justo cuando el tiempo se agoto.
+     */
+    CORRECT_LAST_SECOND,
+
+    /**
+     * La respuesta es correcta y el jugador alcanzo el nivel final.
+     */
+    WON,
+
+    /**
+     * El tiempo se agoto sin una respuesta correcta.
+     */
+    LOST
+}
@@ -0,0 +1,130 @@
+package example.speedw.models;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Codificacion de enteros de longitud variable (LEB128 sin signo) sobre un {@link ByteBuffer}.
+ * <p>
+ * Cada byte guarda 7 bits del numero y usa el bit alto para indicar si sigue
+ * otro byte, asi los numeros pequeños (niveles, contadores, ids) ocupan uno o
+ * dos bytes en lugar de cuatro u ocho.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class Varint
+{
+    /**
+     * Numero maximo de bytes de un {@code long} codificado.
+     */
+    public static final int MAX_BYTES = 10;
+
+    private Varint()
+    {
+    }
+
+    /**
+     * Escribe un numero no negativo en la posicion actual del buffer.
+     *
+     * @param buffer El buffer de destino.
+     * @param value  El numero, tratado como sin signo.
+     */
+    public static void put(ByteBuffer buffer, long value)
+    {
+        while ((value & ~0x7FL) != 0)
+        {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Lee un numero desde la posicion actual del buffer.
+     *
+     * @param buffer El buffer de origen.
+     * @return El numero leido.
+     * @throws IllegalArgumentException Si el numero ocupa mas de {@value #MAX_BYTES} bytes.
+     */
+    public static long get(ByteBuffer buffer)
+    {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7)
+        {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0)
+            {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Entero de longitud variable mal formado.");
+    }
+
+    /**
+     * Lee un numero que debe caber en un {@code int} no negativo.
+     *
+     * @param buffer El buffer de origen.
+     * @return El numero leido.
+     * @throws IllegalArgumentException Si el numero esta mal formado o no cabe en un {@code int}.
+     */
+    public static int getInt(ByteBuffer buffer)
+    {
+        long value = get(buffer);
+        if (value < 0 || value > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("Entero fuera de rango: " + value);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Escribe un texto como su longitud seguida de cada caracter, todos con longitud variable.
+     * <p>
+     * El buffer debe tener espacio para {@link #bytesOf(CharSequence)} bytes.
+     *
+     * @param buffer El buffer de destino.
+     * @param text   El texto.
+     */
+    public static void putString(ByteBuffer buffer, CharSequence text)
+    {
+        int length = text.length();
+        put(buffer, length);
+        for (int i = 0; i < length; i++)
+        {
+            put(buffer, text.charAt(i));
+        }
+    }
+
+    /**
+     * Lee un texto escrito con {@link #putString(ByteBuffer, CharSequence)}.
+     *
+     * @param buffer El buffer de origen.
+     * @return El texto leido.
+     * @throws IllegalArgumentException Si el texto esta mal formado o es mas largo que el buffer.
+     */
+    public static String getString(ByteBuffer buffer)
+    {
+        int length = getInt(buffer);
+        if (length > buffer.remaining())
+        {
+            throw new IllegalArgumentException("Texto mas largo que el buffer: " + length);
+        }
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++)
+        {
+            chars[i] = (char) getInt(buffer);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * @param text El texto.
+     * @return Los bytes maximos que ocupa el texto escrito con {@link #putString(ByteBuffer, CharSequence)}.
+     */
+    public static int bytesOf(CharSequence text)
+    {
+        return MAX_BYTES + 3 * text.length();
+    }
+}
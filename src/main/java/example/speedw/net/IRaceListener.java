@@ -0,0 +1,73 @@
+package example.speedw.net;
+
+import example.speedw.models.ValidationResult;
+
+/**
+ * Define el contrato para quien recibe los mensajes del servidor de carreras.
+ * <p>
+ * El {@link RaceClient} llama a estos metodos desde su hilo de lectura, en el
+ * orden en que llegan los mensajes. Una interfaz grafica debe pasar el trabajo
+ * a su propio hilo (por ejemplo con {@code Platform.runLater}).
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public interface IRaceListener
+{
+    /**
+     * El jugador entro a una sala.
+     *
+     * @param playerId El id del jugador en la sala.
+     * @param players  Los jugadores en la sala, contando a este.
+     * @param capacity Los jugadores con los que la carrera empieza sin esperar.
+     */
+    void onJoined(int playerId, int players, int capacity);
+
+    /**
+     * Comenzo un nivel nuevo.
+     *
+     * @param level       El nivel.
+     * @param levelMillis Los milisegundos para escribir la frase.
+     * @param phrase      La frase a escribir.
+     */
+    void onPhrase(int level, int levelMillis, String phrase);
+
+    /**
+     * El servidor valido una respuesta.
+     *
+     * @param result El resultado.
+     * @param level  El nivel del jugador despues de validar.
+     */
+    void onResult(ValidationResult result, int level);
+
+    /**
+     * Cambiaron las posiciones de la sala.
+     *
+     * @param standings Las posiciones; la instancia se reutiliza en el siguiente mensaje.
+     */
+    void onStandings(RaceStandings standings);
+
+    /**
+     * Un jugador de la sala termino su partida.
+     *
+     * @param playerId El id del jugador.
+     * @param level    El nivel final.
+     * @param won      Si gano la partida.
+     */
+    void onFinished(int playerId, int level, boolean won);
+
+    /**
+     * El servidor envio un error.
+     *
+     * @param message El mensaje de error.
+     */
+    void onError(String message);
+
+    /**
+     * Se perdio la conexion con el servidor.
+     *
+     * @param cause La causa, o {@code null} si la conexion se cerro normalmente.
+     */
+    void onDisconnected(Exception cause);
+}
@@ -0,0 +1,283 @@
+package example.speedw.net;
+
+import example.speedw.models.ValidationResult;
+import example.speedw.models.Varint;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.System.Logger.Level;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Cliente del servidor de carreras.
+ * <p>
+ * Se conecta con un {@link SocketChannel} bloqueante y lee los mensajes en un
+ * hilo propio, entregandolos a un {@link IRaceListener}. Los envios se hacen
+ * desde el hilo que llama, codificando en un buffer reutilizable.
+ * <p>
+ * El decodificador ({@link #decode(ByteBuffer, RaceStandings, IRaceListener)})
+ * es publico para que otros clientes, como las pruebas de carga con miles de
+ * conexiones no bloqueantes, usen el mismo codigo.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class RaceClient implements Closeable
+{
+    /**
+     * Registro de los errores de esta clase.
+     */
+    private static final System.Logger LOG = System.getLogger(RaceClient.class.getName());
+
+    /**
+     * Resultados de validacion, indexados por su ordinal en el protocolo.
+     */
+    private static final ValidationResult[] RESULTS = ValidationResult.values();
+
+    /**
+     * Canal conectado al servidor.
+     */
+    private final SocketChannel channel;
+
+    /**
+     * Quien recibe los mensajes del servidor.
+     */
+    private final IRaceListener listener;
+
+    /**
+     * Buffer reutilizable para codificar los envios.
+     */
+    private final ByteBuffer out = ByteBuffer.allocate(RaceProtocol.MAX_FRAME);
+
+    /**
+     * Hilo que lee los mensajes del servidor.
+     */
+    private final Thread reader;
+
+    /**
+     * Indica si el cliente se cerro a proposito.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Se conecta a un servidor y comienza a leer sus mensajes.
+     *
+     * @param host     El nombre o la direccion del servidor.
+     * @param port     El puerto del servidor.
+     * @param listener Quien recibe los mensajes del servidor.
+     * @throws IOException Si no se pudo conectar.
+     */
+    public RaceClient(String host, int port, IRaceListener listener) throws IOException
+    {
+        this.listener = listener;
+        channel = SocketChannel.open(new InetSocketAddress(host, port));
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        reader = new Thread(this::readLoop, "speedw-race-client");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * Pide entrar a una sala.
+     *
+     * @param room El nombre de la sala.
+     * @param name El nombre del jugador.
+     * @throws IOException Si no se pudo enviar.
+     */
+    public synchronized void join(String room, String name) throws IOException
+    {
+        out.clear();
+        encodeHello(out, room, name);
+        send();
+    }
+
+    /**
+     * Envia la respuesta del jugador para la frase actual.
+     *
+     * @param answer La respuesta.
+     * @throws IOException Si no se pudo enviar.
+     */
+    public synchronized void submit(CharSequence answer) throws IOException
+    {
+        out.clear();
+        encodeSubmit(out, answer);
+        send();
+    }
+
+    /**
+     * Escribe el buffer de salida completo en el canal.
+     *
+     * @throws IOException Si no se pudo escribir.
+     */
+    private void send() throws IOException
+    {
+        out.flip();
+        while (out.hasRemaining())
+        {
+            channel.write(out);
+        }
+    }
+
+    /**
+     * Codifica un mensaje {@link RaceProtocol#HELLO}.
+     *
+     * @param out  El buffer de salida.
+     * @param room El nombre de la sala.
+     * @param name El nombre del jugador.
+     */
+    public static void encodeHello(ByteBuffer out, CharSequence room, CharSequence name)
+    {
+        int start = RaceProtocol.beginFrame(out, RaceProtocol.HELLO);
+        RaceProtocol.putString(out, room);
+        RaceProtocol.putString(out, name);
+        RaceProtocol.endFrame(out, start);
+    }
+
+    /**
+     * Codifica un mensaje {@link RaceProtocol#SUBMIT}.
+     *
+     * @param out    El buffer de salida.
+     * @param answer La respuesta.
+     */
+    public static void encodeSubmit(ByteBuffer out, CharSequence answer)
+    {
+        int start = RaceProtocol.beginFrame(out, RaceProtocol.SUBMIT);
+        RaceProtocol.putString(out, answer);
+        RaceProtocol.endFrame(out, start);
+    }
+
+    /**
+     * Lee mensajes hasta que se cierre la conexion.
+     */
+    private void readLoop()
+    {
+        ByteBuffer in = ByteBuffer.allocate(RaceProtocol.MAX_FRAME * 4);
+        RaceStandings standings = new RaceStandings();
+        Exception cause = null;
+        try
+        {
+            while (channel.read(in) >= 0)
+            {
+                in.flip();
+                decode(in, standings, listener);
+                in.compact();
+            }
+        }
+        catch (IOException | IllegalArgumentException e)
+        {
+            cause = closed ? null : e;
+        }
+        close();
+        listener.onDisconnected(cause);
+    }
+
+    /**
+     * Decodifica todos los mensajes completos del buffer y los entrega al listener.
+     * <p>
+     * Deja el buffer en la posicion del primer mensaje incompleto, listo para
+     * {@link ByteBuffer#compact()}.
+     *
+     * @param in        El buffer con los bytes recibidos, listo para leer.
+     * @param standings Instancia reutilizable para los mensajes de posiciones.
+     * @param listener  Quien recibe los mensajes.
+     * @return Los mensajes decodificados.
+     * @throws IllegalArgumentException Si un mensaje esta mal formado.
+     */
+    public static int decode(ByteBuffer in, RaceStandings standings, IRaceListener listener)
+    {
+        int frames = 0;
+        int length;
+        while ((length = RaceProtocol.frameLength(in)) > 0)
+        {
+            int end = in.position() + RaceProtocol.LENGTH_BYTES + length;
+            int limit = in.limit();
+            in.position(in.position() + RaceProtocol.LENGTH_BYTES);
+            in.limit(end);
+            int type = in.get();
+            try
+            {
+                switch (type)
+                {
+                    case RaceProtocol.JOINED:
+                        listener.onJoined(Varint.getInt(in), Varint.getInt(in), Varint.getInt(in));
+                        break;
+                    case RaceProtocol.PHRASE:
+                        int level = Varint.getInt(in);
+                        int millis = Varint.getInt(in);
+                        listener.onPhrase(level, millis, RaceProtocol.getString(in));
+                        break;
+                    case RaceProtocol.RESULT:
+                        int ordinal = in.get();
+                        if (ordinal < 0 || ordinal >= RESULTS.length)
+                        {
+                            throw new IllegalArgumentException("Resultado desconocido: " + ordinal);
+                        }
+                        listener.onResult(RESULTS[ordinal], Varint.getInt(in));
+                        break;
+                    case RaceProtocol.STANDINGS:
+                        int count = Varint.getInt(in);
+                        if (count > length)
+                        {
+                            throw new IllegalArgumentException("Posiciones mal formadas: " + count);
+                        }
+                        standings.reset(count);
+                        for (int i = 0; i < count; i++)
+                        {
+                            standings.set(i, Varint.getInt(in), Varint.getInt(in), in.get());
+                        }
+                        listener.onStandings(standings);
+                        break;
+                    case RaceProtocol.FINISHED:
+                        listener.onFinished(Varint.getInt(in), Varint.getInt(in), in.get() != 0);
+                        break;
+                    case RaceProtocol.ERROR:
+                        listener.onError(RaceProtocol.getString(in));
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Mensaje desconocido: " + type);
+                }
+            }
+            catch (BufferUnderflowException e)
+            {
+                throw new IllegalArgumentException("Mensaje incompleto de tipo " + type, e);
+            }
+            finally
+            {
+                in.limit(limit);
+            }
+            in.position(end);
+            frames++;
+        }
+        return frames;
+    }
+
+    /**
+     * Cierra la conexion.
+     */
+    @Override
+    public void close()
+    {
+        closed = true;
+        try
+        {
+            channel.close();
+        }
+        catch (IOException e)
+        {
+            LOG.log(Level.WARNING, "Error al cerrar la conexion con el servidor de carreras.", e);
+        }
+    }
+
+    /**
+     * @return {@code true} mientras la conexion siga abierta.
+     */
+    public boolean isConnected()
+    {
+        return channel.isOpen();
+    }
+}
@@ -0,0 +1,321 @@
+package example.speedw.net;
+
+import example.speedw.models.Varint;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Protocolo binario de las carreras entre el {@link RaceServer} y el {@link RaceClient}.
+ * <p>
+ * Cada mensaje es un marco {@code [longitud][tipo][datos]}: la longitud ocupa
+ * 2 bytes y cuenta el tipo y los datos, el tipo ocupa 1 byte y los datos usan
+ * enteros {@link Varint} y textos UTF-8 precedidos de su longitud. Un marco
+ * nunca supera {@value #MAX_FRAME} bytes, por lo que cada conexion necesita un
+ * buffer de lectura pequeño y fijo.
+ * <p>
+ * Mensajes del cliente al servidor:
+ * <ul>
+ *     <li>{@link #HELLO}: sala y nombre del jugador.</li>
+ *     <li>{@link #SUBMIT}: la respuesta del jugador para la frase actual.</li>
+ * </ul>
+ * Mensajes del servidor al cliente:
+ * <ul>
+ *     <li>{@link #JOINED}: id del jugador, jugadores en la sala y capacidad.</li>
+ *     <li>{@link #PHRASE}: nivel, milisegundos del nivel y la frase a escribir.</li>
+ *     <li>{@link #RESULT}: resultado de la ultima respuesta y nivel actual.</li>
+ *     <li>{@link #STANDINGS}: numero de jugadores y, por cada uno, id, nivel y estado.</li>
+ *     <li>{@link #FINISHED}: id, nivel final y si gano un jugador que termino.</li>
+ *     <li>{@link #ERROR}: un mensaje de error antes de cerrar la conexion.</li>
+ * </ul>
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class RaceProtocol
+{
+    /**
+     * Puerto por defecto del servidor.
+     */
+    public static final int DEFAULT_PORT = 47100;
+
+    /**
+     * Tamaño maximo de un marco, contando la longitud.
+     */
+    public static final int MAX_FRAME = 1024;
+
+    /**
+     * Bytes de la longitud al inicio de cada marco.
+     */
+    public static final int LENGTH_BYTES = 2;
+
+    /**
+     * Cliente: entrar a una sala. Datos: sala (texto), nombre (texto).
+     */
+    public static final int HELLO = 1;
+
+    /**
+     * Cliente: enviar la respuesta. Datos: la respuesta (texto).
+     */
+    public static final int SUBMIT = 2;
+
+    /**
+     * Servidor: el jugador entro a la sala. Datos: id, jugadores en la sala, capacidad.
+     */
+    public static final int JOINED = 16;
+
+    /**
+     * Servidor: frase de un nivel nuevo. Datos: nivel, milisegundos del nivel, frase (texto).
+     */
+    public static final int PHRASE = 17;
+
+    /**
+     * Servidor: resultado de una respuesta. Datos: ordinal del resultado (1 byte), nivel.
+     */
+    public static final int RESULT = 18;
+
+    /**
+     * Servidor: posiciones de la sala. Datos: cantidad y por jugador id, nivel y estado (1 byte).
+     */
+    public static final int STANDINGS = 19;
+
+    /**
+     * Servidor: un jugador termino. Datos: id, nivel final, si gano (1 byte).
+     */
+    public static final int FINISHED = 20;
+
+    /**
+     * Servidor: error. Datos: mensaje (texto).
+     */
+    public static final int ERROR = 21;
+
+    /**
+     * Estado de un jugador en {@link #STANDINGS}: sigue jugando.
+     */
+    public static final int STATE_PLAYING = 0;
+
+    /**
+     * Estado de un jugador en {@link #STANDINGS}: perdio.
+     */
+    public static final int STATE_LOST = 1;
+
+    /**
+     * Estado de un jugador en {@link #STANDINGS}: gano.
+     */
+    public static final int STATE_WON = 2;
+
+    private RaceProtocol()
+    {
+    }
+
+    /**
+     * Comienza un marco, dejando espacio para su longitud.
+     *
+     * @param out  El buffer de salida.
+     * @param type El tipo de mensaje.
+     * @return La posicion del marco, que se pasa a {@link #endFrame(ByteBuffer, int)}.
+     */
+    public static int beginFrame(ByteBuffer out, int type)
+    {
+        int start = out.position();
+        out.putShort((short) 0);
+        out.put((byte) type);
+        return start;
+    }
+
+    /**
+     * Termina un marco escribiendo su longitud.
+     *
+     * @param out   El buffer de salida.
+     * @param start La posicion devuelta por {@link #beginFrame(ByteBuffer, int)}.
+     */
+    public static void endFrame(ByteBuffer out, int start)
+    {
+        int length = out.position() - start - LENGTH_BYTES;
+        if (length + LENGTH_BYTES > MAX_FRAME)
+        {
+            throw new IllegalArgumentException("Marco demasiado grande: " + length);
+        }
+        out.putShort(start, (short) length);
+    }
+
+    /**
+     * Indica si el buffer tiene un marco completo a partir de su posicion.
+     *
+     * @param in El buffer de entrada, listo para leer.
+     * @return La longitud del marco (tipo y datos), o -1 si todavia no esta completo.
+     * @throws IllegalArgumentException Si la longitud anunciada no es valida.
+     */
+    public static int frameLength(ByteBuffer in)
+    {
+        if (in.remaining() < LENGTH_BYTES)
+        {
+            return -1;
+        }
+        int length = in.getShort(in.position()) & 0xFFFF;
+        if (length == 0 || length + LENGTH_BYTES > MAX_FRAME)
+        {
+            throw new IllegalArgumentException("Longitud de marco invalida: " + length);
+        }
+        return in.remaining() >= LENGTH_BYTES + length ? length : -1;
+    }
+
+    /**
+     * Escribe un texto como su longitud en bytes seguida de su UTF-8, sin crear objetos.
+     *
+     * @param out  El buffer de salida.
+     * @param text El texto.
+     */
+    public static void putString(ByteBuffer out, CharSequence text)
+    {
+        int bytes = 0;
+        for (int i = 0; i < text.length(); i++)
+        {
+            char c = text.charAt(i);
+            if (c < 0x80)
+            {
+                bytes += 1;
+            }
+            else if (c < 0x800)
+            {
+                bytes += 2;
+            }
+            else if (Character.isHighSurrogate(c) && i + 1 < text.length()
+                    && Character.isLowSurrogate(text.charAt(i + 1)))
+            {
+                bytes += 4;
+                i++;
+            }
+            else
+            {
+                bytes += 3;
+            }
+        }
+        Varint.put(out, bytes);
+        for (int i = 0; i < text.length(); i++)
+        {
+            char c = text.charAt(i);
+            if (c < 0x80)
+            {
+                out.put((byte) c);
+            }
+            else if (c < 0x800)
+            {
+                out.put((byte) (0xC0 | c >> 6));
+                out.put((byte) (0x80 | c & 0x3F));
+            }
+            else if (Character.isHighSurrogate(c) && i + 1 < text.length()
+                    && Character.isLowSurrogate(text.charAt(i + 1)))
+            {
+                int cp = Character.toCodePoint(c, text.charAt(++i));
+                out.put((byte) (0xF0 | cp >> 18));
+                out.put((byte) (0x80 | cp >> 12 & 0x3F));
+                out.put((byte) (0x80 | cp >> 6 & 0x3F));
+                out.put((byte) (0x80 | cp & 0x3F));
+            }
+            else
+            {
+                // Los sustitutos sueltos se envian como U+FFFD.
+                int cp = Character.isSurrogate(c) ? 0xFFFD : c;
+                out.put((byte) (0xE0 | cp >> 12));
+                out.put((byte) (0x80 | cp >> 6 & 0x3F));
+                out.put((byte) (0x80 | cp & 0x3F));
+            }
+        }
+    }
+
+    /**
+     * Lee un texto escrito con {@link #putString(ByteBuffer, CharSequence)}.
+     *
+     * @param in El buffer de entrada.
+     * @return El texto.
+     * @throws IllegalArgumentException Si la longitud no es valida.
+     */
+    public static String getString(ByteBuffer in)
+    {
+        int length = stringLength(in);
+        String text;
+        if (in.hasArray())
+        {
+            text = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        }
+        else
+        {
+            byte[] bytes = new byte[length];
+            in.get(in.position(), bytes);
+            text = new String(bytes, StandardCharsets.UTF_8);
+        }
+        in.position(in.position() + length);
+        return text;
+    }
+
+    /**
+     * Lee un texto escrito con {@link #putString(ByteBuffer, CharSequence)} en un
+     * {@link StringBuilder} reutilizable, sin crear objetos.
+     *
+     * @param in  El buffer de entrada.
+     * @param out Donde se deja el texto; se vacia antes.
+     * @throws IllegalArgumentException Si la longitud o el UTF-8 no son validos.
+     */
+    public static void getString(ByteBuffer in, StringBuilder out)
+    {
+        int end = stringLength(in) + in.position();
+        out.setLength(0);
+        while (in.position() < end)
+        {
+            int b = in.get() & 0xFF;
+            int cp;
+            int extra;
+            if (b < 0x80)
+            {
+                cp = b;
+                extra = 0;
+            }
+            else if (b >= 0xF0)
+            {
+                cp = b & 0x07;
+                extra = 3;
+            }
+            else if (b >= 0xE0)
+            {
+                cp = b & 0x0F;
+                extra = 2;
+            }
+            else if (b >= 0xC0)
+            {
+                cp = b & 0x1F;
+                extra = 1;
+            }
+            else
+            {
+                throw new IllegalArgumentException("UTF-8 invalido.");
+            }
+            if (in.position() + extra > end)
+            {
+                throw new IllegalArgumentException("UTF-8 incompleto.");
+            }
+            for (int i = 0; i < extra; i++)
+            {
+                cp = cp << 6 | in.get() & 0x3F;
+            }
+            out.appendCodePoint(Character.isValidCodePoint(cp) ? cp : 0xFFFD);
+        }
+    }
+
+    /**
+     * Lee y valida la longitud de un texto.
+     *
+     * @param in El buffer de entrada.
+     * @return La longitud en bytes.
+     */
+    private static int stringLength(ByteBuffer in)
+    {
+        int length = Varint.getInt(in);
+        if (length < 0 || length > in.remaining())
+        {
+            throw new IllegalArgumentException("Longitud de texto invalida: " + length);
+        }
+        return length;
+    }
+}
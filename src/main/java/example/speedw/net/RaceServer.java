@@ -0,0 +1,978 @@
+package example.speedw.net;
+
+import example.speedw.models.ClockEvent;
+import example.speedw.models.CorpusPhraseSource;
+import example.speedw.models.GameEngine;
+import example.speedw.models.IPhraseSource;
+import example.speedw.models.PhraseCorpus;
+import example.speedw.models.ValidationResult;
+import example.speedw.models.Varint;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.System.Logger.Level;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Servidor de carreras multijugador.
+ * <p>
+ * Un solo hilo atiende todas las conexiones con un {@link Selector} de NIO. Los
+ * jugadores entran a una sala por nombre; la carrera empieza cuando la sala se
+ * llena o cuando pasa el tiempo de espera. Todos los jugadores de una sala
+ * reciben la misma secuencia de frases, porque cada uno tiene su propio
+ * {@link GameEngine} iniciado con la semilla de la sala, y es el servidor quien
+ * valida las respuestas y vigila el reloj de cada nivel con las mismas reglas
+ * del juego individual. Los cambios de nivel se envian al jugador en cuanto
+ * ocurren y las posiciones de la sala se agrupan y se envian a lo sumo cada
+ * {@value #STANDINGS_MILLIS} ms.
+ * <p>
+ * Para que miles de conexiones ocupen poca memoria, la lectura usa un solo
+ * buffer compartido: una conexion solo guarda bytes propios mientras tiene un
+ * mensaje a medio llegar, y solo guarda un buffer de salida mientras el socket
+ * no acepta todo lo que se le envia. Un cliente que acumula mas de
+ * {@value #MAX_PENDING_BYTES} bytes sin leer se desconecta.
+ * <p>
+ * Ejecutar con: {@code java -cp speedw.jar example.speedw.net.RaceServer [puerto] [jugadores por sala] [segundos de espera]}
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class RaceServer implements Closeable
+{
+    /**
+     * Registro de los errores de esta clase.
+     */
+    private static final System.Logger LOG = System.getLogger(RaceServer.class.getName());
+
+    /**
+     * Jugadores con los que una carrera empieza sin esperar, por defecto.
+     */
+    public static final int DEFAULT_ROOM_SIZE = 8;
+
+    /**
+     * Milisegundos que una sala espera jugadores antes de empezar, por defecto.
+     */
+    public static final int DEFAULT_LOBBY_MILLIS = 5000;
+
+    /**
+     * Maximo de jugadores por sala, para que las posiciones quepan en un marco.
+     */
+    public static final int MAX_ROOM_SIZE = 64;
+
+    /**
+     * Largo maximo de los nombres de sala y de jugador.
+     */
+    public static final int MAX_NAME_LENGTH = 32;
+
+    /**
+     * Milisegundos entre dos revisiones de los relojes de los niveles.
+     */
+    private static final long TICK_MILLIS = 50;
+
+    /**
+     * Milisegundos minimos entre dos envios de posiciones a una sala.
+     */
+    private static final long STANDINGS_MILLIS = 200;
+
+    /**
+     * Bytes sin enviar que se toleran por conexion antes de desconectarla.
+     */
+    private static final int MAX_PENDING_BYTES = 64 * 1024;
+
+    /**
+     * Un jugador conectado.
+     */
+    private static final class Player
+    {
+        /**
+         * Canal del jugador.
+         */
+        private final SocketChannel channel;
+
+        /**
+         * Registro del canal en el selector.
+         */
+        private SelectionKey key;
+
+        /**
+         * Bytes de un mensaje que llego incompleto, o {@code null}.
+         */
+        private ByteBuffer partial;
+
+        /**
+         * Bytes que el socket todavia no acepto, listos para escribir mas, o {@code null}.
+         */
+        private ByteBuffer pending;
+
+        /**
+         * Sala del jugador, o {@code null}.
+         */
+        private Room room;
+
+        /**
+         * Id del jugador dentro de su sala.
+         */
+        private int id;
+
+        /**
+         * Motor de la partida del jugador, creado en su primera carrera.
+         */
+        private GameEngine engine;
+
+        /**
+         * Estado del jugador, uno de los {@code STATE_} de {@link RaceProtocol}.
+         */
+        private byte state;
+
+        /**
+         * Indica si el jugador ya se desconecto.
+         */
+        private boolean closed;
+
+        private Player(SocketChannel channel)
+        {
+            this.channel = channel;
+        }
+    }
+
+    /**
+     * Una sala de carrera.
+     */
+    private static final class Room
+    {
+        /**
+         * Nombre de la sala.
+         */
+        private final String name;
+
+        /**
+         * Semilla compartida por las partidas de todos los jugadores.
+         */
+        private final long seed;
+
+        /**
+         * Jugadores de la sala, en orden de llegada.
+         */
+        private final List<Player> players;
+
+        /**
+         * Instante en que se creo la sala.
+         */
+        private final long createdNanos;
+
+        /**
+         * Id del proximo jugador.
+         */
+        private int nextId;
+
+        /**
+         * Indica si la carrera ya empezo.
+         */
+        private boolean started;
+
+        /**
+         * Jugadores que ya terminaron.
+         */
+        private int finished;
+
+        /**
+         * Indica si las posiciones cambiaron desde el ultimo envio.
+         */
+        private boolean dirty;
+
+        /**
+         * Instante a partir del cual se pueden volver a enviar las posiciones.
+         */
+        private long nextStandingsNanos;
+
+        private Room(String name, long seed, int capacity, long nowNanos)
+        {
+            this.name = name;
+            this.seed = seed;
+            this.players = new ArrayList<>(capacity);
+            this.createdNanos = nowNanos;
+        }
+    }
+
+    /**
+     * Fuente de frases de todas las partidas.
+     */
+    private final IPhraseSource phraseSource;
+
+    /**
+     * Jugadores con los que una carrera empieza sin esperar.
+     */
+    private final int roomSize;
+
+    /**
+     * Nanosegundos que una sala espera jugadores.
+     */
+    private final long lobbyNanos;
+
+    /**
+     * Generador de las semillas de las salas.
+     */
+    private final SplittableRandom seeds = new SplittableRandom();
+
+    /**
+     * Salas esperando jugadores, por nombre.
+     */
+    private final Map<String, Room> lobbies = new HashMap<>();
+
+    /**
+     * Salas con la carrera en curso.
+     */
+    private final List<Room> races = new ArrayList<>();
+
+    /**
+     * Jugadores a desconectar al terminar de atender el evento actual.
+     */
+    private final List<Player> toClose = new ArrayList<>();
+
+    /**
+     * Buffer de lectura compartido por todas las conexiones.
+     */
+    private final ByteBuffer in = ByteBuffer.allocateDirect(64 * 1024);
+
+    /**
+     * Buffer donde se codifica cada mensaje antes de enviarlo.
+     */
+    private final ByteBuffer out = ByteBuffer.allocateDirect(RaceProtocol.MAX_FRAME);
+
+    /**
+     * Texto reutilizable para las respuestas recibidas.
+     */
+    private final StringBuilder answer = new StringBuilder();
+
+    /**
+     * Selector de todas las conexiones.
+     */
+    private Selector selector;
+
+    /**
+     * Canal que acepta las conexiones.
+     */
+    private ServerSocketChannel serverChannel;
+
+    /**
+     * Hilo del servidor.
+     */
+    private Thread thread;
+
+    /**
+     * Indica si el servidor debe seguir atendiendo.
+     */
+    private volatile boolean running;
+
+    /**
+     * Conexiones abiertas.
+     */
+    private volatile int connections;
+
+    /**
+     * Mensajes recibidos.
+     */
+    private volatile long framesIn;
+
+    /**
+     * Mensajes enviados.
+     */
+    private volatile long framesOut;
+
+    /**
+     * Carreras comenzadas.
+     */
+    private volatile long racesStarted;
+
+    /**
+     * Crea un servidor.
+     *
+     * @param phraseSource La fuente de frases de las partidas.
+     * @param roomSize     Los jugadores con los que una carrera empieza sin esperar.
+     * @param lobbyMillis  Los milisegundos que una sala espera jugadores.
+     */
+    public RaceServer(IPhraseSource phraseSource, int roomSize, long lobbyMillis)
+    {
+        if (roomSize < 1 || roomSize > MAX_ROOM_SIZE)
+        {
+            throw new IllegalArgumentException("Jugadores por sala fuera de rango: " + roomSize);
+        }
+        this.phraseSource = phraseSource;
+        this.roomSize = roomSize;
+        this.lobbyNanos = lobbyMillis * 1_000_000L;
+    }
+
+    /**
+     * Abre el puerto y comienza a atender conexiones en un hilo propio.
+     *
+     * @param address La direccion en la que escuchar; el puerto 0 elige uno libre.
+     * @return El puerto en el que escucha el servidor.
+     * @throws IOException Si no se pudo abrir el puerto.
+     */
+    public synchronized int start(InetSocketAddress address) throws IOException
+    {
+        if (thread != null)
+        {
+            throw new IllegalStateException("El servidor ya esta corriendo.");
+        }
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(address, 1024);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        running = true;
+        thread = new Thread(this::run, "speedw-race-server");
+        thread.start();
+        return getPort();
+    }
+
+    /**
+     * Ciclo principal: atiende los eventos de red y revisa los relojes cada {@value #TICK_MILLIS} ms.
+     */
+    private void run()
+    {
+        long nextTick = System.nanoTime();
+        try
+        {
+            while (running)
+            {
+                long wait = Math.max(1, (nextTick - System.nanoTime()) / 1_000_000L);
+                selector.select(this::handle, wait);
+                long now = System.nanoTime();
+                if (now - nextTick >= 0)
+                {
+                    tick(now);
+                    nextTick = now + TICK_MILLIS * 1_000_000L;
+                }
+                closePending();
+            }
+        }
+        catch (IOException e)
+        {
+            LOG.log(Level.ERROR, "El servidor de carreras se detuvo por un error.", e);
+        }
+        finally
+        {
+            for (SelectionKey key : selector.keys())
+            {
+                closeQuietly(key.channel());
+            }
+            closeQuietly(selector);
+            connections = 0;
+        }
+    }
+
+    /**
+     * Atiende un evento de red.
+     *
+     * @param key La conexion con el evento.
+     */
+    private void handle(SelectionKey key)
+    {
+        if (!key.isValid())
+        {
+            return;
+        }
+        try
+        {
+            if (key.isAcceptable())
+            {
+                accept();
+                return;
+            }
+            Player player = (Player) key.attachment();
+            if (key.isWritable())
+            {
+                flush(player);
+            }
+            if (key.isReadable() && !player.closed)
+            {
+                read(player);
+            }
+        }
+        catch (IOException e)
+        {
+            Object attachment = key.attachment();
+            if (attachment instanceof Player)
+            {
+                toClose.add((Player) attachment);
+            }
+        }
+        closePending();
+    }
+
+    /**
+     * Acepta las conexiones nuevas.
+     *
+     * @throws IOException Si fallo el canal del servidor.
+     */
+    private void accept() throws IOException
+    {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null)
+        {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            Player player = new Player(channel);
+            player.key = channel.register(selector, SelectionKey.OP_READ, player);
+            connections++;
+        }
+    }
+
+    /**
+     * Lee y atiende los mensajes completos de un jugador.
+     *
+     * @param player El jugador.
+     * @throws IOException Si fallo la lectura.
+     */
+    private void read(Player player) throws IOException
+    {
+        in.clear();
+        if (player.partial != null)
+        {
+            player.partial.flip();
+            in.put(player.partial);
+            player.partial = null;
+        }
+        if (player.channel.read(in) < 0)
+        {
+            toClose.add(player);
+            return;
+        }
+        in.flip();
+        long now = System.nanoTime();
+        try
+        {
+            int length;
+            while (!player.closed && (length = RaceProtocol.frameLength(in)) > 0)
+            {
+                int end = in.position() + RaceProtocol.LENGTH_BYTES + length;
+                int limit = in.limit();
+                in.position(in.position() + RaceProtocol.LENGTH_BYTES);
+                in.limit(end);
+                try
+                {
+                    receive(player, in.get(), now);
+                }
+                finally
+                {
+                    in.limit(limit);
+                }
+                in.position(end);
+                framesIn++;
+            }
+        }
+        catch (IllegalArgumentException | BufferUnderflowException e)
+        {
+            sendError(player, "Mensaje invalido: " + e.getMessage());
+            toClose.add(player);
+            return;
+        }
+        if (in.hasRemaining())
+        {
+            player.partial = ByteBuffer.allocate(in.remaining());
+            player.partial.put(in);
+        }
+    }
+
+    /**
+     * Atiende un mensaje de un jugador.
+     *
+     * @param player El jugador.
+     * @param type   El tipo de mensaje.
+     * @param now    El instante actual.
+     */
+    private void receive(Player player, int type, long now)
+    {
+        switch (type)
+        {
+            case RaceProtocol.HELLO:
+                String roomName = RaceProtocol.getString(in);
+                String name = RaceProtocol.getString(in);
+                if (roomName.isEmpty() || roomName.length() > MAX_NAME_LENGTH || name.length() > MAX_NAME_LENGTH)
+                {
+                    sendError(player, "Nombre de sala o de jugador invalido.");
+                    return;
+                }
+                join(player, roomName, now);
+                break;
+            case RaceProtocol.SUBMIT:
+                RaceProtocol.getString(in, answer);
+                Room room = player.room;
+                if (room != null && room.started && player.state == RaceProtocol.STATE_PLAYING)
+                {
+                    int level = player.engine.getLevel();
+                    ValidationResult result = player.engine.validate(answer, now);
+                    advance(player, result, level);
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Mensaje desconocido: " + type);
+        }
+    }
+
+    /**
+     * Agrega un jugador a la sala que espera jugadores con ese nombre, o a una nueva.
+     *
+     * @param player   El jugador.
+     * @param roomName El nombre de la sala.
+     * @param now      El instante actual.
+     */
+    private void join(Player player, String roomName, long now)
+    {
+        leave(player);
+        Room room = lobbies.get(roomName);
+        if (room == null)
+        {
+            room = new Room(roomName, seeds.nextLong(), roomSize, now);
+            lobbies.put(roomName, room);
+        }
+        player.room = room;
+        player.id = room.nextId++;
+        player.state = RaceProtocol.STATE_PLAYING;
+        room.players.add(player);
+        room.dirty = true;
+
+        out.clear();
+        int start = RaceProtocol.beginFrame(out, RaceProtocol.JOINED);
+        Varint.put(out, player.id);
+        Varint.put(out, room.players.size());
+        Varint.put(out, roomSize);
+        RaceProtocol.endFrame(out, start);
+        send(player);
+
+        if (room.players.size() >= roomSize)
+        {
+            lobbies.remove(roomName);
+            startRace(room, now);
+        }
+    }
+
+    /**
+     * Saca a un jugador de su sala.
+     *
+     * @param player El jugador.
+     */
+    private void leave(Player player)
+    {
+        Room room = player.room;
+        if (room == null)
+        {
+            return;
+        }
+        player.room = null;
+        room.players.remove(player);
+        if (room.started && player.state != RaceProtocol.STATE_PLAYING)
+        {
+            room.finished--;
+        }
+        room.dirty = true;
+        if (!room.started && room.players.isEmpty())
+        {
+            lobbies.remove(room.name, room);
+        }
+    }
+
+    /**
+     * Comienza la carrera de una sala.
+     *
+     * @param room La sala.
+     * @param now  El instante actual.
+     */
+    private void startRace(Room room, long now)
+    {
+        room.started = true;
+        room.dirty = true;
+        races.add(room);
+        racesStarted++;
+        for (int i = 0; i < room.players.size(); i++)
+        {
+            Player player = room.players.get(i);
+            if (player.engine == null)
+            {
+                player.engine = new GameEngine(phraseSource, new SplittableRandom(room.seed));
+            }
+            player.engine.startGame(now, room.seed);
+            sendPhrase(player);
+        }
+    }
+
+    /**
+     * Informa el resultado de una validacion y envia el siguiente nivel o el final de la partida.
+     *
+     * @param player        El jugador.
+     * @param result        El resultado de la validacion.
+     * @param previousLevel El nivel antes de validar.
+     */
+    private void advance(Player player, ValidationResult result, int previousLevel)
+    {
+        GameEngine engine = player.engine;
+        out.clear();
+        int start = RaceProtocol.beginFrame(out, RaceProtocol.RESULT);
+        out.put((byte) result.ordinal());
+        Varint.put(out, engine.getLevel());
+        RaceProtocol.endFrame(out, start);
+        send(player);
+
+        Room room = player.room;
+        if (engine.isFinished())
+        {
+            player.state = engine.isWon() ? (byte) RaceProtocol.STATE_WON : (byte) RaceProtocol.STATE_LOST;
+            room.finished++;
+            room.dirty = true;
+            out.clear();
+            start = RaceProtocol.beginFrame(out, RaceProtocol.FINISHED);
+            Varint.put(out, player.id);
+            Varint.put(out, engine.getLevel());
+            out.put((byte) (engine.isWon() ? 1 : 0));
+            RaceProtocol.endFrame(out, start);
+            broadcast(room);
+        }
+        else if (engine.getLevel() != previousLevel || result == ValidationResult.CORRECT_LAST_SECOND)
+        {
+            room.dirty = true;
+            sendPhrase(player);
+        }
+    }
+
+    /**
+     * Revisa los relojes de las carreras, comienza las salas que esperaron
+     * suficiente y envia las posiciones que cambiaron.
+     *
+     * @param now El instante actual.
+     */
+    private void tick(long now)
+    {
+        Iterator<Room> waiting = lobbies.values().iterator();
+        while (waiting.hasNext())
+        {
+            Room room = waiting.next();
+            if (now - room.createdNanos >= lobbyNanos)
+            {
+                waiting.remove();
+                startRace(room, now);
+            }
+            else
+            {
+                sendStandings(room, now);
+            }
+        }
+
+        for (int r = races.size() - 1; r >= 0; r--)
+        {
+            Room room = races.get(r);
+            for (int i = 0; i < room.players.size(); i++)
+            {
+                Player player = room.players.get(i);
+                if (player.state == RaceProtocol.STATE_PLAYING && player.engine.poll(now) == ClockEvent.EXPIRED)
+                {
+                    int level = player.engine.getLevel();
+                    advance(player, player.engine.finalValidation(now), level);
+                }
+            }
+            sendStandings(room, now);
+            if (room.finished >= room.players.size())
+            {
+                races.set(r, races.get(races.size() - 1));
+                races.remove(races.size() - 1);
+            }
+        }
+    }
+
+    /**
+     * Envia las posiciones de una sala si cambiaron y ya paso el intervalo minimo.
+     *
+     * @param room La sala.
+     * @param now  El instante actual.
+     */
+    private void sendStandings(Room room, long now)
+    {
+        if (!room.dirty || now - room.nextStandingsNanos < 0 || room.players.isEmpty())
+        {
+            return;
+        }
+        room.dirty = false;
+        room.nextStandingsNanos = now + STANDINGS_MILLIS * 1_000_000L;
+        out.clear();
+        int start = RaceProtocol.beginFrame(out, RaceProtocol.STANDINGS);
+        Varint.put(out, room.players.size());
+        for (int i = 0; i < room.players.size(); i++)
+        {
+            Player player = room.players.get(i);
+            Varint.put(out, player.id);
+            Varint.put(out, player.engine == null || !room.started ? 0 : player.engine.getLevel());
+            out.put(player.state);
+        }
+        RaceProtocol.endFrame(out, start);
+        broadcast(room);
+    }
+
+    /**
+     * Envia la frase del nivel actual de un jugador.
+     *
+     * @param player El jugador.
+     */
+    private void sendPhrase(Player player)
+    {
+        GameEngine engine = player.engine;
+        out.clear();
+        int start = RaceProtocol.beginFrame(out, RaceProtocol.PHRASE);
+        Varint.put(out, engine.getLevel());
+        Varint.put(out, engine.getLevelTime() * 1000);
+        RaceProtocol.putString(out, engine.getActualPhrase());
+        RaceProtocol.endFrame(out, start);
+        send(player);
+    }
+
+    /**
+     * Envia un error a un jugador.
+     *
+     * @param player  El jugador.
+     * @param message El mensaje.
+     */
+    private void sendError(Player player, String message)
+    {
+        out.clear();
+        int start = RaceProtocol.beginFrame(out, RaceProtocol.ERROR);
+        RaceProtocol.putString(out, message.length() > 200 ? message.substring(0, 200) : message);
+        RaceProtocol.endFrame(out, start);
+        send(player);
+    }
+
+    /**
+     * Envia el mensaje codificado en {@link #out} a todos los jugadores de una sala.
+     *
+     * @param room La sala.
+     */
+    private void broadcast(Room room)
+    {
+        out.flip();
+        for (int i = 0; i < room.players.size(); i++)
+        {
+            out.position(0);
+            write(room.players.get(i));
+        }
+    }
+
+    /**
+     * Envia el mensaje codificado en {@link #out} a un jugador.
+     *
+     * @param player El jugador.
+     */
+    private void send(Player player)
+    {
+        out.flip();
+        write(player);
+    }
+
+    /**
+     * Escribe los bytes restantes de {@link #out} en el canal de un jugador, o los
+     * guarda si el socket no los acepta todos.
+     *
+     * @param player El jugador.
+     */
+    private void write(Player player)
+    {
+        if (player.closed)
+        {
+            return;
+        }
+        try
+        {
+            if (player.pending == null)
+            {
+                player.channel.write(out);
+                if (!out.hasRemaining())
+                {
+                    framesOut++;
+                    return;
+                }
+                player.pending = ByteBuffer.allocate(Math.max(512, out.remaining()));
+                player.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            }
+            if (player.pending.remaining() < out.remaining())
+            {
+                int needed = player.pending.position() + out.remaining();
+                if (needed > MAX_PENDING_BYTES)
+                {
+                    toClose.add(player);
+                    return;
+                }
+                ByteBuffer bigger = ByteBuffer.allocate(Math.min(MAX_PENDING_BYTES, Math.max(needed, player.pending.capacity() * 2)));
+                player.pending.flip();
+                bigger.put(player.pending);
+                player.pending = bigger;
+            }
+            player.pending.put(out);
+            framesOut++;
+        }
+        catch (IOException e)
+        {
+            toClose.add(player);
+        }
+    }
+
+    /**
+     * Escribe los bytes pendientes de un jugador cuando el socket vuelve a aceptar datos.
+     *
+     * @param player El jugador.
+     * @throws IOException Si fallo la escritura.
+     */
+    private void flush(Player player) throws IOException
+    {
+        ByteBuffer pending = player.pending;
+        if (pending == null)
+        {
+            player.key.interestOps(SelectionKey.OP_READ);
+            return;
+        }
+        pending.flip();
+        player.channel.write(pending);
+        if (pending.hasRemaining())
+        {
+            pending.compact();
+        }
+        else
+        {
+            player.pending = null;
+            player.key.interestOps(SelectionKey.OP_READ);
+        }
+    }
+
+    /**
+     * Desconecta a los jugadores marcados para cerrar.
+     */
+    private void closePending()
+    {
+        for (int i = 0; i < toClose.size(); i++)
+        {
+            Player player = toClose.get(i);
+            if (!player.closed)
+            {
+                player.closed = true;
+                leave(player);
+                player.key.cancel();
+                closeQuietly(player.channel);
+                connections--;
+            }
+        }
+        toClose.clear();
+    }
+
+    /**
+     * Cierra un recurso ignorando los errores.
+     *
+     * @param closeable El recurso.
+     */
+    private static void closeQuietly(Closeable closeable)
+    {
+        try
+        {
+            closeable.close();
+        }
+        catch (IOException e)
+        {
+            // Se esta cerrando; no hay nada mas que hacer.
+        }
+    }
+
+    /**
+     * Detiene el servidor y cierra todas las conexiones.
+     */
+    @Override
+    public void close()
+    {
+        Thread serverThread;
+        synchronized (this)
+        {
+            serverThread = thread;
+            if (serverThread == null)
+            {
+                return;
+            }
+            running = false;
+            thread = null;
+        }
+        selector.wakeup();
+        try
+        {
+            serverThread.join(2000);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return El puerto en el que escucha el servidor, o -1 si no se inicio.
+     */
+    public int getPort()
+    {
+        return serverChannel == null ? -1 : serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * @return Las conexiones abiertas.
+     */
+    public int getConnectionCount()
+    {
+        return connections;
+    }
+
+    /**
+     * @return Los mensajes recibidos.
+     */
+    public long getFramesIn()
+    {
+        return framesIn;
+    }
+
+    /**
+     * @return Los mensajes enviados.
+     */
+    public long getFramesOut()
+    {
+        return framesOut;
+    }
+
+    /**
+     * @return Las carreras comenzadas.
+     */
+    public long getRacesStarted()
+    {
+        return racesStarted;
+    }
+
+    /**
+     * Inicia un servidor desde la linea de comandos.
+     *
+     * @param args Opcionalmente el puerto, los jugadores por sala y los segundos de espera.
+     * @throws IOException Si no se pudo abrir el puerto.
+     */
+    public static void main(String[] args) throws IOException
+    {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : RaceProtocol.DEFAULT_PORT;
+        int roomSize = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROOM_SIZE;
+        long lobbyMillis = args.length > 2 ? Long.parseLong(args[2]) * 1000 : DEFAULT_LOBBY_MILLIS;
+        RaceServer server = new RaceServer(new CorpusPhraseSource(PhraseCorpus.defaultCorpus()), roomSize, lobbyMillis);
+        server.start(new InetSocketAddress(port));
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        System.out.println("Servidor de carreras escuchando en el puerto " + server.getPort()
+                + " (" + roomSize + " jugadores por sala)");
+    }
+}
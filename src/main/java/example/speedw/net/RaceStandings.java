@@ -0,0 +1,102 @@
+package example.speedw.net;
+
+import java.util.Arrays;
+
+/**
+ * Posiciones de una sala de carrera recibidas en un mensaje {@link RaceProtocol#STANDINGS}.
+ * <p>
+ * El {@link RaceClient} reutiliza la misma instancia en cada mensaje, por lo
+ * que quien la recibe debe copiar lo que necesite antes de devolver el control.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class RaceStandings
+{
+    /**
+     * Jugadores en la sala.
+     */
+    private int count;
+
+    /**
+     * Id de cada jugador.
+     */
+    private int[] ids = new int[8];
+
+    /**
+     * Nivel de cada jugador.
+     */
+    private int[] levels = new int[8];
+
+    /**
+     * Estado de cada jugador, uno de los {@code STATE_} de {@link RaceProtocol}.
+     */
+    private byte[] states = new byte[8];
+
+    /**
+     * Vacia las posiciones y reserva espacio para la cantidad de jugadores indicada.
+     *
+     * @param count La cantidad de jugadores.
+     */
+    void reset(int count)
+    {
+        if (count > ids.length)
+        {
+            ids = Arrays.copyOf(ids, count);
+            levels = Arrays.copyOf(levels, count);
+            states = Arrays.copyOf(states, count);
+        }
+        this.count = count;
+    }
+
+    /**
+     * Guarda las posiciones de un jugador.
+     *
+     * @param i     La posicion en el mensaje.
+     * @param id    El id del jugador.
+     * @param level El nivel del jugador.
+     * @param state El estado del jugador.
+     */
+    void set(int i, int id, int level, byte state)
+    {
+        ids[i] = id;
+        levels[i] = level;
+        states[i] = state;
+    }
+
+    /**
+     * @return Los jugadores en la sala.
+     */
+    public int getCount()
+    {
+        return count;
+    }
+
+    /**
+     * @param i La posicion en el mensaje.
+     * @return El id del jugador.
+     */
+    public int idAt(int i)
+    {
+        return ids[i];
+    }
+
+    /**
+     * @param i La posicion en el mensaje.
+     * @return El nivel del jugador.
+     */
+    public int levelAt(int i)
+    {
+        return levels[i];
+    }
+
+    /**
+     * @param i La posicion en el mensaje.
+     * @return El estado del jugador, uno de los {@code STATE_} de {@link RaceProtocol}.
+     */
+    public int stateAt(int i)
+    {
+        return states[i];
+    }
+}
@@ -3,10 +3,13 @@ module example.speedw {
     requires javafx.fxml;
     requires javafx.graphics;
     requires javafx.base;
+    requires jdk.jfr;
+    requires java.management;
 
 
     opens example.speedw to javafx.fxml;
     exports example.speedw;
     exports example.speedw.controllers;
     opens example.speedw.controllers to javafx.fxml;
+    exports example.speedw.diagnostics;
 }
\ No newline at end of file
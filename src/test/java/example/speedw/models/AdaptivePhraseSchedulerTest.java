@@ -0,0 +1,182 @@
+package example.speedw.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de {@link AdaptivePhraseScheduler}: cada nivel elige en su banda de
+ * dificultad, no repite las frases recientes, muestra mas las frases falladas y
+ * olvida todo al empezar otra partida.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class AdaptivePhraseSchedulerTest
+{
+    /**
+     * Frases de cada nivel en las pruebas de frecuencia.
+     */
+    private static final int ROUNDS = 20_000;
+
+    @Test
+    void eachLevelDrawsFromItsBand()
+    {
+        AdaptivePhraseScheduler scheduler = new AdaptivePhraseScheduler(new PhraseDifficulty(corpus(200)));
+        PhraseDifficulty index = scheduler.getIndex();
+        int band = scheduler.getBandSize();
+        assertEquals(40, band);
+        Set<String> easiest = phrases(index, 0, band);
+        Set<String> hardest = phrases(index, index.size() - band, index.size());
+        SplittableRandom random = new SplittableRandom(1);
+        scheduler.startGame();
+        for (int i = 0; i < 500; i++)
+        {
+            assertTrue(easiest.contains(scheduler.nextPhrase(1, random)));
+            assertTrue(hardest.contains(scheduler.nextPhrase(GameEngine.WIN_LEVEL, random)));
+        }
+    }
+
+    @Test
+    void recentPhrasesAreNotRepeated()
+    {
+        AdaptivePhraseScheduler scheduler = new AdaptivePhraseScheduler(new PhraseDifficulty(corpus(40)));
+        int recent = Math.min(AdaptivePhraseScheduler.RECENT_PHRASES, scheduler.getBandSize() / 2);
+        SplittableRandom random = new SplittableRandom(2);
+        scheduler.startGame();
+        Deque<String> last = new ArrayDeque<>();
+        for (int i = 0; i < 2_000; i++)
+        {
+            String phrase = scheduler.nextPhrase(1, random);
+            assertFalse(last.contains(phrase), phrase);
+            scheduler.recordResult(phrase, random.nextBoolean());
+            last.addLast(phrase);
+            if (last.size() > recent)
+            {
+                last.removeFirst();
+            }
+        }
+    }
+
+    @Test
+    void missedPhrasesAreShownMoreOften()
+    {
+        // Una banda de 8 frases: sin ajustes, cada frase sale 1 de cada 8 veces.
+        AdaptivePhraseScheduler scheduler = new AdaptivePhraseScheduler(new PhraseDifficulty(corpus(40)));
+        assertEquals(8, scheduler.getBandSize());
+        double uniform = share(scheduler, null);
+        assertEquals(1.0 / 8, uniform, 0.01);
+
+        // Fallar siempre una frase y acertar las demas la lleva al peso maximo y a las demas al minimo;
+        // como hay 4 recientes, sale en cuanto deja de serlo, 1 de cada 5 veces.
+        double missed = share(scheduler, scheduler.getIndex().phraseAt(0));
+        assertEquals(1.0 / 5, missed, 0.01);
+    }
+
+    @Test
+    void startGameForgetsThePreviousGame()
+    {
+        PhraseDifficulty index = new PhraseDifficulty(corpus(200));
+        AdaptivePhraseScheduler trained = new AdaptivePhraseScheduler(index);
+        SplittableRandom random = new SplittableRandom(3);
+        trained.startGame();
+        for (int i = 0; i < 1_000; i++)
+        {
+            String phrase = trained.nextPhrase(1 + i % GameEngine.WIN_LEVEL, random);
+            trained.recordKey(phrase.charAt(0), random.nextInt(3) == 0);
+            trained.recordResult(phrase, random.nextInt(4) == 0);
+        }
+
+        AdaptivePhraseScheduler fresh = new AdaptivePhraseScheduler(index);
+        trained.startGame();
+        fresh.startGame();
+        SplittableRandom first = new SplittableRandom(4);
+        SplittableRandom second = new SplittableRandom(4);
+        for (int i = 0; i < 300; i++)
+        {
+            int level = 1 + i % GameEngine.WIN_LEVEL;
+            String expected = fresh.nextPhrase(level, first);
+            String phrase = trained.nextPhrase(level, second);
+            assertEquals(expected, phrase, "frase " + i);
+            boolean correct = i % 3 != 0;
+            fresh.recordResult(expected, correct);
+            trained.recordResult(phrase, correct);
+        }
+    }
+
+    /**
+     * Juega muchas frases del nivel 1 y cuenta cuantas veces sale una de ellas.
+     *
+     * @param scheduler El planificador; se reinicia antes de empezar.
+     * @param missed    La frase que siempre se falla, o {@code null} para acertar todas.
+     * @return La fraccion de veces que salio {@code missed}, o la primera frase de la banda si es {@code null}.
+     */
+    private static double share(AdaptivePhraseScheduler scheduler, String missed)
+    {
+        String counted = missed != null ? missed : scheduler.getIndex().phraseAt(0);
+        SplittableRandom random = new SplittableRandom(5);
+        scheduler.startGame();
+        Map<String, Integer> hits = new HashMap<>();
+        for (int i = 0; i < ROUNDS; i++)
+        {
+            String phrase = scheduler.nextPhrase(1, random);
+            hits.merge(phrase, 1, Integer::sum);
+            scheduler.recordResult(phrase, missed == null || !phrase.equals(missed));
+            if (missed == null)
+            {
+                // Sin ajustes: se reinicia en cada frase, para que los pesos sigan en 1 y no haya recientes.
+                scheduler.startGame();
+            }
+        }
+        return hits.getOrDefault(counted, 0) / (double) ROUNDS;
+    }
+
+    /**
+     * @param index Las frases ordenadas por dificultad.
+     * @param from  La primera posicion.
+     * @param to    La primera posicion fuera del rango.
+     * @return Las frases de esas posiciones.
+     */
+    private static Set<String> phrases(PhraseDifficulty index, int from, int to)
+    {
+        Set<String> phrases = new HashSet<>();
+        for (int position = from; position < to; position++)
+        {
+            phrases.add(index.phraseAt(position));
+        }
+        return phrases;
+    }
+
+    /**
+     * @param size El numero de frases.
+     * @return Un corpus con frases distintas de dificultades variadas.
+     */
+    private static PhraseCorpus corpus(int size)
+    {
+        SplittableRandom random = new SplittableRandom(size);
+        String letters = "abcdefghijklmnopqrstuvwxyz\u00e1\u00e9\u00f1";
+        String[] phrases = new String[size];
+        for (int i = 0; i < size; i++)
+        {
+            StringBuilder phrase = new StringBuilder("frase ").append(i).append(' ');
+            int length = phrase.length() + 4 + random.nextInt(20);
+            while (phrase.length() < length)
+            {
+                phrase.append(letters.charAt(random.nextInt(letters.length())));
+            }
+            phrases[i] = phrase.toString();
+        }
+        return PhraseCorpus.of(phrases);
+    }
+}
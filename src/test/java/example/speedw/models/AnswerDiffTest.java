@@ -0,0 +1,190 @@
+package example.speedw.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pruebas de {@link AnswerDiff} contra la distancia de Levenshtein calculada
+ * con la programacion dinamica de siempre, en O(n * m).
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class AnswerDiffTest
+{
+    /**
+     * Alfabeto de las frases aleatorias; pocas letras para que haya muchas coincidencias.
+     */
+    private static final String ALPHABET = "abcd éñ";
+
+    @Test
+    void randomPhrasesMatchDynamicProgramming()
+    {
+        SplittableRandom random = new SplittableRandom(15);
+        AnswerDiff diff = new AnswerDiff();
+        for (int round = 0; round < 2_000; round++)
+        {
+            // Longitudes a ambos lados de los bloques de 64 bits.
+            String target = randomText(random, random.nextInt(200));
+            String answer = randomText(random, random.nextInt(200));
+            assertEquals(levenshtein(target, answer), diff.compare(target, answer), target + " / " + answer);
+            assertAlignment(diff, target, answer);
+        }
+    }
+
+    @Test
+    void incrementalTypingAndDeletesMatchDynamicProgramming()
+    {
+        SplittableRandom random = new SplittableRandom(16);
+        AnswerDiff diff = new AnswerDiff();
+        for (int round = 0; round < 200; round++)
+        {
+            String target = randomText(random, 1 + random.nextInt(150));
+            diff.setTarget(target);
+            StringBuilder answer = new StringBuilder();
+            for (int key = 0; key < 300; key++)
+            {
+                if (answer.length() > 0 && random.nextInt(4) == 0)
+                {
+                    answer.setLength(answer.length() - 1);
+                    diff.deleteLast();
+                }
+                else
+                {
+                    char c = random.nextInt(3) == 0 && answer.length() < target.length()
+                            ? target.charAt(answer.length())
+                            : ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+                    answer.append(c);
+                    diff.append(c);
+                }
+                assertEquals(levenshtein(target, answer), diff.getDistance(), target + " / " + answer);
+            }
+            diff.align();
+            assertAlignment(diff, target, answer);
+        }
+    }
+
+    @Test
+    void emptyAnswerIsAllMissing()
+    {
+        AnswerDiff diff = new AnswerDiff();
+        assertEquals(5, diff.compare("hola!", ""));
+        assertEquals(5, diff.getOpCount());
+        for (int i = 0; i < diff.getOpCount(); i++)
+        {
+            assertEquals(AnswerDiff.MISSING, diff.opAt(i));
+        }
+        assertEquals(0, diff.compare("", ""));
+        assertEquals(0, diff.getOpCount());
+    }
+
+    @Test
+    void longerAnswerHasExtraCharacters()
+    {
+        AnswerDiff diff = new AnswerDiff();
+        assertEquals(3, diff.compare("gato", "gatitos"));
+        assertAlignment(diff, "gato", "gatitos");
+        assertEquals(3, diff.compare("", "abc"));
+        for (int i = 0; i < diff.getOpCount(); i++)
+        {
+            assertEquals(AnswerDiff.EXTRA, diff.opAt(i));
+        }
+    }
+
+    @Test
+    void combiningAccentsCountUntilNormalized()
+    {
+        AnswerDiff diff = new AnswerDiff();
+        String composed = "canci\u00f3n";
+        String decomposed = "cancio\u0301n";
+        // Sin normalizar, la o y el acento combinado son dos caracteres distintos de la o acentuada.
+        assertEquals(2, diff.compare(composed, decomposed));
+        assertAlignment(diff, composed, decomposed);
+        assertEquals(0, diff.compare(ComparisonMode.NFC.apply(composed), ComparisonMode.NFC.apply(decomposed)));
+    }
+
+    /**
+     * Comprueba que la alineacion reconstruye la frase y la respuesta y que su costo es la distancia.
+     *
+     * @param diff   La comparacion, ya alineada.
+     * @param target La frase.
+     * @param answer La respuesta.
+     */
+    private static void assertAlignment(AnswerDiff diff, CharSequence target, CharSequence answer)
+    {
+        StringBuilder rebuiltTarget = new StringBuilder();
+        StringBuilder rebuiltAnswer = new StringBuilder();
+        int cost = 0;
+        for (int i = 0; i < diff.getOpCount(); i++)
+        {
+            byte op = diff.opAt(i);
+            if (op != AnswerDiff.EXTRA)
+            {
+                rebuiltTarget.append(diff.targetAt(rebuiltTarget.length()));
+            }
+            if (op != AnswerDiff.MISSING)
+            {
+                rebuiltAnswer.append(diff.inputAt(rebuiltAnswer.length()));
+            }
+            if (op == AnswerDiff.MATCH)
+            {
+                assertEquals(diff.targetAt(rebuiltTarget.length() - 1), diff.inputAt(rebuiltAnswer.length() - 1));
+            }
+            else
+            {
+                cost++;
+            }
+        }
+        assertEquals(target.toString(), rebuiltTarget.toString());
+        assertEquals(answer.toString(), rebuiltAnswer.toString());
+        assertEquals(diff.getDistance(), cost);
+    }
+
+    /**
+     * @param random El generador.
+     * @param length La longitud.
+     * @return Un texto aleatorio con letras de {@link #ALPHABET}.
+     */
+    private static String randomText(SplittableRandom random, int length)
+    {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++)
+        {
+            chars[i] = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Distancia de Levenshtein con la tabla completa de programacion dinamica.
+     *
+     * @param a Un texto.
+     * @param b Otro texto.
+     * @return La distancia de edicion.
+     */
+    private static int levenshtein(CharSequence a, CharSequence b)
+    {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++)
+        {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++)
+        {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++)
+        {
+            for (int j = 1; j <= b.length(); j++)
+            {
+                int substitution = d[i - 1][j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                d[i][j] = Math.min(substitution, Math.min(d[i - 1][j], d[i][j - 1]) + 1);
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+}
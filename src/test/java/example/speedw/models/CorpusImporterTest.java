@@ -0,0 +1,187 @@
+package example.speedw.models;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de {@link CorpusImporter}: que frases se aceptan y que el resultado
+ * no depende de los hilos ni de donde caen los cortes entre bloques.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class CorpusImporterTest
+{
+    /**
+     * Palabras del texto sintetico.
+     */
+    private static final String[] WORDS = (
+            "el la los las un una de del que en y a por con para como pero mas sin sobre entre " +
+            "casa perro gato niño niña mujer hombre ciudad camino tiempo noche dia agua fuego tierra " +
+            "corazón canción razón jardín árbol música pájaro ventana puerta libro palabra silencio " +
+            "corre salta escribe lee mira canta duerme piensa vuelve llega sale entra busca encuentra " +
+            "rápido lento grande pequeño viejo nuevo oscuro claro frío caliente azul verde rojo " +
+            "kilo whisky yate zorro xilófono jamás queso ñandú").split(" ");
+
+    /**
+     * Signos con los que terminan las frases del texto.
+     */
+    private static final String ENDINGS = ".,,,;:!?";
+
+    /**
+     * Texto corto con una frase de cada tipo: valida, repetida con otras
+     * mayusculas, con cifras, con un acento descompuesto, con demasiadas
+     * palabras, demasiado corta y partida en dos renglones.
+     */
+    private static final String TEXT = "Hola mundo. hola Mundo! El 3 gatos; Cancio\u0301n de cuna, "
+            + "uno dos tres cuatro cinco seis, ab.\n\nel perro\nduerme";
+
+    /**
+     * Carpeta temporal de cada prueba.
+     */
+    @TempDir
+    Path dir;
+
+    @Test
+    void keepsOnlyValidUniquePhrases() throws IOException
+    {
+        PhraseCorpus corpus = importText(TEXT, false);
+        assertEquals(List.of("Hola mundo", "Canci\u00f3n de cuna", "el perro duerme"), phrases(corpus));
+    }
+
+    @Test
+    void lineModeSplitsAtEveryLine() throws IOException
+    {
+        PhraseCorpus corpus = importText(TEXT, true);
+        assertEquals(List.of("Hola mundo", "Canci\u00f3n de cuna", "el perro", "duerme"), phrases(corpus));
+    }
+
+    @Test
+    void largeTextGivesTheSameCorpusWithAnyParallelism() throws IOException
+    {
+        // Varios bloques, para que haya frases repetidas entre bloques y cortes en medio del texto.
+        Path text = dir.resolve("texto.txt");
+        writeText(text, 3L * CorpusImporter.CHUNK_CHARS);
+
+        Path single = dir.resolve("uno.spwc");
+        CorpusImporter.Report report = importer(false, 1).run(List.of(text), single);
+        Path parallel = dir.resolve("varios.spwc");
+        importer(false, 4).run(List.of(text), parallel);
+
+        PhraseCorpus corpus = PhraseCorpus.open(single);
+        assertEquals(report.getPhrases(), corpus.size());
+        assertTrue(report.getCandidates() > corpus.size(), "el texto deberia tener frases repetidas");
+        assertEquals(phrases(corpus), phrases(PhraseCorpus.open(parallel)));
+
+        Set<String> unique = new HashSet<>();
+        for (int id = 0; id < corpus.size(); id++)
+        {
+            String phrase = corpus.phraseAt(id);
+            assertTrue(unique.add(phrase.toLowerCase(Locale.ROOT)), "repetida: " + phrase);
+            assertTrue(phrase.length() >= CorpusImporter.DEFAULT_MIN_LENGTH
+                    && phrase.length() <= CorpusImporter.DEFAULT_MAX_LENGTH, phrase);
+            assertTrue(phrase.split(" ").length <= CorpusImporter.DEFAULT_MAX_WORDS, phrase);
+            assertTrue(phrase.chars().allMatch(c -> c == ' ' || Character.isLetter(c)), phrase);
+            assertEquals(PhraseDifficulty.score(phrase), corpus.difficultyAt(id), phrase);
+        }
+    }
+
+    /**
+     * @param lineMode Si cada renglon es una frase aparte.
+     * @param threads  Los hilos.
+     * @return Un importador con los limites por defecto.
+     */
+    private static CorpusImporter importer(boolean lineMode, int threads)
+    {
+        return new CorpusImporter(CorpusImporter.DEFAULT_MIN_LENGTH, CorpusImporter.DEFAULT_MAX_LENGTH,
+                CorpusImporter.DEFAULT_MAX_WORDS, lineMode, threads);
+    }
+
+    /**
+     * Importa un texto corto.
+     *
+     * @param text     El texto.
+     * @param lineMode Si cada renglon es una frase aparte.
+     * @return El corpus importado.
+     * @throws IOException Si falla la importacion.
+     */
+    private PhraseCorpus importText(String text, boolean lineMode) throws IOException
+    {
+        Path input = Files.writeString(dir.resolve("texto.txt"), text);
+        Path target = dir.resolve("corpus.spwc");
+        importer(lineMode, 2).run(List.of(input), target);
+        return PhraseCorpus.open(target);
+    }
+
+    /**
+     * @param corpus Un corpus.
+     * @return Sus frases, en orden.
+     */
+    private static List<String> phrases(PhraseCorpus corpus)
+    {
+        String[] phrases = new String[corpus.size()];
+        for (int id = 0; id < phrases.length; id++)
+        {
+            phrases[id] = corpus.phraseAt(id);
+        }
+        return List.of(phrases);
+    }
+
+    /**
+     * Escribe un texto con la forma de un libro: renglones cortados a 70
+     * caracteres, parrafos, puntuacion, cifras y frases repetidas con otras mayusculas.
+     *
+     * @param file  El archivo.
+     * @param bytes El tamaño aproximado del texto.
+     * @throws IOException Si no se puede escribir.
+     */
+    private static void writeText(Path file, long bytes) throws IOException
+    {
+        SplittableRandom random = new SplittableRandom(21);
+        long written = 0;
+        int column = 0;
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8))
+        {
+            while (written < bytes)
+            {
+                int words = 1 + random.nextInt(7);
+                for (int w = 0; w < words; w++)
+                {
+                    String word = random.nextInt(200) == 0 ? String.valueOf(random.nextInt(1000))
+                            : WORDS[random.nextInt(WORDS.length)];
+                    if (w == 0 && random.nextInt(4) == 0)
+                    {
+                        word = Character.toUpperCase(word.charAt(0)) + word.substring(1);
+                    }
+                    String separator = column + word.length() > 70 ? "\n" : " ";
+                    column = separator.equals("\n") ? 0 : column + 1;
+                    out.write(separator);
+                    out.write(word);
+                    column += word.length();
+                    written += word.length() + 1;
+                }
+                out.write(ENDINGS.charAt(random.nextInt(ENDINGS.length())));
+                if (random.nextInt(40) == 0)
+                {
+                    out.write("\n\n");
+                    column = 0;
+                }
+            }
+        }
+    }
+}
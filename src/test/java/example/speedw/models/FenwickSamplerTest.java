@@ -0,0 +1,130 @@
+package example.speedw.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de {@link FenwickSampler} contra una suma lineal de los pesos, y de
+ * que los sorteos siguen los pesos del rango.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class FenwickSamplerTest
+{
+    /**
+     * Sorteos de cada prueba de distribucion.
+     */
+    private static final int DRAWS = 200_000;
+
+    @Test
+    void prefixSumsAndFindMatchALinearScan()
+    {
+        SplittableRandom random = new SplittableRandom(14);
+        for (int size = 1; size <= 70; size++)
+        {
+            FenwickSampler sampler = new FenwickSampler(size, 1.0);
+            double[] weights = new double[size];
+            Arrays.fill(weights, 1.0);
+            for (int update = 0; update < 3 * size; update++)
+            {
+                int index = random.nextInt(size);
+                // Pesos enteros pequeños, con ceros, para que las sumas sean exactas.
+                weights[index] = random.nextInt(4);
+                sampler.set(index, weights[index]);
+            }
+            double sum = 0;
+            for (int end = 0; end <= size; end++)
+            {
+                assertEquals(sum, sampler.prefixSum(end), "size " + size + ", end " + end);
+                if (end < size)
+                {
+                    assertEquals(weights[end], sampler.get(end));
+                    if (weights[end] > 0)
+                    {
+                        assertEquals(end, sampler.find(sum));
+                        assertEquals(end, sampler.find(sum + weights[end] / 2));
+                    }
+                    sum += weights[end];
+                }
+            }
+            assertEquals(size, sampler.find(sum));
+        }
+    }
+
+    @Test
+    void drawsFollowTheWeights()
+    {
+        double[] weights = {1, 2, 0, 4, 1, 0, 8};
+        FenwickSampler sampler = new FenwickSampler(weights.length, 0);
+        for (int i = 0; i < weights.length; i++)
+        {
+            sampler.set(i, weights[i]);
+        }
+        assertDistribution(sampler, weights, 0, weights.length);
+        assertDistribution(sampler, weights, 1, 5);
+
+        // Un peso cambiado se nota en el siguiente sorteo.
+        sampler.set(6, 0);
+        weights[6] = 0;
+        sampler.set(2, 3);
+        weights[2] = 3;
+        assertDistribution(sampler, weights, 0, weights.length);
+    }
+
+    @Test
+    void emptyRangesDrawNothing()
+    {
+        FenwickSampler sampler = new FenwickSampler(10, 0);
+        SplittableRandom random = new SplittableRandom(1);
+        assertEquals(-1, sampler.sample(0, 10, random));
+        sampler.set(7, 0.5);
+        assertEquals(-1, sampler.sample(0, 7, random));
+        assertEquals(7, sampler.sample(0, 10, random));
+        assertEquals(7, sampler.sample(7, 8, random));
+
+        sampler.fill(2);
+        assertEquals(20, sampler.prefixSum(10));
+        assertEquals(-1, new FenwickSampler(0, 1).sample(0, 0, random));
+    }
+
+    /**
+     * Sortea muchas veces en un rango y compara la frecuencia de cada posicion con su peso.
+     *
+     * @param sampler El muestreador.
+     * @param weights Los pesos de cada posicion.
+     * @param from    La primera posicion del rango.
+     * @param to      La primera posicion fuera del rango.
+     */
+    private static void assertDistribution(FenwickSampler sampler, double[] weights, int from, int to)
+    {
+        SplittableRandom random = new SplittableRandom(from * 31L + to);
+        int[] hits = new int[weights.length];
+        for (int i = 0; i < DRAWS; i++)
+        {
+            int index = sampler.sample(from, to, random);
+            assertTrue(index >= from && index < to, "fuera del rango: " + index);
+            hits[index]++;
+        }
+        double total = 0;
+        for (int i = from; i < to; i++)
+        {
+            total += weights[i];
+        }
+        for (int i = from; i < to; i++)
+        {
+            double expected = weights[i] / total;
+            assertEquals(expected, hits[i] / (double) DRAWS, 0.01, "posicion " + i);
+            if (weights[i] == 0)
+            {
+                assertEquals(0, hits[i], "posicion con peso 0");
+            }
+        }
+    }
+}
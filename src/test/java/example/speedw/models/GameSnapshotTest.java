@@ -0,0 +1,260 @@
+package example.speedw.models;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de {@link GameSnapshot}: una partida retomada sigue igual que la
+ * guardada, con su mismo paquete de frases; las instantaneas invalidas se
+ * rechazan; y escribir sobre una instantanea anterior la reemplaza completa.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class GameSnapshotTest
+{
+    /**
+     * Nivel en que se guarda la partida; pasa por dos aumentos de handicap.
+     */
+    private static final int LEVEL = 12;
+
+    /**
+     * Posicion del handicap en los bytes de una partida del idioma por defecto:
+     * la cabecera, la etiqueta "es", el hash, la semilla, el modo, el nivel y el tiempo.
+     */
+    private static final int HANDICAP_OFFSET = 5 + 1 + 2 + 8 + 8 + 1 + 1 + 1;
+
+    /**
+     * Carpeta temporal de cada prueba.
+     */
+    @TempDir
+    Path dir;
+
+    /**
+     * Empieza y termina cada prueba con el corpus por defecto, porque el paquete en uso es compartido.
+     */
+    @BeforeEach
+    @AfterEach
+    void resetPacks()
+    {
+        PhrasePack.reset();
+    }
+
+    @Test
+    void restoredGameContinuesLikeTheOriginal() throws IOException
+    {
+        GameEngine engine = new GameEngine(new DefaultPhrases(), new SplittableRandom(42));
+        long now = play(engine, LEVEL);
+        GameSnapshot snapshot = new GameSnapshot();
+        snapshot.capture(engine, now);
+
+        GameEngine resumed = new GameEngine(new DefaultPhrases(), new SplittableRandom(7));
+        resumed.setComparisonMode(ComparisonMode.CASE_INSENSITIVE);
+        long later = now + 3_600_000_000_000L;
+        new GameSnapshot(snapshot.toByteArray()).restore(resumed, later, null);
+
+        assertTrue(resumed.isResumed());
+        assertEquals(engine.getSeed(), resumed.getSeed());
+        assertEquals(engine.getComparisonMode(), resumed.getComparisonMode());
+        assertEquals(LEVEL, resumed.getLevel());
+        assertEquals(GameEngine.HANDICAP_STEP * (LEVEL / 5), resumed.getHandicapAccumulator());
+        assertEquals(engine.getLevelTime(), resumed.getLevelTime());
+        assertEquals(engine.getActualPhrase(), resumed.getActualPhrase());
+        assertEquals(engine.getRemainingMillis(now), resumed.getRemainingMillis(later));
+        assertStatsEqual(engine.getStats(), resumed.getStats());
+
+        // Los niveles siguientes salen de los mismos generadores y cuentan igual en las estadisticas.
+        for (int step = 0; step < 10; step++)
+        {
+            now += 1_000_000_000L;
+            later += 1_000_000_000L;
+            assertEquals(engine.validate(engine.getActualPhrase(), now),
+                    resumed.validate(resumed.getActualPhrase(), later));
+            assertEquals(engine.getLevel(), resumed.getLevel());
+            assertEquals(engine.getHandicapAccumulator(), resumed.getHandicapAccumulator());
+            assertEquals(engine.getActualPhrase(), resumed.getActualPhrase(), "nivel " + engine.getLevel());
+        }
+        assertStatsEqual(engine.getStats(), resumed.getStats());
+        assertEquals(engine.generateRecord(), resumed.generateRecord());
+    }
+
+    @Test
+    void restoreKeepsTheGamePackAfterAReload() throws IOException
+    {
+        Path packs = dir.resolve("packs");
+        Files.createDirectories(packs);
+        Path fileA = packs.resolve("paquete-A" + PhraseCorpus.EXTENSION);
+        Path fileB = dir.resolve("paquete-B" + PhraseCorpus.EXTENSION);
+        writePack(fileA, 'A');
+        writePack(fileB, 'B');
+        PhrasePack.publish(PhrasePack.load(fileA));
+
+        GameEngine engine = new GameEngine(new HotSwapPhraseSource(), new SplittableRandom(3));
+        long now = play(engine, 4);
+        GameSnapshot snapshot = new GameSnapshot();
+        snapshot.capture(engine, now);
+
+        // Mientras tanto se publica otro paquete del mismo idioma.
+        PhrasePack.publish(PhrasePack.load(fileB));
+        GameEngine resumed = new GameEngine(new HotSwapPhraseSource(), new SplittableRandom(3));
+        assertEquals(fileB.getFileName().toString(), resumed.getPack().getName());
+        snapshot.restore(resumed, now, packs);
+        assertEquals(engine.getPack().getHash(), resumed.getPack().getHash());
+        for (int step = 0; step < 5; step++)
+        {
+            now += 1_000_000_000L;
+            resumed.validate(resumed.getActualPhrase(), now);
+            assertEquals('A', resumed.getActualPhrase().charAt(0), resumed.getActualPhrase());
+        }
+
+        // Sin el paquete de la partida, la instantanea no se puede retomar.
+        GameEngine other = new GameEngine(new HotSwapPhraseSource(), new SplittableRandom(3));
+        IOException error = assertThrows(IOException.class, () -> snapshot.restore(other, 0, dir));
+        assertTrue(error.getMessage().contains("desconocido"), error.getMessage());
+    }
+
+    @Test
+    void invalidSnapshotsAreRejected()
+    {
+        GameEngine engine = new GameEngine(new DefaultPhrases(), new SplittableRandom(42));
+        long now = play(engine, LEVEL);
+        GameSnapshot snapshot = new GameSnapshot();
+        snapshot.capture(engine, now);
+        byte[] bytes = snapshot.toByteArray();
+        GameEngine target = new GameEngine(new DefaultPhrases(), new SplittableRandom(7));
+
+        byte[] magic = bytes.clone();
+        magic[0] ^= 1;
+        assertThrows(IOException.class, () -> new GameSnapshot(magic).restore(target, now, null));
+
+        byte[] version = bytes.clone();
+        version[4] = GameSnapshot.VERSION + 1;
+        assertThrows(IOException.class, () -> new GameSnapshot(version).restore(target, now, null));
+
+        byte[] handicap = bytes.clone();
+        assertEquals(GameEngine.HANDICAP_STEP * (LEVEL / 5), handicap[HANDICAP_OFFSET]);
+        handicap[HANDICAP_OFFSET] = 60;
+        assertThrows(IOException.class, () -> new GameSnapshot(handicap).restore(target, now, null));
+
+        for (int length = 0; length < bytes.length; length++)
+        {
+            byte[] truncated = Arrays.copyOf(bytes, length);
+            assertThrows(IOException.class, () -> new GameSnapshot(truncated).restore(target, now, null),
+                    "cortada en " + length + " bytes");
+        }
+    }
+
+    @Test
+    void writeReplacesThePreviousSnapshot()
+    {
+        Path file = dir.resolve("partida" + GameSnapshot.EXTENSION);
+        assertNull(GameSnapshot.readAsync(file).join());
+
+        GameEngine engine = new GameEngine(AdaptivePhraseScheduler.forDefaultCorpus(), new SplittableRandom(25));
+        long now = 1_000_000_000L;
+        engine.startGame(now, 25);
+        GameSnapshot first = new GameSnapshot();
+        first.capture(engine, now);
+        first.writeAsync(file).join();
+
+        engine.typeChar(engine.getActualPhrase().charAt(0));
+        GameSnapshot second = new GameSnapshot();
+        second.capture(engine, now + 500_000_000L);
+        second.writeAsync(file).join();
+
+        assertArrayEquals(second.toByteArray(), GameSnapshot.readAsync(file).join().toByteArray());
+        assertFalse(Files.exists(file.resolveSibling(file.getFileName() + ".tmp")));
+    }
+
+    /**
+     * Juega una partida hasta un nivel, con varias respuestas falladas en cada nivel.
+     *
+     * @param engine El motor.
+     * @param level  El nivel al que se llega.
+     * @return El instante en que termina, a mitad del ultimo nivel.
+     */
+    private static long play(GameEngine engine, int level)
+    {
+        long now = 1_000_000_000L;
+        engine.startGame(now, 42);
+        while (engine.getLevel() < level)
+        {
+            for (int i = 0; i < 3; i++)
+            {
+                now += 500_000_000L;
+                engine.validate("incorrecta", now);
+            }
+            now += 2_000_000_000L;
+            engine.validate(engine.getActualPhrase(), now);
+        }
+        return now + 3_000_000_000L;
+    }
+
+    /**
+     * Compara las estadisticas de dos partidas.
+     *
+     * @param expected Las de la partida original.
+     * @param actual   Las de la partida retomada.
+     */
+    private static void assertStatsEqual(SessionStats expected, SessionStats actual)
+    {
+        assertNotEquals(0, expected.getCorrectCount());
+        assertEquals(expected.getCorrectCount(), actual.getCorrectCount());
+        assertEquals(expected.getMissCount(), actual.getMissCount());
+        assertEquals(expected.getDistinctCount(), actual.getDistinctCount());
+        assertEquals(expected.getTotalChars(), actual.getTotalChars());
+        assertEquals(expected.getLongestLength(), actual.getLongestLength());
+        assertEquals(expected.getBestReactionNanos(), actual.getBestReactionNanos());
+        for (int i = 0; i < expected.getCorrectCount(); i++)
+        {
+            assertEquals(expected.phraseOf(expected.logAt(i)), actual.phraseOf(actual.logAt(i)));
+        }
+        for (int id = 0; id < expected.getDistinctCount(); id++)
+        {
+            assertEquals(expected.phraseOf(id), actual.phraseOf(id));
+            assertEquals(expected.countOf(id), actual.countOf(id));
+            assertEquals(expected.missesOf(id), actual.missesOf(id));
+        }
+    }
+
+    /**
+     * Escribe un paquete de frases que empiezan todas con la misma letra.
+     *
+     * @param file El archivo del paquete.
+     * @param tag  La letra del paquete.
+     * @throws IOException Si no se puede escribir.
+     */
+    private static void writePack(Path file, char tag) throws IOException
+    {
+        PhraseCorpusWriter writer = new PhraseCorpusWriter(file.getParent());
+        try
+        {
+            for (int i = 0; i < 300; i++)
+            {
+                writer.add(tag + " frase " + (char) ('a' + i % 26) + (char) ('a' + i / 26) + " del paquete");
+            }
+            writer.write(file);
+        }
+        finally
+        {
+            writer.close();
+        }
+    }
+}
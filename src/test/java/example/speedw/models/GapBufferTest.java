@@ -0,0 +1,108 @@
+package example.speedw.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Pruebas de {@link GapBuffer} contra un {@link StringBuilder} con las mismas
+ * ediciones: el texto y el cursor coinciden despues de cada una, tambien
+ * cuando el arreglo crece con texto a los dos lados del hueco.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class GapBufferTest
+{
+    @Test
+    void randomEditsMatchAStringBuilder()
+    {
+        SplittableRandom random = new SplittableRandom(20);
+        GapBuffer buffer = new GapBuffer(0);
+        StringBuilder expected = new StringBuilder();
+        int caret = 0;
+        for (int edit = 0; edit < 20_000; edit++)
+        {
+            int action = random.nextInt(10);
+            if (action < 6)
+            {
+                char c = (char) ('a' + random.nextInt(26));
+                buffer.insert(c);
+                expected.insert(caret++, c);
+            }
+            else if (action < 8)
+            {
+                char deleted = buffer.deleteBefore();
+                if (caret > 0)
+                {
+                    assertEquals(expected.charAt(caret - 1), deleted);
+                    expected.deleteCharAt(--caret);
+                }
+                else
+                {
+                    assertEquals(0, deleted);
+                }
+            }
+            else if (action < 10 && expected.length() > 0)
+            {
+                caret = random.nextInt(expected.length() + 1);
+                buffer.moveCaret(caret);
+            }
+            assertEquals(caret, buffer.getCaret());
+            assertEquals(expected.length(), buffer.length());
+            if (edit % 97 == 0)
+            {
+                assertEquals(expected.toString(), buffer.toString());
+                for (int i = 0; i < expected.length(); i++)
+                {
+                    assertEquals(expected.charAt(i), buffer.charAt(i), "posicion " + i);
+                }
+            }
+        }
+        assertEquals(expected.toString(), buffer.toString());
+    }
+
+    @Test
+    void growingKeepsTheTextAfterTheCaret()
+    {
+        GapBuffer buffer = new GapBuffer(16);
+        for (char c : "fin".toCharArray())
+        {
+            buffer.insert(c);
+        }
+        buffer.moveCaret(0);
+        for (int i = 0; i < 100; i++)
+        {
+            buffer.insert((char) ('0' + i % 10));
+        }
+        assertEquals(103, buffer.length());
+        assertEquals(100, buffer.getCaret());
+        assertEquals("fin", buffer.subSequence(100, 103).toString());
+        assertEquals("0123456789", buffer.subSequence(0, 10).toString());
+
+        buffer.clear();
+        assertEquals("", buffer.toString());
+        assertEquals(0, buffer.getCaret());
+        buffer.insert('x');
+        assertEquals("x", buffer.toString());
+    }
+
+    @Test
+    void invalidPositionsAreRejected()
+    {
+        GapBuffer buffer = new GapBuffer(4);
+        buffer.insert('a');
+        buffer.insert('b');
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.moveCaret(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.moveCaret(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.charAt(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.charAt(-1));
+        buffer.moveCaret(0);
+        assertEquals(0, buffer.deleteBefore());
+        assertEquals("ab", buffer.toString());
+    }
+}
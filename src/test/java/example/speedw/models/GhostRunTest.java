@@ -0,0 +1,337 @@
+package example.speedw.models;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de {@link GhostRun}: la posicion del fantasma en una partida corta
+ * conocida y, en una partida larga que pasa muchas veces por el anillo, la
+ * misma posicion que una lectura de referencia secuencial y sin hilos.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class GhostRunTest
+{
+    /**
+     * Niveles de la partida sintetica.
+     */
+    private static final int LEVELS = 35;
+
+    /**
+     * Longitud de la frase del jugador en cada nivel.
+     */
+    private static final int PLAYER_PHRASE = 24;
+
+    /**
+     * Milisegundos maximos que se espera al hilo de fondo en una consulta.
+     */
+    private static final int MAX_WAIT_MILLIS = 2000;
+
+    /**
+     * Un milisegundo, en nanosegundos.
+     */
+    private static final long MS = 1_000_000L;
+
+    /**
+     * Carpeta temporal de cada prueba.
+     */
+    @TempDir
+    Path dir;
+
+    /**
+     * Lectura de referencia de las muestras del fantasma, con una sola muestra de anticipacion.
+     */
+    private static final class Reference
+    {
+        /**
+         * Lector de la repeticion completa en memoria.
+         */
+        private final ReplayReader reader;
+
+        /**
+         * Estado de la partida leida hasta la muestra pendiente.
+         */
+        private int level;
+
+        /**
+         * Longitud de la frase del nivel leido.
+         */
+        private int length;
+
+        /**
+         * Comienzo del nivel leido.
+         */
+        private long levelStart;
+
+        /**
+         * Caracteres escritos hasta la muestra pendiente.
+         */
+        private int chars;
+
+        /**
+         * Indica que hay una muestra pendiente.
+         */
+        private boolean pending;
+
+        /**
+         * Datos de la muestra pendiente.
+         */
+        private int pendingLevel;
+
+        /**
+         * Tiempo de la muestra pendiente desde que comenzo su nivel.
+         */
+        private long pendingOffset;
+
+        /**
+         * Caracteres escritos en la muestra pendiente.
+         */
+        private int pendingChars;
+
+        /**
+         * Longitud de la frase de la muestra pendiente.
+         */
+        private int pendingLength;
+
+        /**
+         * Datos de la ultima muestra consumida.
+         */
+        private int ghostLevel;
+
+        /**
+         * Caracteres escritos en la ultima muestra consumida.
+         */
+        private int ghostChars;
+
+        /**
+         * Longitud de la frase en la ultima muestra consumida.
+         */
+        private int ghostLength;
+
+        /**
+         * Abre la referencia y lee la primera muestra.
+         *
+         * @param replay La repeticion completa.
+         * @throws IOException Si la repeticion no es valida.
+         */
+        Reference(ByteBuffer replay) throws IOException
+        {
+            reader = new ReplayReader(replay);
+            advance();
+        }
+
+        /**
+         * Lee la siguiente muestra, o deja de haber muestra pendiente si se acabo la repeticion.
+         *
+         * @throws IOException Si la repeticion no es valida.
+         */
+        private void advance() throws IOException
+        {
+            while (reader.next())
+            {
+                int type = reader.getType();
+                if (type == ReplayRecorder.LEVEL)
+                {
+                    level = reader.getLevel();
+                    length = reader.getPhraseLength();
+                    levelStart = reader.getTimeNanos();
+                    chars = 0;
+                }
+                else if (type == ReplayRecorder.APPEND)
+                {
+                    chars++;
+                }
+                else if (type == ReplayRecorder.DELETE)
+                {
+                    chars = Math.max(0, chars - 1);
+                }
+                else if (type == ReplayRecorder.SET)
+                {
+                    chars = reader.getText().length();
+                }
+                else if (type == ReplayRecorder.CLEAR)
+                {
+                    chars = 0;
+                }
+                else
+                {
+                    continue;
+                }
+                pending = true;
+                pendingLevel = level;
+                pendingOffset = reader.getTimeNanos() - levelStart;
+                pendingChars = chars;
+                pendingLength = length;
+                return;
+            }
+            pending = false;
+        }
+
+        /**
+         * La posicion esperada del fantasma, con las mismas reglas que {@link GhostRun#position(int, long, int)}.
+         *
+         * @param playerLevel  El nivel del jugador.
+         * @param levelNanos   El tiempo del jugador en el nivel.
+         * @param phraseLength La longitud de la frase del jugador.
+         * @return La posicion esperada.
+         * @throws IOException Si la repeticion no es valida.
+         */
+        int position(int playerLevel, long levelNanos, int phraseLength) throws IOException
+        {
+            while (pending && (pendingLevel < playerLevel || pendingLevel == playerLevel && pendingOffset <= levelNanos))
+            {
+                ghostLevel = pendingLevel;
+                ghostChars = pendingChars;
+                ghostLength = pendingLength;
+                advance();
+            }
+            if (pending && pendingLevel > playerLevel)
+            {
+                return ghostLevel == playerLevel ? phraseLength : -1;
+            }
+            if (ghostLevel != playerLevel || ghostLength <= 0)
+            {
+                return -1;
+            }
+            return (int) Math.min(phraseLength, (long) ghostChars * phraseLength / ghostLength);
+        }
+    }
+
+    @Test
+    void followsAShortGameLevelByLevel() throws Exception
+    {
+        ReplayRecorder recorder = new ReplayRecorder();
+        recorder.begin(7, ComparisonMode.EXACT, PhrasePack.defaultPack(), 0);
+        recorder.level(0, 1, 10);
+        for (int i = 1; i <= 5; i++)
+        {
+            recorder.append(i * 100 * MS, 'a');
+        }
+        recorder.submit(600 * MS);
+        recorder.clear(600 * MS);
+        recorder.level(600 * MS, 2, 20);
+        recorder.append(700 * MS, 'a');
+        recorder.append(800 * MS, 'a');
+        recorder.submit(900 * MS);
+        recorder.clear(900 * MS);
+        recorder.end(900 * MS, 2, false, "");
+        Path file = Files.write(dir.resolve("corta" + ReplayRecorder.EXTENSION), recorder.toByteArray());
+
+        try (GhostRun ghost = new GhostRun(file))
+        {
+            ghost.start();
+            for (int wait = 0; !ghost.isEnded() && wait < MAX_WAIT_MILLIS; wait++)
+            {
+                Thread.sleep(1);
+            }
+            assertTrue(ghost.isEnded());
+            assertEquals(0, ghost.position(1, 50 * MS, 10));
+            // Proporcional a la frase del jugador: 2 de 10 son 4 de 20.
+            assertEquals(4, ghost.position(1, 250 * MS, 20));
+            assertEquals(10, ghost.position(1, 550 * MS, 20));
+            // El fantasma ya termino el nivel: esta al final de la frase.
+            assertEquals(10, ghost.position(1, 5_000 * MS, 10));
+            assertEquals(2, ghost.position(2, 150 * MS, 40));
+            // El fantasma nunca llego al nivel 3.
+            assertEquals(-1, ghost.position(3, 0, 10));
+        }
+    }
+
+    @Test
+    void longGameMatchesASequentialReading() throws Exception
+    {
+        SplittableRandom random = new SplittableRandom(24);
+        long[] levelNanos = new long[LEVELS + 1];
+        byte[] replay = record(100_000, random, levelNanos);
+        Path file = Files.write(dir.resolve("maraton" + ReplayRecorder.EXTENSION), replay);
+
+        Reference reference = new Reference(ByteBuffer.wrap(replay));
+        try (GhostRun ghost = new GhostRun(file))
+        {
+            ghost.start();
+            for (int level = 1; level <= LEVELS + 1; level++)
+            {
+                // El jugador pasa entre el 50% y el 150% del tiempo que el fantasma paso en el nivel.
+                long ghostTime = level <= LEVELS ? levelNanos[level] : 1_000_000_000L;
+                long playerTime = ghostTime / 2 + random.nextLong(ghostTime + 1);
+                for (long t = 0; t <= playerTime; t += 1_000_000 + random.nextLong(250_000_000))
+                {
+                    int expected = reference.position(level, t, PLAYER_PHRASE);
+                    int actual = ghost.position(level, t, PLAYER_PHRASE);
+                    for (int wait = 0; actual != expected && !ghost.isEnded() && wait < MAX_WAIT_MILLIS; wait++)
+                    {
+                        // El hilo de fondo aun no escribe esta parte; en el juego el fantasma solo se veria un cuadro tarde.
+                        Thread.sleep(1);
+                        actual = ghost.position(level, t, PLAYER_PHRASE);
+                    }
+                    assertEquals(expected, actual, "nivel " + level + ", " + t / 1_000_000 + " ms");
+                }
+            }
+        }
+    }
+
+    /**
+     * Graba una partida sintetica con los niveles marcados.
+     *
+     * @param events     Los eventos aproximados de la partida.
+     * @param random     El generador aleatorio.
+     * @param levelNanos Se llena con la duracion de cada nivel.
+     * @return Los bytes de la repeticion.
+     */
+    private static byte[] record(int events, SplittableRandom random, long[] levelNanos)
+    {
+        ReplayRecorder recorder = new ReplayRecorder();
+        long now = 0;
+        recorder.begin(7, ComparisonMode.EXACT, PhrasePack.defaultPack(), now);
+        int perLevel = Math.max(1, events / LEVELS);
+        for (int level = 1; level <= LEVELS; level++)
+        {
+            int length = 10 + random.nextInt(60);
+            long start = now;
+            recorder.level(now, level, length);
+            int typed = 0;
+            for (int i = 0; i < perLevel; i++)
+            {
+                now += 20_000_000 + random.nextLong(200_000_000);
+                int action = random.nextInt(100);
+                if (action < 70 && typed < length)
+                {
+                    recorder.append(now, 'a');
+                    typed++;
+                }
+                else if (action < 90 && typed > 0)
+                {
+                    recorder.delete(now);
+                    typed--;
+                }
+                else if (action < 95)
+                {
+                    recorder.set(now, "abc");
+                    typed = 3;
+                }
+                else
+                {
+                    recorder.submit(now);
+                    recorder.clear(now);
+                    typed = 0;
+                }
+            }
+            recorder.submit(now);
+            recorder.clear(now);
+            levelNanos[level] = now - start;
+        }
+        recorder.end(now, LEVELS, true, "");
+        return recorder.toByteArray();
+    }
+}
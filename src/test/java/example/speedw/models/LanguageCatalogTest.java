@@ -0,0 +1,136 @@
+package example.speedw.models;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de {@link LanguageCatalog} y de los idiomas instalados.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class LanguageCatalogTest
+{
+    /**
+     * Vuelve al corpus por defecto, porque elegir un idioma cambia el paquete en uso de todas las pruebas.
+     */
+    @AfterEach
+    void resetPacks()
+    {
+        PhrasePack.reset();
+    }
+
+    @Test
+    void listingLanguagesLoadsNone()
+    {
+        LanguageCatalog catalog = new LanguageCatalog(Long.MAX_VALUE);
+        assertTrue(catalog.available().contains(LanguageCatalog.DEFAULT_LANGUAGE));
+        assertTrue(catalog.getCache().keys().isEmpty());
+    }
+
+    @Test
+    void selectingALanguagePutsItInUseAndCachesIt()
+    {
+        LanguageCatalog catalog = new LanguageCatalog(Long.MAX_VALUE);
+        for (Locale locale : catalog.available())
+        {
+            Language language = catalog.select(locale).join();
+            assertEquals(locale, language.getLocale());
+            assertSame(language, catalog.current());
+            assertSame(language.getPhrases(), PhrasePack.current());
+            assertSame(language, catalog.get(locale).join(), "se volvio a leer " + locale);
+        }
+        assertEquals(0, catalog.getCache().getEvictions());
+    }
+
+    @Test
+    void smallCacheKeepsOnlyTheLanguageInUse()
+    {
+        LanguageCatalog catalog = new LanguageCatalog(1);
+        List<Locale> installed = catalog.available();
+        for (int round = 0; round < 2; round++)
+        {
+            for (Locale locale : installed)
+            {
+                Language language = catalog.select(locale).join();
+                assertSame(language, catalog.current());
+                assertSame(language.getPhrases(), PhrasePack.current());
+                assertEquals(List.of(locale.toLanguageTag()), catalog.getCache().keys());
+            }
+        }
+        assertEquals(2L * installed.size() - 1, catalog.getCache().getEvictions());
+    }
+
+    @Test
+    void everyLanguageNamesEveryComparisonMode()
+    {
+        LanguageCatalog catalog = new LanguageCatalog(Long.MAX_VALUE);
+        for (Locale locale : catalog.available())
+        {
+            Language language = catalog.get(locale).join();
+            Set<String> labels = new HashSet<>();
+            for (ComparisonMode mode : ComparisonMode.values())
+            {
+                String label = language.modeLabel(mode);
+                assertFalse(label.isBlank(), locale + " " + mode);
+                labels.add(label);
+            }
+            assertEquals(ComparisonMode.values().length, labels.size(), "nombres repetidos en " + locale);
+        }
+    }
+
+    @Test
+    void everyLanguageHasEveryMessage() throws IOException
+    {
+        LanguageCatalog catalog = new LanguageCatalog(Long.MAX_VALUE);
+        Set<String> expected = messageKeys(LanguageCatalog.DEFAULT_LANGUAGE);
+        assertTrue(expected.contains("summary.title"));
+        for (Locale locale : catalog.available())
+        {
+            assertEquals(expected, messageKeys(locale), "mensajes de " + locale);
+        }
+
+        SessionStats stats = new SessionStats();
+        stats.reset(0);
+        stats.recordCorrect("hello world", 1_000_000, 60_000_000_000L);
+        stats.setLevelReached(2);
+        SessionSummary summary = new SessionSummary();
+        Language english = catalog.get(Locale.forLanguageTag("en")).join();
+        summary.load(stats, english);
+        assertEquals("Summary of your attempt:", summary.get(0));
+        assertTrue(summary.contains("Last level: 2"), summary.toString());
+        assertEquals("Level 3", english.format("result.level", 3));
+    }
+
+    /**
+     * @param locale Un idioma instalado.
+     * @return Las llaves de sus mensajes.
+     * @throws IOException Si no se pueden leer.
+     */
+    private static Set<String> messageKeys(Locale locale) throws IOException
+    {
+        Properties messages = new Properties();
+        try (InputStream in = LanguageCatalog.class.getResourceAsStream(
+                "/example/speedw/i18n/messages_" + locale.toLanguageTag() + ".properties"))
+        {
+            messages.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+        return messages.stringPropertyNames();
+    }
+}
@@ -0,0 +1,73 @@
+package example.speedw.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de {@link LruCache}: el peso no pasa del limite y se descarta primero lo usado hace mas tiempo.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class LruCacheTest
+{
+    @Test
+    void evictsLeastRecentlyUsedFirst()
+    {
+        LruCache<String, String> cache = new LruCache<>(10, String::length);
+        cache.put("a", "aaa");
+        cache.put("b", "bbb");
+        cache.put("c", "ccc");
+        assertEquals(9, cache.getWeight());
+        cache.get("a");
+        cache.put("d", "ddd");
+        assertEquals(List.of("c", "a", "d"), cache.keys());
+        assertEquals(9, cache.getWeight());
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    void keepsTheLastValueEvenIfItIsTooHeavy()
+    {
+        LruCache<String, String> cache = new LruCache<>(10, String::length);
+        cache.put("a", "aaa");
+        cache.put("grande", "x".repeat(20));
+        assertEquals(List.of("grande"), cache.keys());
+        assertEquals(20, cache.getWeight());
+        cache.put("b", "bbb");
+        assertEquals(List.of("b"), cache.keys());
+        assertEquals(3, cache.getWeight());
+    }
+
+    @Test
+    void weightStaysWithinTheLimit()
+    {
+        LruCache<Integer, String> cache = new LruCache<>(100, String::length);
+        SplittableRandom random = new SplittableRandom(23);
+        for (int i = 0; i < 10_000; i++)
+        {
+            Integer key = random.nextInt(40);
+            if (random.nextBoolean())
+            {
+                cache.put(key, "x".repeat(1 + random.nextInt(30)));
+            }
+            else
+            {
+                cache.get(key);
+            }
+            long sum = 0;
+            for (Integer cached : cache.keys())
+            {
+                sum += cache.get(cached).length();
+            }
+            assertEquals(sum, cache.getWeight());
+            assertTrue(cache.getWeight() <= cache.getMaxWeight(), "peso " + cache.getWeight());
+        }
+    }
+}
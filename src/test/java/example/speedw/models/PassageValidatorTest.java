@@ -0,0 +1,171 @@
+package example.speedw.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de {@link PassageValidator}: el primer error que se lleva al editar
+ * en cualquier posicion es el mismo que da comparar todo el texto de nuevo, y
+ * los acentos escritos por separado se combinan y se borran como en
+ * {@link TypingValidator}.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class PassageValidatorTest
+{
+    @Test
+    void firstErrorMatchesAFullComparison()
+    {
+        SplittableRandom random = new SplittableRandom(20);
+        String target = text(random, 2_000);
+        PassageValidator validator = new PassageValidator();
+        validator.setTarget(target, ComparisonMode.EXACT);
+        StringBuilder typed = new StringBuilder();
+        int caret = 0;
+        for (int edit = 0; edit < 20_000; edit++)
+        {
+            int action = random.nextInt(20);
+            if (action < 14)
+            {
+                // Casi siempre la tecla correcta, para que el primer error se mueva por todo el texto.
+                char c = caret < target.length() && random.nextInt(8) != 0
+                        ? target.charAt(caret) : (char) ('a' + random.nextInt(3));
+                boolean correct = validator.type(c);
+                assertEquals(caret < target.length() && c == target.charAt(caret), correct);
+                typed.insert(caret++, c);
+            }
+            else if (action < 18)
+            {
+                assertEquals(caret > 0, validator.deleteBefore());
+                if (caret > 0)
+                {
+                    typed.deleteCharAt(--caret);
+                }
+            }
+            else
+            {
+                caret = random.nextInt(typed.length() + 1);
+                validator.moveCaret(caret);
+            }
+            assertEquals(caret, validator.getCaret());
+            assertEquals(typed.length(), validator.getTypedLength());
+            assertEquals(firstError(typed, target), validator.getFirstError(), "edicion " + edit);
+            assertEquals(typed.toString().equals(target), validator.isComplete());
+        }
+    }
+
+    @Test
+    void typingToTheEndCompletesThePassage()
+    {
+        PassageValidator validator = new PassageValidator();
+        validator.setTarget("Hola mundo", ComparisonMode.EXACT);
+        for (char c : "Hola nundo".toCharArray())
+        {
+            validator.type(c);
+        }
+        assertFalse(validator.isComplete());
+        assertEquals(5, validator.getFirstError());
+        assertEquals(5, validator.getCorrectPrefix());
+        assertEquals(9, validator.getCorrectKeys());
+        assertEquals(1, validator.getErrorKeys());
+
+        // Corregir la letra equivocada sin borrar el resto.
+        validator.moveCaret(6);
+        validator.deleteBefore();
+        validator.type('m');
+        assertTrue(validator.isComplete());
+        assertEquals(-1, validator.getFirstError());
+        assertEquals(10, validator.getCorrectPrefix());
+
+        // Escribir de mas despues del final es un error.
+        validator.moveCaret(100);
+        assertFalse(validator.type('!'));
+        assertEquals(10, validator.getFirstError());
+        assertFalse(validator.isComplete());
+    }
+
+    @Test
+    void separateAccentsComposeAndFoldByMode()
+    {
+        PassageValidator validator = new PassageValidator();
+        validator.setTarget("Canci\u00f3n y ping\u00fcino", ComparisonMode.NFC);
+        assertEquals("Canci\u00f3n y ping\u00fcino", validator.getTarget());
+        typeAll(validator, "Cancio\u0301n");
+        assertEquals(-1, validator.getFirstError());
+        assertEquals(7, validator.getTypedLength());
+
+        // Al borrar se quita el caracter combinado entero.
+        validator.deleteBefore();
+        validator.deleteBefore();
+        assertEquals(5, validator.getTypedLength());
+        typeAll(validator, "o\u0301n y pingu\u0308ino");
+        assertTrue(validator.isComplete());
+
+        validator.setTarget("\u00c1rbol CANCI\u00d3N", ComparisonMode.ACCENT_INSENSITIVE);
+        assertEquals("Arbol CANCION", validator.getTarget());
+        typeAll(validator, "A\u0301rbol CANCIO\u0301N");
+        assertTrue(validator.isComplete());
+        assertEquals(0, validator.getErrorKeys());
+
+        validator.setTarget("\u00c1rbol CANCI\u00d3N", ComparisonMode.CASE_INSENSITIVE);
+        assertEquals("\u00e1rbol canci\u00f3n", validator.getTarget());
+        typeAll(validator, "A\u0301RBOL cancio\u0301n");
+        assertTrue(validator.isComplete());
+
+        validator.setTarget("\u00e1", ComparisonMode.EXACT);
+        typeAll(validator, "a\u0301");
+        assertEquals(2, validator.getTypedLength());
+        assertEquals(0, validator.getFirstError());
+    }
+
+    /**
+     * @param validator El validador.
+     * @param keys      Las teclas que se escriben, una a una, en el cursor.
+     */
+    private static void typeAll(PassageValidator validator, String keys)
+    {
+        for (int i = 0; i < keys.length(); i++)
+        {
+            validator.type(keys.charAt(i));
+        }
+    }
+
+    /**
+     * @param typed  La respuesta.
+     * @param target El texto objetivo.
+     * @return La primera posicion de la respuesta que no coincide con el texto, o -1 si no hay.
+     */
+    private static int firstError(CharSequence typed, String target)
+    {
+        for (int i = 0; i < typed.length(); i++)
+        {
+            if (i >= target.length() || typed.charAt(i) != target.charAt(i))
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param random El generador.
+     * @param length La longitud.
+     * @return Un texto de palabras cortas con pocas letras distintas.
+     */
+    private static String text(SplittableRandom random, int length)
+    {
+        StringBuilder text = new StringBuilder(length);
+        while (text.length() < length)
+        {
+            text.append(random.nextInt(5) == 0 ? ' ' : (char) ('a' + random.nextInt(3)));
+        }
+        return text.toString();
+    }
+}
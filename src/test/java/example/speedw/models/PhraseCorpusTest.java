@@ -0,0 +1,128 @@
+package example.speedw.models;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de {@link PhraseCorpus} y {@link PhraseCorpusWriter}: que un corpus
+ * escrito se lea igual y que una cabecera dañada se rechace al abrirlo.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class PhraseCorpusTest
+{
+    /**
+     * Frases de prueba, con longitudes, espacios y acentos distintos.
+     */
+    private static final String[] PHRASES = {
+            "hola", "buenos dias", "canción", "a", "el veloz murciélago hindú", "zzz", "ñandú", "", "fin de linea"
+    };
+
+    /**
+     * Carpeta temporal de cada prueba.
+     */
+    @TempDir
+    Path dir;
+
+    @Test
+    void fileRoundTripKeepsPhrasesAndIndexes() throws IOException
+    {
+        Path file = dir.resolve("frases.spwc");
+        PhraseCorpusWriter writer = new PhraseCorpusWriter(dir);
+        try
+        {
+            for (String phrase : PHRASES)
+            {
+                writer.add(phrase);
+            }
+            writer.write(file);
+        }
+        finally
+        {
+            writer.close();
+        }
+
+        PhraseCorpus corpus = PhraseCorpus.open(file);
+        assertEquals(PHRASES.length, corpus.size());
+        int maxLength = 0;
+        for (int id = 0; id < PHRASES.length; id++)
+        {
+            assertEquals(PHRASES[id], corpus.phraseAt(id));
+            assertEquals(PhraseCorpus.charClassOf(PHRASES[id]), corpus.charClassAt(id));
+            assertEquals(PhraseDifficulty.score(PHRASES[id]), corpus.difficultyAt(id));
+            maxLength = Math.max(maxLength, PHRASES[id].length());
+        }
+        assertEquals(maxLength, corpus.getMaxLength());
+        assertEquals(PHRASES.length, corpus.countWithLength(0, maxLength));
+        assertEquals(2, corpus.countWithLength(3, 4));
+
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 100; i++)
+        {
+            int length = corpus.phraseAt(corpus.randomIdWithLength(3, 4, random)).length();
+            assertTrue(length >= 3 && length <= 4, "longitud " + length);
+            int id = corpus.randomIdWithClass(PhraseCorpus.CLASS_NON_ASCII, random);
+            assertEquals(PhraseCorpus.CLASS_NON_ASCII, corpus.charClassAt(id));
+        }
+    }
+
+    @Test
+    void memoryCorpusMatchesFileCorpus() throws IOException
+    {
+        PhraseCorpus corpus = PhraseCorpus.of(PHRASES);
+        for (int id = 0; id < PHRASES.length; id++)
+        {
+            assertEquals(PHRASES[id], corpus.phraseAt(id));
+        }
+    }
+
+    @Test
+    void rejectsSectionsOutsideTheBuffer() throws IOException
+    {
+        // Desplazamientos, indice por longitud e indice por clase.
+        for (int field : new int[] {16, 20, 24})
+        {
+            assertCorrupt(field, Integer.MAX_VALUE);
+            assertCorrupt(field, -4);
+            assertCorrupt(field, 0);
+        }
+    }
+
+    @Test
+    void rejectsCountsThatOverflowTheSections() throws IOException
+    {
+        assertCorrupt(8, Integer.MAX_VALUE);
+        assertCorrupt(8, -1);
+        assertCorrupt(12, Integer.MAX_VALUE - 1);
+    }
+
+    /**
+     * Comprueba que abrir el corpus falla si se cambia un entero de su cabecera.
+     *
+     * @param field La posicion del entero en la cabecera.
+     * @param value El valor dañado.
+     * @throws IOException Si no se puede crear el corpus de prueba.
+     */
+    private static void assertCorrupt(int field, int value) throws IOException
+    {
+        PhraseCorpusWriter writer = new PhraseCorpusWriter();
+        for (String phrase : PHRASES)
+        {
+            writer.add(phrase);
+        }
+        ByteBuffer buffer = writer.toByteBuffer();
+        buffer.putInt(field, value);
+        assertThrows(IOException.class, () -> PhraseCorpus.wrap(buffer), "campo " + field + " = " + value);
+    }
+}
@@ -0,0 +1,201 @@
+package example.speedw.models;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de {@link PhrasePackWatcher}, {@link PhrasePack} y
+ * {@link HotSwapPhraseSource}: los paquetes nuevos se publican, los incompletos
+ * no, cada paquete solo reemplaza las frases de su idioma y una partida nunca
+ * mezcla frases de dos paquetes.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class PhrasePackWatcherTest
+{
+    /**
+     * Letras con las que se generan las frases.
+     */
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyzñáé";
+
+    /**
+     * Milisegundos maximos que se espera a que se publique un paquete.
+     */
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    /**
+     * Carpeta temporal de cada prueba.
+     */
+    @TempDir
+    Path dir;
+
+    /**
+     * Empieza y termina cada prueba con el corpus por defecto, porque el paquete en uso es compartido.
+     */
+    @BeforeEach
+    @AfterEach
+    void resetPacks()
+    {
+        PhrasePack.reset();
+    }
+
+    @Test
+    void publishesNewPacksAndKeepsThemOverTruncatedOnes() throws Exception
+    {
+        try (PhrasePackWatcher watcher = new PhrasePackWatcher(dir))
+        {
+            watcher.start();
+            Path file = dir.resolve("paquete-A" + PhraseCorpus.EXTENSION);
+            writePack(file, 'A', 1_000);
+            PhrasePack pack = awaitPack(file.getFileName().toString());
+            assertEquals(1_000, pack.size());
+            assertTrue(pack.getBuildNanos() > 0);
+
+            // Un paquete a medio copiar: la cabecera promete mas frases de las que hay.
+            byte[] bytes = Files.readAllBytes(file);
+            Path broken = dir.resolve("roto" + PhraseCorpus.EXTENSION);
+            Files.write(broken, Arrays.copyOf(bytes, bytes.length / 2));
+            assertThrows(IOException.class, () -> PhrasePack.load(broken));
+            Thread.sleep(4 * PhrasePackWatcher.SETTLE_MILLIS);
+            assertSame(pack, PhrasePack.current());
+        }
+    }
+
+    @Test
+    void packsOnlyReplaceTheirOwnLanguage() throws IOException
+    {
+        Locale spanish = LanguageCatalog.DEFAULT_LANGUAGE;
+        Locale english = Locale.forLanguageTag("en");
+        PhrasePack spanishPhrases = new PhrasePack("es", spanish, PhraseDifficulty.defaultIndex(), 0);
+        PhrasePack englishPhrases = new PhrasePack("en", english, PhraseDifficulty.defaultIndex(), 0);
+        Path spanishFile = dir.resolve("paquete-A" + PhraseCorpus.EXTENSION);
+        Path englishFile = dir.resolve("paquete-B.en" + PhraseCorpus.EXTENSION);
+        writePack(spanishFile, 'A', 100);
+        writePack(englishFile, 'B', 100);
+        PhrasePack spanishPack = PhrasePack.load(spanishFile);
+        PhrasePack englishPack = PhrasePack.load(englishFile);
+        assertEquals(spanish, spanishPack.getLanguage());
+        assertEquals(english, englishPack.getLanguage());
+
+        PhrasePack.select(spanishPhrases);
+        PhrasePack.publish(englishPack);
+        assertSame(spanishPhrases, PhrasePack.current());
+        PhrasePack.publish(spanishPack);
+        assertSame(spanishPack, PhrasePack.current());
+
+        // Elegir un idioma no descarta el paquete publicado para el.
+        PhrasePack.select(englishPhrases);
+        assertSame(englishPack, PhrasePack.current());
+        PhrasePack.select(spanishPhrases);
+        assertSame(spanishPack, PhrasePack.current());
+    }
+
+    @Test
+    void languageComesFromTheFileName()
+    {
+        assertEquals(Locale.forLanguageTag("en"), PhrasePack.languageOf(Path.of("refranes.en.spwc")));
+        assertEquals(Locale.forLanguageTag("pt-BR"), PhrasePack.languageOf(Path.of("refranes.pt-BR.spwc")));
+        assertEquals(LanguageCatalog.DEFAULT_LANGUAGE, PhrasePack.languageOf(Path.of("refranes.spwc")));
+        assertEquals(LanguageCatalog.DEFAULT_LANGUAGE, PhrasePack.languageOf(Path.of("refranes.v2.spwc")));
+        assertEquals(LanguageCatalog.DEFAULT_LANGUAGE, PhrasePack.languageOf(Path.of(".en.spwc")));
+    }
+
+    @Test
+    void gameKeepsItsPackUntilTheNextOne() throws IOException
+    {
+        Path fileA = dir.resolve("paquete-A" + PhraseCorpus.EXTENSION);
+        Path fileB = dir.resolve("paquete-B" + PhraseCorpus.EXTENSION);
+        writePack(fileA, 'A', 200);
+        writePack(fileB, 'B', 200);
+        PhrasePack.publish(PhrasePack.load(fileA));
+
+        HotSwapPhraseSource source = new HotSwapPhraseSource();
+        SplittableRandom random = new SplittableRandom(3);
+        source.startGame();
+        for (int level = 1; level <= 8; level++)
+        {
+            if (level == 4)
+            {
+                PhrasePack.publish(PhrasePack.load(fileB));
+            }
+            String phrase = source.nextPhrase(level, random);
+            source.recordResult(phrase, random.nextBoolean());
+            assertEquals('A', phrase.charAt(0), phrase);
+        }
+        source.startGame();
+        assertEquals(fileB.getFileName().toString(), source.getPack().getName());
+        assertEquals('B', source.nextPhrase(1, random).charAt(0));
+    }
+
+    /**
+     * Espera a que el juego use el paquete con el nombre indicado.
+     *
+     * @param name El nombre del archivo del paquete.
+     * @return El paquete.
+     * @throws InterruptedException Si se interrumpe la espera.
+     */
+    private static PhrasePack awaitPack(String name) throws InterruptedException
+    {
+        long deadline = System.nanoTime() + TIMEOUT_MILLIS * 1_000_000;
+        while (System.nanoTime() < deadline)
+        {
+            PhrasePack pack = PhrasePack.current();
+            if (pack.getName().equals(name))
+            {
+                return pack;
+            }
+            Thread.sleep(5);
+        }
+        throw new AssertionError("No se publico " + name);
+    }
+
+    /**
+     * Escribe un paquete cuyas frases empiezan todas con la misma letra mayuscula.
+     *
+     * @param file  El archivo del paquete.
+     * @param tag   La letra del paquete.
+     * @param count Las frases del paquete.
+     * @throws IOException Si no se puede escribir.
+     */
+    private static void writePack(Path file, char tag, int count) throws IOException
+    {
+        SplittableRandom random = new SplittableRandom(count);
+        PhraseCorpusWriter writer = new PhraseCorpusWriter(file.getParent());
+        try
+        {
+            StringBuilder phrase = new StringBuilder();
+            for (int i = 0; i < count; i++)
+            {
+                phrase.setLength(0);
+                phrase.append(tag).append(i).append(' ');
+                int length = 10 + random.nextInt(30);
+                while (phrase.length() < length)
+                {
+                    phrase.append(random.nextInt(6) == 0 ? ' ' : LETTERS.charAt(random.nextInt(LETTERS.length())));
+                }
+                writer.add(phrase.toString().trim());
+            }
+            writer.write(file);
+        }
+        finally
+        {
+            writer.close();
+        }
+    }
+}
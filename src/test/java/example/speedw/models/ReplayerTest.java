@@ -0,0 +1,301 @@
+package example.speedw.models;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de {@link ReplayRecorder} y {@link Replayer}: las partidas grabadas se reproducen exactamente.
+ * <p>
+ * Juega partidas simuladas con un reloj virtual (teclas a ritmo variable,
+ * errores con borrado, envios incorrectos y niveles perdidos por tiempo),
+ * grabandolas como lo hace la {@link GameSession}, y luego reproduce cada
+ * grabacion. Cada partida usa un {@link ComparisonMode} al azar y el jugador
+ * simulado escribe las variantes que ese modo debe aceptar: acentos
+ * descompuestos (a veces borrando y reescribiendo el acento), letras sin
+ * acento y mayusculas. Tambien comprueba que el grabador rechaza eventos
+ * anteriores al ultimo grabado.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class ReplayerTest
+{
+    /**
+     * Numero de partidas simuladas.
+     */
+    private static final int GAMES = 300;
+
+    /**
+     * Carpeta temporal de cada prueba.
+     */
+    @TempDir
+    Path dir;
+
+    /**
+     * Frases completas que el motor rechazo aunque el modo de comparacion debia aceptarlas.
+     */
+    private int rejected;
+
+    /**
+     * Caracteres escritos con una variante del modo (acento descompuesto, sin acento o mayuscula).
+     */
+    private int variants;
+
+    @Test
+    void recordedGamesReplayExactly() throws IOException
+    {
+        // La misma instancia graba y reproduce: cada partida debe reiniciar lo aprendido en la anterior.
+        IPhraseSource phrases = AdaptivePhraseScheduler.forDefaultCorpus();
+        SplittableRandom bots = new SplittableRandom(11);
+        int won = 0;
+        for (int game = 0; game < GAMES; game++)
+        {
+            byte[] replay = play(phrases, bots.nextLong(), bots.split());
+            Replayer.Verification verification = Replayer.replay(ByteBuffer.wrap(replay), phrases);
+            assertTrue(verification.isMatch(), "partida " + game + ": " + verification.summary());
+            assertTrue(verification.getEvents() > 0);
+            if (verification.getActualLevel() == GameEngine.WIN_LEVEL)
+            {
+                won++;
+            }
+        }
+        assertEquals(0, rejected, "frases rechazadas aunque el modo debia aceptarlas");
+        assertTrue(variants > 0, "el jugador simulado no escribio variantes");
+        assertNotEquals(0, won, "ninguna partida llego al ultimo nivel");
+    }
+
+    @Test
+    void replayFromFileMatches() throws IOException
+    {
+        IPhraseSource phrases = AdaptivePhraseScheduler.forDefaultCorpus();
+        SplittableRandom bot = new SplittableRandom(5);
+        long seed = bot.nextLong();
+        GameEngine engine = new GameEngine(phrases, new SplittableRandom(seed));
+        ReplayRecorder recorder = new ReplayRecorder();
+        long now = 1_000_000_000L;
+        engine.startGame(now, seed);
+        recorder.begin(seed, engine.getComparisonMode(), engine.getPack(), now);
+        for (int level = 1; level <= 3; level++)
+        {
+            String phrase = engine.getActualPhrase();
+            for (int i = 0; i < phrase.length(); i++)
+            {
+                now += 100_000_000L;
+                engine.typeChar(phrase.charAt(i));
+                recorder.append(now, phrase.charAt(i));
+            }
+            recorder.submit(now);
+            assertEquals(ValidationResult.CORRECT, engine.submit(now));
+        }
+        now += 100_000_000L;
+        recorder.submit(now);
+        engine.submit(now);
+        recorder.end(now, engine.getLevel(), engine.isWon(), engine.generateRecord());
+
+        Path file = recorder.writeAsync(dir.resolve("replay" + ReplayRecorder.EXTENSION)).join();
+        Replayer.Verification verification = Replayer.replay(file, phrases);
+        assertTrue(verification.isMatch(), verification.summary());
+        assertEquals(4, verification.getActualLevel());
+    }
+
+    @Test
+    void englishGameIsVerifiedWithItsPack() throws IOException
+    {
+        Locale english = Locale.forLanguageTag("en");
+        PhrasePack pack = LanguageCatalog.shared().get(english).join().getPhrases();
+        assertNotEquals(PhrasePack.defaultPack().getHash(), pack.getHash());
+        SplittableRandom bots = new SplittableRandom(11);
+        for (int game = 0; game < 20; game++)
+        {
+            ByteBuffer replay = ByteBuffer.wrap(play(new AdaptivePhraseScheduler(pack), bots.nextLong(), bots.split()));
+            assertEquals(pack.getHash(), Replayer.packOf(replay, null).getHash());
+            Replayer.Verification verification = Replayer.verify(replay, null);
+            assertTrue(verification.isMatch(), "partida " + game + ": " + verification.summary());
+        }
+    }
+
+    @Test
+    void unknownPackIsReportedInsteadOfADifference() throws IOException
+    {
+        Path packs = dir.resolve("packs");
+        Files.createDirectories(packs);
+        Path file = dir.resolve("suelto.en" + PhraseCorpus.EXTENSION);
+        PhraseCorpusWriter writer = new PhraseCorpusWriter(dir);
+        try
+        {
+            for (int i = 0; i < 200; i++)
+            {
+                writer.add("frase suelta " + (char) ('a' + i % 26) + (char) ('a' + i / 26));
+            }
+            writer.write(file);
+        }
+        finally
+        {
+            writer.close();
+        }
+        PhrasePack pack = PhrasePack.load(file);
+        ByteBuffer replay = ByteBuffer.wrap(play(new AdaptivePhraseScheduler(pack), 3, new SplittableRandom(3)));
+
+        IOException error = assertThrows(IOException.class, () -> Replayer.verify(replay, packs));
+        assertTrue(error.getMessage().contains("desconocido"), error.getMessage());
+
+        // Con el paquete en la carpeta de paquetes, la repeticion se verifica.
+        Files.copy(file, packs.resolve(file.getFileName()));
+        Replayer.Verification verification = Replayer.verify(replay, packs);
+        assertTrue(verification.isMatch(), verification.summary());
+    }
+
+    @Test
+    void eventsBeforeTheLastOneAreRejected()
+    {
+        ReplayRecorder recorder = new ReplayRecorder();
+        recorder.begin(1, ComparisonMode.EXACT, PhrasePack.defaultPack(), 1_000);
+        recorder.append(2_000, 'a');
+        byte[] before = recorder.toByteArray();
+
+        assertThrows(IllegalArgumentException.class, () -> recorder.submit(1_500));
+        assertArrayEquals(before, recorder.toByteArray());
+        recorder.submit(2_000);
+        assertEquals(2_000, recorder.getLastNanos());
+    }
+
+    /**
+     * Juega una partida simulada y la graba.
+     *
+     * @param phrases La fuente de frases.
+     * @param seed    La semilla de la partida.
+     * @param bot     El generador que decide las teclas del jugador simulado.
+     * @return La grabacion.
+     */
+    private byte[] play(IPhraseSource phrases, long seed, SplittableRandom bot)
+    {
+        GameEngine engine = new GameEngine(phrases, new SplittableRandom(seed));
+        ReplayRecorder recorder = new ReplayRecorder();
+        ComparisonMode mode = ComparisonMode.values()[bot.nextInt(ComparisonMode.values().length)];
+        long now = 1_000_000_000L + bot.nextLong(1_000_000_000L);
+        engine.setComparisonMode(mode);
+        engine.startGame(now, seed);
+        recorder.begin(seed, mode, engine.getPack(), now);
+        double errorRate = 0.01 + bot.nextDouble() * 0.05;
+        long keyNanos = 80_000_000L + bot.nextLong(400_000_000L);
+
+        while (!engine.isFinished())
+        {
+            String phrase = engine.getActualPhrase();
+            int typed = 0;
+            while (!engine.isFinished() && typed <= phrase.length())
+            {
+                now += keyNanos / 2 + bot.nextLong(keyNanos);
+                if (engine.poll(now) == ClockEvent.EXPIRED)
+                {
+                    recorder.expire(now);
+                    engine.finalValidation(now);
+                    break;
+                }
+                if (typed == phrase.length())
+                {
+                    recorder.submit(now);
+                    if (engine.submit(now) == ValidationResult.INCORRECT)
+                    {
+                        rejected++;
+                        typed = 0;
+                        continue;
+                    }
+                    break;
+                }
+                if (bot.nextDouble() < errorRate)
+                {
+                    engine.typeChar('#');
+                    recorder.append(now, '#');
+                    now += keyNanos;
+                    engine.deleteChar();
+                    recorder.delete(now);
+                }
+                else if (bot.nextDouble() < 0.002)
+                {
+                    // Un envio antes de tiempo, que el motor rechaza.
+                    recorder.submit(now);
+                    engine.submit(now);
+                    typed = 0;
+                }
+                else
+                {
+                    now = type(engine, recorder, mode, phrase.charAt(typed++), now, keyNanos, bot);
+                }
+            }
+        }
+        recorder.end(now, engine.getLevel(), engine.isWon(), engine.generateRecord());
+        return recorder.toByteArray();
+    }
+
+    /**
+     * Escribe un caracter de la frase, a veces con una variante que el modo debe aceptar.
+     *
+     * @param engine   El motor.
+     * @param recorder El grabador.
+     * @param mode     El modo de comparacion de la partida.
+     * @param c        El caracter de la frase.
+     * @param now      El instante de la tecla.
+     * @param keyNanos El tiempo medio entre teclas.
+     * @param bot      El generador del jugador simulado.
+     * @return El instante de la ultima tecla escrita.
+     */
+    private long type(GameEngine engine, ReplayRecorder recorder, ComparisonMode mode, char c, long now,
+                      long keyNanos, SplittableRandom bot)
+    {
+        String keys = String.valueOf(c);
+        boolean accented = TextFolding.stripAccents(c) != c;
+        if (mode != ComparisonMode.EXACT && accented && bot.nextBoolean())
+        {
+            keys = Normalizer.normalize(keys, Normalizer.Form.NFD);
+        }
+        else if (mode == ComparisonMode.ACCENT_INSENSITIVE && accented && bot.nextBoolean())
+        {
+            keys = String.valueOf(TextFolding.stripAccents(c));
+        }
+        else if (mode == ComparisonMode.CASE_INSENSITIVE && bot.nextBoolean())
+        {
+            keys = keys.toUpperCase();
+        }
+        if (!keys.equals(String.valueOf(c)))
+        {
+            variants++;
+        }
+
+        for (int i = 0; i < keys.length(); i++)
+        {
+            if (i > 0)
+            {
+                now += keyNanos / 4;
+            }
+            engine.typeChar(keys.charAt(i));
+            recorder.append(now, keys.charAt(i));
+        }
+        if (keys.length() > 1 && bot.nextDouble() < 0.3)
+        {
+            // Borra el acento, que vuelve a separar la letra, y lo escribe otra vez.
+            now += keyNanos / 4;
+            engine.deleteChar();
+            recorder.delete(now);
+            now += keyNanos / 4;
+            engine.typeChar(keys.charAt(keys.length() - 1));
+            recorder.append(now, keys.charAt(keys.length() - 1));
+        }
+        return now;
+    }
+}
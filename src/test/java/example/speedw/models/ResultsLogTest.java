@@ -0,0 +1,130 @@
+package example.speedw.models;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pruebas de {@link ResultsLog}: el indice en memoria despues de escribir un
+ * lote es el mismo que se reconstruye al volver a abrir el archivo, y al
+ * abrirlo solo se recorta un final cortado, no los registros que siguen a uno
+ * sin sentido.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class ResultsLogTest
+{
+    /**
+     * Carpeta temporal de cada prueba.
+     */
+    @TempDir
+    Path dir;
+
+    @Test
+    void indexMatchesTheFileAfterABatch()
+    {
+        Path file = dir.resolve("results.log");
+        ResultsLog log = new ResultsLog(file);
+        log.open().join();
+        // Dos partidas en el mismo lote que comparten una frase nueva.
+        log.append(GameResult.of(stats(3, "uno", "dos"), false, 1000), stats(3, "uno", "dos"));
+        log.append(GameResult.of(stats(5, "dos", "tres"), false, 2000), stats(5, "dos", "tres"));
+        log.close(5000);
+        ResultsIndex written = log.getIndex();
+
+        ResultsIndex reopened = new ResultsLog(file).open().join();
+        assertEquals(2, written.getGameCount());
+        assertEquals(3, written.getPhraseCount());
+        assertEquals(reopened.getGameCount(), written.getGameCount());
+        assertEquals(reopened.getPhraseCount(), written.getPhraseCount());
+        for (int id = 0; id < written.getPhraseCount(); id++)
+        {
+            assertEquals(reopened.phraseText(id), written.phraseText(id));
+            assertEquals(reopened.phraseAttempts(id), written.phraseAttempts(id));
+        }
+        assertEquals(2, written.phraseAttempts(written.phraseId("dos")));
+        assertEquals(5, written.personalBest().getLevel());
+    }
+
+    @Test
+    void recordsThatMakeNoSenseAreSkippedWithoutTruncating() throws IOException
+    {
+        Path file = dir.resolve("results.log");
+        ResultsLog first = new ResultsLog(file);
+        first.open().join();
+        first.append(GameResult.of(stats(3, "uno", "dos"), false, 1000), stats(3, "uno", "dos"));
+        first.close(5000);
+
+        // Registros integros pero sin sentido: un tipo desconocido y una partida que anuncia demasiadas frases.
+        ByteBuffer game = ByteBuffer.allocate(64).put(ResultsLog.RECORD_GAME).putLong(0);
+        for (int i = 0; i < 7; i++)
+        {
+            Varint.put(game, i == 1 ? 0 : 1);
+        }
+        Varint.put(game, Integer.MAX_VALUE / 2);
+        Files.write(file, frame(new byte[] {9, 1, 2, 3}), StandardOpenOption.APPEND);
+        Files.write(file, frame(Arrays.copyOf(game.array(), game.position())), StandardOpenOption.APPEND);
+
+        ResultsLog second = new ResultsLog(file);
+        second.open().join();
+        assertEquals(2, second.getSkippedRecords());
+        assertEquals(0, second.getTruncatedBytes());
+        second.append(GameResult.of(stats(5, "dos", "tres"), false, 2000), stats(5, "dos", "tres"));
+        second.close(5000);
+
+        // Un registro cortado al final si se recorta, pero solo el.
+        long size = Files.size(file);
+        Files.write(file, Arrays.copyOf(frame(new byte[] {ResultsLog.RECORD_PHRASE, 'x'}), 7),
+                StandardOpenOption.APPEND);
+        ResultsLog third = new ResultsLog(file);
+        ResultsIndex index = third.open().join();
+        assertEquals(2, third.getSkippedRecords());
+        assertEquals(7, third.getTruncatedBytes());
+        assertEquals(size, Files.size(file));
+        assertEquals(2, index.getGameCount());
+        assertEquals(3, index.getPhraseCount());
+        assertEquals(5, index.personalBest().getLevel());
+        third.close(5000);
+    }
+
+    /**
+     * Arma un registro con su longitud y su CRC, como lo escribe el historial.
+     *
+     * @param body El tipo y los datos del registro.
+     * @return Los bytes del registro.
+     */
+    private static byte[] frame(byte[] body)
+    {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return ByteBuffer.allocate(body.length + 8).putInt(body.length).put(body).putInt((int) crc.getValue()).array();
+    }
+
+    /**
+     * @param level   El nivel alcanzado.
+     * @param phrases Las frases respondidas correctamente, una vez cada una.
+     * @return Las estadisticas de una partida.
+     */
+    private static SessionStats stats(int level, String... phrases)
+    {
+        SessionStats stats = new SessionStats();
+        stats.reset(0);
+        for (String phrase : phrases)
+        {
+            stats.recordCorrect(phrase, 1_000_000, 1_000_000);
+        }
+        stats.setLevelReached(level);
+        return stats;
+    }
+}
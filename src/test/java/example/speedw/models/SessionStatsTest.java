@@ -0,0 +1,176 @@
+package example.speedw.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de {@link SessionStats}: la tabla de frases conserva los ids al
+ * crecer, los totales siguen a las respuestas y el estado escrito para una
+ * instantanea se lee igual, o se rechaza si no es valido.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class SessionStatsTest
+{
+    /**
+     * Frases distintas de la prueba de crecimiento; muchas mas que la capacidad inicial de la tabla.
+     */
+    private static final int PHRASES = 5_000;
+
+    @Test
+    void internKeepsIdsWhileTheTableGrows()
+    {
+        SessionStats stats = new SessionStats();
+        stats.reset(0);
+        for (int i = 0; i < PHRASES; i++)
+        {
+            assertEquals(i, stats.intern(phrase(i)));
+            // Las frases anteriores siguen encontrandose despues de cada rehash.
+            assertEquals(i / 2, stats.intern(phrase(i / 2)));
+        }
+        assertEquals(PHRASES, stats.getDistinctCount());
+        for (int i = 0; i < PHRASES; i++)
+        {
+            assertEquals(phrase(i), stats.phraseOf(i));
+            assertEquals(i, stats.intern(new String(phrase(i).toCharArray())));
+        }
+
+        // Una frase nueva en un fallo agranda los arreglos antes de contar el fallo.
+        stats.recordMiss("frase nueva");
+        assertEquals(PHRASES, stats.intern("frase nueva"));
+        assertEquals(1, stats.missesOf(PHRASES));
+
+        stats.reset(0);
+        assertEquals(0, stats.getDistinctCount());
+        assertEquals(0, stats.intern(phrase(PHRASES - 1)));
+    }
+
+    @Test
+    void totalsFollowTheAnswers()
+    {
+        SessionStats stats = new SessionStats();
+        stats.reset(1_000_000_000L);
+        stats.recordCorrect("hola mundo", 900_000_000L, 2_000_000_000L);
+        stats.recordMiss("el perro duerme");
+        stats.recordCorrect("el perro duerme", 700_000_000L, 4_000_000_000L);
+        stats.recordCorrect("hola mundo", 800_000_000L, 7_000_000_000L);
+
+        assertEquals(3, stats.getCorrectCount());
+        assertEquals(1, stats.getMissCount());
+        assertEquals(2, stats.getDistinctCount());
+        assertEquals(35, stats.getTotalChars());
+        assertEquals(15, stats.getLongestLength());
+        assertEquals("hola mundo", stats.phraseOf(stats.getMostFrequentId()));
+        assertEquals(700_000_000L, stats.getBestReactionNanos());
+        assertEquals(800_000_000L, stats.getLastReactionNanos());
+        assertEquals(35 * 60 / 6.0, stats.getCharsPerMinute(), 1e-9);
+        assertEquals(1, stats.logAt(1));
+        assertTrue(stats.formatSummary().contains("Precision: 75%"), stats.formatSummary());
+    }
+
+    @Test
+    void stateRoundTripKeepsEverything()
+    {
+        SplittableRandom random = new SplittableRandom(8);
+        SessionStats stats = new SessionStats();
+        long now = 5_000_000_000L;
+        stats.reset(now);
+        for (int i = 0; i < 400; i++)
+        {
+            now += 1_000_000_000L + random.nextInt(1_000_000_000);
+            String phrase = phrase(random.nextInt(150));
+            if (random.nextInt(4) == 0)
+            {
+                stats.recordMiss(phrase);
+            }
+            else
+            {
+                stats.recordCorrect(phrase, random.nextInt(1_000_000_000), now);
+            }
+        }
+        stats.setLevelReached(37);
+        long saved = now + 2_000_000_000L;
+        ByteBuffer state = ByteBuffer.allocate(stats.stateBytes());
+        stats.writeState(state, saved);
+        state.flip();
+
+        SessionStats restored = new SessionStats();
+        restored.reset(0);
+        restored.recordCorrect("se descarta al leer", 1, 1);
+        long later = saved + 86_400_000_000_000L;
+        restored.readState(state, later);
+        assertFalse(state.hasRemaining());
+
+        assertEquals(stats.getDistinctCount(), restored.getDistinctCount());
+        for (int id = 0; id < stats.getDistinctCount(); id++)
+        {
+            assertEquals(stats.phraseOf(id), restored.phraseOf(id));
+            assertEquals(id, restored.intern(stats.phraseOf(id)));
+            assertEquals(stats.countOf(id), restored.countOf(id));
+            assertEquals(stats.missesOf(id), restored.missesOf(id));
+        }
+        assertEquals(stats.getCorrectCount(), restored.getCorrectCount());
+        for (int i = 0; i < stats.getCorrectCount(); i++)
+        {
+            assertEquals(stats.logAt(i), restored.logAt(i));
+        }
+        assertEquals(stats.getMissCount(), restored.getMissCount());
+        assertEquals(stats.getTotalChars(), restored.getTotalChars());
+        assertEquals(stats.getLongestLength(), restored.getLongestLength());
+        assertEquals(stats.getMostFrequentId(), restored.getMostFrequentId());
+        assertEquals(37, restored.getLevelReached());
+        assertEquals(stats.getElapsedNanos(), restored.getElapsedNanos());
+        assertEquals(stats.getLastReactionNanos(), restored.getLastReactionNanos());
+        assertEquals(stats.getBestReactionNanos(), restored.getBestReactionNanos());
+        assertEquals(stats.formatSummary(), restored.formatSummary());
+    }
+
+    @Test
+    void invalidStateIsRejected()
+    {
+        ByteBuffer repeated = ByteBuffer.allocate(64);
+        Varint.put(repeated, 2);
+        for (int i = 0; i < 2; i++)
+        {
+            Varint.putString(repeated, "hola");
+            Varint.put(repeated, 1);
+            Varint.put(repeated, 0);
+        }
+        repeated.flip();
+        assertThrows(IllegalArgumentException.class, () -> new SessionStats().readState(repeated, 0));
+
+        ByteBuffer unknownId = ByteBuffer.allocate(64);
+        Varint.put(unknownId, 1);
+        Varint.putString(unknownId, "hola");
+        Varint.put(unknownId, 1);
+        Varint.put(unknownId, 0);
+        Varint.put(unknownId, 1);
+        Varint.put(unknownId, 1);
+        unknownId.flip();
+        assertThrows(IllegalArgumentException.class, () -> new SessionStats().readState(unknownId, 0));
+
+        ByteBuffer longLog = ByteBuffer.allocate(64);
+        Varint.put(longLog, 0);
+        Varint.put(longLog, 1_000_000);
+        longLog.flip();
+        assertThrows(IllegalArgumentException.class, () -> new SessionStats().readState(longLog, 0));
+    }
+
+    /**
+     * @param i El numero de la frase.
+     * @return Una frase distinta para cada numero.
+     */
+    private static String phrase(int i)
+    {
+        return "frase " + i;
+    }
+}
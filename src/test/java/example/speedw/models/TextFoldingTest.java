@@ -0,0 +1,126 @@
+package example.speedw.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de {@link TextFolding} y {@link ComparisonMode} contra
+ * {@link Normalizer}: combinar acentos caracter a caracter da lo mismo que
+ * NFC, quitar acentos da la letra base de NFD, y cada modo pliega igual un
+ * texto combinado y uno descompuesto.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class TextFoldingTest
+{
+    /**
+     * Letras de los textos aleatorios, con y sin acento, y algunas sin forma combinada con ningun acento.
+     */
+    private static final String LETTERS = "aeiouncAEIOUNCqxyz \u00e1\u00f1\u00dc\u00e7\u00df\u00f8";
+
+    /**
+     * Acentos sueltos de los textos aleatorios.
+     */
+    private static final String MARKS = "\u0300\u0301\u0302\u0303\u0308\u0327\u0323";
+
+    @Test
+    void composeMatchesNfc()
+    {
+        int composed = 0;
+        for (char c = '\u00c0'; c <= '\u1eff'; c++)
+        {
+            String nfd = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+            if (nfd.length() < 2 || !Normalizer.normalize(nfd, Normalizer.Form.NFC).equals(String.valueOf(c))
+                    || (c > '\u024f' && c < '\u1e00'))
+            {
+                continue;
+            }
+            String base = Normalizer.normalize(nfd.substring(0, nfd.length() - 1), Normalizer.Form.NFC);
+            if (base.length() == 1)
+            {
+                assertEquals(c, TextFolding.compose(base.charAt(0), nfd.charAt(nfd.length() - 1)), nfd);
+                composed++;
+            }
+        }
+        assertTrue(composed > 400, "letras combinadas: " + composed);
+        assertEquals(0, TextFolding.compose('q', '\u0301'));
+        assertEquals(0, TextFolding.compose('a', 'b'));
+    }
+
+    @Test
+    void stripAccentsKeepsTheBaseLetter()
+    {
+        assertEquals('n', TextFolding.stripAccents('\u00f1'));
+        assertEquals('N', TextFolding.stripAccents('\u00d1'));
+        assertEquals('u', TextFolding.stripAccents('\u00fc'));
+        assertEquals('e', TextFolding.stripAccents('\u1ec7'));
+        assertEquals('\u00df', TextFolding.stripAccents('\u00df'));
+        assertEquals('\u00f8', TextFolding.stripAccents('\u00f8'));
+        assertEquals('a', TextFolding.stripAccents('a'));
+        assertEquals('\u0416', TextFolding.stripAccents('\u0416'));
+
+        assertTrue(TextFolding.isCombining('\u0301'));
+        assertTrue(TextFolding.isCombining('\u0483'));
+        assertFalse(TextFolding.isCombining('\u00b4'));
+        assertFalse(TextFolding.isCombining('a'));
+    }
+
+    @Test
+    void modesFoldComposedAndDecomposedTextAlike()
+    {
+        String composed = "Canci\u00f3n del \u00d1and\u00da ping\u00fcino";
+        String decomposed = Normalizer.normalize(composed, Normalizer.Form.NFD);
+        assertEquals(composed, ComparisonMode.NFC.apply(decomposed));
+        assertEquals(decomposed, ComparisonMode.EXACT.apply(decomposed));
+        assertEquals("Cancion del NandU pinguino", ComparisonMode.ACCENT_INSENSITIVE.apply(composed));
+        assertEquals("Cancion del NandU pinguino", ComparisonMode.ACCENT_INSENSITIVE.apply(decomposed));
+        assertEquals("canci\u00f3n del \u00f1and\u00fa ping\u00fcino", ComparisonMode.CASE_INSENSITIVE.apply(composed));
+        assertEquals("canci\u00f3n del \u00f1and\u00fa ping\u00fcino", ComparisonMode.CASE_INSENSITIVE.apply(decomposed));
+
+        // Un acento al comienzo no tiene letra con que combinarse y se conserva.
+        assertEquals("\u0301a", ComparisonMode.NFC.apply("\u0301a"));
+        assertEquals("a", ComparisonMode.ACCENT_INSENSITIVE.apply("\u0301a"));
+    }
+
+    @Test
+    void randomTextMatchesTheNormalizer()
+    {
+        SplittableRandom random = new SplittableRandom(16);
+        StringBuilder text = new StringBuilder();
+        for (int round = 0; round < 5_000; round++)
+        {
+            text.setLength(0);
+            int length = random.nextInt(30);
+            for (int i = 0; i < length; i++)
+            {
+                char letter = LETTERS.charAt(random.nextInt(LETTERS.length()));
+                text.append(letter);
+                // Un solo acento y solo tras letras sin acento: con varios, NFC puede reordenarlos segun su clase.
+                if (letter < 0x80 && random.nextInt(3) == 0)
+                {
+                    text.append(MARKS.charAt(random.nextInt(MARKS.length())));
+                }
+            }
+            String nfc = Normalizer.normalize(text, Normalizer.Form.NFC);
+            String message = Normalizer.normalize(text, Normalizer.Form.NFD);
+            assertEquals(nfc, ComparisonMode.NFC.apply(text), message);
+            assertEquals(nfc.toLowerCase(Locale.ROOT).length(),
+                    ComparisonMode.CASE_INSENSITIVE.apply(text).length(), message);
+            String stripped = ComparisonMode.ACCENT_INSENSITIVE.apply(text);
+            for (int i = 0; i < stripped.length(); i++)
+            {
+                assertFalse(TextFolding.isCombining(stripped.charAt(i)), message);
+            }
+            assertEquals(stripped, ComparisonMode.ACCENT_INSENSITIVE.apply(nfc), message);
+        }
+    }
+}
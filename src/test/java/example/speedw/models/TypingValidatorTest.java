@@ -0,0 +1,203 @@
+package example.speedw.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de {@link TypingValidator}: el primer error se marca y se desmarca
+ * al borrar, los acentos escritos por separado se combinan con la letra
+ * anterior y se separan al borrarlos, y escribir tecla por tecla da lo mismo
+ * que validar toda la respuesta de una vez.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class TypingValidatorTest
+{
+    /**
+     * Teclas de las respuestas aleatorias: letras, acentos sueltos y letras ya acentuadas.
+     */
+    private static final String KEYS = "aeinoAEO \u0323\u0301\u0302\u0303\u00e9\u00f1\u00d3";
+
+    @Test
+    void firstErrorIsClearedByDeletingIt()
+    {
+        TypingValidator validator = validator(ComparisonMode.EXACT, "hola");
+        assertTrue(validator.isEmpty());
+        validator.append('h');
+        validator.append('x');
+        assertEquals(1, validator.getFirstError());
+        assertEquals(1, validator.getCorrectPrefix());
+        validator.append('l');
+        assertEquals(1, validator.getFirstError());
+
+        validator.deleteLast();
+        validator.deleteLast();
+        assertEquals(-1, validator.getFirstError());
+        assertEquals(1, validator.getCorrectPrefix());
+        assertFalse(validator.append('o'));
+        assertFalse(validator.append('l'));
+        assertTrue(validator.append('a'));
+
+        // Una tecla de mas vuelve a marcar el error al final de la frase.
+        assertFalse(validator.append('!'));
+        assertEquals(4, validator.getFirstError());
+    }
+
+    @Test
+    void separateAccentsComposeWithThePreviousLetter()
+    {
+        TypingValidator validator = validator(ComparisonMode.NFC, "canci\u00f3n");
+        validator.setInput("cancio\u0301");
+        assertEquals(6, validator.getTypedLength());
+        assertEquals('\u00f3', validator.inputAt(5));
+        assertEquals(-1, validator.getFirstError());
+        assertTrue(validator.append('n'));
+
+        // En modo exacto el acento suelto es un caracter mas.
+        TypingValidator exact = validator(ComparisonMode.EXACT, "canci\u00f3n");
+        exact.setInput("cancio\u0301n");
+        assertEquals(8, exact.getTypedLength());
+        assertEquals(5, exact.getFirstError());
+    }
+
+    @Test
+    void deleteLastSplitsACombiningCluster()
+    {
+        TypingValidator validator = validator(ComparisonMode.NFC, "canci\u00f3n");
+        validator.setInput("cancio\u0301");
+        validator.deleteLast();
+        assertEquals(6, validator.getTypedLength());
+        assertEquals('o', validator.inputAt(5));
+        assertEquals(5, validator.getFirstError());
+        validator.deleteLast();
+        assertEquals(5, validator.getTypedLength());
+        assertEquals(-1, validator.getFirstError());
+
+        // La e vietnamita con punto y circunflejo lleva dos acentos; borrar el ultimo deja el primero.
+        TypingValidator vietnamese = validator(ComparisonMode.NFC, "vi\u1ec7t");
+        vietnamese.setInput("vie\u0323\u0302");
+        assertEquals(3, vietnamese.getTypedLength());
+        assertEquals('\u1ec7', vietnamese.inputAt(2));
+        assertEquals(-1, vietnamese.getFirstError());
+        vietnamese.deleteLast();
+        assertEquals(3, vietnamese.getTypedLength());
+        assertEquals('\u1eb9', vietnamese.inputAt(2));
+        assertEquals(2, vietnamese.getFirstError());
+        vietnamese.append('\u0302');
+        assertTrue(vietnamese.append('t'));
+    }
+
+    @Test
+    void modesFoldAccentsAndCase()
+    {
+        TypingValidator accents = validator(ComparisonMode.ACCENT_INSENSITIVE, "\u00d1and\u00fa");
+        assertTrue(accepts(accents, "Nandu"));
+        assertTrue(accepts(accents, "N\u0303andu\u0301"));
+        accents.deleteLast();
+        assertTrue(accents.isComplete(), "el acento ignorado se borra sin tocar la letra");
+        assertFalse(accepts(accents, "nandu"));
+
+        TypingValidator letters = validator(ComparisonMode.CASE_INSENSITIVE, "\u00c1rbol");
+        assertTrue(accepts(letters, "\u00e1RBOL"));
+        assertTrue(accepts(letters, "A\u0301rbol"));
+        assertFalse(accepts(letters, "arbol"));
+    }
+
+    @Test
+    void modeChangesOnlyWithTheNextPhrase()
+    {
+        TypingValidator validator = validator(ComparisonMode.EXACT, "Hola");
+        validator.setMode(ComparisonMode.CASE_INSENSITIVE);
+        assertEquals(ComparisonMode.EXACT, validator.getMode());
+        assertFalse(accepts(validator, "hola"));
+        validator.setTarget("Hola");
+        assertEquals(ComparisonMode.CASE_INSENSITIVE, validator.getMode());
+        assertTrue(accepts(validator, "hola"));
+    }
+
+    @Test
+    void keystrokesMatchValidatingTheWholeAnswer()
+    {
+        SplittableRandom random = new SplittableRandom(4);
+        for (int round = 0; round < 500; round++)
+        {
+            ComparisonMode mode = ComparisonMode.values()[round % ComparisonMode.values().length];
+            String target = randomText(random, 1 + random.nextInt(20));
+            TypingValidator validator = validator(mode, target);
+            TypingValidator whole = validator(mode, target);
+            StringBuilder raw = new StringBuilder();
+            for (int key = 0; key < 60; key++)
+            {
+                if (raw.length() > 0 && random.nextInt(3) == 0)
+                {
+                    raw.setLength(raw.length() - 1);
+                    validator.deleteLast();
+                }
+                else
+                {
+                    char c = KEYS.charAt(random.nextInt(KEYS.length()));
+                    raw.append(c);
+                    validator.append(c);
+                }
+                whole.setInput(raw);
+                String message = mode + " " + target + " / " + raw;
+                assertEquals(whole.getTypedLength(), validator.getTypedLength(), message);
+                assertEquals(whole.getFirstError(), validator.getFirstError(), message);
+                assertEquals(whole.isComplete(), validator.isComplete(), message);
+                assertEquals(mode.apply(raw).equals(mode.apply(target)), validator.isComplete(), message);
+                for (int i = 0; i < validator.getTypedLength(); i++)
+                {
+                    assertEquals(whole.inputAt(i), validator.inputAt(i), message);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param mode   El modo de comparacion.
+     * @param target La frase objetivo.
+     * @return Un validador con ese modo y esa frase.
+     */
+    private static TypingValidator validator(ComparisonMode mode, String target)
+    {
+        TypingValidator validator = new TypingValidator();
+        validator.setMode(mode);
+        validator.setTarget(target);
+        return validator;
+    }
+
+    /**
+     * Reemplaza toda la respuesta.
+     *
+     * @param validator El validador.
+     * @param text      La nueva respuesta.
+     * @return {@code true} si la respuesta quedo completa y correcta.
+     */
+    private static boolean accepts(TypingValidator validator, String text)
+    {
+        validator.setInput(text);
+        return validator.isComplete();
+    }
+
+    /**
+     * @param random El generador.
+     * @param length La longitud del texto.
+     * @return Un texto con las teclas de {@link #KEYS}.
+     */
+    private static String randomText(SplittableRandom random, int length)
+    {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++)
+        {
+            text.append(KEYS.charAt(random.nextInt(KEYS.length())));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,173 @@
+package example.speedw.models;
+
+import org.junit.jupiter.api.Test;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Comprueba que el camino de validacion no crea objetos en estado estable.
+ * <p>
+ * El motor usa la fuente de frases del juego ({@link HotSwapPhraseSource} sobre
+ * el {@link PhraseCorpus} por defecto). Despues de calentar el JIT se cuentan,
+ * con el contador de asignaciones del hilo de la JVM, los bytes creados por las
+ * teclas (con su registro en la telemetria), los envios incorrectos y vacios,
+ * la seleccion del feedback y los envios correctos que suben de nivel hasta
+ * ganar la partida. Al subir de nivel solo se permite crear la frase siguiente,
+ * que el corpus decodifica de su blob.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class ValidationAllocationTest
+{
+    /**
+     * Bytes que se toleran por las lecturas del propio contador.
+     */
+    private static final long TOLERANCE_BYTES = 1024;
+
+    /**
+     * Numero de validaciones incorrectas medidas.
+     */
+    private static final int ROUNDS = 200_000;
+
+    /**
+     * Numero de partidas completas medidas.
+     */
+    private static final int GAMES = 2_000;
+
+    /**
+     * Bytes que se permiten por frase nueva, ademas de cinco por caracter: el
+     * {@code String} y el arreglo UTF-8 que el corpus decodifica al seleccionarla.
+     */
+    private static final long PHRASE_OVERHEAD_BYTES = 96;
+
+    /**
+     * Instante fijo de todas las validaciones; el nivel nunca vence.
+     */
+    private final long now = System.nanoTime();
+
+    @Test
+    void wrongAndEmptySubmitsDoNotAllocate() throws JMException
+    {
+        GameEngine engine = new GameEngine(new HotSwapPhraseSource(), new SplittableRandom(1));
+        engine.startGame(now);
+        KeystrokeTelemetry telemetry = new KeystrokeTelemetry();
+        telemetry.reset(now);
+
+        // Calentamiento: que el JIT compile el camino antes de medir.
+        int sink = typeWrongAnswers(engine, telemetry, ROUNDS);
+
+        long before = allocatedBytes();
+        sink += typeWrongAnswers(engine, telemetry, ROUNDS);
+        long allocated = allocatedBytes() - before;
+
+        assertTrue(sink > 0);
+        assertTrue(allocated <= TOLERANCE_BYTES, "bytes asignados: " + allocated);
+    }
+
+    @Test
+    void levelUpsOnlyAllocateTheNextPhrase() throws JMException
+    {
+        GameEngine engine = new GameEngine(new HotSwapPhraseSource(), new SplittableRandom(1));
+        KeystrokeTelemetry telemetry = new KeystrokeTelemetry();
+
+        playGames(engine, telemetry, GAMES);
+
+        long before = allocatedBytes();
+        long phraseBytes = playGames(engine, telemetry, GAMES);
+        long allocated = allocatedBytes() - before;
+
+        assertTrue(allocated <= phraseBytes + TOLERANCE_BYTES,
+                "bytes asignados: " + allocated + ", permitidos por las frases: " + phraseBytes);
+    }
+
+    /**
+     * Escribe una respuesta incorrecta, la envia, envia una respuesta vacia y
+     * selecciona el feedback, tantas veces como se indique.
+     *
+     * @param engine    El motor en un nivel en curso.
+     * @param telemetry La telemetria donde se registran las teclas.
+     * @param rounds    Cuantas veces repetir.
+     * @return Un valor derivado de los resultados, para que el JIT no elimine el trabajo.
+     */
+    private int typeWrongAnswers(GameEngine engine, KeystrokeTelemetry telemetry, int rounds)
+    {
+        int sink = 0;
+        for (int i = 0; i < rounds; i++)
+        {
+            engine.typeChar('\u0001');
+            telemetry.record(now + i, '\u0001', KeystrokeTelemetry.KIND_ERROR);
+            engine.typeChar('\u0002');
+            telemetry.record(now + i, '\u0002', KeystrokeTelemetry.KIND_ERROR);
+            engine.deleteChar();
+            telemetry.record(now + i, (char) 0, KeystrokeTelemetry.KIND_DELETE);
+            ValidationResult incorrect = engine.submit(now);
+            ValidationResult empty = engine.submit(now);
+            sink += Feedback.forResult(incorrect).getMessage().length();
+            sink += Feedback.forResult(empty).ordinal();
+        }
+        return sink;
+    }
+
+    /**
+     * Juega partidas completas escribiendo cada frase sin errores, con un envio
+     * incompleto antes de cada una, hasta ganarlas.
+     *
+     * @param engine    El motor.
+     * @param telemetry La telemetria donde se registran las teclas.
+     * @param games     Cuantas partidas jugar.
+     * @return Los bytes que se permiten por las frases que se decodificaron al subir de nivel.
+     */
+    private long playGames(GameEngine engine, KeystrokeTelemetry telemetry, int games)
+    {
+        long phraseBytes = 0;
+        for (int game = 0; game < games; game++)
+        {
+            engine.startGame(now, game);
+            telemetry.reset(now);
+            phraseBytes += PHRASE_OVERHEAD_BYTES + 5L * engine.getActualPhrase().length();
+            ValidationResult result;
+            do
+            {
+                // Un envio incompleto, sin teclas erradas para que el planificador no descarte frases.
+                String phrase = engine.getActualPhrase();
+                engine.typeChar(phrase.charAt(0));
+                Feedback.forResult(engine.submit(now));
+                for (int i = 0; i < phrase.length(); i++)
+                {
+                    char c = phrase.charAt(i);
+                    engine.typeChar(c);
+                    telemetry.record(now, c, KeystrokeTelemetry.KIND_CORRECT);
+                }
+                result = engine.submit(now);
+                Feedback.forResult(result);
+                if (result == ValidationResult.CORRECT)
+                {
+                    phraseBytes += PHRASE_OVERHEAD_BYTES + 5L * engine.getActualPhrase().length();
+                }
+            }
+            while (result == ValidationResult.CORRECT);
+            assertEquals(ValidationResult.WON, result);
+        }
+        return phraseBytes;
+    }
+
+    /**
+     * @return Los bytes que el hilo actual ha asignado desde que empezo.
+     * @throws JMException Si la JVM no cuenta las asignaciones por hilo.
+     */
+    private static long allocatedBytes() throws JMException
+    {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        return (Long) server.getAttribute(new ObjectName(ManagementFactory.THREAD_MXBEAN_NAME),
+                "CurrentThreadAllocatedBytes");
+    }
+}
@@ -0,0 +1,143 @@
+package example.speedw.net;
+
+import example.speedw.models.Varint;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Pruebas de {@link RaceProtocol}: los marcos se escriben y se leen igual,
+ * un marco incompleto espera al resto aunque llegue byte a byte, y las
+ * longitudes y el UTF-8 invalidos se rechazan.
+ *
+ * @author agent
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class RaceProtocolTest
+{
+    /**
+     * Frase con caracteres de uno, dos, tres y cuatro bytes en UTF-8.
+     */
+    private static final String PHRASE = "El \u00f1and\u00fa corre \u20ac \ud83d\ude80";
+
+    @Test
+    void framesRoundTrip()
+    {
+        ByteBuffer out = ByteBuffer.allocate(RaceProtocol.MAX_FRAME);
+        int start = RaceProtocol.beginFrame(out, RaceProtocol.PHRASE);
+        Varint.put(out, 12);
+        Varint.put(out, 9_500);
+        RaceProtocol.putString(out, PHRASE);
+        RaceProtocol.endFrame(out, start);
+        int frameBytes = out.position();
+        out.flip();
+
+        int length = RaceProtocol.frameLength(out);
+        assertEquals(frameBytes - RaceProtocol.LENGTH_BYTES, length);
+        out.position(RaceProtocol.LENGTH_BYTES);
+        assertEquals(RaceProtocol.PHRASE, out.get());
+        assertEquals(12, Varint.getInt(out));
+        assertEquals(9_500, Varint.getInt(out));
+        int text = out.position();
+        assertEquals(PHRASE, RaceProtocol.getString(out));
+        assertEquals(frameBytes, out.position());
+
+        // La lectura sin crear objetos da el mismo texto.
+        out.position(text);
+        StringBuilder reused = new StringBuilder("texto anterior");
+        RaceProtocol.getString(out, reused);
+        assertEquals(PHRASE, reused.toString());
+        assertEquals(frameBytes, out.position());
+    }
+
+    @Test
+    void partialReadsWaitForTheWholeFrame()
+    {
+        List<String> sent = List.of("sala", "Jugador \u00c1", PHRASE, "", "x".repeat(900));
+        ByteBuffer wire = ByteBuffer.allocate(8 * RaceProtocol.MAX_FRAME);
+        for (String phrase : sent)
+        {
+            int start = RaceProtocol.beginFrame(wire, RaceProtocol.SUBMIT);
+            RaceProtocol.putString(wire, phrase);
+            RaceProtocol.endFrame(wire, start);
+        }
+        wire.flip();
+
+        // Como el cliente: se agrega lo que llega, se leen los marcos completos y se compacta.
+        ByteBuffer in = ByteBuffer.allocate(RaceProtocol.MAX_FRAME);
+        List<String> received = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        int chunk = 1;
+        while (wire.hasRemaining())
+        {
+            int count = Math.min(chunk, Math.min(wire.remaining(), in.remaining()));
+            for (int i = 0; i < count; i++)
+            {
+                in.put(wire.get());
+            }
+            chunk = chunk % 7 + 1;
+            in.flip();
+            int length;
+            while ((length = RaceProtocol.frameLength(in)) > 0)
+            {
+                int end = in.position() + RaceProtocol.LENGTH_BYTES + length;
+                in.position(in.position() + RaceProtocol.LENGTH_BYTES);
+                assertEquals(RaceProtocol.SUBMIT, in.get());
+                RaceProtocol.getString(in, text);
+                assertEquals(end, in.position());
+                received.add(text.toString());
+            }
+            in.compact();
+        }
+        assertEquals(sent, received);
+        assertEquals(0, in.position());
+    }
+
+    @Test
+    void invalidLengthsAreRejected()
+    {
+        ByteBuffer empty = ByteBuffer.allocate(4).putShort((short) 0).put((byte) 1);
+        empty.flip();
+        assertThrows(IllegalArgumentException.class, () -> RaceProtocol.frameLength(empty));
+
+        ByteBuffer huge = ByteBuffer.allocate(4).putShort((short) RaceProtocol.MAX_FRAME).put((byte) 1);
+        huge.flip();
+        assertThrows(IllegalArgumentException.class, () -> RaceProtocol.frameLength(huge));
+
+        ByteBuffer oneByte = ByteBuffer.allocate(1).put((byte) 0);
+        oneByte.flip();
+        assertEquals(-1, RaceProtocol.frameLength(oneByte));
+
+        ByteBuffer out = ByteBuffer.allocate(2 * RaceProtocol.MAX_FRAME);
+        int start = RaceProtocol.beginFrame(out, RaceProtocol.SUBMIT);
+        RaceProtocol.putString(out, "x".repeat(RaceProtocol.MAX_FRAME));
+        assertThrows(IllegalArgumentException.class, () -> RaceProtocol.endFrame(out, start));
+    }
+
+    @Test
+    void invalidTextIsRejected()
+    {
+        ByteBuffer lone = ByteBuffer.allocate(16);
+        RaceProtocol.putString(lone, "a\uD83Db");
+        lone.flip();
+        assertEquals("a\ufffdb", RaceProtocol.getString(lone));
+
+        StringBuilder out = new StringBuilder();
+        ByteBuffer continuation = ByteBuffer.wrap(new byte[] {2, 'a', (byte) 0x80});
+        assertThrows(IllegalArgumentException.class, () -> RaceProtocol.getString(continuation, out));
+
+        ByteBuffer cut = ByteBuffer.wrap(new byte[] {2, 'a', (byte) 0xE2, (byte) 0x82, (byte) 0xAC});
+        assertThrows(IllegalArgumentException.class, () -> RaceProtocol.getString(cut, out));
+
+        ByteBuffer longer = ByteBuffer.wrap(new byte[] {5, 'a', 'b'});
+        assertThrows(IllegalArgumentException.class, () -> RaceProtocol.getString(longer));
+        longer.rewind();
+        assertThrows(IllegalArgumentException.class, () -> RaceProtocol.getString(longer, out));
+    }
+}